@@ -0,0 +1,231 @@
+package com.yby6.mcp.server.tencent.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * 基准测试用的Markdown语料生成器
+ *
+ * 按指定的文档类型和UTF-8字节大小生成Markdown文本。
+ * 使用固定随机种子，同样的参数每次生成相同的文档，保证各次基准测试结果可比。
+ *
+ * 文档类型：
+ * 1. CJK：以中文段落为主，类似APITest中的面试文章
+ * 2. DEEP_LIST：多层嵌套的有序和无序列表
+ * 3. TABLE：多列的大表格
+ * 4. MIXED：标题、段落、行内格式、代码块、引用、列表和表格混合
+ * 5. CJK_WRAPPED：按固定宽度硬换行的中文段落，夹带行内HTML、转义字符和加粗，类似从其他编辑器粘贴的文章
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class MarkdownCorpus {
+
+    /** 随机种子 */
+    private static final long SEED = 20250501L;
+
+    /** 列表最大嵌套层数 */
+    private static final int MAX_LIST_DEPTH = 8;
+
+    /** 硬换行的中文段落每行的字符数 */
+    private static final int WRAP_CHARS = 40;
+
+    /** 单个表格的最大行数，超过后开始新的表格 */
+    private static final int TABLE_ROWS = 1000;
+
+    /** 中文句子 */
+    private static final String[] CJK_SENTENCES = {
+            "小王是一名有着3年Java开发经验的程序员，最近他正在面试一家知名互联网公司的高级Java开发职位。",
+            "这个职位要求候选人不仅精通Java后端开发，还需要对前端和微服务架构有深入理解。",
+            "面试官：「你好，小王，请简单介绍一下你过去的项目经验，特别是涉及Java后端、前端和微服务的部分。」",
+            "Spring Boot的自动配置主要通过@EnableAutoConfiguration注解实现，它利用了Spring的条件注解根据classpath中的jar包来自动配置应用程序。",
+            "小王详细解释了synchronized关键字、ReentrantLock、volatile变量以及ThreadLocal的使用场景。",
+            "他分享了如何在高并发订单系统中使用乐观锁解决库存争抢问题。",
+            "在实际项目中，我曾编写自定义的自动配置类来简化团队内部组件的使用。",
+            "服务注册与发现、配置中心、熔断降级和链路追踪是微服务架构中最常见的基础设施。"
+    };
+
+    /** 英文单词 */
+    private static final String[] WORDS = {
+            "converter", "markdown", "prose", "mirror", "document", "paragraph", "heading", "table",
+            "latency", "throughput", "allocation", "buffer", "stream", "token", "parser", "visitor"
+    };
+
+    /**
+     * 文档类型
+     */
+    public enum Kind {
+        /** 以中文段落为主 */
+        CJK,
+        /** 多层嵌套列表 */
+        DEEP_LIST,
+        /** 大表格 */
+        TABLE,
+        /** 各种元素混合 */
+        MIXED,
+        /** 硬换行的中文段落 */
+        CJK_WRAPPED
+    }
+
+    /**
+     * 私有构造函数
+     */
+    private MarkdownCorpus() {
+    }
+
+    /**
+     * 生成指定类型和大小的Markdown文档
+     *
+     * 以段为单位追加内容，直到UTF-8字节数达到目标大小，
+     * 最后一段可能使文档略大于目标大小。表格类型以表格行为单位追加。
+     *
+     * @param kind 文档类型
+     * @param targetBytes 目标UTF-8字节数
+     * @return Markdown文本
+     */
+    public static String generate(Kind kind, int targetBytes) {
+        Random random = new Random(SEED);
+        StringBuilder markdown = new StringBuilder(targetBytes);
+        int bytes = 0;
+        int section = 0;
+        while (bytes < targetBytes) {
+            int start = markdown.length();
+            switch (kind) {
+                case CJK -> appendCjkSection(markdown, random, section);
+                case DEEP_LIST -> appendDeepList(markdown, random);
+                case TABLE -> appendTableRow(markdown, random, section);
+                case MIXED -> appendMixedSection(markdown, random, section);
+                case CJK_WRAPPED -> appendWrappedCjkSection(markdown, random, section);
+            }
+            bytes += utf8Length(markdown, start);
+            section++;
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * 解析大小参数，支持KB和MB后缀
+     *
+     * @param size 大小，例如1KB、64KB、5MB
+     * @return 字节数
+     */
+    public static int parseSize(String size) {
+        String upper = size.trim().toUpperCase();
+        if (upper.endsWith("MB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024 * 1024;
+        }
+        if (upper.endsWith("KB")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(upper);
+    }
+
+    private static void appendCjkSection(StringBuilder markdown, Random random, int section) {
+        markdown.append("## 第").append(section + 1).append("轮：技术面试\n\n");
+        for (int i = 0; i < 4; i++) {
+            appendCjkSentences(markdown, random, 3 + random.nextInt(4));
+            markdown.append("\n\n");
+        }
+    }
+
+    private static void appendWrappedCjkSection(StringBuilder markdown, Random random, int section) {
+        markdown.append("## 第").append(section + 1).append("轮：技术面试\n\n");
+        for (int i = 0; i < 4; i++) {
+            StringBuilder paragraph = new StringBuilder();
+            appendCjkSentences(paragraph, random, 3 + random.nextInt(4));
+            paragraph.append("关键字<kbd>").append(WORDS[random.nextInt(WORDS.length)]).append("</kbd>、")
+                    .append("转义的\\*号、**").append(WORDS[random.nextInt(WORDS.length)]).append("**。");
+            for (int from = 0; from < paragraph.length(); from += WRAP_CHARS) {
+                markdown.append(paragraph, from, Math.min(paragraph.length(), from + WRAP_CHARS)).append('\n');
+            }
+            markdown.append('\n');
+        }
+    }
+
+    private static void appendDeepList(StringBuilder markdown, Random random) {
+        for (int depth = 0; depth < MAX_LIST_DEPTH; depth++) {
+            String indent = "  ".repeat(depth * 2);
+            boolean ordered = depth % 2 == 1;
+            for (int i = 0; i < 3; i++) {
+                markdown.append(indent).append(ordered ? (i + 1) + ". " : "- ");
+                if (i % 3 == 2) {
+                    markdown.append("[").append(random.nextBoolean() ? "x" : " ").append("] ");
+                }
+                appendWords(markdown, random, 4 + random.nextInt(6));
+                markdown.append(" **").append(WORDS[random.nextInt(WORDS.length)]).append("**\n");
+            }
+        }
+        markdown.append('\n');
+    }
+
+    private static void appendTableRow(StringBuilder markdown, Random random, int row) {
+        if (row % TABLE_ROWS == 0) {
+            markdown.append("\n### 表").append(row / TABLE_ROWS + 1).append("\n\n");
+            markdown.append("| 编号 | 名称 | 描述 | 耗时 | 状态 | 负责人 | 备注 | 链接 |\n");
+            markdown.append("|---|:---|:---:|---:|---|---|---|---|\n");
+        }
+        markdown.append("| ").append(row)
+                .append(" | `").append(WORDS[random.nextInt(WORDS.length)]).append('`')
+                .append(" | ").append(CJK_SENTENCES[random.nextInt(CJK_SENTENCES.length)], 0, 12)
+                .append(" | ").append(random.nextInt(10000)).append("ms")
+                .append(" | ").append(random.nextBoolean() ? "~~失败~~" : "*成功*")
+                .append(" | 小王 | ");
+        appendWords(markdown, random, 3);
+        markdown.append(" | [详情](https://cloud.tencent.com/developer/article/").append(row).append(") |\n");
+    }
+
+    private static void appendMixedSection(StringBuilder markdown, Random random, int section) {
+        markdown.append("# 章节").append(section + 1).append(' ');
+        appendWords(markdown, random, 3);
+        markdown.append("\n\n");
+        appendCjkSentences(markdown, random, 2);
+        markdown.append(" 参见 https://cloud.tencent.com/developer 以及 *");
+        appendWords(markdown, random, 2);
+        markdown.append("* 和 `").append(WORDS[random.nextInt(WORDS.length)]).append("()`。\n\n");
+        markdown.append("> ");
+        appendCjkSentences(markdown, random, 1);
+        markdown.append("\n\n```java\n");
+        for (int i = 0; i < 6; i++) {
+            markdown.append("    String ").append(WORDS[random.nextInt(WORDS.length)]).append(i)
+                    .append(" = convert(\"").append(WORDS[random.nextInt(WORDS.length)]).append("\");\n");
+        }
+        markdown.append("```\n\n");
+        for (int i = 0; i < 4; i++) {
+            markdown.append(i % 2 == 0 ? "- " : "  1. ");
+            appendWords(markdown, random, 5);
+            markdown.append('\n');
+        }
+        markdown.append("\n| 指标 | 数值 |\n|---|---|\n");
+        for (int i = 0; i < 5; i++) {
+            markdown.append("| ").append(WORDS[random.nextInt(WORDS.length)]).append(" | ")
+                    .append(random.nextInt(1000)).append(" |\n");
+        }
+        markdown.append("\n![图片](https://example.com/").append(section).append(".png)\n\n---\n\n");
+    }
+
+    private static void appendCjkSentences(StringBuilder markdown, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            markdown.append(CJK_SENTENCES[random.nextInt(CJK_SENTENCES.length)]);
+        }
+    }
+
+    private static void appendWords(StringBuilder markdown, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                markdown.append(' ');
+            }
+            markdown.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+    }
+
+    /**
+     * 计算从指定位置开始的UTF-8字节数
+     *
+     * @param text 文本
+     * @param start 起始位置
+     * @return UTF-8字节数
+     */
+    private static int utf8Length(CharSequence text, int start) {
+        return text.subSequence(start, text.length()).toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.yby6.mcp.server.tencent.benchmark;
+
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MarkdownToProseMirrorConverter 吞吐量基准测试
+ *
+ * 按文档类型和大小测量Markdown转换为ProseMirror JSON的吞吐量，
+ * 配合GC profiler（-prof gc）可得到每次转换的分配字节数（gc.alloc.rate.norm）。
+ *
+ * 运行方式：
+ * mvn -Pjmh test-compile exec:exec
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="MarkdownToProseMirrorConverterBenchmark -p kind=CJK -p size=1MB -prof gc"
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MarkdownToProseMirrorConverterBenchmark {
+
+    /** 文档类型 */
+    @Param({"CJK", "CJK_WRAPPED", "DEEP_LIST", "TABLE", "MIXED"})
+    public MarkdownCorpus.Kind kind;
+
+    /** 文档大小 */
+    @Param({"1KB", "64KB", "1MB", "5MB"})
+    public String size;
+
+    /** 待转换的文档 */
+    private String markdown;
+
+    /** 按内容生成段落id，排除随机数生成对结果的影响 */
+    private final BlockIdGenerator idGenerator = BlockIdGenerator.deterministic();
+
+    /** 丢弃输出的流 */
+    private OutputStream nullStream;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        markdown = MarkdownCorpus.generate(kind, MarkdownCorpus.parseSize(size));
+        nullStream = OutputStream.nullOutputStream();
+    }
+
+    /**
+     * 转换为JSON字符串
+     *
+     * @return ProseMirror JSON
+     */
+    @Benchmark
+    public String convertToString() {
+        return MarkdownToProseMirrorConverter.convert(markdown, idGenerator);
+    }
+
+    /**
+     * 流式转换，输出直接丢弃，不计入字符串拼接的开销
+     *
+     * @throws IOException 转换失败时抛出
+     */
+    @Benchmark
+    public void convertToStream() throws IOException {
+        MarkdownToProseMirrorConverter.convert(markdown, nullStream, idGenerator);
+    }
+}
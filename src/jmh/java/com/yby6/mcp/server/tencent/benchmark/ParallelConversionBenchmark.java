@@ -0,0 +1,91 @@
+package com.yby6.mcp.server.tencent.benchmark;
+
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并行转换的扩展性基准测试
+ *
+ * 按线程数测量单个大文档的转换耗时，threads=0为顺序转换的基线。
+ * 加速比 = 基线耗时 / 对应线程数的耗时，线程数超过CPU核数后不再有收益。
+ *
+ * 运行方式：
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ParallelConversionBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ParallelConversionBenchmark -p kind=CJK -p threads=0,4"
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelConversionBenchmark {
+
+    /** 文档类型 */
+    @Param({"CJK", "DEEP_LIST", "TABLE", "MIXED"})
+    public MarkdownCorpus.Kind kind;
+
+    /** 文档大小 */
+    @Param({"1MB", "5MB"})
+    public String size;
+
+    /** 线程数，0表示顺序转换 */
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    /** 待转换的文档 */
+    private String markdown;
+
+    /** 并行转换与顺序转换的结果一致，只有确定性id可以比对 */
+    private final BlockIdGenerator idGenerator = BlockIdGenerator.deterministic();
+
+    /** 执行转换的线程池 */
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        markdown = MarkdownCorpus.generate(kind, MarkdownCorpus.parseSize(size));
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 转换为JSON字符串
+     *
+     * @return ProseMirror JSON
+     */
+    @Benchmark
+    public String convert() {
+        if (pool == null) {
+            return MarkdownToProseMirrorConverter.convert(markdown, idGenerator);
+        }
+        return MarkdownToProseMirrorConverter.convertParallel(markdown, idGenerator, pool);
+    }
+}
@@ -0,0 +1,153 @@
+package com.yby6.mcp.server.tencent.benchmark;
+
+import com.yby6.mcp.server.tencent.types.utils.TagMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标签匹配基准测试
+ *
+ * 按标签词典大小测量在一篇文章中统计标签出现次数的耗时：
+ * ahoCorasick为TagMatcher的一次线性扫描，naiveContains为逐个标签在全文中查找的基线，
+ * build为由词典构建自动机的耗时（每次目录刷新后只构建一次）。
+ *
+ * 词典由固定种子生成，中文标签和英文标签各占一半，部分标签会出现在文章中。
+ *
+ * 运行方式：
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TagMatcherBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TagMatcherBenchmark.ahoCorasick -p tags=50000 -prof gc"
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TagMatcherBenchmark {
+
+    /** 生成词典的随机种子 */
+    private static final long SEED = 20250505L;
+
+    /** 中文标签的字符 */
+    private static final String CJK_CHARS = "云原生容器服务数据库网络安全架构性能优化分布式缓存消息队列前端后端开发测试部署监控日志算法模型转换文档段落标题";
+
+    /** 英文标签的词根，与语料中的英文单词部分重合 */
+    private static final String[] WORDS = {
+            "converter", "markdown", "prose", "mirror", "document", "paragraph", "heading", "table",
+            "latency", "throughput", "allocation", "buffer", "stream", "token", "parser", "visitor",
+            "spring", "java", "docker", "kubernetes", "redis", "kafka", "mysql", "linux"
+    };
+
+    /** 标签词典大小 */
+    @Param({"1000", "10000", "50000"})
+    public int tags;
+
+    /** 文章类型 */
+    @Param({"CJK", "MIXED"})
+    public MarkdownCorpus.Kind kind;
+
+    /** 文章大小 */
+    @Param({"100KB"})
+    public String size;
+
+    /** 标签词典 */
+    private List<String> dictionary;
+
+    /** 小写的标签词典，基线使用 */
+    private List<String> lowerDictionary;
+
+    /** 待匹配的文章 */
+    private String markdown;
+
+    /** 预先构建的匹配器 */
+    private TagMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dictionary = dictionary(tags);
+        lowerDictionary = dictionary.stream().map(tag -> tag.toLowerCase(Locale.ROOT)).toList();
+        markdown = MarkdownCorpus.generate(kind, MarkdownCorpus.parseSize(size));
+        matcher = TagMatcher.of(dictionary);
+    }
+
+    /**
+     * 一次扫描取出现次数最多的5个标签
+     */
+    @Benchmark
+    public List<String> ahoCorasick() {
+        return matcher.top(5, markdown);
+    }
+
+    /**
+     * 逐个标签在全文中查找并计数
+     */
+    @Benchmark
+    public int naiveContains() {
+        String text = markdown.toLowerCase(Locale.ROOT);
+        int total = 0;
+        for (String tag : lowerDictionary) {
+            for (int i = text.indexOf(tag); i >= 0; i = text.indexOf(tag, i + tag.length())) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 由词典构建自动机
+     */
+    @Benchmark
+    public TagMatcher build() {
+        return TagMatcher.of(dictionary);
+    }
+
+    /**
+     * 生成不重复的标签词典
+     *
+     * @param size 标签数
+     * @return 标签名称
+     */
+    private static List<String> dictionary(int size) {
+        Random random = new Random(SEED);
+        Set<String> names = new LinkedHashSet<>(size * 2);
+        while (names.size() < size) {
+            if (random.nextBoolean()) {
+                int length = 2 + random.nextInt(4);
+                StringBuilder name = new StringBuilder(length);
+                for (int i = 0; i < length; i++) {
+                    name.append(CJK_CHARS.charAt(random.nextInt(CJK_CHARS.length())));
+                }
+                names.add(name.toString());
+            } else {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                names.add(switch (random.nextInt(3)) {
+                    case 0 -> word;
+                    case 1 -> word + " " + WORDS[random.nextInt(WORDS.length)];
+                    default -> word + random.nextInt(size);
+                });
+            }
+        }
+        return new ArrayList<>(names);
+    }
+}
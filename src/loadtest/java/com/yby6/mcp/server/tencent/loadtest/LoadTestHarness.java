@@ -0,0 +1,268 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端到端压测工具
+ *
+ * 该工具完成以下步骤：
+ * 1. 启动本地的腾讯云模拟服务（{@link TencentStandIn}），按参数注入延迟、错误和限流
+ * 2. 以stdio方式启动打包好的MCP服务端，tencent.api.base-url指向模拟服务
+ * 3. 按目标并发通过JSON-RPC调用saveArticle，先预热再统计
+ * 4. 输出吞吐量和p50/p99/p999耗时，并将JSON报告写入文件
+ *
+ * 运行方式：
+ * mvn -Ploadtest package exec:exec -DskipTests
+ * mvn -Ploadtest package exec:exec -DskipTests -Dloadtest.args="--concurrency 32 --requests 5000 --error-rate 0.01"
+ *
+ * 参数（均为可选）：
+ * --jar 服务端jar路径，默认target/mcp-server-tencent-1.0.0.jar
+ * --concurrency 并发数，默认8
+ * --requests 统计的请求数，默认500
+ * --warmup 预热请求数，默认50
+ * --markdown-bytes 每篇文章的Markdown字节数，默认16384
+ * --timeout-seconds 单个请求等待响应的超时时间，超时计为失败，默认120
+ * --latency-ms 模拟服务的基础延迟，默认50
+ * --jitter-ms 模拟服务的随机附加延迟上限，默认20
+ * --error-rate 模拟服务返回500的比例，默认0
+ * --throttle-rate 模拟服务返回429的比例，默认0
+ * --report 报告文件路径，默认target/loadtest/report.json
+ * --app-arg 传给服务端的Spring参数，可重复，例如--app-arg tencent.api.retry.max-attempts=1
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class LoadTestHarness {
+
+    /** 文章正文使用的中文段落 */
+    private static final String PARAGRAPH = "小王是一名有着3年Java开发经验的程序员，最近他正在面试一家知名互联网公司的高级Java开发职位。"
+            + "这个职位要求候选人不仅精通Java后端开发，还需要对前端和微服务架构有深入理解。"
+            + "他详细解释了synchronized关键字、ReentrantLock、volatile变量以及ThreadLocal的使用场景。\n\n";
+
+    /** JSON对象映射器，JSON-RPC消息必须单行输出，不能开启缩进 */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 私有构造函数
+     */
+    private LoadTestHarness() {
+    }
+
+    /**
+     * 压测入口
+     *
+     * @param args 压测参数
+     * @throws Exception 当压测无法完成时抛出
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        parse(args, options, appArgs);
+
+        String jar = options.getOrDefault("jar", "target/mcp-server-tencent-1.0.0.jar");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "500"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        int markdownBytes = Integer.parseInt(options.getOrDefault("markdown-bytes", "16384"));
+        long timeoutSeconds = Long.parseLong(options.getOrDefault("timeout-seconds", "120"));
+        long latencyMillis = Long.parseLong(options.getOrDefault("latency-ms", "50"));
+        long jitterMillis = Long.parseLong(options.getOrDefault("jitter-ms", "20"));
+        double errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+        double throttleRate = Double.parseDouble(options.getOrDefault("throttle-rate", "0"));
+        Path report = Path.of(options.getOrDefault("report", "target/loadtest/report.json"));
+        Path workDir = report.toAbsolutePath().getParent();
+        Files.createDirectories(workDir);
+
+        try (TencentStandIn standIn = new TencentStandIn(latencyMillis, jitterMillis, errorRate, throttleRate)) {
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Dspring.ai.mcp.server.stdio=true",
+                    "-Dfile.encoding=utf-8",
+                    "-jar", jar,
+                    "--tencent.api.base-url=" + standIn.baseUrl(),
+                    "--tencent.api.cookie=load-test",
+                    "--tencent.api.transport.warm-up=false",
+                    "--tencent.api.rate-limit.enabled=false",
+                    "--tencent.api.outbox.path=" + workDir.resolve("outbox.jsonl"),
+                    "--logging.file.name=" + workDir.resolve("server.log")));
+            appArgs.forEach(arg -> command.add("--" + arg));
+
+            try (McpStdioClient client = new McpStdioClient(command, workDir.resolve("server.err").toFile(),
+                    objectMapper)) {
+                client.initialize(60);
+                String body = markdown(markdownBytes);
+
+                run(client, body, "warmup", warmup, concurrency, timeoutSeconds, new long[warmup], new AtomicLong());
+                long upstreamBefore = standIn.requests();
+                long errorsBefore = standIn.errors();
+                long throttlesBefore = standIn.throttles();
+
+                long[] latencies = new long[requests];
+                AtomicLong timedOut = new AtomicLong();
+                long start = System.nanoTime();
+                long succeeded = run(client, body, "run", requests, concurrency, timeoutSeconds, latencies, timedOut);
+                double durationMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+                Map<String, Object> config = new LinkedHashMap<>();
+                config.put("concurrency", concurrency);
+                config.put("warmup", warmup);
+                config.put("markdownBytes", markdownBytes);
+                config.put("latencyMillis", latencyMillis);
+                config.put("jitterMillis", jitterMillis);
+                config.put("errorRate", errorRate);
+                config.put("throttleRate", throttleRate);
+                config.put("timeoutSeconds", timeoutSeconds);
+                config.put("appArgs", appArgs);
+
+                LoadTestReport result = new LoadTestReport(config, requests, succeeded, requests - succeeded,
+                        timedOut.get(), durationMillis, Math.round(requests / durationMillis * 1_000_000) / 1_000.0,
+                        LoadTestReport.Latency.of(latencies),
+                        new LoadTestReport.Upstream(standIn.requests() - upstreamBefore,
+                                standIn.errors() - errorsBefore, standIn.throttles() - throttlesBefore));
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), result);
+                System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+                System.out.println("报告已写入 " + report.toAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * 按目标并发发送请求并等待全部完成
+     *
+     * @param client MCP客户端
+     * @param body 文章正文
+     * @param phase 阶段名称，用于生成不重复的标题
+     * @param count 请求数
+     * @param concurrency 并发数
+     * @param timeoutSeconds 单个请求的超时时间（秒）
+     * @param latencies 写入各请求耗时（纳秒）的数组
+     * @param timedOut 超时的请求数
+     * @return 发布成功的请求数
+     * @throws InterruptedException 当等待被中断时抛出
+     */
+    private static long run(McpStdioClient client, String body, String phase, int count, int concurrency,
+                            long timeoutSeconds, long[] latencies, AtomicLong timedOut)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicLong succeeded = new AtomicLong();
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            int index = i;
+            // 标题和正文都不重复，避免命中去重和转换缓存
+            String title = "压测文章 " + phase + "-" + i;
+            ObjectNode arguments = objectMapper.createObjectNode();
+            arguments.putObject("request")
+                    .put("title", title)
+                    .put("markdowncontent", "# " + title + "\n\n" + body)
+                    .put("userSummary", title);
+            long start = System.nanoTime();
+            client.callTool("saveArticle", arguments)
+                    .orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - start;
+                        if (error instanceof TimeoutException) {
+                            timedOut.incrementAndGet();
+                        } else if (error == null && isPublished(response)) {
+                            succeeded.incrementAndGet();
+                        }
+                        permits.release();
+                        done.countDown();
+                    });
+        }
+        if (!done.await(30, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(phase + "阶段超时");
+        }
+        return succeeded.get();
+    }
+
+    /**
+     * 判断saveArticle的响应是否为发布成功
+     *
+     * @param response JSON-RPC响应
+     * @return 工具调用成功且接口返回status为0时返回true
+     */
+    static boolean isPublished(JsonNode response) {
+        JsonNode result = response.get("result");
+        if (result == null || result.path("isError").asBoolean(false)) {
+            return false;
+        }
+        try {
+            JsonNode article = objectMapper.readTree(result.path("content").path(0).path("text").asText());
+            return article.path("status").asInt(-1) == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 生成指定UTF-8字节数的Markdown正文
+     *
+     * @param bytes 目标字节数
+     * @return Markdown正文
+     */
+    private static String markdown(int bytes) {
+        int paragraphBytes = PARAGRAPH.getBytes(StandardCharsets.UTF_8).length;
+        StringBuilder markdown = new StringBuilder();
+        for (int i = 0; i * paragraphBytes < bytes; i++) {
+            if (i % 8 == 0) {
+                markdown.append("## 第").append(i / 8 + 1).append("节\n\n");
+            }
+            markdown.append(PARAGRAPH);
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * 解析命令行参数
+     *
+     * 支持"--key value"和"--key=value"两种形式，--app-arg可以重复。
+     *
+     * @param args 命令行参数
+     * @param options 解析出的参数
+     * @param appArgs 解析出的服务端参数
+     */
+    private static void parse(String[] args, Map<String, String> options, List<String> appArgs) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            String key = arg.substring(2);
+            String value;
+            int eq = key.indexOf('=');
+            if (eq >= 0 && !key.startsWith("app-arg")) {
+                value = key.substring(eq + 1);
+                key = key.substring(0, eq);
+            } else if (key.startsWith("app-arg=")) {
+                value = key.substring("app-arg=".length());
+                key = "app-arg";
+            } else {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("参数缺少取值: " + arg);
+                }
+                value = args[++i];
+            }
+            if ("app-arg".equals(key)) {
+                appArgs.add(value);
+            } else {
+                options.put(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 压测报告
+ *
+ * 以JSON写入报告文件，便于脚本比较不同版本的结果。耗时单位为毫秒。
+ *
+ * @param config 压测参数
+ * @param requests 计入统计的请求数，不包括预热请求
+ * @param succeeded 发布成功的请求数
+ * @param failed 发布失败的请求数，包括超时的请求
+ * @param timedOut 超时未收到响应的请求数
+ * @param durationMillis 统计阶段的总耗时
+ * @param throughputPerSecond 每秒完成的请求数
+ * @param latencyMillis 工具调用耗时分布
+ * @param upstream 模拟服务的请求统计
+ * @author yby6
+ * @version 1.0.0
+ */
+public record LoadTestReport(Map<String, Object> config, int requests, long succeeded, long failed, long timedOut,
+                             double durationMillis, double throughputPerSecond, Latency latencyMillis,
+                             Upstream upstream) {
+
+    /**
+     * 耗时分布
+     *
+     * @param min 最小值
+     * @param mean 平均值
+     * @param p50 50分位
+     * @param p90 90分位
+     * @param p99 99分位
+     * @param p999 99.9分位
+     * @param max 最大值
+     */
+    public record Latency(double min, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        /**
+         * 由各请求的耗时计算分布，分位值取最近秩
+         *
+         * @param nanos 各请求的耗时（纳秒）
+         * @return 耗时分布（毫秒）
+         */
+        public static Latency of(long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return new Latency(millis(sorted[0]), millis((long) Arrays.stream(sorted).average().orElse(0)),
+                    percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), millis(sorted[sorted.length - 1]));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return millis(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+
+    /**
+     * 模拟服务的请求统计
+     *
+     * @param requests 收到的发布请求数，包括重试请求
+     * @param injectedErrors 注入的500响应数
+     * @param injectedThrottles 注入的429响应数
+     */
+    public record Upstream(long requests, long injectedErrors, long injectedThrottles) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 通过stdio与MCP服务端通信的JSON-RPC客户端
+ *
+ * 以子进程启动服务端，请求按行写入子进程的标准输入，
+ * 后台线程按行读取标准输出并根据id完成对应的请求。
+ * 多个请求可以同时进行，写入按行加锁。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class McpStdioClient implements AutoCloseable {
+
+    /** JSON对象映射器 */
+    private final ObjectMapper objectMapper;
+
+    /** 服务端进程 */
+    private final Process process;
+
+    /** 服务端标准输入 */
+    private final BufferedWriter writer;
+
+    /** 请求id */
+    private final AtomicLong ids = new AtomicLong();
+
+    /** 等待响应的请求 */
+    private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 启动服务端进程并开始读取响应
+     *
+     * @param command 启动命令
+     * @param stderrLog 服务端标准错误输出写入的文件
+     * @param objectMapper JSON对象映射器
+     * @throws IOException 当启动失败时抛出
+     */
+    public McpStdioClient(List<String> command, File stderrLog, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.to(stderrLog))
+                .start();
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        Thread reader = new Thread(this::readLoop, "mcp-stdio-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * 完成MCP初始化握手
+     *
+     * @param timeoutSeconds 等待服务端启动的超时时间（秒）
+     * @throws Exception 当握手失败或超时时抛出
+     */
+    public void initialize(long timeoutSeconds) throws Exception {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("protocolVersion", "2024-11-05");
+        params.putObject("capabilities");
+        params.putObject("clientInfo").put("name", "mcp-load-test").put("version", "1.0.0");
+        request("initialize", params).get(timeoutSeconds, TimeUnit.SECONDS);
+        ObjectNode initialized = objectMapper.createObjectNode();
+        initialized.put("jsonrpc", "2.0");
+        initialized.put("method", "notifications/initialized");
+        write(initialized);
+    }
+
+    /**
+     * 获取服务端进程ID
+     *
+     * @return 进程ID
+     */
+    public long pid() {
+        return process.pid();
+    }
+
+    /**
+     * 列出服务端提供的工具
+     *
+     * @return JSON-RPC响应
+     */
+    public CompletableFuture<JsonNode> listTools() {
+        return request("tools/list", objectMapper.createObjectNode());
+    }
+
+    /**
+     * 调用MCP工具
+     *
+     * @param name 工具名称
+     * @param arguments 工具参数
+     * @return JSON-RPC响应
+     */
+    public CompletableFuture<JsonNode> callTool(String name, JsonNode arguments) {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("name", name);
+        params.set("arguments", arguments);
+        return request("tools/call", params);
+    }
+
+    /**
+     * 发送JSON-RPC请求
+     *
+     * @param method 方法名
+     * @param params 参数
+     * @return JSON-RPC响应
+     */
+    private CompletableFuture<JsonNode> request(String method, JsonNode params) {
+        long id = ids.incrementAndGet();
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pending.put(id, future);
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("id", id);
+        message.put("method", method);
+        message.set("params", params);
+        try {
+            write(message);
+        } catch (IOException e) {
+            pending.remove(id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 写入一行JSON-RPC消息
+     *
+     * @param message 消息
+     * @throws IOException 当写入失败时抛出
+     */
+    private void write(JsonNode message) throws IOException {
+        String line = objectMapper.writeValueAsString(message);
+        synchronized (writer) {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * 读取服务端输出，按id完成请求
+     *
+     * 非JSON的行（例如启动日志）被忽略。服务端退出时所有未完成的请求以异常结束。
+     */
+    private void readLoop() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("{")) {
+                    continue;
+                }
+                JsonNode message = objectMapper.readTree(line);
+                JsonNode id = message.get("id");
+                if (id == null || !id.canConvertToLong()) {
+                    continue;
+                }
+                CompletableFuture<JsonNode> future = pending.remove(id.asLong());
+                if (future != null) {
+                    future.complete(message);
+                }
+            }
+        } catch (IOException ignored) {
+            // 服务端退出
+        }
+        IOException closed = new IOException("MCP服务端已退出");
+        pending.values().forEach(future -> future.completeExceptionally(closed));
+        pending.clear();
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // 服务端可能已经退出
+        }
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
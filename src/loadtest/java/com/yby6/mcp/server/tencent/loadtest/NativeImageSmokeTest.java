@@ -0,0 +1,179 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 原生镜像冒烟测试
+ *
+ * 分别以JVM和GraalVM原生镜像启动服务端，连接本地的腾讯云模拟服务（{@link TencentStandIn}），
+ * 每次启动完成以下步骤：
+ * 1. 完成initialize握手并发送tools/list，记录从启动进程到收到响应的耗时
+ * 2. 调用saveArticle发布一篇文章，确认发布成功，覆盖Retrofit代理、Jackson绑定和工具调用
+ * 3. 读取进程的常驻内存峰值（/proc/pid/status中的VmHWM，仅Linux）
+ *
+ * 任一模式下工具缺失或发布失败时以非0状态退出。
+ *
+ * 运行方式（先执行mvn -Pnative package -DskipTests）：
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.yby6.mcp.server.tencent.loadtest.NativeImageSmokeTest
+ *
+ * 参数（均为可选）：
+ * --native 原生镜像路径，默认target/mcp-server-tencent
+ * --jar 服务端jar路径，默认target/mcp-server-tencent-1.0.0.jar
+ * --runs 每种模式的启动次数，默认3
+ * --report 报告文件路径，默认target/loadtest/native.json
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class NativeImageSmokeTest {
+
+    /** JSON对象映射器 */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 私有构造函数
+     */
+    private NativeImageSmokeTest() {
+    }
+
+    /**
+     * 冒烟测试入口
+     *
+     * @param args 测试参数
+     * @throws Exception 当服务端无法启动、工具缺失或发布失败时抛出
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("无法识别的参数: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        Path nativeImage = Path.of(options.getOrDefault("native", "target/mcp-server-tencent"));
+        String jar = options.getOrDefault("jar", "target/mcp-server-tencent-1.0.0.jar");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        Path report = Path.of(options.getOrDefault("report", "target/loadtest/native.json"));
+        Path workDir = report.toAbsolutePath().getParent();
+        Files.createDirectories(workDir);
+        if (!Files.isExecutable(nativeImage)) {
+            throw new IllegalStateException("原生镜像不存在，请先执行mvn -Pnative package -DskipTests: " + nativeImage);
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (TencentStandIn standIn = new TencentStandIn(0, 0, 0, 0)) {
+            List<String> jvm = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Dspring.ai.mcp.server.stdio=true", "-Dfile.encoding=utf-8", "-jar", jar));
+            List<String> image = new ArrayList<>(List.of(
+                    nativeImage.toAbsolutePath().toString(),
+                    "-Dspring.ai.mcp.server.stdio=true", "-Dfile.encoding=utf-8"));
+            results.put("jvm", run("jvm", jvm, standIn, runs, workDir));
+            results.put("native", run("native", image, standIn, runs, workDir));
+        }
+
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), results);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+        Result jvmResult = results.get("jvm");
+        Result nativeResult = results.get("native");
+        System.out.printf("tools/list p50: JVM %.1fms, 原生镜像 %.1fms；内存峰值: JVM %.1fMB, 原生镜像 %.1fMB%n",
+                jvmResult.toolsListMillis().p50(), nativeResult.toolsListMillis().p50(),
+                jvmResult.peakRssMegabytes(), nativeResult.peakRssMegabytes());
+        System.out.println("报告已写入 " + report.toAbsolutePath());
+    }
+
+    /**
+     * 以指定命令多次启动服务端，每次发布一篇文章
+     *
+     * @param mode 模式名称，用于日志文件名和文章标题
+     * @param launcher 启动命令中服务端参数之前的部分
+     * @param standIn 腾讯云模拟服务
+     * @param runs 启动次数
+     * @param workDir 日志目录
+     * @return 该模式的测试结果
+     * @throws Exception 当服务端无法启动、工具缺失或发布失败时抛出
+     */
+    private static Result run(String mode, List<String> launcher, TencentStandIn standIn, int runs, Path workDir)
+            throws Exception {
+        List<String> command = new ArrayList<>(launcher);
+        command.addAll(List.of(
+                "--tencent.api.base-url=" + standIn.baseUrl(),
+                "--tencent.api.cookie=native-smoke-test",
+                "--tencent.api.transport.warm-up=false",
+                "--tencent.api.rate-limit.enabled=false",
+                "--tencent.api.outbox.path=" + workDir.resolve(mode + "-outbox.jsonl"),
+                "--logging.file.name=" + workDir.resolve(mode + "-server.log")));
+
+        long[] toolsList = new long[runs];
+        double[] peakRss = new double[runs];
+        int tools = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            try (McpStdioClient client = new McpStdioClient(command, workDir.resolve(mode + "-server.err").toFile(),
+                    objectMapper)) {
+                client.initialize(60);
+                JsonNode listed = client.listTools().get(60, TimeUnit.SECONDS);
+                toolsList[i] = System.nanoTime() - start;
+                tools = listed.path("result").path("tools").size();
+                if (tools == 0) {
+                    throw new IllegalStateException(mode + "模式tools/list没有返回工具: " + listed);
+                }
+
+                String title = "冒烟测试 " + mode + "-" + i;
+                ObjectNode arguments = objectMapper.createObjectNode();
+                arguments.putObject("request")
+                        .put("title", title)
+                        .put("markdowncontent", "# " + title + "\n\n正文**加粗**，`代码`\n\n- 列表\n")
+                        .put("userSummary", title);
+                JsonNode response = client.callTool("saveArticle", arguments).get(60, TimeUnit.SECONDS);
+                if (!LoadTestHarness.isPublished(response)) {
+                    throw new IllegalStateException(mode + "模式发布失败: " + response);
+                }
+                peakRss[i] = peakRssMegabytes(client.pid());
+            }
+        }
+        return new Result(tools, LoadTestReport.Latency.of(toolsList), Arrays.stream(peakRss).max().orElse(0));
+    }
+
+    /**
+     * 读取进程的常驻内存峰值
+     *
+     * @param pid 进程ID
+     * @return 常驻内存峰值（MB），无法读取时返回0
+     */
+    private static double peakRssMegabytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    long kilobytes = Long.parseLong(line.replaceAll("\\D", ""));
+                    return Math.round(kilobytes / 102.4) / 10.0;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // 非Linux系统
+        }
+        return 0;
+    }
+
+    /**
+     * 单个模式的测试结果
+     *
+     * @param tools tools/list返回的工具数
+     * @param toolsListMillis 从启动进程到第一次tools/list返回的耗时分布（毫秒）
+     * @param peakRssMegabytes 各次启动中常驻内存峰值的最大值（MB）
+     */
+    public record Result(int tools, LoadTestReport.Latency toolsListMillis, double peakRssMegabytes) {
+    }
+}
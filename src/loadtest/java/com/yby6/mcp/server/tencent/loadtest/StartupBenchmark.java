@@ -0,0 +1,166 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动耗时基准测试
+ *
+ * MCP客户端每个会话都以子进程启动服务端，从启动进程到第一次tools/list返回的时间
+ * 就是用户能感知到的启动延迟。该工具重复以下步骤并统计耗时分布：
+ * 1. 以stdio方式启动服务端进程
+ * 2. 完成initialize握手，记录耗时
+ * 3. 发送tools/list，记录从启动进程到收到响应的耗时
+ * 4. 关闭标准输入，等待进程退出
+ *
+ * 运行方式：
+ * mvn -Ploadtest package exec:exec -DskipTests -Dloadtest.main=com.yby6.mcp.server.tencent.loadtest.StartupBenchmark
+ * 快速启动模式（先执行mvn -Pfast-start package -DskipTests）：
+ * -Dloadtest.args="--jar target/fast-start/mcp-server-tencent-1.0.0.jar --jvm-arg -XX:SharedArchiveFile=target/fast-start/application.jsa --jvm-arg -Dspring.aot.enabled=true"
+ *
+ * 参数（均为可选）：
+ * --jar 服务端jar路径，默认target/mcp-server-tencent-1.0.0.jar
+ * --runs 统计的启动次数，默认10
+ * --warmup 不计入统计的启动次数，用于预热操作系统的文件缓存，默认1
+ * --jvm-arg 传给服务端的JVM参数，可重复
+ * --app-arg 传给服务端的Spring参数，可重复
+ * --report 报告文件路径，默认target/loadtest/startup.json
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class StartupBenchmark {
+
+    /** JSON对象映射器 */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 私有构造函数
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * 基准测试入口
+     *
+     * @param args 测试参数
+     * @throws Exception 当服务端无法启动或没有响应时抛出
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> appArgs = new ArrayList<>();
+        parse(args, options, jvmArgs, appArgs);
+
+        String jar = options.getOrDefault("jar", "target/mcp-server-tencent-1.0.0.jar");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        Path report = Path.of(options.getOrDefault("report", "target/loadtest/startup.json"));
+        Path workDir = report.toAbsolutePath().getParent();
+        Files.createDirectories(workDir);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of(
+                "-Dspring.ai.mcp.server.stdio=true",
+                "-Dfile.encoding=utf-8",
+                "-jar", jar,
+                // 不访问网络，只测量启动
+                "--tencent.api.base-url=http://127.0.0.1:9/",
+                "--tencent.api.cookie=startup-benchmark",
+                "--tencent.api.transport.warm-up=false",
+                "--tencent.api.outbox.path=" + workDir.resolve("startup-outbox.jsonl"),
+                "--logging.file.name=" + workDir.resolve("startup-server.log")));
+        appArgs.forEach(arg -> command.add("--" + arg));
+
+        long[] initialize = new long[runs];
+        long[] toolsList = new long[runs];
+        int tools = 0;
+        for (int i = -warmup; i < runs; i++) {
+            long start = System.nanoTime();
+            try (McpStdioClient client = new McpStdioClient(command, workDir.resolve("startup-server.err").toFile(),
+                    objectMapper)) {
+                client.initialize(60);
+                long initialized = System.nanoTime();
+                JsonNode response = client.listTools().get(60, TimeUnit.SECONDS);
+                long listed = System.nanoTime();
+                tools = response.path("result").path("tools").size();
+                if (i >= 0) {
+                    initialize[i] = initialized - start;
+                    toolsList[i] = listed - start;
+                }
+            }
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("jar", jar);
+        config.put("warmup", warmup);
+        config.put("jvmArgs", jvmArgs);
+        config.put("appArgs", appArgs);
+        Result result = new Result(config, runs, tools, LoadTestReport.Latency.of(initialize),
+                LoadTestReport.Latency.of(toolsList));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), result);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        System.out.println("报告已写入 " + report.toAbsolutePath());
+    }
+
+    /**
+     * 解析命令行参数
+     *
+     * 支持"--key value"和"--key=value"两种形式，--jvm-arg和--app-arg可以重复。
+     *
+     * @param args 命令行参数
+     * @param options 解析出的参数
+     * @param jvmArgs 解析出的JVM参数
+     * @param appArgs 解析出的服务端参数
+     */
+    private static void parse(String[] args, Map<String, String> options, List<String> jvmArgs, List<String> appArgs) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            String key = arg.substring(2);
+            String value;
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                value = key.substring(eq + 1);
+                key = key.substring(0, eq);
+            } else {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("参数缺少取值: " + arg);
+                }
+                value = args[++i];
+            }
+            if ("jvm-arg".equals(key)) {
+                jvmArgs.add(value);
+            } else if ("app-arg".equals(key)) {
+                appArgs.add(value);
+            } else {
+                options.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * 启动耗时报告，耗时单位为毫秒
+     *
+     * @param config 测试参数
+     * @param runs 统计的启动次数
+     * @param tools tools/list返回的工具数
+     * @param initializeMillis 从启动进程到initialize返回的耗时分布
+     * @param toolsListMillis 从启动进程到第一次tools/list返回的耗时分布
+     */
+    public record Result(Map<String, Object> config, int runs, int tools, LoadTestReport.Latency initializeMillis,
+                         LoadTestReport.Latency toolsListMillis) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.yby6.mcp.server.tencent.loadtest;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地的腾讯云开发者社区模拟服务
+ *
+ * 基于MockWebServer模拟addArticle接口，按配置注入响应延迟、服务端错误和限流：
+ * 1. 每个请求的响应头延迟为latencyMillis加上[0, jitterMillis)之间的随机值
+ * 2. 按errorRate的比例返回500
+ * 3. 按throttleRate的比例返回429
+ * 4. 其余请求返回status为0的成功响应
+ *
+ * 图片上传接口不注入延迟和错误，每次返回一个新的图床地址。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class TencentStandIn implements AutoCloseable {
+
+    /** 发布接口路径 */
+    private static final String ADD_ARTICLE_PATH = "/developer/api/article/addArticle";
+
+    /** 图片上传接口路径，与tencent.api.image.upload-path的默认值一致 */
+    private static final String UPLOAD_IMAGE_PATH = "/developer/api/common/uploadImage";
+
+    /** 模拟服务 */
+    private final MockWebServer server = new MockWebServer();
+
+    /** 收到的发布请求数 */
+    private final AtomicLong requests = new AtomicLong();
+
+    /** 返回500的次数 */
+    private final AtomicLong errors = new AtomicLong();
+
+    /** 返回429的次数 */
+    private final AtomicLong throttles = new AtomicLong();
+
+    /** 生成的文章ID */
+    private final AtomicLong articleIds = new AtomicLong(100000);
+
+    /** 收到的图片上传请求数 */
+    private final AtomicLong imageUploads = new AtomicLong();
+
+    /**
+     * 创建并启动模拟服务
+     *
+     * @param latencyMillis 基础响应延迟（毫秒）
+     * @param jitterMillis 随机附加延迟的上限（毫秒）
+     * @param errorRate 返回500的比例
+     * @param throttleRate 返回429的比例
+     * @throws IOException 当启动失败时抛出
+     */
+    public TencentStandIn(long latencyMillis, long jitterMillis, double errorRate, double throttleRate)
+            throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (UPLOAD_IMAGE_PATH.equals(request.getPath())) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{\"status\":0,\"url\":\"https://developer.qcloudimg.com/http-save/stand-in/"
+                                    + imageUploads.incrementAndGet() + ".png\"}");
+                }
+                if (!ADD_ARTICLE_PATH.equals(request.getPath())) {
+                    return new MockResponse();
+                }
+                requests.incrementAndGet();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis) : 0);
+                double roll = random.nextDouble();
+                MockResponse response;
+                if (roll < errorRate) {
+                    errors.incrementAndGet();
+                    response = new MockResponse().setResponseCode(500);
+                } else if (roll < errorRate + throttleRate) {
+                    throttles.incrementAndGet();
+                    response = new MockResponse().setResponseCode(429).setHeader("Retry-After", "1");
+                } else {
+                    response = new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody("{\"articleId\":" + articleIds.incrementAndGet() + ",\"status\":0}");
+                }
+                return response.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * 获取模拟服务的基础URL
+     *
+     * @return 以"/"结尾的基础URL
+     */
+    public String baseUrl() {
+        return server.url("/").toString();
+    }
+
+    /**
+     * 获取收到的发布请求数
+     *
+     * @return 请求数，包括重试请求
+     */
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * 获取返回500的次数
+     *
+     * @return 注入的错误数
+     */
+    public long errors() {
+        return errors.get();
+    }
+
+    /**
+     * 获取返回429的次数
+     *
+     * @return 注入的限流数
+     */
+    public long throttles() {
+        return throttles.get();
+    }
+
+    /**
+     * 获取收到的图片上传请求数
+     *
+     * @return 图片上传请求数
+     */
+    public long imageUploads() {
+        return imageUploads.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+}
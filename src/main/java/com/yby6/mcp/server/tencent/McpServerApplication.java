@@ -1,23 +1,46 @@
 package com.yby6.mcp.server.tencent;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
 import com.yby6.mcp.server.tencent.domain.service.TencentArticleService;
+import com.yby6.mcp.server.tencent.domain.service.TencentArticleUploadService;
+import com.yby6.mcp.server.tencent.domain.service.TencentMetricsService;
+import com.yby6.mcp.server.tencent.domain.service.TencentPublishQueueService;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.TencentHttpClientFactory;
+import com.yby6.mcp.server.tencent.types.cache.SingleFlightCache;
+import com.yby6.mcp.server.tencent.types.mcp.SerializedStdioServerTransport;
+import com.yby6.mcp.server.tencent.types.metrics.TimedToolCallback;
 import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.AdaptiveRateLimiter;
+import com.yby6.mcp.server.tencent.types.utils.CircuitBreaker;
+import com.yby6.mcp.server.tencent.types.utils.ContentHash;
+import com.yby6.mcp.server.tencent.types.utils.RetryBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.ServerMcpTransport;
 import jakarta.annotation.Resource;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
-import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.ai.tool.ToolCallbacks;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Lazy;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 import org.springframework.context.annotation.ComponentScan;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 腾讯云开发者社区服务启动类
@@ -28,15 +51,15 @@ import java.util.concurrent.TimeUnit;
  * 2. 集成MCP工具，支持文章保存等功能
  * 3. 管理腾讯云API的认证信息
  *
+ * 可以打包为GraalVM原生镜像，运行时反射所需的元数据见{@link TencentRuntimeHints}。
+ *
  * @author yby6
  * @version 1.0.0
  */
 @SpringBootApplication
+@ImportRuntimeHints(TencentRuntimeHints.class)
 public class McpServerApplication implements CommandLineRunner {
     
-    /** 腾讯云API基础URL */
-    private static final String BASE_URL = "https://cloud.tencent.com/";
-    
     /** 日志记录器 */
     private final Logger log = LoggerFactory.getLogger(McpServerApplication.class);
     
@@ -44,6 +67,10 @@ public class McpServerApplication implements CommandLineRunner {
     @Resource
     private TencentApiProperties tencentApiProperties;
     
+    /** 共享的HTTP客户端，懒加载 */
+    @Resource
+    private ObjectProvider<OkHttpClient> tencentHttpClientProvider;
+    
     /**
      * 应用程序入口点
      *
@@ -53,45 +80,150 @@ public class McpServerApplication implements CommandLineRunner {
         SpringApplication.run(McpServerApplication.class, args);
     }
     
+    /**
+     * 配置并创建访问腾讯云API的共享HTTP客户端
+     *
+     * 连接池、请求调度和各阶段超时通过tencent.api.transport.*配置，
+     * 所有请求共享同一个客户端，从而共享连接池和调度线程。
+     * tools/list握手不需要HTTP客户端，客户端延迟到第一次发布或启动后的预热时创建。
+     *
+     * @return 配置好的OkHttpClient
+     */
+    @Bean
+    @Lazy
+    public OkHttpClient tencentHttpClient() {
+        return TencentHttpClientFactory.create(tencentApiProperties.getTransport());
+    }
+    
     /**
      * 配置并创建腾讯API服务实例
      *
-     * 该方法创建了一个配置了超时设置的OkHttpClient，并使用Retrofit构建API服务接口。
-     * 主要配置包括：
-     * - 连接超时：30秒
-     * - 读取超时：30秒
-     * - 写入超时：30秒
+     * 该方法使用共享的OkHttpClient，通过Retrofit构建API服务接口。
+     * 基础URL通过tencent.api.base-url配置。
+     * 响应转换使用Spring Boot配置的共享ObjectMapper。
      *
+     * @param tencentHttpClient 共享的HTTP客户端
+     * @param objectMapper 共享的JSON对象映射器
      * @return 配置好的腾讯API服务接口实例
      */
     @Bean
-    public ITencentService tencentService() {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
-        
+    @Lazy
+    public ITencentService tencentService(OkHttpClient tencentHttpClient, ObjectMapper objectMapper) {
         Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .client(client)
-                .addConverterFactory(JacksonConverterFactory.create())
+                .baseUrl(tencentApiProperties.getBaseUrl())
+                .client(tencentHttpClient)
+                .addConverterFactory(JacksonConverterFactory.create(objectMapper))
                 .build();
         
         return retrofit.create(ITencentService.class);
     }
     
+    /**
+     * 配置并创建指标注册表
+     *
+     * 应用不引入actuator，使用内存中的注册表保存指标，
+     * 通过getServerMetrics工具读取。
+     *
+     * @return 内存指标注册表
+     */
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+    
+    /**
+     * 配置并创建发布接口的客户端限流器
+     *
+     * 令牌桶的初始速率、上下限和AIMD调整参数通过tencent.api.rate-limit.*配置。
+     *
+     * @return 自适应令牌桶限流器
+     */
+    @Bean
+    public AdaptiveRateLimiter tencentRateLimiter() {
+        TencentApiProperties.RateLimit rateLimit = tencentApiProperties.getRateLimit();
+        return new AdaptiveRateLimiter(rateLimit.getInitialRate(), rateLimit.getMinRate(), rateLimit.getMaxRate(),
+                rateLimit.getBurst(), rateLimit.getIncreaseStep(), rateLimit.getDecreaseFactor());
+    }
+    
+    /**
+     * 配置并创建发布接口的熔断器
+     *
+     * 连续失败次数阈值和熔断持续时间通过tencent.api.circuit-breaker.*配置。
+     *
+     * @return 熔断器
+     */
+    @Bean
+    public CircuitBreaker tencentCircuitBreaker() {
+        TencentApiProperties.CircuitBreaker circuitBreaker = tencentApiProperties.getCircuitBreaker();
+        return new CircuitBreaker(circuitBreaker.getFailureThreshold(), circuitBreaker.getOpenMillis());
+    }
+    
+    /**
+     * 配置并创建发布接口的重试预算
+     *
+     * 重试比例和预算上限通过tencent.api.retry.*配置。
+     *
+     * @return 重试预算
+     */
+    @Bean
+    public RetryBudget tencentRetryBudget() {
+        TencentApiProperties.Retry retry = tencentApiProperties.getRetry();
+        return new RetryBudget(retry.getBudgetRatio(), retry.getBudgetCapacity());
+    }
+    
+    /**
+     * 配置并创建重复发布去重缓存
+     *
+     * 并发的重复发布共享同一次调用；发布成功的结果在tencent.api.dedup.window-seconds内保留，
+     * 窗口内的重复发布直接返回原结果。
+     *
+     * @return 以标题、内容、摘要和标签的哈希为键的去重缓存
+     */
+    @Bean
+    public SingleFlightCache<ContentHash, ArticleFunctionResponse> publishDeduplicator() {
+        TencentApiProperties.Dedup dedup = tencentApiProperties.getDedup();
+        return new SingleFlightCache<>(Duration.ofSeconds(dedup.getWindowSeconds()), dedup.getMaxEntries(),
+                response -> response.getStatus() != null && response.getStatus() == 0);
+    }
+    
+    /**
+     * 配置并创建MCP的stdio传输
+     *
+     * 替换默认的stdio传输，多个工具调用同时完成时串行写入响应，避免响应被丢弃。
+     *
+     * @return stdio传输
+     */
+    @Bean
+    public ServerMcpTransport stdioServerTransport() {
+        return new SerializedStdioServerTransport();
+    }
+    
     /**
      * 注册MCP工具
      *
-     * 该方法用于注册文章保存相关的MCP工具，使其可以被Spring AI框架调用。
+     * 该方法用于注册文章保存、发布队列、分块上传和服务端指标相关的MCP工具，使其可以被Spring AI框架调用。
+     * 每个工具都包装为记录调用耗时的回调。
      *
      * @param tencentArticleService 腾讯文章服务实例
+     * @param tencentPublishQueueService 腾讯文章发布队列服务实例
+     * @param tencentArticleUploadService 腾讯文章分块上传服务实例
+     * @param tencentMetricsService 服务端指标服务实例
+     * @param meterRegistry 指标注册表
      * @return 配置好的工具回调提供者
      */
     @Bean
-    public ToolCallbackProvider tencentTools(TencentArticleService tencentArticleService) {
-        return MethodToolCallbackProvider.builder().toolObjects(tencentArticleService).build();
+    public ToolCallbackProvider tencentTools(TencentArticleService tencentArticleService,
+                                             TencentPublishQueueService tencentPublishQueueService,
+                                             TencentArticleUploadService tencentArticleUploadService,
+                                             TencentMetricsService tencentMetricsService,
+                                             MeterRegistry meterRegistry) {
+        ToolCallback[] callbacks = ToolCallbacks.from(tencentArticleService, tencentPublishQueueService,
+                tencentArticleUploadService, tencentMetricsService);
+        List<ToolCallback> timed = new ArrayList<>(callbacks.length);
+        for (ToolCallback callback : callbacks) {
+            timed.add(new TimedToolCallback(callback, meterRegistry));
+        }
+        return ToolCallbackProvider.from(timed);
     }
     
     /**
@@ -100,6 +232,7 @@ public class McpServerApplication implements CommandLineRunner {
      * 该方法在应用启动时执行，主要用于：
      * 1. 检查腾讯云Cookie配置
      * 2. 验证认证信息的有效性
+     * 3. 开启预热时，在后台创建HTTP客户端并建立到腾讯云的连接，不阻塞启动
      *
      * @param args 命令行参数
      * @throws Exception 如果初始化过程中发生错误
@@ -111,5 +244,9 @@ public class McpServerApplication implements CommandLineRunner {
         if (cookie == null || cookie.isEmpty()) {
             log.error("没有配置 cookie 请检查配置文件");
         }
+        if (tencentApiProperties.getTransport().isWarmUp()) {
+            CompletableFuture.runAsync(() -> TencentHttpClientFactory.warmUp(tencentHttpClientProvider.getObject(),
+                    tencentApiProperties.getBaseUrl()));
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.yby6.mcp.server.tencent;
+
+import com.yby6.mcp.server.tencent.domain.model.ArticleBatchFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleUploadStatus;
+import com.yby6.mcp.server.tencent.domain.model.PublishJob;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
+import com.yby6.mcp.server.tencent.domain.model.ServerMetricsResponse;
+import com.yby6.mcp.server.tencent.domain.service.TencentArticleService;
+import com.yby6.mcp.server.tencent.domain.service.TencentArticleUploadService;
+import com.yby6.mcp.server.tencent.domain.service.TencentMetricsService;
+import com.yby6.mcp.server.tencent.domain.service.TencentPublishQueueService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.DirectoryResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.UploadImageResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * GraalVM原生镜像的可达性元数据
+ *
+ * Spring AOT能推导出Bean定义和配置属性所需的元数据，但以下反射用法只在运行时发生，需要显式声明：
+ * 1. Retrofit为ITencentService创建JDK动态代理，并在调用时读取方法上的注解和泛型返回类型
+ * 2. Jackson序列化和反序列化工具参数、工具返回值、腾讯云接口的请求响应DTO以及本地发布队列、图片地址缓存和目录快照的记录
+ * 3. Spring AI的MethodToolCallbackProvider扫描@Tool方法生成参数的JSON Schema，并通过反射调用
+ *
+ * 以上元数据在JVM上运行时不产生任何开销，只在原生镜像构建时使用。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class TencentRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** 本地发布队列的日志记录，包级私有，按名称注册 */
+    static final String JOURNAL_RECORD = "com.yby6.mcp.server.tencent.infrastructure.adapter.PublishOutbox$JournalRecord";
+
+    /** 图片地址缓存的映射记录，包级私有，按名称注册 */
+    static final String IMAGE_ENTRY = "com.yby6.mcp.server.tencent.infrastructure.adapter.ImageUrlStore$Entry";
+
+    /** 目录快照，包级私有，按名称注册 */
+    static final String DIRECTORY_SNAPSHOT = "com.yby6.mcp.server.tencent.infrastructure.adapter.TencentDirectory$Snapshot";
+
+    /** 通过@Tool方法对外提供的工具服务 */
+    private static final Class<?>[] TOOL_SERVICES = {
+            TencentArticleService.class,
+            TencentPublishQueueService.class,
+            TencentArticleUploadService.class,
+            TencentMetricsService.class
+    };
+
+    /** 由Jackson绑定的模型，嵌套的字段类型会一并注册 */
+    private static final Class<?>[] BINDING_TYPES = {
+            ArticleFunctionRequest.class,
+            ArticleFunctionResponse.class,
+            ArticleBatchFunctionResponse.class,
+            ArticleUploadStatus.class,
+            PublishJob.class,
+            PublishJobStatus.class,
+            RateLimitStatus.class,
+            ServerMetricsResponse.class,
+            AddArticleRequest.class,
+            AddArticleResponse.class,
+            UploadImageResponse.class,
+            DirectoryResponse.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(ITencentService.class);
+        hints.reflection().registerType(ITencentService.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        for (Class<?> toolService : TOOL_SERVICES) {
+            hints.reflection().registerType(toolService, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BINDING_TYPES);
+        for (String type : new String[]{JOURNAL_RECORD, IMAGE_ENTRY, DIRECTORY_SNAPSHOT}) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.yby6.mcp.server.tencent.domain.adapter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 图片读取端口接口
+ *
+ * 该接口定义了按文章中的图片地址读取图片内容的操作，
+ * 屏蔽本地文件和外部链接的差异。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public interface IImageSource {
+
+    /**
+     * 读取图片内容
+     *
+     * 支持http(s)链接和本地相对路径，本地路径只在开启tencent.api.image.local-files时读取，
+     * 相对于tencent.api.image.base-dir解析且不能跳出该目录。
+     *
+     * @param source 文章中的图片地址
+     * @return 图片字节的Future，图片不存在、不允许读取、不是图片、超过大小上限或下载失败时以异常结束
+     */
+    CompletableFuture<byte[]> load(String source);
+}
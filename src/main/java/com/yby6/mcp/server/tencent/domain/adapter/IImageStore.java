@@ -0,0 +1,35 @@
+package com.yby6.mcp.server.tencent.domain.adapter;
+
+import java.io.IOException;
+
+/**
+ * 图片地址缓存端口接口
+ *
+ * 该接口定义了图片内容哈希到社区图床地址的持久化映射。
+ * 已经上传过的图片（无论来自哪个路径或链接）按内容命中缓存，
+ * 重新发布文章或进程重启后都不会再次上传。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public interface IImageStore {
+
+    /**
+     * 查询图片在社区图床上的地址
+     *
+     * @param hash 图片内容的SHA-256十六进制字符串
+     * @return 图床地址，未上传过时返回null
+     */
+    String get(String hash);
+
+    /**
+     * 保存图片的图床地址
+     *
+     * 方法返回时映射已经写入磁盘。
+     *
+     * @param hash 图片内容的SHA-256十六进制字符串
+     * @param url 图床地址
+     * @throws IOException 当写入本地文件失败时抛出
+     */
+    void put(String hash, String url) throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.yby6.mcp.server.tencent.domain.adapter;
+
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.PublishJob;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 本地发布队列端口接口
+ * 
+ * 该接口定义了持久化发布队列（outbox）的操作。
+ * 文章发布请求先写入本地日志并落盘，再由后台任务异步发布，
+ * 即使腾讯云接口不可用或进程重启，已接受的请求也不会丢失。
+ * 
+ * 主要功能：
+ * 1. 追加并持久化发布请求
+ * 2. 记录发布任务的状态变化
+ * 3. 启动时重放未完成的任务
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+public interface IPublishOutbox {
+
+    /**
+     * 将文章发布请求加入队列
+     * 
+     * 方法返回时请求已经写入磁盘，进程崩溃后可以恢复。
+     * 
+     * @param request 文章发布请求
+     * @return 新建任务的状态，包含任务ID
+     * @throws IOException 当写入本地日志失败时抛出
+     */
+    PublishJobStatus enqueue(ArticleFunctionRequest request) throws IOException;
+
+    /**
+     * 记录任务状态变化
+     * 
+     * 任务结束（成功或最终失败）后不再保留原始请求。
+     * 
+     * @param status 任务的最新状态
+     * @throws IOException 当写入本地日志失败时抛出
+     */
+    void update(PublishJobStatus status) throws IOException;
+
+    /**
+     * 查询任务状态
+     * 
+     * @param jobId 任务ID
+     * @return 任务状态，任务不存在时返回null
+     */
+    PublishJobStatus getStatus(String jobId);
+
+    /**
+     * 获取所有未完成的任务
+     * 
+     * 按加入队列的顺序返回，用于启动时恢复发布。
+     * 
+     * @return 未完成的任务列表
+     */
+    List<PublishJob> pendingJobs();
+}
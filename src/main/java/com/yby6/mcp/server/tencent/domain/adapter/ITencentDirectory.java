@@ -0,0 +1,61 @@
+package com.yby6.mcp.server.tencent.domain.adapter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 腾讯云开发者社区目录端口接口
+ *
+ * 该接口定义了标签、分类和专栏名称到社区ID的查找。
+ * 查找基于内存中的目录完成，不会为每篇文章发起网络请求；
+ * 目录过期后在后台刷新，刷新期间继续使用旧目录。
+ *
+ * 名称比较忽略首尾空白和英文大小写。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public interface ITencentDirectory {
+
+    /**
+     * 查找分类ID
+     *
+     * @param name 分类名称
+     * @return 分类ID，目录中没有该名称时返回null
+     */
+    Integer categoryId(String name);
+
+    /**
+     * 查找标签ID
+     *
+     * @param name 标签名称
+     * @return 标签ID，目录中没有该名称时返回null
+     */
+    Integer tagId(String name);
+
+    /**
+     * 查找专栏ID
+     *
+     * @param name 专栏名称
+     * @return 专栏ID，目录中没有该名称时返回null
+     */
+    Integer columnId(String name);
+
+    /**
+     * 获取目录中的全部标签名称
+     *
+     * @return 社区返回的原始标签名称，目录尚未加载时为空
+     */
+    Collection<String> tagNames();
+
+    /**
+     * 在文章中查找目录里的标签
+     *
+     * 一次线性扫描统计每个标签的出现次数，耗时与标签数量无关。
+     *
+     * @param limit 最多返回的标签数
+     * @param texts 待匹配的文本，例如标题和正文
+     * @return 出现次数最多的标签名称，按次数从多到少排列
+     */
+    List<String> matchTags(int limit, CharSequence... texts);
+}
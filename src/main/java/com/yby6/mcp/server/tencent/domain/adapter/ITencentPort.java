@@ -2,8 +2,11 @@ package com.yby6.mcp.server.tencent.domain.adapter;
 
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.PublishNotSentException;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 腾讯云开发者社区端口适配器接口
@@ -37,4 +40,71 @@ public interface ITencentPort {
      */
     ArticleFunctionResponse writeArticle(ArticleFunctionRequest request) throws IOException;
 
+    /**
+     * 发布文章到腾讯云开发者社区，不在端口内重试
+     * 
+     * 用于自己负责重试的调用方，例如本地发布队列，避免两层重试叠加。
+     * 确定服务端没有处理请求时以{@link PublishNotSentException}失败，调用方可以安全地重新发布；
+     * 其他异常表示服务端可能已经保存了文章，重新发布可能产生重复文章。
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 文章发布响应，服务端返回非成功状态时返回null
+     * @throws IOException 当发布过程中发生IO异常时抛出
+     */
+    ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request) throws IOException;
+
+    /**
+     * 使用已转换的ProseMirror内容发布文章，不在端口内重试
+     * 
+     * 与{@link #writeArticleOnce(ArticleFunctionRequest)}相同，只是跳过Markdown转换，
+     * 用于发布前已经转换并转存了图片的文章。
+     * 
+     * @param request 文章发布请求，markdowncontent作为纯文本字段发送
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应，服务端返回非成功状态时返回null
+     * @throws IOException 当发布过程中发生IO异常时抛出
+     */
+    ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request, String content) throws IOException;
+
+    /**
+     * 异步发布文章到腾讯云开发者社区
+     * 
+     * 非阻塞版本的文章发布操作：
+     * 1. 调用线程只负责构建请求并提交，不等待网络往返
+     * 2. 发布结果通过Future返回，失败时Future以异常结束
+     * 3. 多个并发调用不需要为每个进行中的请求占用一个调用线程
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 文章发布响应的Future，包含发布结果和文章ID等信息
+     */
+    CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request);
+
+    /**
+     * 使用已转换的ProseMirror内容异步发布文章
+     * 
+     * 用于Markdown在发布前已经转换完成的场景，例如分块上传时边接收边转换，
+     * 发布时不再重复转换。
+     * 
+     * @param request 文章发布请求，markdowncontent作为纯文本字段发送
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应的Future，包含发布结果和文章ID等信息
+     */
+    CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request, String content);
+
+    /**
+     * 异步上传图片到腾讯云开发者社区图床
+     * 
+     * @param image 图片字节
+     * @param fileName 文件名，用于推断图片类型
+     * @return 图床地址的Future，上传失败时以异常结束
+     */
+    CompletableFuture<String> uploadImageAsync(byte[] image, String fileName);
+
+    /**
+     * 获取发布接口的限流状态
+     * 
+     * @return 客户端限流器的当前状态
+     */
+    RateLimitStatus getRateLimitStatus();
+
 }
@@ -0,0 +1,56 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量文章发布响应模型
+ * 
+ * 该模型类用于封装批量发布文章的整体结果。
+ * 
+ * 主要功能：
+ * 1. 按输入顺序返回每篇文章的发布结果
+ * 2. 汇总成功和失败的数量
+ * 3. 报告整个批次的耗时
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleBatchFunctionResponse {
+
+    /**
+     * 每篇文章的发布结果
+     * 
+     * 顺序与输入列表一致。
+     */
+    @JsonProperty(required = true, value = "items")
+    @JsonPropertyDescription("每篇文章的发布结果")
+    private List<ArticleBatchItemResult> items;
+
+    /**
+     * 发布成功的文章数量
+     */
+    @JsonProperty(required = true, value = "succeeded")
+    @JsonPropertyDescription("发布成功的文章数量")
+    private Integer succeeded;
+
+    /**
+     * 发布失败的文章数量
+     */
+    @JsonProperty(required = true, value = "failed")
+    @JsonPropertyDescription("发布失败的文章数量")
+    private Integer failed;
+
+    /**
+     * 整个批次的耗时（毫秒）
+     */
+    @JsonProperty(required = true, value = "elapsedMillis")
+    @JsonPropertyDescription("整个批次的耗时（毫秒）")
+    private Long elapsedMillis;
+}
@@ -0,0 +1,47 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+/**
+ * 批量发布中单篇文章的结果
+ * 
+ * 该模型类用于封装批量发布时每篇文章各自的发布结果。
+ * 发布成功时包含文章发布响应，失败时包含错误信息，两者只会出现一个。
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleBatchItemResult {
+
+    /**
+     * 文章在批量请求中的序号
+     * 
+     * 从0开始，与输入列表中的位置一致。
+     */
+    @JsonProperty(required = true, value = "index")
+    @JsonPropertyDescription("文章在批量请求中的序号")
+    private Integer index;
+
+    /**
+     * 文章发布响应
+     * 
+     * 发布成功时返回，包含文章ID和访问链接。
+     */
+    @JsonProperty(value = "response")
+    @JsonPropertyDescription("文章发布响应")
+    private ArticleFunctionResponse response;
+
+    /**
+     * 错误信息
+     * 
+     * 发布失败时返回，说明失败原因。
+     */
+    @JsonProperty(value = "error")
+    @JsonPropertyDescription("错误信息")
+    private String error;
+}
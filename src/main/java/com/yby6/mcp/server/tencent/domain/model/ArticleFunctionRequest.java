@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * 文章功能请求模型
  * 
@@ -56,4 +58,16 @@ public class ArticleFunctionRequest {
     @JsonProperty(required = true, value = "userSummary")
     @JsonPropertyDescription("文章摘要")
     private String userSummary;
+
+    /**
+     * 文章标签
+     * 
+     * 可选字段，标签名称列表。
+     * 在JSON序列化时使用"tags"作为字段名。
+     * 社区已有的标签按名称解析为标签ID，其余名称作为长尾标签发送；
+     * 未指定时按标题和正文自动匹配社区已有的标签。
+     */
+    @JsonProperty("tags")
+    @JsonPropertyDescription("文章标签名称列表，可选；社区中不存在的标签作为长尾标签发布，未指定时按内容自动匹配")
+    private List<String> tags;
 }
@@ -0,0 +1,69 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+/**
+ * 分块上传状态模型
+ *
+ * 该模型类用于描述一次分块上传的进度。
+ * 超大文章先通过beginArticle创建上传，再分多次追加Markdown，
+ * 每次追加后已经可以确定的部分立即转换，提交时只需转换剩余的尾部。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleUploadStatus {
+
+    /**
+     * 上传ID
+     *
+     * 创建上传时生成，用于追加内容和提交。
+     */
+    @JsonProperty(required = true, value = "uploadId")
+    @JsonPropertyDescription("上传ID")
+    private String uploadId;
+
+    /**
+     * 文章标题
+     */
+    @JsonProperty(value = "title")
+    @JsonPropertyDescription("文章标题")
+    private String title;
+
+    /**
+     * 已追加的块数
+     */
+    @JsonProperty(required = true, value = "chunks")
+    @JsonPropertyDescription("已追加的块数")
+    private Integer chunks;
+
+    /**
+     * 已接收的Markdown字符数
+     */
+    @JsonProperty(required = true, value = "receivedChars")
+    @JsonPropertyDescription("已接收的Markdown字符数")
+    private Integer receivedChars;
+
+    /**
+     * 已转换的Markdown字符数
+     *
+     * 未转换的部分在后续追加或提交时转换。
+     */
+    @JsonProperty(required = true, value = "convertedChars")
+    @JsonPropertyDescription("已转换为ProseMirror的Markdown字符数")
+    private Integer convertedChars;
+
+    /**
+     * 上传的保留时间（秒）
+     *
+     * 超过该时间没有追加或提交时上传被丢弃。
+     */
+    @JsonProperty(required = true, value = "ttlSeconds")
+    @JsonPropertyDescription("没有追加或提交时上传的保留时间（秒）")
+    private Long ttlSeconds;
+}
@@ -0,0 +1,104 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 单个指标的快照
+ * 
+ * 该模型类用于描述一个计时器、分布摘要、计数器或仪表的当前值。
+ * 计时器的耗时单位为毫秒，分布摘要的单位见baseUnit。
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MeterSnapshot {
+
+    /**
+     * 指标名称
+     */
+    @JsonProperty(required = true, value = "name")
+    @JsonPropertyDescription("指标名称")
+    private String name;
+
+    /**
+     * 指标标签
+     */
+    @JsonProperty(value = "tags")
+    @JsonPropertyDescription("指标标签")
+    private Map<String, String> tags;
+
+    /**
+     * 指标类型
+     * 
+     * TIMER、DISTRIBUTION_SUMMARY、COUNTER、GAUGE等。
+     */
+    @JsonProperty(required = true, value = "type")
+    @JsonPropertyDescription("指标类型")
+    private String type;
+
+    /**
+     * 指标单位
+     * 
+     * 计时器为milliseconds。
+     */
+    @JsonProperty(value = "baseUnit")
+    @JsonPropertyDescription("指标单位")
+    private String baseUnit;
+
+    /**
+     * 记录次数
+     * 
+     * 计时器、分布摘要和计数器可用。
+     */
+    @JsonProperty(value = "count")
+    @JsonPropertyDescription("记录次数")
+    private Double count;
+
+    /**
+     * 累计值
+     */
+    @JsonProperty(value = "total")
+    @JsonPropertyDescription("累计值")
+    private Double total;
+
+    /**
+     * 平均值
+     */
+    @JsonProperty(value = "mean")
+    @JsonPropertyDescription("平均值")
+    private Double mean;
+
+    /**
+     * 最大值
+     * 
+     * 最近一段时间内的最大值。
+     */
+    @JsonProperty(value = "max")
+    @JsonPropertyDescription("最近一段时间内的最大值")
+    private Double max;
+
+    /**
+     * 百分位值
+     * 
+     * 键为百分位，例如p50、p99、p999。
+     */
+    @JsonProperty(value = "percentiles")
+    @JsonPropertyDescription("百分位值，键为p50、p99、p999")
+    private Map<String, Double> percentiles;
+
+    /**
+     * 当前值
+     * 
+     * 仪表可用。
+     */
+    @JsonProperty(value = "value")
+    @JsonPropertyDescription("仪表的当前值")
+    private Double value;
+}
@@ -0,0 +1,25 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 发布任务模型
+ * 
+ * 本地发布队列中的一个待发布任务，包含任务ID和原始的文章发布请求。
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublishJob {
+
+    /** 任务ID */
+    private String jobId;
+
+    /** 文章发布请求 */
+    private ArticleFunctionRequest request;
+}
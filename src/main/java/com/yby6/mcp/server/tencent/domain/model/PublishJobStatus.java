@@ -0,0 +1,120 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+/**
+ * 发布任务状态模型
+ * 
+ * 该模型类用于描述本地发布队列中一个发布任务的进度。
+ * 文章加入队列后立即返回任务ID，后台任务完成后可通过任务ID查询发布结果。
+ * 
+ * 任务状态说明：
+ * - QUEUED: 已写入本地队列，等待发布
+ * - RUNNING: 正在发布
+ * - SUCCEEDED: 发布成功，articleId和url可用
+ * - FAILED: 重试次数用尽或被服务端拒绝，error包含失败原因
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublishJobStatus {
+
+    /** 等待发布 */
+    public static final String QUEUED = "QUEUED";
+
+    /** 正在发布 */
+    public static final String RUNNING = "RUNNING";
+
+    /** 发布成功 */
+    public static final String SUCCEEDED = "SUCCEEDED";
+
+    /** 发布失败 */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * 任务ID
+     * 
+     * 加入队列时生成，用于查询发布进度。
+     */
+    @JsonProperty(required = true, value = "jobId")
+    @JsonPropertyDescription("任务ID")
+    private String jobId;
+
+    /**
+     * 任务状态
+     * 
+     * QUEUED、RUNNING、SUCCEEDED或FAILED。
+     */
+    @JsonProperty(required = true, value = "state")
+    @JsonPropertyDescription("任务状态：QUEUED、RUNNING、SUCCEEDED、FAILED")
+    private String state;
+
+    /**
+     * 文章标题
+     */
+    @JsonProperty(value = "title")
+    @JsonPropertyDescription("文章标题")
+    private String title;
+
+    /**
+     * 已尝试发布的次数
+     */
+    @JsonProperty(required = true, value = "attempts")
+    @JsonPropertyDescription("已尝试发布的次数")
+    private Integer attempts;
+
+    /**
+     * 文章ID
+     * 
+     * 发布成功后可用。
+     */
+    @JsonProperty(value = "articleId")
+    @JsonPropertyDescription("文章ID")
+    private Long articleId;
+
+    /**
+     * 文章链接
+     * 
+     * 发布成功后可用。
+     */
+    @JsonProperty(value = "url")
+    @JsonPropertyDescription("文章链接")
+    private String url;
+
+    /**
+     * 最近一次失败的原因
+     */
+    @JsonProperty(value = "error")
+    @JsonPropertyDescription("最近一次失败的原因")
+    private String error;
+
+    /**
+     * 加入队列的时间（毫秒时间戳）
+     */
+    @JsonProperty(required = true, value = "createdAt")
+    @JsonPropertyDescription("加入队列的时间")
+    private Long createdAt;
+
+    /**
+     * 状态最近一次变化的时间（毫秒时间戳）
+     */
+    @JsonProperty(required = true, value = "updatedAt")
+    @JsonPropertyDescription("状态最近一次变化的时间")
+    private Long updatedAt;
+
+    /**
+     * 判断任务是否已经结束
+     * 
+     * @return 发布成功或最终失败时返回true
+     */
+    @JsonIgnore
+    public boolean isFinished() {
+        return SUCCEEDED.equals(state) || FAILED.equals(state);
+    }
+}
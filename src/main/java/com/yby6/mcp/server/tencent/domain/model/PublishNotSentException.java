@@ -0,0 +1,34 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import java.io.IOException;
+
+/**
+ * 发布请求未送达异常
+ *
+ * 发布接口不是幂等的，只有确定服务端没有处理请求时（熔断期间、请求体发出前连接失败等）
+ * 端口才以该异常结束，调用方可以安全地重新发布；其他IO异常表示服务端可能已经保存了文章。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class PublishNotSentException extends IOException {
+
+    /**
+     * 创建异常
+     *
+     * @param message 失败原因
+     */
+    public PublishNotSentException(String message) {
+        super(message);
+    }
+
+    /**
+     * 创建异常
+     *
+     * @param message 失败原因
+     * @param cause 原始异常
+     */
+    public PublishNotSentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
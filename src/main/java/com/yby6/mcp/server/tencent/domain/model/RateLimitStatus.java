@@ -0,0 +1,65 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+/**
+ * 发布接口限流状态模型
+ * 
+ * 该模型类用于描述客户端限流器的当前状态，便于监控发布速率的自适应调整。
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+public class RateLimitStatus {
+
+    /**
+     * 是否启用客户端限流
+     */
+    @JsonProperty(required = true, value = "enabled")
+    @JsonPropertyDescription("是否启用客户端限流")
+    private Boolean enabled;
+
+    /**
+     * 当前速率（每秒请求数）
+     * 
+     * 请求成功时逐步增加，被限流时成倍减少。
+     */
+    @JsonProperty(required = true, value = "rate")
+    @JsonPropertyDescription("当前速率（每秒请求数）")
+    private Double rate;
+
+    /**
+     * 当前可用令牌数
+     * 
+     * 为负数时表示排队等待发送的请求数。
+     */
+    @JsonProperty(required = true, value = "tokens")
+    @JsonPropertyDescription("当前可用令牌数，为负数时表示排队等待的请求数")
+    private Double tokens;
+
+    /**
+     * 距离暂停结束的毫秒数
+     * 
+     * 服务端返回Retry-After时暂停发送，0表示未暂停。
+     */
+    @JsonProperty(required = true, value = "pausedMillis")
+    @JsonPropertyDescription("距离暂停结束的毫秒数")
+    private Long pausedMillis;
+
+    /**
+     * 累计成功次数
+     */
+    @JsonProperty(required = true, value = "successes")
+    @JsonPropertyDescription("累计成功次数")
+    private Long successes;
+
+    /**
+     * 累计被限流次数
+     */
+    @JsonProperty(required = true, value = "throttles")
+    @JsonPropertyDescription("累计被限流次数")
+    private Long throttles;
+}
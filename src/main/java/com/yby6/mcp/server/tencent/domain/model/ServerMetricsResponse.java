@@ -0,0 +1,36 @@
+package com.yby6.mcp.server.tencent.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 服务端指标快照响应
+ * 
+ * 该模型类用于封装getServerMetrics工具返回的全部指标，
+ * 包括Markdown转换、HTTP请求、工具调用的耗时和请求体大小等。
+ * 
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+public class ServerMetricsResponse {
+
+    /**
+     * 快照时间（毫秒时间戳）
+     */
+    @JsonProperty(required = true, value = "timestamp")
+    @JsonPropertyDescription("快照时间")
+    private Long timestamp;
+
+    /**
+     * 指标列表
+     * 
+     * 按指标名称排序。
+     */
+    @JsonProperty(required = true, value = "meters")
+    @JsonPropertyDescription("指标列表")
+    private List<MeterSnapshot> meters;
+}
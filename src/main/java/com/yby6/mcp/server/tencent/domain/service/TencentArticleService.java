@@ -1,15 +1,28 @@
 package com.yby6.mcp.server.tencent.domain.service;
 
-import com.alibaba.fastjson.JSON;
 import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.domain.model.ArticleBatchFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleBatchItemResult;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.cache.SingleFlightCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.ContentHash;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 腾讯云开发者社区文章服务
@@ -25,9 +38,26 @@ import java.io.IOException;
 @Service
 public class TencentArticleService {
     
-    /** 腾讯云端口适配器，用于与基础设施层交互 */
+    /** 腾讯云端口适配器，用于与基础设施层交互，第一次调用时才创建 */
+    @Lazy
     @Resource
     private ITencentPort port;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 重复发布去重缓存，以标题、内容、摘要和标签的哈希为键 */
+    @Resource
+    private SingleFlightCache<ContentHash, ArticleFunctionResponse> publishDeduplicator;
+
+    /** 图片转存服务 */
+    @Resource
+    private TencentImageService tencentImageService;
+
+    /** Markdown转换结果缓存，包含图片的文章在发布前转换并转存图片 */
+    @Resource
+    private ProseMirrorConversionCache proseMirrorConversionCache;
     
     /**
      * 发布文章到腾讯云开发者社区
@@ -46,11 +76,196 @@ public class TencentArticleService {
     @Tool(description = "发布文章到腾讯云开发者社区")
     public ArticleFunctionResponse saveArticle(ArticleFunctionRequest request) throws IOException {
         try {
-            log.info("腾讯云开发者社区发帖参数：{}", JSON.toJSONString(request));
-            return port.writeArticle(request);
+            return saveArticleAsync(request).join();
         } catch (Exception e) {
             log.error("腾讯云开发者社区发帖失败 ", e);
         }
         return null;
     }
+
+    /**
+     * 异步发布文章到腾讯云开发者社区
+     * 
+     * 该方法只负责提交发布请求，网络往返由基础设施层异步完成，
+     * 调用线程不会在请求进行期间被占用。多个并发的工具调用可以共享
+     * 有限的HTTP调度线程，而不是每个进行中的请求占用一个线程。
+     * 
+     * 标题、内容、摘要和标签都相同的请求视为重复发布：
+     * - 并发的重复请求共享同一次发布的Future
+     * - 发布成功后，去重窗口内的重复请求直接返回原文章ID和链接
+     * 
+     * 包含图片的文章先转换为ProseMirror，经{@link TencentImageService}转存图片后再发布；
+     * 这类文章即使超过流式发布阈值也会整篇转换。
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 文章发布响应的Future，失败时以异常结束
+     */
+    public CompletableFuture<ArticleFunctionResponse> saveArticleAsync(ArticleFunctionRequest request) {
+        log.info("腾讯云开发者社区发帖参数：title:{}", request.getTitle());
+        return publishDeduplicator.execute(dedupKey(request), () -> {
+            if (!tencentImageService.needsRehost(request.getMarkdowncontent())) {
+                return port.writeArticleAsync(request);
+            }
+            String content;
+            try {
+                content = proseMirrorConversionCache.convert(request.getMarkdowncontent());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return publishRehosted(request, content);
+        });
+    }
+
+    /**
+     * 使用已转换的ProseMirror内容异步发布文章
+     * 
+     * 用于分块上传：Markdown在接收过程中已经转换完成，发布时不再重复转换。
+     * 与{@link #saveArticleAsync(ArticleFunctionRequest)}共用去重缓存，
+     * 同一篇文章无论整篇发布还是分块上传都只发布一次。
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应的Future，失败时以异常结束
+     */
+    public CompletableFuture<ArticleFunctionResponse> saveConvertedArticleAsync(ArticleFunctionRequest request, String content) {
+        log.info("腾讯云开发者社区发帖参数：title:{}", request.getTitle());
+        return publishDeduplicator.execute(dedupKey(request),
+                () -> tencentImageService.needsRehost(request.getMarkdowncontent())
+                        ? publishRehosted(request, content)
+                        : port.writeArticleAsync(request, content));
+    }
+
+    /**
+     * 计算发布请求的去重键
+     * 
+     * 请求中会进入发布请求体的字段都参与计算，只有这些字段全部相同的请求才视为重复发布。
+     * 未指定标签与空标签列表的发布结果相同，不作区分；标签按给定顺序参与计算。
+     * 
+     * @param request 文章发布请求
+     * @return 去重键
+     */
+    static ContentHash dedupKey(ArticleFunctionRequest request) {
+        List<String> tags = request.getTags() != null ? request.getTags() : List.of();
+        CharSequence[] parts = new CharSequence[3 + tags.size()];
+        parts[0] = request.getTitle();
+        parts[1] = request.getMarkdowncontent();
+        parts[2] = request.getUserSummary();
+        for (int i = 0; i < tags.size(); i++) {
+            parts[3 + i] = tags.get(i);
+        }
+        return ContentHash.of(parts);
+    }
+
+    /**
+     * 转存图片后发布文章
+     * 
+     * @param request 文章发布请求
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应的Future，失败时以异常结束
+     */
+    private CompletableFuture<ArticleFunctionResponse> publishRehosted(ArticleFunctionRequest request, String content) {
+        return tencentImageService.rehost(content).thenCompose(rehosted -> port.writeArticleAsync(request, rehosted));
+    }
+
+    /**
+     * 批量发布文章到腾讯云开发者社区
+     * 
+     * 该方法是一个MCP工具方法，用于一次发布一系列文章。
+     * 主要功能：
+     * 1. 多篇文章的Markdown转换在公共线程池中并行执行
+     * 2. 同时进行中的发布请求不超过tencent.api.batch.concurrency
+     * 3. 单篇文章失败不影响其他文章，结果按输入顺序返回
+     * 4. 返回整个批次的耗时
+     * 
+     * @param requests 文章发布请求列表
+     * @return 批量发布响应，包含每篇文章的结果和总耗时
+     */
+    @Tool(description = "批量发布文章到腾讯云开发者社区，按输入顺序返回每篇文章的发布结果")
+    public ArticleBatchFunctionResponse saveArticles(List<ArticleFunctionRequest> requests) {
+        long start = System.nanoTime();
+        List<ArticleFunctionRequest> articles = requests == null ? List.of() : requests;
+        ArticleBatchItemResult[] results = new ArticleBatchItemResult[articles.size()];
+        
+        // 启动固定数量的工作链，每条链完成一篇后再领取下一篇，保证并发不超过上限
+        int concurrency = Math.max(1, Math.min(tencentApiProperties.getBatch().getConcurrency(), articles.size()));
+        AtomicInteger cursor = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = publishNext(articles, cursor, results);
+        }
+        CompletableFuture.allOf(workers).join();
+        
+        ArticleBatchFunctionResponse response = new ArticleBatchFunctionResponse();
+        response.setItems(Arrays.asList(results));
+        response.setSucceeded((int) Arrays.stream(results).filter(item -> item.getResponse() != null).count());
+        response.setFailed(results.length - response.getSucceeded());
+        response.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("腾讯云开发者社区批量发帖完成，共{}篇，成功{}篇，耗时{}ms",
+                results.length, response.getSucceeded(), response.getElapsedMillis());
+        return response;
+    }
+
+    /**
+     * 查询发布接口的限流状态
+     * 
+     * 该方法是一个MCP工具方法，返回客户端限流器的当前速率、排队情况和累计限流次数，
+     * 用于观察发布速率的自适应调整。
+     * 
+     * @return 限流状态
+     */
+    @Tool(description = "查询发布接口的客户端限流状态，包括当前速率、排队请求数和累计被限流次数")
+    public RateLimitStatus getRateLimitStatus() {
+        return port.getRateLimitStatus();
+    }
+
+    /**
+     * 领取并发布下一篇文章，完成后继续领取，直到所有文章都已处理
+     * 
+     * 发布请求在公共线程池中提交，Markdown转换因此与其他文章并行执行；
+     * 网络往返期间不占用任何线程。
+     * 
+     * @param articles 文章发布请求列表
+     * @param cursor 下一篇待发布文章的序号
+     * @param results 按序号存放的发布结果
+     * @return 当前工作链结束时完成的Future
+     */
+    private CompletableFuture<Void> publishNext(List<ArticleFunctionRequest> articles, AtomicInteger cursor,
+                                                ArticleBatchItemResult[] results) {
+        int index = cursor.getAndIncrement();
+        if (index >= articles.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ArticleFunctionRequest request = articles.get(index);
+        return CompletableFuture.supplyAsync(() -> saveArticleAsync(request))
+                .thenCompose(future -> future)
+                .handle((response, throwable) -> {
+                    results[index] = toItemResult(index, response, throwable);
+                    return null;
+                })
+                .thenCompose(ignored -> publishNext(articles, cursor, results));
+    }
+
+    /**
+     * 将单篇文章的发布结果转换为批量结果项
+     * 
+     * @param index 文章序号
+     * @param response 发布响应，失败时为null
+     * @param throwable 发布异常，成功时为null
+     * @return 批量结果项
+     */
+    private ArticleBatchItemResult toItemResult(int index, ArticleFunctionResponse response, Throwable throwable) {
+        ArticleBatchItemResult item = new ArticleBatchItemResult();
+        item.setIndex(index);
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            log.error("腾讯云开发者社区批量发帖第{}篇失败 ", index, cause);
+            item.setError(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        } else if (response == null) {
+            item.setError("腾讯云开发者社区未返回发布结果");
+        } else {
+            item.setResponse(response);
+        }
+        return item;
+    }
 }
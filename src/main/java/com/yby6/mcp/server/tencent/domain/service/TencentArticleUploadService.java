@@ -0,0 +1,221 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleUploadStatus;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.IncrementalProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 腾讯云开发者社区文章分块上传服务
+ *
+ * 超大文章作为一个工具参数传入时，MCP传输层需要先缓冲并解析整条巨大的JSON-RPC消息。
+ * 该服务将一篇文章拆成多次工具调用：beginArticle创建上传，appendArticleChunk按顺序追加Markdown，
+ * commitArticle发布。每次追加后已经可以确定的部分立即转换为ProseMirror，
+ * 提交时大部分转换工作已经完成。
+ *
+ * 主要功能：
+ * 1. 创建上传并返回上传ID
+ * 2. 追加Markdown并增量转换
+ * 3. 提交时转换剩余部分并发布，与saveArticle共用重复发布去重
+ * 4. 超过保留时间没有追加或提交的上传自动丢弃
+ *
+ * 应用通过stdio运行，一个进程只服务一个MCP会话，上传只保存在内存中，进程退出后即失效。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TencentArticleUploadService {
+
+    /** 文章服务，负责去重和发布 */
+    @Resource
+    private TencentArticleService tencentArticleService;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 进行中的上传，以上传ID为键 */
+    private Cache<String, Upload> uploads;
+
+    /**
+     * 根据配置创建上传缓存
+     *
+     * 超过保留时间没有访问的上传由调度器及时清理，释放已接收的内容。
+     */
+    @PostConstruct
+    public void init() {
+        TencentApiProperties.Upload config = tencentApiProperties.getUpload();
+        this.uploads = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(config.getTtlSeconds()))
+                .maximumSize(config.getMaxUploads())
+                .scheduler(Scheduler.systemScheduler())
+                .<String, Upload>removalListener((uploadId, upload, cause) -> {
+                    if (cause == RemovalCause.EXPIRED || cause == RemovalCause.SIZE) {
+                        log.warn("分块上传未提交已丢弃 uploadId:{} cause:{}", uploadId, cause);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 创建分块上传
+     *
+     * 该方法是一个MCP工具方法，返回的上传ID用于appendArticleChunk和commitArticle。
+     *
+     * @param title 文章标题
+     * @param summary 文章摘要
+     * @return 上传状态，包含上传ID
+     */
+    @Tool(description = "创建文章分块上传，返回上传ID。超大文章先创建上传，再用appendArticleChunk按顺序追加Markdown，最后用commitArticle发布")
+    public ArticleUploadStatus beginArticle(String title, String summary) {
+        String uploadId = UUID.randomUUID().toString();
+        Upload upload = new Upload(title, summary, MarkdownToProseMirrorConverter.incremental(
+                ProseMirrorConversionCache.options(tencentApiProperties)));
+        uploads.put(uploadId, upload);
+        log.info("创建分块上传 uploadId:{} title:{}", uploadId, title);
+        return upload.status(uploadId);
+    }
+
+    /**
+     * 追加Markdown
+     *
+     * 该方法是一个MCP工具方法，按调用顺序拼接，已经可以确定的部分立即转换。
+     *
+     * @param uploadId 上传ID
+     * @param text 追加的Markdown文本
+     * @return 上传状态
+     * @throws IllegalArgumentException 当上传不存在、已过期或超过长度上限时抛出
+     */
+    @Tool(description = "向分块上传追加一段Markdown，按调用顺序拼接，可以在任意位置切分")
+    public ArticleUploadStatus appendArticleChunk(String uploadId, String text) {
+        Upload upload = get(uploadId);
+        synchronized (upload) {
+            if (upload.content != null) {
+                throw new IllegalArgumentException("分块上传已提交，不能继续追加: " + uploadId);
+            }
+            int maxChars = tencentApiProperties.getUpload().getMaxChars();
+            if (text != null && (long) upload.converter.length() + text.length() > maxChars) {
+                throw new IllegalArgumentException("分块上传超过长度上限" + maxChars + "个字符: " + uploadId);
+            }
+            if (text != null) {
+                upload.converter.append(text);
+            }
+            upload.chunks++;
+            return upload.status(uploadId);
+        }
+    }
+
+    /**
+     * 提交分块上传并发布文章
+     *
+     * 该方法是一个MCP工具方法，转换剩余的Markdown后发布到腾讯云开发者社区。
+     * 发布成功后上传被移除；发布失败时保留上传和转换结果，可以再次提交。
+     *
+     * @param uploadId 上传ID
+     * @return 文章发布响应，发布失败时返回null
+     * @throws IllegalArgumentException 当上传不存在或已过期时抛出
+     */
+    @Tool(description = "提交分块上传，将已追加的Markdown作为一篇文章发布到腾讯云开发者社区")
+    public ArticleFunctionResponse commitArticle(String uploadId) {
+        Upload upload = get(uploadId);
+        synchronized (upload) {
+            if (upload.content == null) {
+                upload.markdown = upload.converter.markdown();
+                upload.content = upload.converter.finish();
+            }
+            ArticleFunctionRequest request = new ArticleFunctionRequest();
+            request.setTitle(upload.title);
+            request.setMarkdowncontent(upload.markdown);
+            request.setUserSummary(upload.summary);
+            try {
+                ArticleFunctionResponse response = tencentArticleService
+                        .saveConvertedArticleAsync(request, upload.content).join();
+                uploads.invalidate(uploadId);
+                log.info("分块上传已发布 uploadId:{} chunks:{} chars:{}", uploadId, upload.chunks, upload.markdown.length());
+                return response;
+            } catch (Exception e) {
+                log.error("分块上传发布失败 uploadId:{} ", uploadId, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 获取进行中的上传
+     *
+     * @param uploadId 上传ID
+     * @return 上传
+     * @throws IllegalArgumentException 当上传不存在或已过期时抛出
+     */
+    private Upload get(String uploadId) {
+        Upload upload = uploadId == null ? null : uploads.getIfPresent(uploadId);
+        if (upload == null) {
+            throw new IllegalArgumentException("分块上传不存在或已过期: " + uploadId);
+        }
+        return upload;
+    }
+
+    /**
+     * 一次进行中的上传
+     */
+    private final class Upload {
+
+        /** 文章标题 */
+        private final String title;
+
+        /** 文章摘要 */
+        private final String summary;
+
+        /** 增量转换器，保存已追加的Markdown */
+        private final IncrementalProseMirrorConverter converter;
+
+        /** 已追加的块数 */
+        private int chunks;
+
+        /** 提交时的完整Markdown */
+        private String markdown;
+
+        /** 提交时生成的ProseMirror JSON，发布失败后再次提交时复用 */
+        private String content;
+
+        Upload(String title, String summary, IncrementalProseMirrorConverter converter) {
+            this.title = title;
+            this.summary = summary;
+            this.converter = converter;
+        }
+
+        /**
+         * 生成上传状态
+         *
+         * @param uploadId 上传ID
+         * @return 上传状态
+         */
+        ArticleUploadStatus status(String uploadId) {
+            ArticleUploadStatus status = new ArticleUploadStatus();
+            status.setUploadId(uploadId);
+            status.setTitle(title);
+            status.setChunks(chunks);
+            status.setReceivedChars(converter.length());
+            status.setConvertedChars(converter.convertedLength());
+            status.setTtlSeconds(tencentApiProperties.getUpload().getTtlSeconds());
+            return status;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.adapter.IImageSource;
+import com.yby6.mcp.server.tencent.domain.adapter.IImageStore;
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.types.cache.SingleFlightCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorImages;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 腾讯云开发者社区图片转存服务
+ *
+ * 文章中的本地图片和外部图片在社区中无法显示，发布前需要上传到社区图床。
+ * 该服务在发布前对转换好的ProseMirror文档执行以下步骤：
+ * 1. 收集所有image节点的src，跳过已经在社区图床上的地址和data:内联图片；
+ *    本地图片只在开启tencent.api.image.local-files时转存
+ * 2. 并行读取并上传图片，同时进行中的上传不超过tencent.api.image.concurrency
+ * 3. 按图片内容的SHA-256查询本地持久化缓存，上传过的图片直接使用缓存的地址，
+ *    重新发布或重启进程后都不会重复上传；相同内容的并发上传只执行一次
+ * 4. 将image节点的src替换为图床地址
+ *
+ * 单张图片读取或上传失败时保留原地址并记录警告，不影响文章发布。
+ * 转存结果记录在tencent.image计数器中，以result标签区分uploaded、cached和failed。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TencentImageService {
+
+    /** 腾讯云端口适配器，第一次上传时才创建 */
+    @Lazy
+    @Resource
+    private ITencentPort port;
+
+    /** 图片读取端口，第一次转存时才创建 */
+    @Lazy
+    @Resource
+    private IImageSource imageSource;
+
+    /** 图片地址缓存，第一次转存时才打开 */
+    @Lazy
+    @Resource
+    private IImageStore imageStore;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 指标注册表 */
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /** 按内容哈希合并并发上传，只合并进行中的调用，结果由图片地址缓存保存 */
+    private final SingleFlightCache<String, String> uploads = new SingleFlightCache<>(Duration.ZERO, 0, url -> false);
+
+    /**
+     * 判断文章是否需要转存图片
+     *
+     * @param markdown 文章的Markdown内容
+     * @return 开启了图片转存且文章可能包含图片时返回true
+     */
+    public boolean needsRehost(String markdown) {
+        return tencentApiProperties.getImage().isEnabled() && ProseMirrorImages.mayContainImages(markdown);
+    }
+
+    /**
+     * 转存文档中的图片并替换为图床地址
+     *
+     * @param content ProseMirror JSON
+     * @return 替换后的ProseMirror JSON的Future，没有需要转存的图片时直接返回原文档
+     */
+    public CompletableFuture<String> rehost(String content) {
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        for (String source : ProseMirrorImages.sources(content)) {
+            if (!isHosted(source)) {
+                pending.add(source);
+            }
+        }
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(content);
+        }
+        log.info("转存文章图片{}张", pending.size());
+
+        // 启动固定数量的工作链，每条链完成一张后再领取下一张，保证并发不超过上限
+        Map<String, String> hosted = new ConcurrentHashMap<>();
+        int concurrency = Math.max(1, Math.min(tencentApiProperties.getImage().getConcurrency(), pending.size()));
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = rehostNext(pending, hosted);
+        }
+        return CompletableFuture.allOf(workers).thenApply(ignored -> ProseMirrorImages.rewrite(content, hosted));
+    }
+
+    /**
+     * 领取并转存下一张图片，完成后继续领取，直到所有图片都已处理
+     *
+     * @param pending 待转存的图片地址
+     * @param hosted 已转存的图片地址到图床地址的映射
+     * @return 当前工作链结束时完成的Future
+     */
+    private CompletableFuture<Void> rehostNext(Queue<String> pending, Map<String, String> hosted) {
+        String source = pending.poll();
+        if (source == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<String> url;
+        try {
+            url = imageSource.load(source).thenCompose(image -> upload(source, image));
+        } catch (RuntimeException e) {
+            url = CompletableFuture.failedFuture(e);
+        }
+        return url.handle((result, throwable) -> {
+                    if (throwable != null) {
+                        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable;
+                        log.warn("图片转存失败，保留原地址 src:{} cause:{}", source, cause.toString());
+                        meterRegistry.counter("tencent.image", "result", "failed").increment();
+                    } else {
+                        hosted.put(source, result);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> rehostNext(pending, hosted));
+    }
+
+    /**
+     * 上传一张图片，内容相同的图片只上传一次
+     *
+     * @param source 文章中的图片地址，用于推断文件名
+     * @param image 图片字节
+     * @return 图床地址的Future
+     */
+    private CompletableFuture<String> upload(String source, byte[] image) {
+        String hash = sha256(image);
+        String cached = imageStore.get(hash);
+        if (cached != null) {
+            meterRegistry.counter("tencent.image", "result", "cached").increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        return uploads.execute(hash, () -> {
+            String existing = imageStore.get(hash);
+            if (existing != null) {
+                return CompletableFuture.completedFuture(existing);
+            }
+            return port.uploadImageAsync(image, fileName(source)).thenApply(url -> {
+                try {
+                    imageStore.put(hash, url);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                meterRegistry.counter("tencent.image", "result", "uploaded").increment();
+                log.info("图片已上传 src:{} url:{}", source, url);
+                return url;
+            });
+        });
+    }
+
+    /**
+     * 判断图片是否不需要转存
+     *
+     * @param source 图片地址
+     * @return 已在社区图床上、为空、为data:内联图片或未开启本地图片读取时的本地地址返回true
+     */
+    private boolean isHosted(String source) {
+        if (source.isBlank() || source.startsWith("data:")) {
+            return true;
+        }
+        if (!source.startsWith("http://") && !source.startsWith("https://")) {
+            return !tencentApiProperties.getImage().isLocalFiles();
+        }
+        for (String prefix : tencentApiProperties.getImage().getHostedPrefixes()) {
+            if (source.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从图片地址中取出文件名
+     *
+     * @param source 图片地址
+     * @return 去掉查询参数和片段后的最后一段路径，为空时返回image
+     */
+    static String fileName(String source) {
+        String path = source;
+        int end = path.length();
+        int query = path.indexOf('?');
+        if (query >= 0) end = query;
+        int fragment = path.indexOf('#');
+        if (fragment >= 0 && fragment < end) end = fragment;
+        path = path.substring(0, end);
+        String name = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        return name.isBlank() ? "image" : name;
+    }
+
+    /**
+     * 计算图片内容的SHA-256
+     *
+     * 图片地址缓存跨进程保存，使用加密哈希避免不同图片命中同一个地址。
+     *
+     * @param image 图片字节
+     * @return 十六进制字符串
+     */
+    private static String sha256(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.model.MeterSnapshot;
+import com.yby6.mcp.server.tencent.domain.model.ServerMetricsResponse;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 服务端指标服务
+ *
+ * 应用通过stdio运行，没有HTTP端点可以暴露指标，
+ * 该服务通过MCP工具返回指标快照，并可以定期将快照写入日志。
+ *
+ * 主要功能：
+ * 1. 提供getServerMetrics工具，返回Markdown转换、HTTP请求、工具调用的耗时分布和请求体大小
+ * 2. 按tencent.api.metrics.log-interval-seconds定期将指标快照写入日志
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TencentMetricsService {
+
+    /** 指标注册表 */
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 定期写入日志的后台线程，未开启时为null */
+    private ScheduledExecutorService reporter;
+
+    /**
+     * 开启定期写入日志
+     */
+    @PostConstruct
+    public void start() {
+        long interval = tencentApiProperties.getMetrics().getLogIntervalSeconds();
+        if (interval <= 0) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止定期写入日志
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取服务端指标快照
+     *
+     * 该方法是一个MCP工具方法，返回当前所有指标，计时器的耗时单位为毫秒。
+     *
+     * @return 按名称排序的指标快照
+     */
+    @Tool(description = "获取服务端指标快照，包括Markdown转换、腾讯云接口请求和工具调用的耗时分布以及请求体大小")
+    public ServerMetricsResponse getServerMetrics() {
+        List<MeterSnapshot> meters = new ArrayList<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            meters.add(snapshot(meter));
+        }
+        meters.sort(Comparator.comparing(MeterSnapshot::getName)
+                .thenComparing(snapshot -> String.valueOf(snapshot.getTags())));
+        ServerMetricsResponse response = new ServerMetricsResponse();
+        response.setTimestamp(System.currentTimeMillis());
+        response.setMeters(meters);
+        return response;
+    }
+
+    /**
+     * 将指标快照写入日志
+     *
+     * 只写入有记录的指标，每个指标一行。
+     */
+    void report() {
+        for (MeterSnapshot meter : getServerMetrics().getMeters()) {
+            if (meter.getCount() != null && meter.getCount() == 0) {
+                continue;
+            }
+            log.info("指标 {}{} count:{} mean:{} max:{} percentiles:{} value:{}", meter.getName(),
+                    meter.getTags() == null ? "" : meter.getTags(), meter.getCount(), meter.getMean(),
+                    meter.getMax(), meter.getPercentiles(), meter.getValue());
+        }
+    }
+
+    /**
+     * 生成单个指标的快照
+     *
+     * @param meter 指标
+     * @return 指标快照
+     */
+    static MeterSnapshot snapshot(Meter meter) {
+        MeterSnapshot snapshot = new MeterSnapshot();
+        snapshot.setName(meter.getId().getName());
+        snapshot.setType(meter.getId().getType().name());
+        if (!meter.getId().getTags().isEmpty()) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (Tag tag : meter.getId().getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            snapshot.setTags(tags);
+        }
+        if (meter instanceof Timer timer) {
+            snapshot.setBaseUnit("milliseconds");
+            fill(snapshot, timer.takeSnapshot(), TimeUnit.MILLISECONDS);
+        } else if (meter instanceof DistributionSummary summary) {
+            snapshot.setBaseUnit(meter.getId().getBaseUnit());
+            fill(snapshot, summary.takeSnapshot(), null);
+        } else if (meter instanceof Counter counter) {
+            snapshot.setCount(counter.count());
+        } else if (meter instanceof FunctionCounter counter) {
+            snapshot.setCount(counter.count());
+        } else if (meter instanceof Gauge gauge) {
+            snapshot.setBaseUnit(meter.getId().getBaseUnit());
+            snapshot.setValue(gauge.value());
+        }
+        return snapshot;
+    }
+
+    /**
+     * 填充分布统计
+     *
+     * @param snapshot 指标快照
+     * @param histogram 分布快照
+     * @param unit 时间单位，分布摘要为null
+     */
+    private static void fill(MeterSnapshot snapshot, HistogramSnapshot histogram, TimeUnit unit) {
+        snapshot.setCount((double) histogram.count());
+        snapshot.setTotal(unit == null ? histogram.total() : histogram.total(unit));
+        snapshot.setMean(unit == null ? histogram.mean() : histogram.mean(unit));
+        snapshot.setMax(unit == null ? histogram.max() : histogram.max(unit));
+        ValueAtPercentile[] percentiles = histogram.percentileValues();
+        if (percentiles.length > 0) {
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : percentiles) {
+                values.put(percentileKey(percentile.percentile()),
+                        unit == null ? percentile.value() : percentile.value(unit));
+            }
+            snapshot.setPercentiles(values);
+        }
+    }
+
+    /**
+     * 将百分位转换为键，例如0.5为p50，0.999为p999
+     *
+     * @param percentile 百分位
+     * @return 百分位键
+     */
+    private static String percentileKey(double percentile) {
+        String digits = String.valueOf(percentile).substring(2);
+        return "p" + (digits.length() == 1 ? digits + "0" : digits);
+    }
+}
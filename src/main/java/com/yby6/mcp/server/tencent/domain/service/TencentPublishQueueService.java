@@ -0,0 +1,277 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.adapter.IPublishOutbox;
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.PublishJob;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+import com.yby6.mcp.server.tencent.domain.model.PublishNotSentException;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 腾讯云开发者社区文章发布队列服务
+ *
+ * 该服务类将文章发布请求写入本地发布队列后立即返回任务ID，
+ * 由后台线程负责实际发布并在失败时重试。
+ * 腾讯云接口缓慢或不可用时，工具调用的耗时只有一次本地追加写入，
+ * 文章也不会因为接口失败而丢失。
+ *
+ * 主要功能：
+ * 1. 接收文章并写入本地发布队列
+ * 2. 后台单线程按加入顺序发布，确定没有送达的失败按指数退避重试
+ *    包含图片的文章与直接发布一样，先经{@link TencentImageService}转存图片
+ * 3. 启动时恢复上次未完成的任务
+ * 4. 提供任务进度查询
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TencentPublishQueueService {
+
+    /** 腾讯云端口适配器，用于与基础设施层交互，第一次调用时才创建 */
+    @Lazy
+    @Resource
+    private ITencentPort port;
+
+    /** 本地发布队列 */
+    @Resource
+    private IPublishOutbox outbox;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 图片转存服务 */
+    @Resource
+    private TencentImageService tencentImageService;
+
+    /** Markdown转换结果缓存，包含图片的文章在发布前转换并转存图片 */
+    @Resource
+    private ProseMirrorConversionCache proseMirrorConversionCache;
+
+    /** 停止时等待进行中的发布完成的最长时间（毫秒） */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    /** 后台发布线程，单线程保证任务按加入顺序发布 */
+    private final ScheduledExecutorService worker = newWorker();
+
+    /**
+     * 恢复上次未完成的任务
+     *
+     * 只恢复尚未发出或确定没有送达、等待重试的任务；
+     * 崩溃时正在发布的任务结果未知，本地发布队列重放时已将其标记为失败。
+     */
+    @PostConstruct
+    public void recover() {
+        List<PublishJob> pending = outbox.pendingJobs();
+        if (!pending.isEmpty()) {
+            log.info("恢复本地发布队列中未完成的任务{}个", pending.size());
+        }
+        pending.forEach(job -> schedule(job, 0));
+    }
+
+    /**
+     * 停止后台发布线程
+     *
+     * 未完成的任务保留在本地发布队列中，下次启动时继续发布。
+     * 等待中的重试直接丢弃；进行中的发布先等待完成，不立即中断，
+     * 中断写日志的线程会关闭日志文件，导致之后的写入和关闭都失败。
+     */
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 提交文章到本地发布队列
+     *
+     * 该方法是一个MCP工具方法，文章写入本地发布队列并落盘后立即返回，
+     * 不等待腾讯云接口的响应。发布结果通过getPublishStatus查询。
+     *
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 任务状态，包含用于查询进度的任务ID
+     * @throws IOException 当写入本地发布队列失败时抛出
+     */
+    @Tool(description = "提交文章到本地发布队列，立即返回任务ID，后台发布到腾讯云开发者社区并自动重试")
+    public PublishJobStatus submitArticle(ArticleFunctionRequest request) throws IOException {
+        PublishJobStatus status = outbox.enqueue(request);
+        log.info("文章已加入本地发布队列 jobId:{} title:{}", status.getJobId(), status.getTitle());
+        schedule(new PublishJob(status.getJobId(), request), 0);
+        return status;
+    }
+
+    /**
+     * 查询发布任务进度
+     *
+     * 该方法是一个MCP工具方法，根据submitArticle返回的任务ID查询发布进度。
+     *
+     * @param jobId 任务ID
+     * @return 任务状态，任务不存在时返回null
+     */
+    @Tool(description = "根据任务ID查询本地发布队列中文章的发布进度")
+    public PublishJobStatus getPublishStatus(String jobId) {
+        return outbox.getStatus(jobId);
+    }
+
+    /**
+     * 创建后台发布线程
+     *
+     * @return 停止后不再执行等待中任务的单线程调度器
+     */
+    private static ScheduledExecutorService newWorker() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "publish-outbox-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    /**
+     * 安排任务在指定延迟后发布
+     *
+     * @param job 发布任务
+     * @param delayMillis 延迟时间（毫秒）
+     */
+    private void schedule(PublishJob job, long delayMillis) {
+        worker.schedule(() -> publish(job), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 发布任务
+     *
+     * 在后台线程中执行。每次尝试前将状态写为RUNNING，尝试后写入结果：
+     * 接口返回成功时任务成功；接口返回非0状态或非成功的HTTP响应时视为被服务端拒绝，不再重试；
+     * 请求确定没有送达服务端时（{@link PublishNotSentException}）按指数退避重试，直到尝试次数用尽；
+     * 其他异常表示服务端可能已经保存了文章，任务失败，避免重复发布。
+     *
+     * 重试只在这一层进行，端口只发送一次请求，尝试次数不会与端口的重试次数相乘。
+     *
+     * @param job 发布任务
+     */
+    private void publish(PublishJob job) {
+        TencentApiProperties.Outbox config = tencentApiProperties.getOutbox();
+        PublishJobStatus status = outbox.getStatus(job.getJobId());
+        if (status == null || status.isFinished()) {
+            return;
+        }
+        try {
+            status.setState(PublishJobStatus.RUNNING);
+            status.setAttempts(status.getAttempts() + 1);
+            status.setUpdatedAt(System.currentTimeMillis());
+            outbox.update(status);
+
+            // 图片转存在发出请求之前完成，失败时文章没有发出
+            String content;
+            try {
+                content = rehost(job.getRequest());
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                finish(status, "文章转换失败: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                return;
+            }
+
+            String error;
+            try {
+                ArticleFunctionResponse response = content == null
+                        ? port.writeArticleOnce(job.getRequest())
+                        : port.writeArticleOnce(job.getRequest(), content);
+                if (response != null && (response.getStatus() == null || response.getStatus() == 0)) {
+                    status.setState(PublishJobStatus.SUCCEEDED);
+                    status.setArticleId(response.getArticleId());
+                    status.setUrl(response.getUrl());
+                    status.setError(null);
+                    status.setUpdatedAt(System.currentTimeMillis());
+                    outbox.update(status);
+                    log.info("本地发布队列任务发布成功 jobId:{} url:{}", job.getJobId(), response.getUrl());
+                    return;
+                }
+                if (response != null) {
+                    finish(status, "腾讯云开发者社区拒绝发布，状态码: " + response.getStatus());
+                    return;
+                }
+                finish(status, "腾讯云开发者社区未返回发布结果");
+                return;
+            } catch (PublishNotSentException e) {
+                error = e.getMessage();
+            } catch (Exception e) {
+                finish(status, "发布结果未知，请在社区确认后重新提交: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                return;
+            }
+
+            if (status.getAttempts() >= config.getMaxAttempts()) {
+                finish(status, error);
+                return;
+            }
+            long backoff = Math.min(config.getMaxBackoffMillis(),
+                    config.getInitialBackoffMillis() << Math.min(status.getAttempts() - 1, 20));
+            status.setState(PublishJobStatus.QUEUED);
+            status.setError(error);
+            status.setUpdatedAt(System.currentTimeMillis());
+            outbox.update(status);
+            log.warn("本地发布队列任务第{}次发布失败，{}ms后重试 jobId:{} error:{}",
+                    status.getAttempts(), backoff, job.getJobId(), error);
+            schedule(job, backoff);
+        } catch (IOException e) {
+            // 本地发布队列无法写入时不再继续发布，任务留待下次启动时恢复
+            log.error("本地发布队列写入失败 jobId:{}", job.getJobId(), e);
+        }
+    }
+
+    /**
+     * 转换文章并转存其中的图片
+     *
+     * 在后台线程中等待转存完成；每次尝试都重新转存，上传过的图片命中图片地址缓存，不会重复上传。
+     *
+     * @param request 文章发布请求
+     * @return 转存图片后的ProseMirror JSON，文章不需要转存图片时返回null
+     */
+    private String rehost(ArticleFunctionRequest request) {
+        if (!tencentImageService.needsRehost(request.getMarkdowncontent())) {
+            return null;
+        }
+        return tencentImageService.rehost(proseMirrorConversionCache.convert(request.getMarkdowncontent())).join();
+    }
+
+    /**
+     * 将任务标记为最终失败
+     *
+     * @param status 任务状态
+     * @param error 失败原因
+     * @throws IOException 当写入本地发布队列失败时抛出
+     */
+    private void finish(PublishJobStatus status, String error) throws IOException {
+        status.setState(PublishJobStatus.FAILED);
+        status.setError(error);
+        status.setUpdatedAt(System.currentTimeMillis());
+        outbox.update(status);
+        log.error("本地发布队列任务发布失败 jobId:{} error:{}", status.getJobId(), error);
+    }
+}
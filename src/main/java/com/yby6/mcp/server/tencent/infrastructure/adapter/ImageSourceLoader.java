@@ -0,0 +1,297 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.yby6.mcp.server.tencent.domain.adapter.IImageSource;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import jakarta.annotation.Resource;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 图片读取实现
+ *
+ * 外部链接通过共享的OkHttpClient异步下载，不占用调用线程；
+ * 本地文件直接在调用线程上读取。两种方式都在读取前后检查大小上限，
+ * 超过tencent.api.image.max-bytes的图片不会被完整读入内存。
+ *
+ * 文章内容来自调用方，读取前做以下限制，避免借图片转存读取服务器上的文件或访问内部网络：
+ * 1. 本地文件只在开启tencent.api.image.local-files时读取，且只接受base-dir下的相对路径，
+ *    绝对路径、file:链接以及规范化或解析符号链接后位于base-dir之外的路径都会被拒绝
+ * 2. 外部链接在建立连接前检查解析到的地址，回环、私有、链路本地等地址被拒绝，
+ *    重定向后的地址同样检查；开启tencent.api.image.allow-private-hosts时不检查
+ * 3. 读取到的内容必须以PNG、JPEG、GIF、WebP或BMP的文件头开始
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Lazy
+@Component
+public class ImageSourceLoader implements IImageSource {
+
+    /** PNG文件头 */
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /** JPEG文件头 */
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    /** GIF文件头 */
+    private static final byte[] GIF87A = {'G', 'I', 'F', '8', '7', 'a'};
+
+    /** GIF文件头 */
+    private static final byte[] GIF89A = {'G', 'I', 'F', '8', '9', 'a'};
+
+    /** WebP的RIFF容器头 */
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+
+    /** WebP的格式标识，位于RIFF头后第8字节 */
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    /** BMP文件头 */
+    private static final byte[] BMP = {'B', 'M'};
+
+    /** 共享的HTTP客户端 */
+    @Resource
+    private OkHttpClient tencentHttpClient;
+
+    /** 腾讯云API配置属性 */
+    @Resource
+    private TencentApiProperties tencentApiProperties;
+
+    /** 下载图片使用的客户端，在共享客户端上加上地址检查，第一次下载时创建 */
+    private volatile OkHttpClient downloadClient;
+
+    @Override
+    public CompletableFuture<byte[]> load(String source) {
+        if (source.startsWith("http://") || source.startsWith("https://")) {
+            return download(source);
+        }
+        try {
+            if (!tencentApiProperties.getImage().isLocalFiles()) {
+                throw new IOException("未开启本地图片读取: " + source);
+            }
+            return CompletableFuture.completedFuture(requireImage(read(resolve(source)), source));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 下载外部图片
+     *
+     * @param url 图片链接
+     * @return 图片字节的Future
+     */
+    private CompletableFuture<byte[]> download(String url) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        Call call;
+        try {
+            call = downloadClient().newCall(new Request.Builder().url(url).get().build());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("图片链接无效: " + url, e));
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    ResponseBody body = response.body();
+                    if (!response.isSuccessful() || body == null) {
+                        throw new IOException("下载图片失败: " + response.code() + " " + url);
+                    }
+                    future.complete(requireImage(readLimited(body, url), url));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((bytes, throwable) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        return future;
+    }
+
+    /**
+     * 读取响应体，超过大小上限时立即失败
+     *
+     * @param body 响应体
+     * @param url 图片链接，用于异常信息
+     * @return 图片字节
+     * @throws IOException 当读取失败或超过大小上限时抛出
+     */
+    private byte[] readLimited(ResponseBody body, String url) throws IOException {
+        long maxBytes = tencentApiProperties.getImage().getMaxBytes();
+        if (body.contentLength() > maxBytes) {
+            throw new IOException("图片超过大小上限" + maxBytes + "字节: " + url);
+        }
+        BufferedSource source = body.source();
+        Buffer buffer = new Buffer();
+        while (source.read(buffer, 8192) != -1) {
+            if (buffer.size() > maxBytes) {
+                throw new IOException("图片超过大小上限" + maxBytes + "字节: " + url);
+            }
+        }
+        return buffer.readByteArray();
+    }
+
+    /**
+     * 读取本地图片
+     *
+     * @param path 图片文件路径
+     * @return 图片字节
+     * @throws IOException 当文件不存在、无法读取或超过大小上限时抛出
+     */
+    private byte[] read(Path path) throws IOException {
+        long maxBytes = tencentApiProperties.getImage().getMaxBytes();
+        if (Files.size(path) > maxBytes) {
+            throw new IOException("图片超过大小上限" + maxBytes + "字节: " + path);
+        }
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * 将文章中的本地图片地址解析为文件路径
+     *
+     * 只接受相对于tencent.api.image.base-dir的路径，base-dir为空时相对于进程的工作目录。
+     *
+     * @param source 图片地址
+     * @return 解析符号链接后的文件路径
+     * @throws IOException 当地址不是相对路径、位于基准目录之外或文件不存在时抛出
+     */
+    private Path resolve(String source) throws IOException {
+        Path relative;
+        try {
+            relative = Path.of(source);
+        } catch (InvalidPathException e) {
+            throw new IOException("图片地址无法解析为本地文件: " + source, e);
+        }
+        if (source.startsWith("file:") || relative.isAbsolute()) {
+            throw new IOException("本地图片只支持相对路径: " + source);
+        }
+        String baseDir = tencentApiProperties.getImage().getBaseDir();
+        Path base = (baseDir == null || baseDir.isBlank() ? Path.of("") : Path.of(baseDir)).toAbsolutePath().normalize();
+        Path path = base.resolve(relative).normalize();
+        // 先按路径检查，再解析符号链接后检查，两次都必须位于基准目录之下
+        if (!path.startsWith(base) || !path.toRealPath().startsWith(base.toRealPath())) {
+            throw new IOException("本地图片位于基准目录之外: " + source);
+        }
+        return path.toRealPath();
+    }
+
+    /**
+     * 检查内容是否为支持的图片格式
+     *
+     * @param bytes 读取到的内容
+     * @param source 图片地址，用于异常信息
+     * @return 原内容
+     * @throws IOException 当文件头不是PNG、JPEG、GIF、WebP或BMP时抛出
+     */
+    static byte[] requireImage(byte[] bytes, String source) throws IOException {
+        boolean image = startsWith(bytes, 0, PNG) || startsWith(bytes, 0, JPEG)
+                || startsWith(bytes, 0, GIF87A) || startsWith(bytes, 0, GIF89A)
+                || (startsWith(bytes, 0, RIFF) && startsWith(bytes, 8, WEBP))
+                || startsWith(bytes, 0, BMP);
+        if (!image) {
+            throw new IOException("内容不是支持的图片格式: " + source);
+        }
+        return bytes;
+    }
+
+    /**
+     * 判断内容在指定位置是否以给定字节开始
+     */
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        if (bytes.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取下载图片使用的客户端
+     *
+     * 与共享客户端共用连接池和Dispatcher，只替换DNS解析，
+     * 每次建立连接（包括重定向）前都会检查解析到的地址。
+     *
+     * @return HTTP客户端
+     */
+    private OkHttpClient downloadClient() {
+        if (tencentApiProperties.getImage().isAllowPrivateHosts()) {
+            return tencentHttpClient;
+        }
+        OkHttpClient client = downloadClient;
+        if (client == null) {
+            synchronized (this) {
+                client = downloadClient;
+                if (client == null) {
+                    client = tencentHttpClient.newBuilder().dns(ImageSourceLoader::lookupPublic).build();
+                    downloadClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 解析主机名，只接受公网地址
+     *
+     * @param hostname 主机名或IP字面量
+     * @return 解析到的地址
+     * @throws UnknownHostException 当无法解析或任一地址为内网地址时抛出
+     */
+    private static List<InetAddress> lookupPublic(String hostname) throws UnknownHostException {
+        List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+        for (InetAddress address : addresses) {
+            if (isPrivate(address)) {
+                throw new UnknownHostException("图片链接指向内网地址: " + hostname + " -> " + address.getHostAddress());
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * 判断地址是否为内网地址
+     *
+     * 包括未指定、回环、链路本地、私有（含IPv6唯一本地地址）、运营商级NAT和组播地址。
+     *
+     * @param address IP地址
+     * @return 不应从服务端访问时返回true
+     */
+    static boolean isPrivate(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // fc00::/7
+            return (bytes[0] & 0xFE) == 0xFC;
+        }
+        // 100.64.0.0/10
+        return (bytes[0] & 0xFF) == 100 && (bytes[1] & 0xC0) == 64;
+    }
+}
@@ -0,0 +1,184 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.adapter.IImageStore;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 图片地址缓存实现
+ *
+ * 该实现类将图片内容哈希到图床地址的映射以JSON Lines格式追加写入本地文件，
+ * 并在内存中维护完整的映射。
+ *
+ * 持久化策略：
+ * 1. 每条映射追加写入后调用fsync，方法返回时已经落盘
+ * 2. 启动时重放文件，忽略崩溃时写了一半的末尾记录和无法解析的记录
+ * 3. 重放后压缩文件，重复的哈希只保留最后一次写入的地址
+ *
+ * 图片上传远少于文章发布，映射数量通常在数千以内，全部常驻内存。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Lazy
+@Component
+public class ImageUrlStore implements IImageStore {
+
+    /** 映射记录的序列化器 */
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /** 缓存文件路径 */
+    private final Path path;
+
+    /** 图片内容哈希到图床地址的映射 */
+    private final Map<String, String> urls = new ConcurrentHashMap<>();
+
+    /** 缓存文件通道，写入和fsync都在该对象上同步 */
+    private final FileChannel channel;
+
+    /**
+     * 根据配置打开图片地址缓存
+     *
+     * @param tencentApiProperties 腾讯云API配置属性
+     * @throws IOException 当缓存文件无法读取或写入时抛出
+     */
+    @Autowired
+    public ImageUrlStore(TencentApiProperties tencentApiProperties) throws IOException {
+        this(Path.of(tencentApiProperties.getImage().getCachePath()));
+    }
+
+    /**
+     * 打开图片地址缓存
+     *
+     * 重放并压缩已有的缓存文件，然后以追加方式打开。
+     *
+     * @param path 缓存文件路径
+     * @throws IOException 当缓存文件无法读取或写入时抛出
+     */
+    public ImageUrlStore(Path path) throws IOException {
+        this.path = path.toAbsolutePath();
+        Files.createDirectories(this.path.getParent());
+        replay();
+        compact();
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        log.info("图片地址缓存已打开: {}，共{}张图片", this.path, urls.size());
+    }
+
+    @Override
+    public String get(String hash) {
+        return urls.get(hash);
+    }
+
+    @Override
+    public void put(String hash, String url) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(new Entry(hash, url)) + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (channel) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        urls.put(hash, url);
+    }
+
+    /**
+     * 关闭缓存文件
+     *
+     * @throws IOException 当关闭失败时抛出
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (channel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * 重放缓存文件，重建内存中的映射
+     *
+     * 文件不以换行符结尾时，最后一行是崩溃时写了一半的记录，直接忽略。
+     *
+     * @throws IOException 当读取失败时抛出
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n') + 1;
+        if (end < content.length()) {
+            log.warn("图片地址缓存末尾存在未写完的记录，已忽略 {} 个字符", content.length() - end);
+        }
+        content.substring(0, end).lines().filter(line -> !line.isBlank()).forEach(this::apply);
+    }
+
+    /**
+     * 将一条记录应用到内存中的映射
+     *
+     * @param line 一行JSON
+     */
+    private void apply(String line) {
+        try {
+            Entry entry = objectMapper.readValue(line, Entry.class);
+            if (entry.hash() != null && entry.url() != null) {
+                urls.put(entry.hash(), entry.url());
+            }
+        } catch (IOException e) {
+            log.warn("图片地址缓存记录无法解析，已跳过: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 压缩缓存文件
+     *
+     * 将内存中的映射写入临时文件并落盘，再原子替换原文件。
+     *
+     * @throws IOException 当写入失败时抛出
+     */
+    private void compact() throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringBuilder lines = new StringBuilder();
+            for (Map.Entry<String, String> url : urls.entrySet()) {
+                lines.append(objectMapper.writeValueAsString(new Entry(url.getKey(), url.getValue()))).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 映射记录
+     *
+     * @param hash 图片内容的SHA-256十六进制字符串
+     * @param url 图床地址
+     */
+    record Entry(String hash, String url) {
+    }
+}
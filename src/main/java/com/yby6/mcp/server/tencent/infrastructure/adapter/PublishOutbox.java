@@ -0,0 +1,490 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.adapter.IPublishOutbox;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.PublishJob;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地发布队列实现
+ *
+ * 该实现类将发布请求和任务状态以JSON Lines格式追加写入本地日志文件，
+ * 并在内存中维护任务状态索引。
+ *
+ * 持久化策略：
+ * 1. 每条记录追加写入后调用fsync，方法返回时记录已经落盘
+ * 2. 并发写入的记录共享同一次fsync（组提交），fsync次数不随并发数增加
+ * 3. 写入失败时将日志截断回写入前的位置，不留下写了一半的记录；
+ *    启动时重放日志，忽略崩溃时写了一半的末尾记录并截断
+ * 4. 启动时以及运行中日志超过压缩阈值时压缩日志：未完成的任务保留完整请求，
+ *    已结束的任务只保留状态，超过保留时长的已结束任务被丢弃；
+ *    下一次压缩的阈值不小于压缩后大小的两倍，避免有效内容较多时反复压缩
+ *
+ * 发布接口不是幂等的，崩溃时正在发布（状态为RUNNING）的任务可能已经被服务端保存，
+ * 重启后不重新发布，而是以发布结果未知失败，由用户在社区确认后重新提交。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class PublishOutbox implements IPublishOutbox {
+
+    /** 任务加入队列的记录类型 */
+    private static final String ENQUEUE = "ENQUEUE";
+
+    /** 任务状态变化的记录类型 */
+    private static final String STATUS = "STATUS";
+
+    /** 崩溃时正在发布的任务在重启后的失败原因 */
+    static final String UNKNOWN_AFTER_RESTART = "重启前正在发布，发布结果未知，请在社区确认后重新提交";
+
+    /** 日志记录的序列化器 */
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /** 运行中压缩日志的默认阈值（字节） */
+    private static final long DEFAULT_COMPACT_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    /** 日志文件路径 */
+    private final Path path;
+
+    /** 已结束任务的保留时长 */
+    private final Duration finishedRetention;
+
+    /** 运行中压缩日志的阈值（字节） */
+    private final long compactThresholdBytes;
+
+    /** 任务ID到任务条目的索引 */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** 任务加入队列的顺序号，用于按顺序恢复未完成的任务 */
+    private final AtomicLong order = new AtomicLong();
+
+    /** 保护写入位置的锁 */
+    private final Object writeLock = new Object();
+
+    /** 保护fsync的锁 */
+    private final Object syncLock = new Object();
+
+    /** 已写入的记录数，受writeLock保护 */
+    private long writtenRecords;
+
+    /** 已落盘的记录数，受syncLock保护 */
+    private long syncedRecords;
+
+    /** 日志超过该大小时压缩，受writeLock保护 */
+    private long nextCompactAt;
+
+    /** 日志文件通道，压缩时替换，替换时同时持有syncLock和writeLock */
+    private FileChannel channel;
+
+    /**
+     * 根据配置打开本地发布队列
+     *
+     * @param tencentApiProperties 腾讯云API配置属性
+     * @throws IOException 当日志文件无法读取或写入时抛出
+     */
+    @Autowired
+    public PublishOutbox(TencentApiProperties tencentApiProperties) throws IOException {
+        this(Path.of(tencentApiProperties.getOutbox().getPath()),
+                Duration.ofHours(tencentApiProperties.getOutbox().getFinishedRetentionHours()),
+                tencentApiProperties.getOutbox().getCompactThresholdBytes());
+    }
+
+    /**
+     * 使用默认压缩阈值打开本地发布队列
+     *
+     * @param path 日志文件路径
+     * @param finishedRetention 已结束任务的保留时长
+     * @throws IOException 当日志文件无法读取或写入时抛出
+     */
+    public PublishOutbox(Path path, Duration finishedRetention) throws IOException {
+        this(path, finishedRetention, DEFAULT_COMPACT_THRESHOLD_BYTES);
+    }
+
+    /**
+     * 打开本地发布队列
+     *
+     * 重放并压缩已有的日志文件，然后以追加方式打开。
+     *
+     * @param path 日志文件路径
+     * @param finishedRetention 已结束任务的保留时长
+     * @param compactThresholdBytes 运行中压缩日志的阈值（字节）
+     * @throws IOException 当日志文件无法读取或写入时抛出
+     */
+    public PublishOutbox(Path path, Duration finishedRetention, long compactThresholdBytes) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.finishedRetention = finishedRetention;
+        this.compactThresholdBytes = compactThresholdBytes;
+        Files.createDirectories(this.path.getParent());
+        replay();
+        compact();
+        this.channel = open();
+        log.info("本地发布队列已打开: {}，未完成任务{}个", this.path, pendingJobs().size());
+    }
+
+    @Override
+    public PublishJobStatus enqueue(ArticleFunctionRequest request) throws IOException {
+        long now = System.currentTimeMillis();
+        PublishJobStatus status = new PublishJobStatus();
+        status.setJobId(UUID.randomUUID().toString());
+        status.setState(PublishJobStatus.QUEUED);
+        status.setTitle(request.getTitle());
+        status.setAttempts(0);
+        status.setCreatedAt(now);
+        status.setUpdatedAt(now);
+
+        PublishJobStatus indexed = copy(status);
+        append(new JournalRecord(ENQUEUE, status, request),
+                () -> entries.put(indexed.getJobId(), new Entry(indexed, request, order.incrementAndGet())));
+        return status;
+    }
+
+    @Override
+    public void update(PublishJobStatus status) throws IOException {
+        Entry entry = entries.get(status.getJobId());
+        if (entry == null) {
+            throw new IllegalArgumentException("发布任务不存在: " + status.getJobId());
+        }
+        PublishJobStatus indexed = copy(status);
+        append(new JournalRecord(STATUS, status, null),
+                () -> entries.put(indexed.getJobId(), new Entry(indexed, indexed.isFinished() ? null : entry.request, entry.order)));
+    }
+
+    @Override
+    public PublishJobStatus getStatus(String jobId) {
+        Entry entry = jobId == null ? null : entries.get(jobId);
+        return entry == null ? null : copy(entry.status);
+    }
+
+    @Override
+    public List<PublishJob> pendingJobs() {
+        return entries.values().stream()
+                .filter(entry -> !entry.status.isFinished() && entry.request != null)
+                .sorted(Comparator.comparingLong(Entry::order))
+                .map(entry -> new PublishJob(entry.status.getJobId(), entry.request))
+                .toList();
+    }
+
+    /**
+     * 关闭日志文件
+     *
+     * @throws IOException 当关闭失败时抛出
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 追加一条记录并等待落盘
+     *
+     * 写入和索引更新在writeLock内完成，保证记录不会交错，压缩时索引与日志一致；
+     * 写入失败时截断回写入前的位置，截断也失败时关闭日志文件，之后的写入都会失败，
+     * 避免新记录接在写了一半的记录后面。
+     * fsync在syncLock内完成，先到的线程负责落盘，
+     * 等待期间写入的其他记录由同一次fsync一并落盘。
+     *
+     * @param record 日志记录
+     * @param apply 记录写入后更新索引
+     * @throws IOException 当写入或落盘失败时抛出
+     */
+    private void append(JournalRecord record, Runnable apply) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+        long sequence;
+        boolean compact;
+        synchronized (writeLock) {
+            long start = channel.size();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                try {
+                    channel.truncate(start);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                    channel.close();
+                }
+                throw e;
+            }
+            apply.run();
+            sequence = ++writtenRecords;
+            compact = start + buffer.limit() >= nextCompactAt;
+        }
+
+        synchronized (syncLock) {
+            if (syncedRecords < sequence) {
+                long target;
+                synchronized (writeLock) {
+                    target = writtenRecords;
+                }
+                channel.force(false);
+                syncedRecords = target;
+            }
+        }
+
+        if (compact) {
+            compactWhileRunning();
+        }
+    }
+
+    /**
+     * 运行中压缩日志
+     *
+     * 同时持有syncLock和writeLock，压缩期间的写入等待压缩完成后写入新文件。
+     * 压缩后的文件已经落盘，之前写入的记录都视为已落盘。
+     *
+     * @throws IOException 当写入失败时抛出，原日志文件保持完整
+     */
+    private void compactWhileRunning() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (!channel.isOpen() || channel.size() < nextCompactAt) {
+                    return;
+                }
+                long before = channel.size();
+                channel.close();
+                try {
+                    compact();
+                    syncedRecords = writtenRecords;
+                } finally {
+                    channel = open();
+                }
+                log.info("本地发布队列已压缩: {} -> {} 字节", before, channel.size());
+            }
+        }
+    }
+
+    /**
+     * 以追加方式打开日志文件
+     *
+     * @return 日志文件通道
+     * @throws IOException 当打开失败时抛出
+     */
+    private FileChannel open() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * 重放日志文件，重建任务状态索引
+     *
+     * 末尾没有换行符的记录是崩溃时写了一半的记录，直接忽略；
+     * 无法解析的完整记录记录警告后跳过。
+     * 重放结束后仍为RUNNING的任务标记为失败，随后的压缩将失败状态写入日志。
+     *
+     * @throws IOException 当读取失败时抛出
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        int applied = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                if (line.size() > 0 && apply(line.toByteArray())) {
+                    applied++;
+                }
+                line.reset();
+            }
+            if (line.size() > 0) {
+                log.warn("本地发布队列末尾存在未写完的记录，已忽略 {} 字节", line.size());
+            }
+        }
+        log.info("本地发布队列重放完成，共{}条记录", applied);
+        failInterrupted();
+    }
+
+    /**
+     * 将崩溃时正在发布的任务标记为失败
+     *
+     * 这些任务的请求体可能已经发出，重新发布可能产生重复文章。
+     */
+    private void failInterrupted() {
+        long now = System.currentTimeMillis();
+        entries.replaceAll((jobId, entry) -> {
+            if (!PublishJobStatus.RUNNING.equals(entry.status.getState())) {
+                return entry;
+            }
+            log.warn("本地发布队列任务在重启前正在发布，结果未知，不再重新发布 jobId:{} title:{}",
+                    jobId, entry.status.getTitle());
+            entry.status.setState(PublishJobStatus.FAILED);
+            entry.status.setError(UNKNOWN_AFTER_RESTART);
+            entry.status.setUpdatedAt(now);
+            return new Entry(entry.status, null, entry.order);
+        });
+    }
+
+    /**
+     * 将一条日志记录应用到任务状态索引
+     *
+     * @param line 一行JSON
+     * @return 记录有效时返回true
+     */
+    private boolean apply(byte[] line) {
+        JournalRecord record;
+        try {
+            record = objectMapper.readValue(line, JournalRecord.class);
+        } catch (IOException e) {
+            log.warn("本地发布队列记录无法解析，已跳过: {}", e.getMessage());
+            return false;
+        }
+        PublishJobStatus status = record.getStatus();
+        if (status == null || status.getJobId() == null) {
+            return false;
+        }
+        Entry previous = entries.get(status.getJobId());
+        ArticleFunctionRequest request = record.getRequest() != null ? record.getRequest()
+                : previous != null ? previous.request : null;
+        long position = previous != null ? previous.order : order.incrementAndGet();
+        entries.put(status.getJobId(), new Entry(status, status.isFinished() ? null : request, position));
+        return true;
+    }
+
+    /**
+     * 压缩日志文件
+     *
+     * 将当前索引写入临时文件并落盘，再原子替换原日志文件，
+     * 替换过程中崩溃时原日志文件保持完整。
+     *
+     * @throws IOException 当写入失败时抛出
+     */
+    private void compact() throws IOException {
+        long expireBefore = System.currentTimeMillis() - finishedRetention.toMillis();
+        entries.values().removeIf(entry -> entry.status.isFinished() && entry.status.getUpdatedAt() < expireBefore);
+
+        Map<String, Entry> ordered = new LinkedHashMap<>();
+        entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::order))
+                .forEach(entry -> ordered.put(entry.status.getJobId(), entry));
+
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : ordered.values()) {
+                JournalRecord record = entry.request != null
+                        ? new JournalRecord(ENQUEUE, entry.status, entry.request)
+                        : new JournalRecord(STATUS, entry.status, null);
+                ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(record) + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        nextCompactAt = Math.max(compactThresholdBytes, Files.size(path) * 2);
+    }
+
+    /**
+     * 落盘目录项，保证原子替换在崩溃后仍然可见
+     *
+     * 部分平台不支持对目录调用fsync，此时忽略。
+     */
+    private void syncDirectory() {
+        try (FileChannel directory = FileChannel.open(path.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("目录不支持fsync: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 复制任务状态，避免调用方修改索引中的对象
+     */
+    private static PublishJobStatus copy(PublishJobStatus status) {
+        PublishJobStatus copy = new PublishJobStatus();
+        copy.setJobId(status.getJobId());
+        copy.setState(status.getState());
+        copy.setTitle(status.getTitle());
+        copy.setAttempts(status.getAttempts());
+        copy.setArticleId(status.getArticleId());
+        copy.setUrl(status.getUrl());
+        copy.setError(status.getError());
+        copy.setCreatedAt(status.getCreatedAt());
+        copy.setUpdatedAt(status.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * 任务条目
+     *
+     * @param status 任务状态
+     * @param request 文章发布请求，任务结束后为null
+     * @param order 加入队列的顺序号
+     */
+    private record Entry(PublishJobStatus status, ArticleFunctionRequest request, long order) {
+    }
+
+    /**
+     * 日志记录
+     */
+    @Data
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class JournalRecord {
+
+        /** 记录类型：ENQUEUE或STATUS */
+        private String type;
+
+        /** 任务状态 */
+        private PublishJobStatus status;
+
+        /** 文章发布请求，仅ENQUEUE记录包含 */
+        private ArticleFunctionRequest request;
+
+        JournalRecord(String type, PublishJobStatus status, ArticleFunctionRequest request) {
+            this.type = type;
+            this.status = status;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentDirectory;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.DirectoryResponse;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.TagMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 腾讯云开发者社区目录实现
+ *
+ * 该实现类从社区接口获取标签、分类和专栏列表，在内存中维护名称到ID的索引，
+ * 发布文章时的查找都是一次哈希表查询。
+ *
+ * 刷新策略：
+ * 1. 启动时先加载本地快照，快照未过期时不请求社区接口
+ * 2. 超过tencent.api.directory.ttl-seconds后，第一次查找触发后台刷新，刷新期间继续使用旧索引
+ * 3. 三个列表并行获取，全部成功后原子替换索引并写入快照；失败时保留旧索引，一分钟后再试
+ * 4. 同一时间只有一次刷新在进行
+ * 5. 查找从不等待网络请求；没有快照时首次获取完成前所有名称都无法解析，
+ *    发布时使用兜底的分类、标签和专栏ID，获取完成后的查找使用新索引
+ *
+ * 自动匹配标签使用由全部标签名称构建的{@link TagMatcher}，随索引一起替换。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Lazy
+@Component
+public class TencentDirectory implements ITencentDirectory {
+
+    /** 快照的序列化器 */
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /** 刷新失败后的重试间隔（毫秒） */
+    private static final long RETRY_MILLIS = 60_000;
+
+    /** 空索引，目录关闭或首次获取失败时使用 */
+    private static final Index EMPTY = new Index(new Snapshot(0, Map.of(), Map.of(), Map.of()));
+
+    /** 腾讯云API服务接口 */
+    private final ITencentService iTencentService;
+
+    /** 腾讯云API配置属性 */
+    private final TencentApiProperties tencentApiProperties;
+
+    /** 快照文件路径 */
+    private final Path snapshotPath;
+
+    /** 当前索引，首次获取完成前为null */
+    private volatile Index index;
+
+    /** 下一次刷新的时间（毫秒时间戳） */
+    private volatile long nextRefreshAt;
+
+    /** 进行中的刷新，没有刷新时为null，读写都在this上同步 */
+    private CompletableFuture<Index> refreshing;
+
+    /**
+     * 创建目录并加载本地快照
+     *
+     * @param iTencentService 腾讯云API服务接口
+     * @param tencentApiProperties 腾讯云API配置属性
+     */
+    public TencentDirectory(ITencentService iTencentService, TencentApiProperties tencentApiProperties) {
+        this.iTencentService = iTencentService;
+        this.tencentApiProperties = tencentApiProperties;
+        this.snapshotPath = Path.of(tencentApiProperties.getDirectory().getSnapshotPath()).toAbsolutePath();
+        if (!tencentApiProperties.getDirectory().isEnabled()) {
+            this.index = EMPTY;
+            this.nextRefreshAt = Long.MAX_VALUE;
+            return;
+        }
+        Snapshot snapshot = readSnapshot();
+        if (snapshot != null) {
+            this.index = new Index(snapshot);
+            this.nextRefreshAt = snapshot.fetchedAt() + TimeUnit.SECONDS.toMillis(tencentApiProperties.getDirectory().getTtlSeconds());
+            log.info("目录快照已加载: {}，分类{}个，标签{}个，专栏{}个", snapshotPath,
+                    snapshot.categories().size(), snapshot.tags().size(), snapshot.columns().size());
+        }
+    }
+
+    @Override
+    public Integer categoryId(String name) {
+        return index().categories.get(normalize(name));
+    }
+
+    @Override
+    public Integer tagId(String name) {
+        return index().tags.get(normalize(name));
+    }
+
+    @Override
+    public Integer columnId(String name) {
+        return index().columns.get(normalize(name));
+    }
+
+    @Override
+    public Collection<String> tagNames() {
+        return index().snapshot.tags().keySet();
+    }
+
+    @Override
+    public List<String> matchTags(int limit, CharSequence... texts) {
+        return index().matcher().top(limit, texts);
+    }
+
+    /**
+     * 获取当前索引，过期时触发后台刷新
+     *
+     * @return 当前索引，首次获取完成前或没有可用索引时返回空索引
+     */
+    private Index index() {
+        Index current = index;
+        if (current != null && System.currentTimeMillis() < nextRefreshAt) {
+            return current;
+        }
+        refresh();
+        // 查找可能发生在OkHttp的回调线程上，不等待刷新；没有快照时先使用空索引
+        return current != null ? current : EMPTY;
+    }
+
+    /**
+     * 刷新目录
+     *
+     * 已有刷新在进行时返回进行中的刷新。
+     *
+     * @return 刷新完成后的索引的Future
+     */
+    synchronized CompletableFuture<Index> refresh() {
+        if (refreshing != null) {
+            return refreshing;
+        }
+        TencentApiProperties.Directory directory = tencentApiProperties.getDirectory();
+        CompletableFuture<Map<String, Integer>> categories = fetch(directory.getCategoryPath());
+        CompletableFuture<Map<String, Integer>> tags = fetch(directory.getTagPath());
+        CompletableFuture<Map<String, Integer>> columns = fetch(directory.getColumnPath());
+        CompletableFuture<Index> refresh = CompletableFuture.allOf(categories, tags, columns)
+                .thenApply(ignored -> {
+                    Snapshot snapshot = new Snapshot(System.currentTimeMillis(), categories.join(), tags.join(), columns.join());
+                    writeSnapshot(snapshot);
+                    return new Index(snapshot);
+                })
+                .whenComplete((updated, throwable) -> {
+                    synchronized (this) {
+                        refreshing = null;
+                        long now = System.currentTimeMillis();
+                        if (throwable != null) {
+                            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                    ? throwable.getCause() : throwable;
+                            log.warn("获取社区目录失败，{}，{}秒后重试: {}", index != null ? "继续使用旧目录" : "使用兜底ID",
+                                    RETRY_MILLIS / 1000, cause.toString());
+                            if (index == null) {
+                                index = EMPTY;
+                            }
+                            nextRefreshAt = now + RETRY_MILLIS;
+                        } else {
+                            log.info("社区目录已刷新，分类{}个，标签{}个，专栏{}个", updated.snapshot.categories().size(),
+                                    updated.snapshot.tags().size(), updated.snapshot.columns().size());
+                            index = updated;
+                            nextRefreshAt = now + TimeUnit.SECONDS.toMillis(directory.getTtlSeconds());
+                        }
+                    }
+                });
+        // 请求在提交时就失败的情况下，回调已经在当前线程中执行
+        refreshing = refresh.isDone() ? null : refresh;
+        return refresh;
+    }
+
+    /**
+     * 异步获取一个列表
+     *
+     * @param path 列表接口路径
+     * @return 名称到ID的映射的Future
+     */
+    private CompletableFuture<Map<String, Integer>> fetch(String path) {
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        iTencentService.listDirectory(path, tencentApiProperties.getCookie()).enqueue(new Callback<>() {
+            @Override
+            public void onResponse(Call<DirectoryResponse> call, Response<DirectoryResponse> response) {
+                DirectoryResponse body = response.body();
+                if (!response.isSuccessful() || body == null || body.getList() == null
+                        || (body.getStatus() != null && body.getStatus() != 0)) {
+                    future.completeExceptionally(new IOException("获取目录失败 " + path + ": " + response.code() + " "
+                            + response.message() + (body != null ? " status:" + body.getStatus() : "")));
+                    return;
+                }
+                Map<String, Integer> ids = new LinkedHashMap<>();
+                for (DirectoryResponse.Item item : body.getList()) {
+                    if (item.getId() != null && item.getName() != null && !item.getName().isBlank()) {
+                        ids.putIfAbsent(item.getName().trim(), item.getId());
+                    }
+                }
+                future.complete(ids);
+            }
+
+            @Override
+            public void onFailure(Call<DirectoryResponse> call, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 读取本地快照
+     *
+     * @return 快照，文件不存在或无法解析时返回null
+     */
+    private Snapshot readSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(snapshotPath.toFile(), Snapshot.class);
+            if (snapshot.categories() == null || snapshot.tags() == null || snapshot.columns() == null) {
+                log.warn("目录快照不完整，已忽略: {}", snapshotPath);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("目录快照无法解析，已忽略: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 写入本地快照
+     *
+     * 先写入临时文件再原子替换，写入失败只记录警告，不影响内存中的索引。
+     *
+     * @param snapshot 快照
+     */
+    private void writeSnapshot(Snapshot snapshot) {
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotPath.getParent());
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("写入目录快照失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 规范化名称
+     *
+     * @param name 名称
+     * @return 去掉首尾空白并转为小写的名称，为null时返回空字符串
+     */
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 目录快照
+     *
+     * 保存社区返回的原始名称，加载时重新建立规范化索引。
+     *
+     * @param fetchedAt 获取时间（毫秒时间戳）
+     * @param categories 分类名称到ID的映射
+     * @param tags 标签名称到ID的映射
+     * @param columns 专栏名称到ID的映射
+     */
+    record Snapshot(long fetchedAt, Map<String, Integer> categories, Map<String, Integer> tags,
+                    Map<String, Integer> columns) {
+    }
+
+    /**
+     * 内存中的名称索引
+     *
+     * 创建后不再修改，刷新时整体替换。
+     */
+    static final class Index {
+
+        /** 原始快照 */
+        private final Snapshot snapshot;
+
+        /** 规范化的分类名称到ID的映射 */
+        private final Map<String, Integer> categories;
+
+        /** 规范化的标签名称到ID的映射 */
+        private final Map<String, Integer> tags;
+
+        /** 规范化的专栏名称到ID的映射 */
+        private final Map<String, Integer> columns;
+
+        /** 标签匹配器，第一次自动匹配标签时才构建 */
+        private volatile TagMatcher matcher;
+
+        /**
+         * 根据快照建立索引
+         *
+         * @param snapshot 快照
+         */
+        Index(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.categories = normalized(snapshot.categories());
+            this.tags = normalized(snapshot.tags());
+            this.columns = normalized(snapshot.columns());
+        }
+
+        /**
+         * 获取标签匹配器
+         *
+         * 数万个标签的自动机构建需要几十毫秒，每个索引只构建一次。
+         *
+         * @return 由全部标签名称构建的匹配器
+         */
+        TagMatcher matcher() {
+            TagMatcher current = matcher;
+            if (current == null) {
+                synchronized (this) {
+                    current = matcher;
+                    if (current == null) {
+                        matcher = current = TagMatcher.of(snapshot.tags().keySet());
+                    }
+                }
+            }
+            return current;
+        }
+
+        /**
+         * 规范化映射的键
+         *
+         * 规范化后重名时保留先出现的名称。
+         *
+         * @param ids 原始名称到ID的映射
+         * @return 规范化名称到ID的映射
+         */
+        private static Map<String, Integer> normalized(Map<String, Integer> ids) {
+            Map<String, Integer> normalized = new HashMap<>(ids.size() * 4 / 3 + 1);
+            ids.forEach((name, id) -> normalized.putIfAbsent(normalize(name), id));
+            return normalized;
+        }
+    }
+}
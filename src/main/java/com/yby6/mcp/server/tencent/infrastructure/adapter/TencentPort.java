@@ -1,22 +1,58 @@
 package com.yby6.mcp.server.tencent.infrastructure.adapter;
 
-import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentDirectory;
 import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.PublishNotSentException;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.JsonRequestBody;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ReplayableRequestBody;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.StreamingArticleRequestBody;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.UploadImageResponse;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
 import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.AdaptiveRateLimiter;
+import com.yby6.mcp.server.tencent.types.utils.CircuitBreaker;
+import com.yby6.mcp.server.tencent.types.utils.RetryBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * 腾讯云开发者社区端口适配器实现
@@ -25,15 +61,22 @@ import java.util.List;
  * 作为端口适配器模式的具体实现，它：
  * 1. 实现了ITencentPort接口
  * 2. 负责领域模型和DTO之间的转换
- * 3. 处理与腾讯云API的具体交互
+ * 3. 处理与腾讯云API的具体交互（发布文章、上传图片）
+ * 
+ * 懒加载：HTTP客户端、Retrofit代理及转换缓存等依赖在第一次发布时才创建，
+ * MCP客户端启动服务端后的tools/list握手不需要等待它们。
  * 
  * @author yby6
  * @version 1.0.0
  */
 @Slf4j
+@Lazy
 @Component
 public class TencentPort implements ITencentPort {
     
+    /** 日志中请求体预览的最大字节数 */
+    private static final int LOG_PREVIEW_BYTES = 512;
+    
     /** 腾讯云API服务接口 */
     @Resource
     private ITencentService iTencentService;
@@ -41,57 +84,666 @@ public class TencentPort implements ITencentPort {
     /** 腾讯云API配置属性 */
     @Resource
     private TencentApiProperties tencentApiProperties;
+
+    /** 标签、分类和专栏目录，发布时按名称查找ID */
+    @Resource
+    private ITencentDirectory tencentDirectory;
+
+    /** Markdown转换结果缓存，重试发布相同内容时复用转换结果 */
+    @Resource
+    private ProseMirrorConversionCache proseMirrorConversionCache;
+
+    /** 共享的JSON对象映射器，与Retrofit转换器使用同一个实例 */
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /** 发布接口的客户端限流器 */
+    @Resource
+    private AdaptiveRateLimiter tencentRateLimiter;
+
+    /** 发布接口的熔断器 */
+    @Resource
+    private CircuitBreaker tencentCircuitBreaker;
+
+    /** 发布接口的重试预算 */
+    @Resource
+    private RetryBudget tencentRetryBudget;
+
+    /** 指标注册表 */
+    @Resource
+    private MeterRegistry meterRegistry;
     
     /**
      * 发布文章到腾讯云开发者社区
      * 
+     * 同步版本，基于{@link #writeArticleAsync(ArticleFunctionRequest)}实现，
+     * 调用线程等待异步发布完成后返回结果。
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 文章发布响应，包含发布结果和文章ID等信息
+     * @throws IOException 当发布过程中发生IO异常时抛出
+     */
+    @Override
+    public ArticleFunctionResponse writeArticle(ArticleFunctionRequest request) throws IOException {
+        return await(writeArticleAsync(request));
+    }
+
+    /**
+     * 发布文章到腾讯云开发者社区，不在端口内重试
+     * 
+     * 与{@link #writeArticle(ArticleFunctionRequest)}相同，只是最多发送一次请求。
+     * 
+     * @param request 文章发布请求，包含文章标题、内容等信息
+     * @return 文章发布响应，失败时返回null
+     * @throws IOException 当发布过程中发生IO异常时抛出，确定没有发出时为PublishNotSentException
+     */
+    @Override
+    public ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request) throws IOException {
+        return await(publish(request, null, 1));
+    }
+
+    /**
+     * 使用已转换的ProseMirror内容发布文章，不在端口内重试
+     * 
+     * @param request 文章发布请求，markdowncontent作为纯文本字段发送
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应，失败时返回null
+     * @throws IOException 当发布过程中发生IO异常时抛出，确定没有发出时为PublishNotSentException
+     */
+    @Override
+    public ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request, String content) throws IOException {
+        return await(publish(request, content, 1));
+    }
+
+    /**
+     * 等待发布完成
+     * 
+     * @param future 发布结果的Future
+     * @return 文章发布响应
+     * @throws IOException 当发布失败时抛出
+     */
+    private static ArticleFunctionResponse await(CompletableFuture<ArticleFunctionResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("发布文章被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 异步发布文章到腾讯云开发者社区
+     * 
      * 该方法实现了文章发布的具体逻辑：
-     * 1. 将领域模型转换为API请求DTO
-     * 2. 调用腾讯云API服务
-     * 3. 处理响应结果并转换为领域模型
+     * 1. 将领域模型转换为API请求DTO，并一次性编码为JSON字节；超大文章改为写出请求体时按块流式生成
+     * 2. 经过熔断器、限流器后通过Call.enqueue异步调用腾讯云API服务，不占用调用线程
+     * 3. 只重试服务端确定没有处理的请求：请求体发出前的网络异常（连接失败等）、429、
+     *    带Retry-After的503和限流业务状态码，在重试预算内按全抖动指数退避重试，重试复用同一份字节；
+     *    发布接口不是幂等的，请求体发出后的超时和其他5xx响应不重试，避免重复发布
+     * 4. 在OkHttp的回调线程中处理响应结果并转换为领域模型
      * 
      * 主要步骤：
      * - 记录请求参数日志
      * - 构建API请求对象
      * - 设置文章分类、标签等属性
-     * - 执行API调用
+     * - 提交异步API调用
      * - 处理响应结果
      * - 构建返回对象
      * 
+     * 熔断期间以及请求体发出前的网络异常重试用尽后以{@link PublishNotSentException}失败；
+     * 认证失败时立即熔断且不重试。
+     * 取消返回的Future会同时取消底层的HTTP请求和尚未发送的重试。
+     * 
      * @param request 文章发布请求，包含文章标题、内容等信息
-     * @return 文章发布响应，包含发布结果和文章ID等信息
-     * @throws IOException 当发布过程中发生IO异常时抛出
+     * @return 文章发布响应的Future，失败时以异常结束
      */
     @Override
-    public ArticleFunctionResponse writeArticle(ArticleFunctionRequest request) throws IOException {
-        log.info("接收到的参数: {}", request.toString());
+    public CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request) {
+        return publish(request, null, tencentApiProperties.getRetry().getMaxAttempts());
+    }
+
+    /**
+     * 使用已转换的ProseMirror内容异步发布文章
+     * 
+     * 与{@link #writeArticleAsync(ArticleFunctionRequest)}相同，只是跳过Markdown转换，
+     * 请求体直接使用给定的content。
+     * 
+     * @param request 文章发布请求，markdowncontent作为纯文本字段发送
+     * @param content request中Markdown对应的ProseMirror JSON
+     * @return 文章发布响应的Future，失败时以异常结束
+     */
+    @Override
+    public CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request, String content) {
+        return publish(request, content, tencentApiProperties.getRetry().getMaxAttempts());
+    }
+
+    /**
+     * 构建请求体并发起发布
+     * 
+     * @param request 文章发布请求
+     * @param content 已转换的ProseMirror JSON，为null时由Markdown转换
+     * @param maxAttempts 最多发送的请求数，包括首次请求
+     * @return 文章发布响应的Future，失败时以异常结束
+     */
+    private CompletableFuture<ArticleFunctionResponse> publish(ArticleFunctionRequest request, String content, int maxAttempts) {
+        log.info("接收到的参数: title:{}", request.getTitle());
+        CompletableFuture<ArticleFunctionResponse> future = new CompletableFuture<>();
+        
+        // 构建API请求对象并编码，HTTP发送、重试和日志共享同一份字节；超大文章改为写出时流式生成
+        ReplayableRequestBody body;
+        try {
+            body = content == null ? buildRequestBody(request) : buildRequestBody(request, content);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        DistributionSummary.builder("tencent.payload.markdown")
+                .description("发布文章的Markdown长度")
+                .baseUnit("chars")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(request.getMarkdowncontent() == null ? 0 : request.getMarkdowncontent().length());
+        // 请求体第一次完整写出后再记录字节数，流式请求体不为此额外生成一遍
+        DistributionSummary payload = DistributionSummary.builder("tencent.payload.json")
+                .description("发布请求体的字节数")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        AtomicBoolean measured = new AtomicBoolean();
+        Runnable onWritten = () -> {
+            long length = contentLength(body);
+            if (length >= 0 && !measured.getAndSet(true)) {
+                payload.record(length);
+            }
+        };
+        
+        tencentRetryBudget.onRequest();
+        attempt(body, onWritten, 1, maxAttempts, future);
+        return future;
+    }
+
+    /**
+     * 发送一次发布请求并根据结果决定完成或重试
+     * 
+     * @param body 已编码的请求体
+     * @param onWritten 请求体完整写出后执行
+     * @param attempt 第几次请求，从1开始
+     * @param maxAttempts 最多发送的请求数
+     * @param future 发布结果的Future
+     */
+    private void attempt(ReplayableRequestBody body, Runnable onWritten, int attempt, int maxAttempts,
+                         CompletableFuture<ArticleFunctionResponse> future) {
+        if (future.isDone()) return;
+        if (!tencentCircuitBreaker.tryAcquire()) {
+            future.completeExceptionally(new PublishNotSentException("腾讯云开发者社区接口已熔断，"
+                    + tencentCircuitBreaker.remainingOpenMillis() + "ms后恢复"));
+            return;
+        }
+        
+        AtomicBoolean written = new AtomicBoolean();
+        send(body, onWritten, future, written).whenComplete((response, throwable) -> {
+            if (future.isDone()) {
+                tencentCircuitBreaker.release();
+                return;
+            }
+            try {
+                boolean retryable;
+                if (throwable != null) {
+                    tencentCircuitBreaker.onFailure();
+                    // 请求体开始写出后失败时，服务端可能已经保存了文章
+                    retryable = !written.get();
+                } else {
+                    recordRateLimit(response);
+                    if (isAuthFailure(response)) {
+                        tencentCircuitBreaker.trip();
+                        log.error("腾讯云开发者社区认证失败，已熔断，请检查cookie: {} {}", response.code(), response.message());
+                        future.completeExceptionally(new IOException("腾讯云开发者社区认证失败，请检查cookie"));
+                        return;
+                    }
+                    if (response.code() >= 500) {
+                        tencentCircuitBreaker.onFailure();
+                    } else {
+                        tencentCircuitBreaker.onSuccess();
+                    }
+                    retryable = isNotProcessed(response);
+                }
+                
+                TencentApiProperties.Retry retry = tencentApiProperties.getRetry();
+                if (retryable && attempt < maxAttempts && tencentRetryBudget.tryRetry()) {
+                    long backoff = RetryBudget.fullJitterBackoff(attempt, retry.getInitialBackoffMillis(), retry.getMaxBackoffMillis());
+                    log.warn("腾讯云开发者社区发布文章第{}次失败，{}ms后重试: {}", attempt, backoff,
+                            throwable != null ? throwable.toString() : response.code() + " " + response.message());
+                    CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+                            .execute(() -> attempt(body, onWritten, attempt + 1, maxAttempts, future));
+                } else if (throwable != null) {
+                    future.completeExceptionally(written.get() ? throwable
+                            : new PublishNotSentException("发布请求没有发出: " + throwable, throwable));
+                } else {
+                    future.complete(handleResponse(body, response));
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * 按限流器预约的时间发送一个HTTP请求
+     * 
+     * 等待期间发布已结束时不再发送，返回的Future以取消结束；发布被取消时取消进行中的请求。
+     * 
+     * @param body 已编码的请求体
+     * @param onWritten 请求体完整写出后执行
+     * @param owner 发布结果的Future
+     * @param written 请求体开始写出时置为true
+     * @return 响应的Future
+     */
+    private CompletableFuture<Response<AddArticleResponse>> send(ReplayableRequestBody body, Runnable onWritten,
+                                                                 CompletableFuture<?> owner, AtomicBoolean written) {
+        CompletableFuture<Response<AddArticleResponse>> result = new CompletableFuture<>();
+        Call<AddArticleResponse> call = iTencentService.addArticle(tencentApiProperties.getCookie(),
+                new WriteTrackingRequestBody(body, written, onWritten));
+        Callback<AddArticleResponse> callback = new Callback<>() {
+            @Override
+            public void onResponse(Call<AddArticleResponse> call, Response<AddArticleResponse> response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(Call<AddArticleResponse> call, Throwable t) {
+                result.completeExceptionally(t);
+            }
+        };
+        
+        long delay = tencentApiProperties.getRateLimit().isEnabled() ? tencentRateLimiter.reserve() : 0;
+        if (delay > 0) {
+            log.info("发布请求被客户端限流，{}ms后发送", TimeUnit.NANOSECONDS.toMillis(delay));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (owner.isDone()) {
+                    result.cancel(false);
+                } else {
+                    enqueueTimed(call, callback);
+                }
+            });
+        } else {
+            enqueueTimed(call, callback);
+        }
+        owner.whenComplete((response, throwable) -> {
+            if (throwable instanceof CancellationException) call.cancel();
+        });
+        return result;
+    }
+
+    /**
+     * 异步上传图片到腾讯云开发者社区图床
+     * 
+     * 与发布文章共用限流器和熔断器：熔断期间直接失败，认证失败时立即熔断。
+     * 上传不重试，失败的图片在下一次发布时重新上传。
+     * 耗时记录在tencent.http.uploadImage计时器中。
+     * 
+     * @param image 图片字节
+     * @param fileName 文件名，用于推断图片类型
+     * @return 图床地址的Future，上传失败时以异常结束
+     */
+    @Override
+    public CompletableFuture<String> uploadImageAsync(byte[] image, String fileName) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        if (!tencentCircuitBreaker.tryAcquire()) {
+            future.completeExceptionally(new IOException("腾讯云开发者社区接口已熔断，"
+                    + tencentCircuitBreaker.remainingOpenMillis() + "ms后恢复"));
+            return future;
+        }
+        String contentType = URLConnection.guessContentTypeFromName(fileName);
+        MultipartBody.Part file = MultipartBody.Part.createFormData("file", fileName,
+                RequestBody.create(MediaType.parse(contentType != null ? contentType : "application/octet-stream"), image));
+        Call<UploadImageResponse> call = iTencentService.uploadImage(tencentApiProperties.getImage().getUploadPath(),
+                tencentApiProperties.getCookie(), file);
+        
+        Runnable submit = () -> {
+            long start = System.nanoTime();
+            call.enqueue(new Callback<>() {
+                @Override
+                public void onResponse(Call<UploadImageResponse> call, Response<UploadImageResponse> response) {
+                    recordUpload(String.valueOf(response.code()), start);
+                    UploadImageResponse body = response.body();
+                    if (response.code() == 401 || response.code() == 403) {
+                        tencentCircuitBreaker.trip();
+                        future.completeExceptionally(new IOException("腾讯云开发者社区认证失败，请检查cookie"));
+                        return;
+                    }
+                    if (response.code() >= 500) {
+                        tencentCircuitBreaker.onFailure();
+                    } else {
+                        tencentCircuitBreaker.onSuccess();
+                    }
+                    if (!response.isSuccessful() || body == null || body.getUrl() == null || body.getUrl().isBlank()
+                            || (body.getStatus() != null && body.getStatus() != 0)) {
+                        future.completeExceptionally(new IOException("上传图片失败: " + response.code() + " "
+                                + response.message() + (body != null ? " status:" + body.getStatus() : "")));
+                        return;
+                    }
+                    future.complete(body.getUrl());
+                }
+
+                @Override
+                public void onFailure(Call<UploadImageResponse> call, Throwable t) {
+                    recordUpload(call.isCanceled() ? "CANCELLED" : "IO_ERROR", start);
+                    tencentCircuitBreaker.onFailure();
+                    future.completeExceptionally(t);
+                }
+            });
+        };
+        long delay = tencentApiProperties.getRateLimit().isEnabled() ? tencentRateLimiter.reserve() : 0;
+        if (delay > 0) {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(submit);
+        } else {
+            submit.run();
+        }
+        future.whenComplete((url, throwable) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        return future;
+    }
+
+    /**
+     * 记录一次图片上传请求的耗时
+     * 
+     * @param status 状态标签
+     * @param start 请求提交的时间
+     */
+    private void recordUpload(String status, long start) {
+        Timer.builder("tencent.http.uploadImage")
+                .description("腾讯云上传图片接口的请求耗时")
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public RateLimitStatus getRateLimitStatus() {
+        AdaptiveRateLimiter.State state = tencentRateLimiter.state();
+        RateLimitStatus status = new RateLimitStatus();
+        status.setEnabled(tencentApiProperties.getRateLimit().isEnabled());
+        status.setRate(state.rate());
+        status.setTokens(state.tokens());
+        status.setPausedMillis(state.pausedMillis());
+        status.setSuccesses(state.successes());
+        status.setThrottles(state.throttles());
+        return status;
+    }
+
+    /**
+     * 提交HTTP请求并记录耗时
+     * 
+     * 耗时从请求实际提交开始计算，不包括限流等待，记录在tencent.http.addArticle计时器中，
+     * 以HTTP状态码作为标签，网络异常记为IO_ERROR，被取消的请求记为CANCELLED。
+     * 
+     * @param call HTTP请求
+     * @param callback 请求结束后的回调
+     */
+    private void enqueueTimed(Call<AddArticleResponse> call, Callback<AddArticleResponse> callback) {
+        long start = System.nanoTime();
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(Call<AddArticleResponse> call, Response<AddArticleResponse> response) {
+                recordHttp(String.valueOf(response.code()), start);
+                callback.onResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<AddArticleResponse> call, Throwable t) {
+                recordHttp(call.isCanceled() ? "CANCELLED" : "IO_ERROR", start);
+                callback.onFailure(call, t);
+            }
+        });
+    }
+
+    /**
+     * 记录一次HTTP请求的耗时
+     * 
+     * @param status 状态标签
+     * @param start 请求提交的时间
+     */
+    private void recordHttp(String status, long start) {
+        Timer.builder("tencent.http.addArticle")
+                .description("腾讯云发布文章接口的请求耗时")
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 将响应结果反馈给限流器
+     * 
+     * HTTP 429、5xx以及配置为限流的业务状态码视为被限流，速率成倍减少，
+     * 并遵守响应中的Retry-After；成功的响应使速率逐步增加；其他失败不影响速率。
+     * 
+     * @param response API响应
+     */
+    private void recordRateLimit(Response<AddArticleResponse> response) {
+        TencentApiProperties.RateLimit rateLimit = tencentApiProperties.getRateLimit();
+        if (!rateLimit.isEnabled()) return;
         
-        // 构建API请求对象
+        if (response.code() == 429 || response.code() >= 500 || isThrottled(response)) {
+            long retryAfter = retryAfterNanos(response.headers().get("Retry-After"));
+            tencentRateLimiter.onThrottled(retryAfter);
+            log.warn("腾讯云开发者社区限流 code:{} retryAfter:{}ms 当前速率:{}/s", response.code(),
+                    TimeUnit.NANOSECONDS.toMillis(retryAfter), tencentRateLimiter.state().rate());
+        } else if (response.isSuccessful()) {
+            tencentRateLimiter.onSuccess();
+        }
+    }
+
+    /**
+     * 判断失败的响应是否说明服务端没有处理请求
+     * 
+     * 发布接口不是幂等的，只有这些响应可以安全重试：
+     * HTTP 429、带Retry-After的503以及配置为限流的业务状态码。
+     * 
+     * @param response API响应
+     * @return 可以安全重试时返回true
+     */
+    private boolean isNotProcessed(Response<AddArticleResponse> response) {
+        return response.code() == 429
+                || (response.code() == 503 && response.headers().get("Retry-After") != null)
+                || isThrottled(response);
+    }
+
+    /**
+     * 判断响应体中的业务状态码是否表示被限流
+     * 
+     * @param response API响应
+     * @return 业务状态码属于tencent.api.rate-limit.throttle-statuses时返回true
+     */
+    private boolean isThrottled(Response<AddArticleResponse> response) {
+        AddArticleResponse body = response.body();
+        return body != null && body.getStatus() != null
+                && tencentApiProperties.getRateLimit().getThrottleStatuses().contains(body.getStatus());
+    }
+
+    /**
+     * 判断响应是否表示认证失败
+     * 
+     * @param response API响应
+     * @return HTTP 401、403或业务状态码属于tencent.api.circuit-breaker.auth-failure-statuses时返回true
+     */
+    private boolean isAuthFailure(Response<AddArticleResponse> response) {
+        if (response.code() == 401 || response.code() == 403) return true;
+        AddArticleResponse body = response.body();
+        return body != null && body.getStatus() != null
+                && tencentApiProperties.getCircuitBreaker().getAuthFailureStatuses().contains(body.getStatus());
+    }
+
+    /**
+     * 解析Retry-After响应头
+     * 
+     * 支持秒数和HTTP日期两种格式。
+     * 
+     * @param value 响应头的值，可以为null
+     * @return 需要等待的纳秒数，无法解析时返回0
+     */
+    static long retryAfterNanos(String value) {
+        if (value == null || value.isBlank()) return 0;
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 构建请求体
+     * 
+     * Markdown长度超过流式发布阈值时使用流式请求体，ProseMirror JSON在写出时按块生成，
+     * 不经过转换缓存；否则预先编码为字节，并复用缓存的转换结果。
+     * 
+     * @param request 文章发布请求
+     * @return 可重复发送的请求体
+     * @throws JsonProcessingException 当序列化失败时抛出
+     */
+    private ReplayableRequestBody buildRequestBody(ArticleFunctionRequest request) throws JsonProcessingException {
+        String markdown = request.getMarkdowncontent();
+        TencentApiProperties.Streaming streaming = tencentApiProperties.getStreaming();
+        if (streaming.isEnabled() && markdown != null && markdown.length() > streaming.getThresholdChars()) {
+            log.info("文章Markdown长度{}超过流式发布阈值，使用流式请求体", markdown.length());
+            return StreamingArticleRequestBody.of(objectMapper, buildAddArticleRequest(request),
+                    ProseMirrorConversionCache.options(tencentApiProperties));
+        }
+        AddArticleRequest addArticleRequest = buildAddArticleRequest(request);
+        addArticleRequest.setContent(proseMirrorConversionCache.convert(markdown));  // 相同内容复用缓存的转换结果
+        return JsonRequestBody.of(objectMapper, addArticleRequest);
+    }
+
+    /**
+     * 使用已转换的内容构建请求体
+     * 
+     * @param request 文章发布请求
+     * @param content ProseMirror JSON
+     * @return 预先编码的请求体
+     * @throws JsonProcessingException 当序列化失败时抛出
+     */
+    private ReplayableRequestBody buildRequestBody(ArticleFunctionRequest request, String content) throws JsonProcessingException {
+        AddArticleRequest addArticleRequest = buildAddArticleRequest(request);
+        addArticleRequest.setContent(content);
+        return JsonRequestBody.of(objectMapper, addArticleRequest);
+    }
+
+    /**
+     * 获取请求体的字节数
+     * 
+     * @param body 请求体
+     * @return 字节数，尚未知道或无法计算时返回-1
+     */
+    private static long contentLength(ReplayableRequestBody body) {
+        try {
+            return body.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 构建API请求对象
+     * 
+     * content由调用方设置。
+     * 分类、标签和专栏按名称从目录中查找ID，名称都无法解析时使用配置的兜底ID；
+     * 目录中找不到的标签名称作为长尾标签发送。
+     * 
+     * 标签依次取自：请求指定的标签、在标题和正文中匹配到的目录标签、配置的默认标签；
+     * 只有文章既没有指定也没有匹配到标签时才附加配置的长尾标签。
+     * 
+     * @param request 文章发布请求
+     * @return 腾讯云发布文章请求DTO
+     */
+    private AddArticleRequest buildAddArticleRequest(ArticleFunctionRequest request) {
+        TencentApiProperties.Directory directory = tencentApiProperties.getDirectory();
+        String categories = tencentApiProperties.getCategories();
+        List<String> tags = request.getTags() != null ? request.getTags() : List.of();
+        if (tags.isEmpty() && directory.getAutoTags() > 0) {
+            tags = tencentDirectory.matchTags(directory.getAutoTags(), request.getTitle(), request.getMarkdowncontent());
+        }
+        boolean ownTags = !tags.isEmpty();
+
+        // 解析标签，找不到的名称加入长尾标签
+        Set<Integer> tagIds = new LinkedHashSet<>();
+        Set<String> longtailTags = new LinkedHashSet<>();
+        if (!ownTags) {
+            tags = directory.getTags();
+            longtailTags.addAll(directory.getLongtailTags());
+        }
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) continue;
+            Integer id = tencentDirectory.tagId(tag);
+            if (id != null) {
+                tagIds.add(id);
+            } else {
+                longtailTags.add(tag.trim());
+            }
+        }
+
         AddArticleRequest addArticleRequest = new AddArticleRequest();
         addArticleRequest.setTitle(request.getTitle());
         addArticleRequest.setPlain(request.getMarkdowncontent());
-        addArticleRequest.setContent(addArticleRequest.getContent());
         addArticleRequest.setSourceType(1);  // 设置为原创
-        addArticleRequest.setClassifyIds(List.of(2));  // 设置文章分类
-        addArticleRequest.setTagIds(List.of(18126));  // 设置文章标签
-        addArticleRequest.setLongtailTag(List.of("mcp"));  // 设置长尾标签
-        addArticleRequest.setColumnIds(List.of(101806));  // 设置专栏ID
+        addArticleRequest.setClassifyIds(resolve(categories != null ? List.of(categories.split(",")) : List.of(),
+                tencentDirectory::categoryId, directory.getFallbackClassifyIds()));  // 设置文章分类
+        addArticleRequest.setTagIds(tagIds.isEmpty() ? directory.getFallbackTagIds() : new ArrayList<>(tagIds));  // 设置文章标签
+        addArticleRequest.setLongtailTag(new ArrayList<>(longtailTags));  // 设置长尾标签
+        addArticleRequest.setColumnIds(resolve(directory.getColumns(), tencentDirectory::columnId,
+                directory.getFallbackColumnIds()));  // 设置专栏ID
         addArticleRequest.setOpenComment(1);  // 开启评论
         addArticleRequest.setCloseTextLink(0);  // 允许文本链接
         addArticleRequest.setUserSummary(request.getUserSummary());
         addArticleRequest.setPic("");  // 设置封面图片
         addArticleRequest.setSourceDetail(new HashMap<>());  // 设置来源详情
         addArticleRequest.setZoneName("");  // 设置专区名称
-        
-        // 执行API调用
-        Call<AddArticleResponse> call = iTencentService.addArticle(tencentApiProperties.getCookie(), addArticleRequest);
-        Response<AddArticleResponse> response = call.execute();
-        
-        // 记录请求和响应日志
-        log.info("\n\n请求腾讯云开发者社区发布文章\n req:{} \nres:{}", JSON.toJSONString(addArticleRequest), JSON.toJSONString(response));
+        return addArticleRequest;
+    }
+
+    /**
+     * 按名称解析ID
+     * 
+     * @param names 名称列表，忽略空白名称和重复ID
+     * @param lookup 名称到ID的查找函数，找不到时返回null
+     * @param fallback 名称都无法解析时使用的ID
+     * @return 解析出的ID列表
+     */
+    private static List<Integer> resolve(List<String> names, Function<String, Integer> lookup,
+                                         List<Integer> fallback) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) continue;
+            Integer id = lookup.apply(name);
+            if (id != null) ids.add(id);
+        }
+        return ids.isEmpty() ? fallback : new ArrayList<>(ids);
+    }
+
+    /**
+     * 处理API响应并转换为领域模型
+     * 
+     * @param body 已发送的请求体，用于日志记录
+     * @param response API响应
+     * @return 文章发布响应，失败时返回null
+     */
+    private ArticleFunctionResponse handleResponse(ReplayableRequestBody body, Response<AddArticleResponse> response) {
+        // 记录请求和响应日志，请求体只记录截断的预览
+        log.info("\n\n请求腾讯云开发者社区发布文章\n req:{} \nres:{} {}", body.preview(LOG_PREVIEW_BYTES), response.code(), response.message());
         
         if (response.isSuccessful()) {
-            log.info("腾讯云开发者社区发布文章成功: {}", JSON.toJSONString(response.body()));
+            log.info("腾讯云开发者社区发布文章成功: {}", response.body());
             
             // 处理成功响应
             AddArticleResponse articleResponseDTO = response.body();
@@ -107,7 +759,48 @@ public class TencentPort implements ITencentPort {
         }
         
         // 处理失败响应
-        log.error("腾讯云开发者社区发布文章失败: {}", JSON.toJSONString(response));
+        log.error("腾讯云开发者社区发布文章失败: {} {}", response.code(), response.message());
         return null;
     }
+
+    /**
+     * 记录是否已开始写出的请求体
+     * 
+     * 请求体开始写出之前失败的请求（DNS解析、建立连接、TLS握手失败等）一定没有被服务端处理，可以安全重试。
+     * 完整写出后通知调用方，此时流式请求体已经缓存了字节数。
+     */
+    private static final class WriteTrackingRequestBody extends RequestBody {
+
+        /** 实际的请求体 */
+        private final ReplayableRequestBody body;
+
+        /** 开始写出时置为true */
+        private final AtomicBoolean written;
+
+        /** 完整写出后执行 */
+        private final Runnable onWritten;
+
+        WriteTrackingRequestBody(ReplayableRequestBody body, AtomicBoolean written, Runnable onWritten) {
+            this.body = body;
+            this.written = written;
+            this.onWritten = onWritten;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body.contentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            written.set(true);
+            body.writeTo(sink);
+            onWritten.run();
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.yby6.mcp.server.tencent.infrastructure.gateway;
 
-import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.DirectoryResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.UploadImageResponse;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -9,7 +12,7 @@ import retrofit2.http.*;
  * 腾讯云开发者社区服务接口
  * 
  * 该接口定义了与腾讯云开发者社区API交互的方法。
- * 使用Retrofit框架实现HTTP请求，支持文章的发布等操作。
+ * 使用Retrofit框架实现HTTP请求，支持文章的发布、图片上传和目录查询等操作。
  * 所有请求都需要包含必要的认证信息和请求头。
  * 
  * @author yby6
@@ -30,8 +33,11 @@ public interface ITencentService {
      * - user-agent: 指定客户端信息
      * - 其他安全相关头部
      * 
+     * 请求体由调用方预先编码（见{@link JsonRequestBody}），
+     * 重试时复用同一份字节，不经过Retrofit的转换器再次序列化。
+     * 
      * @param cookie 用户认证Cookie，用于身份验证
-     * @param request 文章发布请求，包含文章内容、标题等信息
+     * @param body 已编码的文章发布请求体，包含文章内容、标题等信息
      * @return 包含发布结果的响应对象
      */
     @POST("developer/api/article/addArticle")
@@ -53,6 +59,53 @@ public interface ITencentService {
     })
     Call<AddArticleResponse> addArticle(
         @Header("Cookie") String cookie,
-        @Body AddArticleRequest request
+        @Body RequestBody body
+    );
+
+    /**
+     * 上传图片到腾讯云开发者社区图床
+     * 
+     * 以multipart/form-data格式上传一张图片，返回图片在社区图床上的地址。
+     * 接口路径通过tencent.api.image.upload-path配置，相对于基础URL解析。
+     * 
+     * @param path 上传接口路径
+     * @param cookie 用户认证Cookie，用于身份验证
+     * @param file 图片文件，表单字段名为file
+     * @return 包含图片地址的响应对象
+     */
+    @Multipart
+    @POST
+    @Headers({
+        "accept: application/json, text/plain, */*",
+        "accept-language: zh-CN,zh;q=0.9,en-US;q=0.8,en;q=0.7",
+        "origin: https://cloud.tencent.com",
+        "referer: https://cloud.tencent.com/developer/article/write-new",
+        "user-agent: Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36"
+    })
+    Call<UploadImageResponse> uploadImage(
+        @Url String path,
+        @Header("Cookie") String cookie,
+        @Part MultipartBody.Part file
+    );
+
+    /**
+     * 查询标签、分类或专栏列表
+     * 
+     * 三种列表的响应结构相同，接口路径通过tencent.api.directory.*-path配置，相对于基础URL解析。
+     * 
+     * @param path 列表接口路径
+     * @param cookie 用户认证Cookie，用于身份验证
+     * @return 包含ID和名称列表的响应对象
+     */
+    @GET
+    @Headers({
+        "accept: application/json, text/plain, */*",
+        "accept-language: zh-CN,zh;q=0.9,en-US;q=0.8,en;q=0.7",
+        "referer: https://cloud.tencent.com/developer/article/write-new",
+        "user-agent: Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36"
+    })
+    Call<DirectoryResponse> listDirectory(
+        @Url String path,
+        @Header("Cookie") String cookie
     );
 }
@@ -0,0 +1,81 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * 预先编码的JSON请求体
+ *
+ * 该类将请求对象一次性编码为UTF-8字节，之后HTTP发送、重试和日志记录
+ * 都复用同一份字节，不再重复序列化。
+ *
+ * 主要功能：
+ * 1. 使用共享的ObjectMapper将请求对象编码为字节
+ * 2. 作为OkHttp请求体直接写出字节，可重复发送
+ * 3. 提供截断的日志预览，不为日志生成完整的字符串
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class JsonRequestBody extends ReplayableRequestBody {
+
+    /** JSON内容类型 */
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    /** 编码后的请求体 */
+    private final byte[] bytes;
+
+    /**
+     * 私有构造函数
+     *
+     * @param bytes 编码后的请求体
+     */
+    private JsonRequestBody(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * 将请求对象编码为JSON请求体
+     *
+     * @param objectMapper 共享的JSON对象映射器
+     * @param value 请求对象
+     * @return 编码后的请求体
+     * @throws JsonProcessingException 当序列化失败时抛出
+     */
+    public static JsonRequestBody of(ObjectMapper objectMapper, Object value) throws JsonProcessingException {
+        return new JsonRequestBody(objectMapper.writeValueAsBytes(value));
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        sink.write(bytes);
+    }
+
+    /**
+     * 获取请求体的日志预览
+     *
+     * 只解码前maxBytes个字节，截断位置回退到完整的UTF-8字符边界，
+     * 被截断时在末尾注明总字节数。
+     *
+     * @param maxBytes 预览的最大字节数
+     * @return 请求体预览
+     */
+    @Override
+    public String preview(int maxBytes) {
+        return preview(bytes, bytes.length, maxBytes, bytes.length);
+    }
+}
@@ -0,0 +1,48 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import okhttp3.RequestBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 可重复发送的请求体
+ *
+ * 重试请求会多次调用{@link #writeTo(okio.BufferedSink)}，
+ * 每次写出的字节必须完全相同。日志只记录截断的预览，不生成完整的请求体字符串。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public abstract class ReplayableRequestBody extends RequestBody {
+
+    /**
+     * 获取请求体的日志预览
+     *
+     * @param maxBytes 预览的最大字节数
+     * @return 请求体预览，被截断时在末尾注明总字节数
+     */
+    public abstract String preview(int maxBytes);
+
+    /**
+     * 将请求体开头的字节解码为日志预览
+     *
+     * 截断位置回退到完整的UTF-8字符边界。
+     *
+     * @param bytes 请求体开头的字节
+     * @param length 可用的字节数
+     * @param maxBytes 预览的最大字节数
+     * @param totalBytes 请求体的总字节数，未知时为-1
+     * @return 请求体预览
+     */
+    protected static String preview(byte[] bytes, int length, int maxBytes, long totalBytes) {
+        if (totalBytes >= 0 && totalBytes <= maxBytes) {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        int end = Math.min(maxBytes, length);
+        while (end > 0 && end < length && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8)
+                + (totalBytes < 0 ? "..." : "...(共" + totalBytes + "字节)");
+    }
+}
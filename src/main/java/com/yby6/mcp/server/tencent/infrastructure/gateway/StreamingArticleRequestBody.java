@@ -0,0 +1,238 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorOptions;
+import okhttp3.MediaType;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 流式生成的发布文章请求体
+ *
+ * 用于超大文章：请求体不预先编码，OkHttp写出请求体时才生成JSON，
+ * 其中content字段的ProseMirror JSON按顶层块逐个生成并直接写入连接，
+ * 内存中除原文外只保留一段Markdown的AST和最大的单个块，不会出现完整的ProseMirror字符串或请求体字节。
+ *
+ * 主要特点：
+ * 1. 除content外的字段按DTO的字段顺序和Jackson配置写出，与{@link JsonRequestBody}一致
+ * 2. 段落id使用确定性生成策略，每次写出的字节完全相同，可用于重试请求
+ * 3. 不为获取长度额外生成一遍：第一次写出前长度未知，OkHttp使用分块传输；
+ *    写出时顺带计数并缓存长度，之后的重试请求带Content-Length
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class StreamingArticleRequestBody extends ReplayableRequestBody {
+
+    /** JSON内容类型 */
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    /** 流式生成的字段 */
+    private static final String CONTENT_FIELD = "content";
+
+    /** 共享的JSON对象映射器 */
+    private final ObjectMapper objectMapper;
+
+    /** 除content外的字段，字符串值引用DTO中的原始对象，不复制 */
+    private final ObjectNode fields;
+
+    /** 文章的Markdown原文 */
+    private final String markdown;
+
+    /** 转换选项 */
+    private final ProseMirrorOptions options;
+
+    /** 请求体的字节数，第一次完整写出后记录，之前为-1 */
+    private volatile long contentLength = -1;
+
+    /**
+     * 私有构造函数
+     *
+     * @param objectMapper 共享的JSON对象映射器
+     * @param fields 除content外的字段
+     * @param markdown 文章的Markdown原文
+     * @param options 转换选项
+     */
+    private StreamingArticleRequestBody(ObjectMapper objectMapper, ObjectNode fields, String markdown,
+                                        ProseMirrorOptions options) {
+        this.objectMapper = objectMapper;
+        this.fields = fields;
+        this.markdown = markdown;
+        this.options = options;
+    }
+
+    /**
+     * 创建流式请求体
+     *
+     * content字段由plain流式转换生成，传入的DTO的content会被置为空字符串占位，
+     * 以免读取字段时触发完整转换。
+     *
+     * @param objectMapper 共享的JSON对象映射器
+     * @param request 发布文章请求DTO，plain不能为null
+     * @param options 转换选项，段落id必须使用确定性生成策略
+     * @return 流式请求体
+     */
+    public static StreamingArticleRequestBody of(ObjectMapper objectMapper, AddArticleRequest request,
+                                                 ProseMirrorOptions options) {
+        request.setContent("");
+        ObjectNode fields = objectMapper.valueToTree(request);
+        return new StreamingArticleRequestBody(objectMapper, fields, request.getPlain(), options);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    /**
+     * 获取请求体的字节数
+     *
+     * @return 第一次完整写出后的字节数，之前返回-1
+     */
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        CountingOutputStream out = new CountingOutputStream(sink.outputStream());
+        write(out);
+        contentLength = out.count;
+    }
+
+    /**
+     * 获取请求体的日志预览
+     *
+     * 只生成前maxBytes个字节，截断位置回退到完整的UTF-8字符边界，
+     * 被截断且已经写出过时在末尾注明总字节数。
+     *
+     * @param maxBytes 预览的最大字节数
+     * @return 请求体预览
+     */
+    @Override
+    public String preview(int maxBytes) {
+        // 多取几个字节，保证截断位置之后的字节可用于判断字符边界
+        LimitedOutputStream head = new LimitedOutputStream(maxBytes + 4);
+        try {
+            write(head);
+            return preview(head.bytes, head.count, maxBytes, head.count);
+        } catch (LimitReachedException e) {
+            return preview(head.bytes, head.count, maxBytes, contentLength);
+        } catch (IOException e) {
+            return "(请求体预览生成失败: " + e.getMessage() + ")";
+        }
+    }
+
+    /**
+     * 生成请求体并写入输出流
+     *
+     * @param out 输出流，不会被关闭
+     * @throws IOException 当写入失败时抛出
+     */
+    private void write(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields();
+            while (iterator.hasNext()) {
+                Map.Entry<String, JsonNode> field = iterator.next();
+                generator.writeFieldName(field.getKey());
+                if (CONTENT_FIELD.equals(field.getKey())) {
+                    try (Reader content = MarkdownToProseMirrorConverter.reader(markdown, options)) {
+                        generator.writeString(content, -1);
+                    }
+                } else {
+                    generator.writeTree(field.getValue());
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 统计写入字节数的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        /** 实际的输出流 */
+        private final OutputStream out;
+
+        /** 已写入的字节数 */
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * 只保存开头若干字节的输出流，写满后抛出{@link LimitReachedException}中止生成
+     */
+    private static final class LimitedOutputStream extends OutputStream {
+
+        /** 保存的字节 */
+        private final byte[] bytes;
+
+        /** 已保存的字节数 */
+        private int count;
+
+        LimitedOutputStream(int limit) {
+            this.bytes = new byte[limit];
+        }
+
+        @Override
+        public void write(int b) throws LimitReachedException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws LimitReachedException {
+            int n = Math.min(len, bytes.length - count);
+            System.arraycopy(b, off, bytes, count, n);
+            count += n;
+            if (n < len) {
+                throw new LimitReachedException();
+            }
+        }
+    }
+
+    /**
+     * 预览已取得足够的字节
+     */
+    private static final class LimitReachedException extends IOException {
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
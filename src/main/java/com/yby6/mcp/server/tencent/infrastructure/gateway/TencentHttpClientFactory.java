@@ -0,0 +1,113 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 腾讯云API的HTTP客户端工厂
+ *
+ * 该工具类根据{@link TencentApiProperties.Transport}创建共享的OkHttpClient，
+ * 并提供启动时的连接预热。
+ *
+ * 主要配置：
+ * - 连接池：空闲连接数上限和保活时间
+ * - 请求调度：同时进行中的请求和同一主机的请求分别不超过配置的上限，超出的请求在Dispatcher中排队
+ * - 协议：优先通过ALPN协商HTTP/2，同一主机的请求复用一条连接
+ * - 超时：连接、写入、读取和整个请求分别设置
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+public final class TencentHttpClientFactory {
+
+    /**
+     * 私有构造函数
+     *
+     * 防止工具类被实例化，所有方法都是静态的。
+     */
+    private TencentHttpClientFactory() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 创建HTTP客户端
+     *
+     * @param transport HTTP传输配置
+     * @return 配置好的OkHttpClient，应在整个应用中共享
+     */
+    public static OkHttpClient create(TencentApiProperties.Transport transport) {
+        // 与OkHttp默认的调度线程池相同，线程数不设上限，并发由Dispatcher控制：
+        // 请求结束时Dispatcher会在结束请求的线程退出前提交下一个排队的请求，有界线程池会拒绝它
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "tencent-http-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Dispatcher dispatcher = new Dispatcher(executor);
+        dispatcher.setMaxRequests(transport.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(transport.getMaxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(transport.getMaxIdleConnections(),
+                        transport.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(transport.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(transport.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(transport.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(transport.getCallTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 异步预热到指定地址的连接
+     *
+     * 发送一个HEAD请求，完成DNS解析、TCP连接和TLS握手后，
+     * 连接留在连接池中供后续请求复用。预热失败不影响正常请求，只记录日志。
+     *
+     * @param client HTTP客户端
+     * @param url 预热地址
+     * @return 预热结束时完成的Future，值为响应状态码，失败时为-1
+     */
+    public static CompletableFuture<Integer> warmUp(OkHttpClient client, String url) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+        Request request = new Request.Builder().url(url).head().build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    log.info("HTTP连接预热完成 {} {} {} 耗时{}ms", url, response.protocol(), response.code(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    future.complete(response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("HTTP连接预热失败 {}: {}", url, e.getMessage());
+                future.complete(-1);
+            }
+        });
+        return future;
+    }
+}
@@ -1,7 +1,14 @@
 package com.yby6.mcp.server.tencent.infrastructure.gateway.dto;
 
-import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorDocument;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
 import java.util.List;
 import java.util.Map;
 
@@ -127,17 +134,42 @@ public class AddArticleRequest {
      * 用于支持文章的草稿编辑功能
      */
     private Long draftId;
+
+    /**
+     * plain对应的ProseMirror文档
+     * 在设置plain时创建，首次读取content时才执行转换，
+     * 之后getter、日志和HTTP序列化都复用同一份转换结果
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient ProseMirrorDocument document;
+
+    /**
+     * 设置文章纯文本内容
+     * 
+     * 同时创建延迟转换的ProseMirror文档，转换会推迟到第一次读取content时。
+     *
+     * @param plain Markdown格式的文章内容
+     */
+    public void setPlain(String plain) {
+        this.plain = plain;
+        this.document = plain == null ? null : ProseMirrorDocument.of(plain);
+    }
     
     /**
      * 获取ProseMirror格式的内容
      * 
      * 该方法用于获取文章内容的ProseMirror格式。
-     * 如果content为空，则自动将plain转换为ProseMirror格式。
-     * 确保文章内容始终以正确的格式提供给编辑器。
+     * 如果content为空，则使用plain对应的ProseMirror文档，
+     * 该文档只会转换一次，重复调用不会再次解析Markdown。
      *
      * @return ProseMirror格式的内容
      */
     public String getContent() {
-        return MarkdownToProseMirrorConverter.convert(plain);
+        if (content != null) return content;
+        return document == null ? null : document.getJson();
     }
 }
@@ -0,0 +1,47 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 腾讯云开发者社区目录列表响应DTO
+ *
+ * 该DTO类用于封装标签、分类或专栏列表接口的返回结果，
+ * 三种列表的结构相同，每一项都是ID和名称。
+ * 使用Lombok的@Data注解自动生成getter、setter等方法。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+public class DirectoryResponse {
+    /**
+     * 查询状态
+     * 0: 成功
+     * 非0: 失败
+     */
+    private Integer status;
+
+    /**
+     * 列表项
+     * 查询失败时可能为null
+     */
+    private List<Item> list;
+
+    /**
+     * 目录列表项
+     */
+    @Data
+    public static class Item {
+        /**
+         * 标签、分类或专栏的ID
+         */
+        private Integer id;
+
+        /**
+         * 标签、分类或专栏的名称
+         */
+        private String name;
+    }
+}
@@ -0,0 +1,30 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway.dto;
+
+import lombok.Data;
+
+/**
+ * 腾讯云开发者社区上传图片响应DTO
+ *
+ * 该DTO类用于封装上传图片到腾讯云开发者社区后的返回结果。
+ * 包含了上传的状态信息和图片在社区图床上的地址。
+ * 使用Lombok的@Data注解自动生成getter、setter等方法。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Data
+public class UploadImageResponse {
+    /**
+     * 图片地址
+     * 上传成功后返回的社区图床地址
+     * 在上传失败时可能为null
+     */
+    private String url;
+
+    /**
+     * 上传状态
+     * 0: 成功
+     * 非0: 失败
+     */
+    private Integer status;
+}
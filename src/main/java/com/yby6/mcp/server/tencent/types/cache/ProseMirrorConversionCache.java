@@ -0,0 +1,194 @@
+package com.yby6.mcp.server.tencent.types.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.ContentHash;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorOptions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Markdown到ProseMirror转换结果缓存
+ *
+ * MCP客户端在失败或超时后经常用相同的Markdown重试发布，
+ * 该缓存以Markdown内容的128位哈希为键保存转换结果，重试时不再重复转换。
+ *
+ * 主要特点：
+ * 1. 按转换结果的字节数计算容量，超过上限时按W-TinyLFU策略淘汰
+ * 2. 统计命中、未命中和淘汰次数
+ * 3. 同一内容的并发转换只会执行一次，其余调用等待同一个结果
+ * 4. 使用确定性段落id，缓存命中与重新转换得到的结果完全一致
+ * 5. 实际转换的耗时记录在tencent.convert计时器中，缓存统计以指标形式导出
+ * 6. 超过并行阈值的文档在ForkJoinPool上按顶层块并行转换，结果与顺序转换一致
+ *
+ * 容量通过tencent.api.conversion-cache.max-bytes配置，设置为0时关闭缓存；
+ * 并行转换通过tencent.api.conversion.*配置。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class ProseMirrorConversionCache {
+
+    /** 每个缓存条目除JSON字符串外的估算开销（字节） */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    /** 转换结果缓存，容量为0时为null */
+    private final Cache<ContentHash, String> cache;
+
+    /** 实际转换（缓存未命中）的耗时 */
+    private final Timer convertTimer;
+
+    /** 并行转换的Markdown长度阈值，0表示关闭 */
+    private final int parallelThresholdChars;
+
+    /** 并行转换使用的线程池 */
+    private final ForkJoinPool parallelPool;
+
+    /** 转换选项，使用确定性段落id */
+    private final ProseMirrorOptions options;
+
+    /**
+     * 根据配置创建转换缓存，指标不对外导出
+     *
+     * @param tencentApiProperties 腾讯云API配置属性
+     */
+    public ProseMirrorConversionCache(TencentApiProperties tencentApiProperties) {
+        this(tencentApiProperties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 根据配置创建转换缓存，并将转换耗时和缓存统计注册到指标库
+     *
+     * @param tencentApiProperties 腾讯云API配置属性
+     * @param meterRegistry 指标注册表
+     */
+    @Autowired
+    public ProseMirrorConversionCache(TencentApiProperties tencentApiProperties, MeterRegistry meterRegistry) {
+        long maxBytes = tencentApiProperties.getConversionCache().getMaxBytes();
+        this.cache = maxBytes <= 0 ? null : Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(ProseMirrorConversionCache::weigh)
+                .recordStats()
+                .executor(Runnable::run)  // 淘汰在调用线程上同步完成，容量上限严格生效
+                .build();
+        log.info("Markdown转换缓存容量: {} 字节", Math.max(maxBytes, 0));
+
+        TencentApiProperties.Conversion conversion = tencentApiProperties.getConversion();
+        this.parallelThresholdChars = conversion.getParallelThresholdChars();
+        this.parallelPool = conversion.getParallelism() > 0
+                ? new ForkJoinPool(conversion.getParallelism())
+                : ForkJoinPool.commonPool();
+        this.options = options(tencentApiProperties);
+
+        this.convertTimer = Timer.builder("tencent.convert")
+                .description("Markdown到ProseMirror的转换耗时")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        FunctionCounter.builder("tencent.convert.cache.hits", this, cache -> cache.stats().hits())
+                .register(meterRegistry);
+        FunctionCounter.builder("tencent.convert.cache.misses", this, cache -> cache.stats().misses())
+                .register(meterRegistry);
+        Gauge.builder("tencent.convert.cache.bytes", this, cache -> cache.stats().bytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取Markdown对应的ProseMirror JSON
+     *
+     * 缓存命中时直接返回，未命中时执行转换并放入缓存。
+     *
+     * @param markdown Markdown文本，不能为null
+     * @return ProseMirror格式的JSON字符串
+     */
+    public String convert(String markdown) {
+        if (cache == null) {
+            return doConvert(markdown);
+        }
+        return cache.get(ContentHash.of(markdown), key -> doConvert(markdown));
+    }
+
+    /**
+     * 关闭并行转换的线程池
+     *
+     * 使用公共线程池时不关闭；进行中的转换会执行完成。
+     */
+    @PreDestroy
+    public void close() {
+        if (parallelPool != ForkJoinPool.commonPool()) {
+            parallelPool.shutdown();
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 命中、未命中、淘汰次数及当前占用
+     */
+    public Stats stats() {
+        if (cache == null) {
+            return new Stats(0, 0, 0, 0, 0);
+        }
+        CacheStats stats = cache.stats();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.estimatedSize(), weightedSize);
+    }
+
+    private String doConvert(String markdown) {
+        if (parallelThresholdChars > 0 && markdown.length() > parallelThresholdChars && parallelPool.getParallelism() > 1) {
+            return convertTimer.record(() -> MarkdownToProseMirrorConverter.convertParallel(markdown, options, parallelPool));
+        }
+        return convertTimer.record(() -> MarkdownToProseMirrorConverter.convert(markdown, options));
+    }
+
+    /**
+     * 根据配置创建发布使用的转换选项
+     *
+     * 缓存和流式发布使用同一份选项，保证两种方式生成的内容一致。
+     *
+     * @param tencentApiProperties 腾讯云API配置属性
+     * @return 使用确定性段落id的转换选项
+     */
+    public static ProseMirrorOptions options(TencentApiProperties tencentApiProperties) {
+        return new ProseMirrorOptions(BlockIdGenerator.deterministic(),
+                tencentApiProperties.getConversion().isOmitDefaultAttrs());
+    }
+
+    /**
+     * 估算缓存条目占用的字节数
+     */
+    private static int weigh(ContentHash key, String json) {
+        long bytes = (long) json.length() * Character.BYTES + ENTRY_OVERHEAD_BYTES;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 缓存统计信息
+     *
+     * @param hits 命中次数
+     * @param misses 未命中次数
+     * @param evictions 淘汰次数
+     * @param entries 当前条目数
+     * @param bytes 当前占用字节数
+     */
+    public record Stats(long hits, long misses, long evictions, long entries, long bytes) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.yby6.mcp.server.tencent.types.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 合并重复请求的异步缓存
+ *
+ * 同一个键的并发调用只执行一次，所有调用方共享同一次执行的结果（single-flight）；
+ * 执行成功的结果在时间窗口内保留，窗口内的重复调用直接返回原结果，不再执行。
+ *
+ * 主要特点：
+ * 1. 执行失败时不保留结果，下一次调用重新执行
+ * 2. 只有满足条件的结果才会保留，例如只保留发布成功的响应
+ * 3. 保留的结果数量有上限，超过上限时按W-TinyLFU策略淘汰
+ * 4. 统计窗口命中次数和合并的并发调用次数
+ *
+ * 每个调用方拿到各自的Future，取消只影响自己；
+ * 共享同一次执行的调用方全部取消后才取消实际执行的Future，之后的调用重新执行。
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ * @author yby6
+ * @version 1.0.0
+ */
+public class SingleFlightCache<K, V> {
+
+    /** 进行中的调用 */
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    /** 时间窗口内的结果，窗口为0时为null */
+    private final Cache<K, V> recent;
+
+    /** 判断结果是否需要保留 */
+    private final Predicate<V> retainable;
+
+    /** 窗口命中次数 */
+    private final LongAdder recentHits = new LongAdder();
+
+    /** 合并的并发调用次数 */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 创建缓存
+     *
+     * @param window 结果保留的时间窗口，为0时只合并并发调用
+     * @param maxEntries 保留结果的数量上限
+     * @param retainable 判断结果是否需要保留
+     */
+    public SingleFlightCache(Duration window, long maxEntries, Predicate<V> retainable) {
+        this.recent = window.isZero() || window.isNegative() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxEntries)
+                .build();
+        this.retainable = retainable;
+    }
+
+    /**
+     * 执行调用，合并重复的调用
+     *
+     * @param key 调用的键，相同的键视为重复调用
+     * @param loader 实际执行调用的函数
+     * @return 调用结果的Future，每次调用返回新的Future，取消时只在所有调用方都取消后才取消实际执行
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        V cached = recent == null ? null : recent.getIfPresent(key);
+        if (cached != null) {
+            recentHits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        Flight<V> flight = new Flight<>();
+        while (true) {
+            Flight<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                break;
+            }
+            CompletableFuture<V> joined = existing.join();
+            if (joined != null) {
+                coalesced.increment();
+                return joined;
+            }
+            // 已经全部取消的调用，移除后重新登记
+            inFlight.remove(key, existing);
+        }
+        CompletableFuture<V> caller = flight.join();
+
+        // 上一次调用可能在检查窗口和登记之间刚好完成
+        cached = recent == null ? null : recent.getIfPresent(key);
+        if (cached != null) {
+            recentHits.increment();
+            inFlight.remove(key, flight);
+            flight.result.complete(cached);
+            return caller;
+        }
+
+        CompletableFuture<V> source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((value, throwable) -> {
+            // 先保留结果再移除进行中的调用，之后到达的调用总能看到其中之一
+            if (throwable == null && value != null && recent != null && retainable.test(value)) {
+                recent.put(key, value);
+            }
+            inFlight.remove(key, flight);
+            if (throwable != null) {
+                flight.result.completeExceptionally(throwable);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+        flight.start(source, () -> inFlight.remove(key, flight));
+        return caller;
+    }
+
+    /**
+     * 获取窗口命中次数
+     *
+     * @return 直接返回保留结果的次数
+     */
+    public long recentHits() {
+        return recentHits.sum();
+    }
+
+    /**
+     * 获取合并的并发调用次数
+     *
+     * @return 共享进行中调用的次数
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 获取进行中的调用数
+     *
+     * @return 进行中的调用数
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * 一次进行中的调用
+     *
+     * 记录共享这次调用的调用方数量和已取消的数量，两者相等时取消实际执行的Future。
+     *
+     * @param <V> 结果类型
+     */
+    private static final class Flight<V> {
+
+        /** 实际执行的结果，所有调用方的Future都由它完成 */
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        /** 实际执行的Future，开始执行前为null，受this保护 */
+        private CompletableFuture<V> source;
+
+        /** 全部取消后移除登记，受this保护 */
+        private Runnable onAbandoned;
+
+        /** 调用方数量，受this保护 */
+        private int callers;
+
+        /** 已取消的调用方数量，受this保护 */
+        private int cancelled;
+
+        /**
+         * 加入这次调用
+         *
+         * @return 调用方自己的Future，调用方已经全部取消时返回null
+         */
+        CompletableFuture<V> join() {
+            synchronized (this) {
+                if (callers > 0 && cancelled == callers) {
+                    return null;
+                }
+                callers++;
+            }
+            CompletableFuture<V> caller = new CompletableFuture<>();
+            result.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    caller.completeExceptionally(throwable);
+                } else {
+                    caller.complete(value);
+                }
+            });
+            caller.whenComplete((value, throwable) -> {
+                if (caller.isCancelled() && !result.isDone()) {
+                    leave();
+                }
+            });
+            return caller;
+        }
+
+        /**
+         * 记录实际执行的Future，调用方在此之前已经全部取消时立即取消
+         *
+         * @param source 实际执行的Future
+         * @param onAbandoned 全部取消后执行的清理
+         */
+        void start(CompletableFuture<V> source, Runnable onAbandoned) {
+            boolean abandoned;
+            synchronized (this) {
+                this.source = source;
+                this.onAbandoned = onAbandoned;
+                abandoned = cancelled == callers;
+            }
+            if (abandoned) {
+                onAbandoned.run();
+                source.cancel(true);
+            }
+        }
+
+        /**
+         * 一个调用方取消
+         */
+        private void leave() {
+            CompletableFuture<V> abandoned;
+            Runnable cleanup;
+            synchronized (this) {
+                if (++cancelled < callers || source == null) {
+                    return;
+                }
+                abandoned = source;
+                cleanup = onAbandoned;
+            }
+            cleanup.run();
+            abandoned.cancel(true);
+        }
+    }
+}
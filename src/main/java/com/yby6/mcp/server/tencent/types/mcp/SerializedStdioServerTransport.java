@@ -0,0 +1,33 @@
+package com.yby6.mcp.server.tencent.types.mcp;
+
+import io.modelcontextprotocol.server.transport.StdioServerTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+/**
+ * 串行发送响应的stdio传输
+ *
+ * StdioServerTransport将待发送的消息写入一个单生产者的Sink，
+ * 多个工具调用同时完成时并发写入会失败（Failed to enqueue message），
+ * 对应的响应被丢弃，客户端一直等不到结果。
+ * 该类在写入Sink时加锁，保证同一时刻只有一个线程写入。
+ *
+ * 传输就绪后写入在订阅时同步完成，锁不会跨越任何等待。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class SerializedStdioServerTransport extends StdioServerTransport {
+
+    /** 写入锁 */
+    private final Object sendLock = new Object();
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        return Mono.create(sink -> {
+            synchronized (sendLock) {
+                super.sendMessage(message).subscribe(null, sink::error, sink::success);
+            }
+        });
+    }
+}
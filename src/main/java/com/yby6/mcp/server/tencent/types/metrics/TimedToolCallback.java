@@ -0,0 +1,74 @@
+package com.yby6.mcp.server.tencent.types.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录调用耗时的MCP工具回调
+ *
+ * 该类包装一个工具回调，将每次调用的耗时记录在mcp.tool计时器中，
+ * 以工具名称和调用结果（success或error）作为标签。
+ * 工具的定义、元数据和调用结果保持不变。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class TimedToolCallback implements ToolCallback {
+
+    /** 被包装的工具回调 */
+    private final ToolCallback delegate;
+
+    /** 指标注册表 */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 创建记录耗时的工具回调
+     *
+     * @param delegate 被包装的工具回调
+     * @param meterRegistry 指标注册表
+     */
+    public TimedToolCallback(ToolCallback delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            String result = toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("mcp.tool")
+                    .description("MCP工具调用耗时")
+                    .tag("tool", getToolDefinition().name())
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
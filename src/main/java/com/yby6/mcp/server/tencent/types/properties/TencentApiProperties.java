@@ -3,6 +3,9 @@ package com.yby6.mcp.server.tencent.types.properties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 腾讯云API配置属性类
  * 
@@ -13,7 +16,22 @@ import org.springframework.stereotype.Component;
  * 主要功能：
  * 1. 管理API认证信息（Cookie）
  * 2. 管理文章分类信息
- * 3. 提供配置属性的访问方法
+ * 3. 管理API基础URL
+ * 4. 管理Markdown转换缓存配置
+ * 5. 管理批量发布配置
+ * 6. 管理本地发布队列配置
+ * 7. 管理HTTP传输配置
+ * 8. 管理发布接口限流配置
+ * 9. 管理发布重试配置
+ * 10. 管理发布熔断配置
+ * 11. 管理重复发布去重配置
+ * 12. 管理指标配置
+ * 13. 管理流式发布配置
+ * 14. 管理Markdown转换配置
+ * 15. 管理分块上传配置
+ * 16. 管理图片转存配置
+ * 17. 管理标签、分类和专栏目录配置
+ * 18. 提供配置属性的访问方法
  * 
  * @author yby6
  * @version 1.0.0
@@ -36,10 +54,117 @@ public class TencentApiProperties {
      * 
      * 用于管理文章的分类配置。
      * 在配置文件中通过tencent.api.categories属性设置。
-     * 可以包含多个分类的配置信息。
+     * 多个分类名称以逗号分隔，发布时通过目录解析为分类ID。
      */
     private String categories;
 
+    /**
+     * API基础URL
+     * 
+     * 腾讯云开发者社区接口的基础地址，必须以"/"结尾。
+     * 在配置文件中通过tencent.api.base-url属性设置，
+     * 压测或联调时可以指向本地的模拟服务。
+     */
+    private String baseUrl = "https://cloud.tencent.com/";
+
+    /**
+     * Markdown转换缓存配置
+     * 
+     * 在配置文件中通过tencent.api.conversion-cache.*属性设置。
+     */
+    private ConversionCache conversionCache = new ConversionCache();
+
+    /**
+     * 批量发布配置
+     * 
+     * 在配置文件中通过tencent.api.batch.*属性设置。
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 本地发布队列配置
+     * 
+     * 在配置文件中通过tencent.api.outbox.*属性设置。
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * HTTP传输配置
+     * 
+     * 在配置文件中通过tencent.api.transport.*属性设置。
+     */
+    private Transport transport = new Transport();
+
+    /**
+     * 发布接口限流配置
+     * 
+     * 在配置文件中通过tencent.api.rate-limit.*属性设置。
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * 发布重试配置
+     * 
+     * 在配置文件中通过tencent.api.retry.*属性设置。
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * 发布熔断配置
+     * 
+     * 在配置文件中通过tencent.api.circuit-breaker.*属性设置。
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * 重复发布去重配置
+     * 
+     * 在配置文件中通过tencent.api.dedup.*属性设置。
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * 指标配置
+     * 
+     * 在配置文件中通过tencent.api.metrics.*属性设置。
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 流式发布配置
+     * 
+     * 在配置文件中通过tencent.api.streaming.*属性设置。
+     */
+    private Streaming streaming = new Streaming();
+
+    /**
+     * Markdown转换配置
+     * 
+     * 在配置文件中通过tencent.api.conversion.*属性设置。
+     */
+    private Conversion conversion = new Conversion();
+
+    /**
+     * 分块上传配置
+     * 
+     * 在配置文件中通过tencent.api.upload.*属性设置。
+     */
+    private Upload upload = new Upload();
+
+    /**
+     * 图片转存配置
+     * 
+     * 在配置文件中通过tencent.api.image.*属性设置。
+     */
+    private Image image = new Image();
+
+    /**
+     * 标签、分类和专栏目录配置
+     * 
+     * 在配置文件中通过tencent.api.directory.*属性设置。
+     */
+    private Directory directory = new Directory();
+
     /**
      * 获取认证Cookie
      * 
@@ -75,4 +200,2012 @@ public class TencentApiProperties {
     public void setCategories(String categories) {
         this.categories = categories;
     }
+
+    /**
+     * 获取API基础URL
+     * 
+     * @return API基础URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * 设置API基础URL
+     * 
+     * @param baseUrl API基础URL
+     */
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 获取Markdown转换缓存配置
+     * 
+     * @return 转换缓存配置
+     */
+    public ConversionCache getConversionCache() {
+        return conversionCache;
+    }
+
+    /**
+     * 设置Markdown转换缓存配置
+     * 
+     * @param conversionCache 转换缓存配置
+     */
+    public void setConversionCache(ConversionCache conversionCache) {
+        this.conversionCache = conversionCache;
+    }
+
+    /**
+     * 获取批量发布配置
+     * 
+     * @return 批量发布配置
+     */
+    public Batch getBatch() {
+        return batch;
+    }
+
+    /**
+     * 设置批量发布配置
+     * 
+     * @param batch 批量发布配置
+     */
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * 获取本地发布队列配置
+     * 
+     * @return 本地发布队列配置
+     */
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    /**
+     * 设置本地发布队列配置
+     * 
+     * @param outbox 本地发布队列配置
+     */
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * 获取HTTP传输配置
+     * 
+     * @return HTTP传输配置
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * 设置HTTP传输配置
+     * 
+     * @param transport HTTP传输配置
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * 获取发布接口限流配置
+     * 
+     * @return 发布接口限流配置
+     */
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * 设置发布接口限流配置
+     * 
+     * @param rateLimit 发布接口限流配置
+     */
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * 获取发布重试配置
+     * 
+     * @return 发布重试配置
+     */
+    public Retry getRetry() {
+        return retry;
+    }
+
+    /**
+     * 设置发布重试配置
+     * 
+     * @param retry 发布重试配置
+     */
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    /**
+     * 获取发布熔断配置
+     * 
+     * @return 发布熔断配置
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 设置发布熔断配置
+     * 
+     * @param circuitBreaker 发布熔断配置
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 获取重复发布去重配置
+     * 
+     * @return 重复发布去重配置
+     */
+    public Dedup getDedup() {
+        return dedup;
+    }
+
+    /**
+     * 设置重复发布去重配置
+     * 
+     * @param dedup 重复发布去重配置
+     */
+    public void setDedup(Dedup dedup) {
+        this.dedup = dedup;
+    }
+
+    /**
+     * 获取指标配置
+     * 
+     * @return 指标配置
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 设置指标配置
+     * 
+     * @param metrics 指标配置
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 获取流式发布配置
+     * 
+     * @return 流式发布配置
+     */
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    /**
+     * 设置流式发布配置
+     * 
+     * @param streaming 流式发布配置
+     */
+    public void setStreaming(Streaming streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * 获取Markdown转换配置
+     * 
+     * @return Markdown转换配置
+     */
+    public Conversion getConversion() {
+        return conversion;
+    }
+
+    /**
+     * 设置Markdown转换配置
+     * 
+     * @param conversion Markdown转换配置
+     */
+    public void setConversion(Conversion conversion) {
+        this.conversion = conversion;
+    }
+
+    /**
+     * 获取分块上传配置
+     * 
+     * @return 分块上传配置
+     */
+    public Upload getUpload() {
+        return upload;
+    }
+
+    /**
+     * 设置分块上传配置
+     * 
+     * @param upload 分块上传配置
+     */
+    public void setUpload(Upload upload) {
+        this.upload = upload;
+    }
+
+    /**
+     * 获取图片转存配置
+     * 
+     * @return 图片转存配置
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * 设置图片转存配置
+     * 
+     * @param image 图片转存配置
+     */
+    public void setImage(Image image) {
+        this.image = image;
+    }
+
+    /**
+     * 获取标签、分类和专栏目录配置
+     * 
+     * @return 标签、分类和专栏目录配置
+     */
+    public Directory getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 设置标签、分类和专栏目录配置
+     * 
+     * @param directory 标签、分类和专栏目录配置
+     */
+    public void setDirectory(Directory directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Markdown转换缓存配置
+     * 
+     * 控制进程内Markdown到ProseMirror转换结果缓存的容量。
+     */
+    public static class ConversionCache {
+
+        /**
+         * 缓存容量上限（字节）
+         * 
+         * 按转换结果的大小计算，超过上限时淘汰最不常用的结果。
+         * 设置为0表示关闭缓存。
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        /**
+         * 获取缓存容量上限
+         * 
+         * @return 容量上限（字节）
+         */
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        /**
+         * 设置缓存容量上限
+         * 
+         * @param maxBytes 容量上限（字节）
+         */
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    /**
+     * 批量发布配置
+     * 
+     * 控制批量发布文章时的并行度。
+     */
+    public static class Batch {
+
+        /**
+         * 同时进行中的发布请求上限
+         * 
+         * 批量发布时最多同时转换和提交的文章数量。
+         */
+        private int concurrency = 4;
+
+        /**
+         * 获取并发上限
+         * 
+         * @return 同时进行中的发布请求上限
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * 设置并发上限
+         * 
+         * @param concurrency 同时进行中的发布请求上限
+         */
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    /**
+     * 本地发布队列配置
+     * 
+     * 控制发布日志文件的位置以及后台发布任务的重试策略。
+     */
+    public static class Outbox {
+
+        /**
+         * 发布日志文件路径
+         * 
+         * 追加写入的JSON Lines文件，与应用日志一样默认放在data目录下。
+         */
+        private String path = "data/outbox/publish-outbox.jsonl";
+
+        /**
+         * 单个任务最多尝试发布的次数
+         * 
+         * 后台发布时端口只发送一次请求，只有确定没有送达服务端的失败（熔断、连接失败等）才会重试。
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * 首次重试前的等待时间（毫秒）
+         * 
+         * 之后每次重试的等待时间翻倍。
+         */
+        private long initialBackoffMillis = 2000;
+
+        /**
+         * 重试等待时间的上限（毫秒）
+         */
+        private long maxBackoffMillis = 60000;
+
+        /**
+         * 已结束任务的状态保留时长（小时）
+         * 
+         * 压缩日志时丢弃超过该时长的已结束任务。
+         */
+        private long finishedRetentionHours = 168;
+
+        /**
+         * 运行中压缩日志的阈值（字节）
+         * 
+         * 日志文件超过该大小且不小于上次压缩后大小的两倍时压缩，启动时总是压缩一次。
+         */
+        private long compactThresholdBytes = 8388608;
+
+        /**
+         * 获取发布日志文件路径
+         * 
+         * @return 日志文件路径
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * 设置发布日志文件路径
+         * 
+         * @param path 日志文件路径
+         */
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        /**
+         * 获取最多尝试次数
+         * 
+         * @return 最多尝试次数
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * 设置最多尝试次数
+         * 
+         * @param maxAttempts 最多尝试次数
+         */
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * 获取首次重试等待时间
+         * 
+         * @return 等待时间（毫秒）
+         */
+        public long getInitialBackoffMillis() {
+            return initialBackoffMillis;
+        }
+
+        /**
+         * 设置首次重试等待时间
+         * 
+         * @param initialBackoffMillis 等待时间（毫秒）
+         */
+        public void setInitialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+        }
+
+        /**
+         * 获取重试等待时间上限
+         * 
+         * @return 等待时间上限（毫秒）
+         */
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        /**
+         * 设置重试等待时间上限
+         * 
+         * @param maxBackoffMillis 等待时间上限（毫秒）
+         */
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        /**
+         * 获取已结束任务的保留时长
+         * 
+         * @return 保留时长（小时）
+         */
+        public long getFinishedRetentionHours() {
+            return finishedRetentionHours;
+        }
+
+        /**
+         * 设置已结束任务的保留时长
+         * 
+         * @param finishedRetentionHours 保留时长（小时）
+         */
+        public void setFinishedRetentionHours(long finishedRetentionHours) {
+            this.finishedRetentionHours = finishedRetentionHours;
+        }
+
+        /**
+         * 获取运行中压缩日志的阈值
+         * 
+         * @return 压缩阈值（字节）
+         */
+        public long getCompactThresholdBytes() {
+            return compactThresholdBytes;
+        }
+
+        /**
+         * 设置运行中压缩日志的阈值
+         * 
+         * @param compactThresholdBytes 压缩阈值（字节）
+         */
+        public void setCompactThresholdBytes(long compactThresholdBytes) {
+            this.compactThresholdBytes = compactThresholdBytes;
+        }
+    }
+
+    /**
+     * HTTP传输配置
+     * 
+     * 控制访问腾讯云API的共享OkHttpClient的连接池、请求调度和各阶段超时。
+     */
+    public static class Transport {
+
+        /**
+         * 连接池保留的空闲连接数上限
+         */
+        private int maxIdleConnections = 8;
+
+        /**
+         * 空闲连接的保活时间（毫秒）
+         * 
+         * 超过该时间未使用的连接会被关闭。
+         */
+        private long keepAliveMillis = 300000;
+
+        /**
+         * 同时进行中的异步HTTP请求上限
+         * 
+         * 超出上限的请求在OkHttp的Dispatcher中排队，前面的请求结束后依次发出。
+         */
+        private int maxRequests = 16;
+
+        /**
+         * 同一主机同时进行中的异步HTTP请求上限
+         */
+        private int maxRequestsPerHost = 16;
+
+        /**
+         * 建立连接的超时时间（毫秒）
+         * 
+         * 包括TCP连接和TLS握手。
+         */
+        private long connectTimeoutMillis = 10000;
+
+        /**
+         * 写入请求体的超时时间（毫秒）
+         * 
+         * 两次成功写入之间的最长间隔。
+         */
+        private long writeTimeoutMillis = 30000;
+
+        /**
+         * 读取响应的超时时间（毫秒）
+         * 
+         * 两次成功读取之间的最长间隔。
+         */
+        private long readTimeoutMillis = 30000;
+
+        /**
+         * 整个请求的超时时间（毫秒）
+         * 
+         * 从DNS解析到读完响应的总耗时上限，设置为0表示不限制。
+         */
+        private long callTimeoutMillis = 0;
+
+        /**
+         * 是否在启动时预热连接
+         * 
+         * 启动后异步向腾讯云发送一个HEAD请求，提前完成DNS解析、TCP连接和TLS握手，
+         * 连接放入连接池供第一次发布复用。
+         */
+        private boolean warmUp = true;
+
+        /**
+         * 获取空闲连接数上限
+         * 
+         * @return 空闲连接数上限
+         */
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        /**
+         * 设置空闲连接数上限
+         * 
+         * @param maxIdleConnections 空闲连接数上限
+         */
+        public void setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        /**
+         * 获取空闲连接保活时间
+         * 
+         * @return 保活时间（毫秒）
+         */
+        public long getKeepAliveMillis() {
+            return keepAliveMillis;
+        }
+
+        /**
+         * 设置空闲连接保活时间
+         * 
+         * @param keepAliveMillis 保活时间（毫秒）
+         */
+        public void setKeepAliveMillis(long keepAliveMillis) {
+            this.keepAliveMillis = keepAliveMillis;
+        }
+
+        /**
+         * 获取异步请求上限
+         * 
+         * @return 同时进行中的请求上限
+         */
+        public int getMaxRequests() {
+            return maxRequests;
+        }
+
+        /**
+         * 设置异步请求上限
+         * 
+         * @param maxRequests 同时进行中的请求上限
+         */
+        public void setMaxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        /**
+         * 获取单主机异步请求上限
+         * 
+         * @return 同一主机同时进行中的请求上限
+         */
+        public int getMaxRequestsPerHost() {
+            return maxRequestsPerHost;
+        }
+
+        /**
+         * 设置单主机异步请求上限
+         * 
+         * @param maxRequestsPerHost 同一主机同时进行中的请求上限
+         */
+        public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+        }
+
+        /**
+         * 获取连接超时时间
+         * 
+         * @return 超时时间（毫秒）
+         */
+        public long getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        /**
+         * 设置连接超时时间
+         * 
+         * @param connectTimeoutMillis 超时时间（毫秒）
+         */
+        public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        /**
+         * 获取写入超时时间
+         * 
+         * @return 超时时间（毫秒）
+         */
+        public long getWriteTimeoutMillis() {
+            return writeTimeoutMillis;
+        }
+
+        /**
+         * 设置写入超时时间
+         * 
+         * @param writeTimeoutMillis 超时时间（毫秒）
+         */
+        public void setWriteTimeoutMillis(long writeTimeoutMillis) {
+            this.writeTimeoutMillis = writeTimeoutMillis;
+        }
+
+        /**
+         * 获取读取超时时间
+         * 
+         * @return 超时时间（毫秒）
+         */
+        public long getReadTimeoutMillis() {
+            return readTimeoutMillis;
+        }
+
+        /**
+         * 设置读取超时时间
+         * 
+         * @param readTimeoutMillis 超时时间（毫秒）
+         */
+        public void setReadTimeoutMillis(long readTimeoutMillis) {
+            this.readTimeoutMillis = readTimeoutMillis;
+        }
+
+        /**
+         * 获取整个请求的超时时间
+         * 
+         * @return 超时时间（毫秒）
+         */
+        public long getCallTimeoutMillis() {
+            return callTimeoutMillis;
+        }
+
+        /**
+         * 设置整个请求的超时时间
+         * 
+         * @param callTimeoutMillis 超时时间（毫秒）
+         */
+        public void setCallTimeoutMillis(long callTimeoutMillis) {
+            this.callTimeoutMillis = callTimeoutMillis;
+        }
+
+        /**
+         * 获取是否预热连接
+         * 
+         * @return 启动时预热连接返回true
+         */
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        /**
+         * 设置是否预热连接
+         * 
+         * @param warmUp 是否在启动时预热连接
+         */
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+    }
+
+    /**
+     * 发布接口限流配置
+     * 
+     * 控制发布请求的令牌桶速率及其自适应调整（AIMD）。
+     */
+    public static class RateLimit {
+
+        /**
+         * 是否启用客户端限流
+         */
+        private boolean enabled = true;
+
+        /**
+         * 初始速率（每秒请求数）
+         */
+        private double initialRate = 1.0;
+
+        /**
+         * 最低速率（每秒请求数）
+         * 
+         * 连续被限流时速率不会低于该值。
+         */
+        private double minRate = 0.1;
+
+        /**
+         * 最高速率（每秒请求数）
+         */
+        private double maxRate = 5.0;
+
+        /**
+         * 令牌桶容量
+         * 
+         * 空闲一段时间后允许连续发送的请求数。
+         */
+        private double burst = 2;
+
+        /**
+         * 每次请求成功后速率增加的步长（每秒请求数）
+         */
+        private double increaseStep = 0.1;
+
+        /**
+         * 每次被限流后速率乘以的系数
+         * 
+         * 取值在0到1之间。
+         */
+        private double decreaseFactor = 0.5;
+
+        /**
+         * 视为限流的业务状态码
+         * 
+         * HTTP 429和5xx响应总是视为限流；
+         * 响应体中的status属于该列表时同样视为限流。
+         */
+        private List<Integer> throttleStatuses = new ArrayList<>();
+
+        /**
+         * 获取是否启用限流
+         * 
+         * @return 是否启用客户端限流
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * 设置是否启用限流
+         * 
+         * @param enabled 是否启用客户端限流
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * 获取初始速率
+         * 
+         * @return 每秒请求数
+         */
+        public double getInitialRate() {
+            return initialRate;
+        }
+
+        /**
+         * 设置初始速率
+         * 
+         * @param initialRate 每秒请求数
+         */
+        public void setInitialRate(double initialRate) {
+            this.initialRate = initialRate;
+        }
+
+        /**
+         * 获取最低速率
+         * 
+         * @return 每秒请求数
+         */
+        public double getMinRate() {
+            return minRate;
+        }
+
+        /**
+         * 设置最低速率
+         * 
+         * @param minRate 每秒请求数
+         */
+        public void setMinRate(double minRate) {
+            this.minRate = minRate;
+        }
+
+        /**
+         * 获取最高速率
+         * 
+         * @return 每秒请求数
+         */
+        public double getMaxRate() {
+            return maxRate;
+        }
+
+        /**
+         * 设置最高速率
+         * 
+         * @param maxRate 每秒请求数
+         */
+        public void setMaxRate(double maxRate) {
+            this.maxRate = maxRate;
+        }
+
+        /**
+         * 获取令牌桶容量
+         * 
+         * @return 令牌桶容量
+         */
+        public double getBurst() {
+            return burst;
+        }
+
+        /**
+         * 设置令牌桶容量
+         * 
+         * @param burst 令牌桶容量
+         */
+        public void setBurst(double burst) {
+            this.burst = burst;
+        }
+
+        /**
+         * 获取速率增加步长
+         * 
+         * @return 每秒请求数
+         */
+        public double getIncreaseStep() {
+            return increaseStep;
+        }
+
+        /**
+         * 设置速率增加步长
+         * 
+         * @param increaseStep 每秒请求数
+         */
+        public void setIncreaseStep(double increaseStep) {
+            this.increaseStep = increaseStep;
+        }
+
+        /**
+         * 获取速率衰减系数
+         * 
+         * @return 速率衰减系数
+         */
+        public double getDecreaseFactor() {
+            return decreaseFactor;
+        }
+
+        /**
+         * 设置速率衰减系数
+         * 
+         * @param decreaseFactor 速率衰减系数
+         */
+        public void setDecreaseFactor(double decreaseFactor) {
+            this.decreaseFactor = decreaseFactor;
+        }
+
+        /**
+         * 获取视为限流的业务状态码
+         * 
+         * @return 业务状态码列表
+         */
+        public List<Integer> getThrottleStatuses() {
+            return throttleStatuses;
+        }
+
+        /**
+         * 设置视为限流的业务状态码
+         * 
+         * @param throttleStatuses 业务状态码列表
+         */
+        public void setThrottleStatuses(List<Integer> throttleStatuses) {
+            this.throttleStatuses = throttleStatuses;
+        }
+    }
+
+    /**
+     * 发布重试配置
+     * 
+     * 控制发布请求失败后的重试次数、退避时间和重试预算。
+     * 发布接口不是幂等的，只重试服务端确定没有处理的请求。
+     */
+    public static class Retry {
+
+        /**
+         * 单次发布最多发送的请求次数
+         * 
+         * 包括首次请求，设置为1表示不重试。
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 首次重试的退避上限（毫秒）
+         * 
+         * 实际退避时间在0到上限之间随机，之后每次重试上限翻倍。
+         */
+        private long initialBackoffMillis = 500;
+
+        /**
+         * 重试退避的上限（毫秒）
+         */
+        private long maxBackoffMillis = 10000;
+
+        /**
+         * 重试预算比例
+         * 
+         * 每个首次请求为预算增加的重试次数，长期来看重试不超过首次请求的该比例。
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * 重试预算上限
+         * 
+         * 预算最多积攒的重试次数。
+         */
+        private double budgetCapacity = 10;
+
+        /**
+         * 获取最多请求次数
+         * 
+         * @return 最多请求次数
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * 设置最多请求次数
+         * 
+         * @param maxAttempts 最多请求次数
+         */
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * 获取首次重试退避上限
+         * 
+         * @return 退避上限（毫秒）
+         */
+        public long getInitialBackoffMillis() {
+            return initialBackoffMillis;
+        }
+
+        /**
+         * 设置首次重试退避上限
+         * 
+         * @param initialBackoffMillis 退避上限（毫秒）
+         */
+        public void setInitialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+        }
+
+        /**
+         * 获取重试退避上限
+         * 
+         * @return 退避上限（毫秒）
+         */
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        /**
+         * 设置重试退避上限
+         * 
+         * @param maxBackoffMillis 退避上限（毫秒）
+         */
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        /**
+         * 获取重试预算比例
+         * 
+         * @return 重试预算比例
+         */
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        /**
+         * 设置重试预算比例
+         * 
+         * @param budgetRatio 重试预算比例
+         */
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        /**
+         * 获取重试预算上限
+         * 
+         * @return 重试预算上限
+         */
+        public double getBudgetCapacity() {
+            return budgetCapacity;
+        }
+
+        /**
+         * 设置重试预算上限
+         * 
+         * @param budgetCapacity 重试预算上限
+         */
+        public void setBudgetCapacity(double budgetCapacity) {
+            this.budgetCapacity = budgetCapacity;
+        }
+    }
+
+    /**
+     * 发布熔断配置
+     * 
+     * 控制腾讯云接口不可用或认证失效时的快速失败。
+     */
+    public static class CircuitBreaker {
+
+        /**
+         * 触发熔断的连续失败次数
+         * 
+         * 网络异常和5xx响应计为失败。
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 熔断持续时间（毫秒）
+         * 
+         * 熔断结束后放行一个探测请求，成功则恢复正常。
+         */
+        private long openMillis = 30000;
+
+        /**
+         * 视为认证失败的业务状态码
+         * 
+         * HTTP 401和403响应总是视为认证失败；
+         * 认证失败说明cookie已失效，立即熔断且不重试。
+         */
+        private List<Integer> authFailureStatuses = new ArrayList<>();
+
+        /**
+         * 获取触发熔断的连续失败次数
+         * 
+         * @return 连续失败次数
+         */
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        /**
+         * 设置触发熔断的连续失败次数
+         * 
+         * @param failureThreshold 连续失败次数
+         */
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        /**
+         * 获取熔断持续时间
+         * 
+         * @return 熔断持续时间（毫秒）
+         */
+        public long getOpenMillis() {
+            return openMillis;
+        }
+
+        /**
+         * 设置熔断持续时间
+         * 
+         * @param openMillis 熔断持续时间（毫秒）
+         */
+        public void setOpenMillis(long openMillis) {
+            this.openMillis = openMillis;
+        }
+
+        /**
+         * 获取视为认证失败的业务状态码
+         * 
+         * @return 业务状态码列表
+         */
+        public List<Integer> getAuthFailureStatuses() {
+            return authFailureStatuses;
+        }
+
+        /**
+         * 设置视为认证失败的业务状态码
+         * 
+         * @param authFailureStatuses 业务状态码列表
+         */
+        public void setAuthFailureStatuses(List<Integer> authFailureStatuses) {
+            this.authFailureStatuses = authFailureStatuses;
+        }
+    }
+
+    /**
+     * 重复发布去重配置
+     * 
+     * 标题、内容、摘要和标签都相同的发布请求视为重复请求。
+     */
+    public static class Dedup {
+
+        /**
+         * 发布结果的保留窗口（秒）
+         * 
+         * 窗口内的重复请求直接返回原文章ID和链接，不再调用腾讯云接口。
+         * 设置为0时只合并并发的重复请求。
+         */
+        private long windowSeconds = 600;
+
+        /**
+         * 保留的发布结果数量上限
+         */
+        private long maxEntries = 10000;
+
+        /**
+         * 获取发布结果保留窗口
+         * 
+         * @return 保留窗口（秒）
+         */
+        public long getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        /**
+         * 设置发布结果保留窗口
+         * 
+         * @param windowSeconds 保留窗口（秒）
+         */
+        public void setWindowSeconds(long windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+
+        /**
+         * 获取发布结果数量上限
+         * 
+         * @return 数量上限
+         */
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * 设置发布结果数量上限
+         * 
+         * @param maxEntries 数量上限
+         */
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * 指标配置
+     * 
+     * 控制指标快照定期写入日志。
+     */
+    public static class Metrics {
+
+        /**
+         * 指标快照写入日志的间隔（秒）
+         * 
+         * 应用通过stdio运行，没有HTTP端点，定期写入日志便于离线分析。
+         * 设置为0表示不写入。
+         */
+        private long logIntervalSeconds = 0;
+
+        /**
+         * 获取指标日志间隔
+         * 
+         * @return 日志间隔（秒）
+         */
+        public long getLogIntervalSeconds() {
+            return logIntervalSeconds;
+        }
+
+        /**
+         * 设置指标日志间隔
+         * 
+         * @param logIntervalSeconds 日志间隔（秒）
+         */
+        public void setLogIntervalSeconds(long logIntervalSeconds) {
+            this.logIntervalSeconds = logIntervalSeconds;
+        }
+    }
+
+    /**
+     * 流式发布配置
+     * 
+     * 控制超大文章使用流式请求体发布。
+     */
+    public static class Streaming {
+
+        /**
+         * 是否开启流式发布
+         * 
+         * 开启后，Markdown长度超过阈值的文章在写出请求体时才按块生成ProseMirror JSON，
+         * 内存占用取决于最大的单个块而不是文章大小。
+         */
+        private boolean enabled = true;
+
+        /**
+         * 使用流式发布的Markdown长度阈值（字符数）
+         * 
+         * 低于阈值的文章预先编码请求体，并复用转换缓存。
+         */
+        private int thresholdChars = 262144;
+
+        /**
+         * 获取是否开启流式发布
+         * 
+         * @return 开启返回true
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * 设置是否开启流式发布
+         * 
+         * @param enabled 开启返回true
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * 获取流式发布阈值
+         * 
+         * @return 阈值（字符数）
+         */
+        public int getThresholdChars() {
+            return thresholdChars;
+        }
+
+        /**
+         * 设置流式发布阈值
+         * 
+         * @param thresholdChars 阈值（字符数）
+         */
+        public void setThresholdChars(int thresholdChars) {
+            this.thresholdChars = thresholdChars;
+        }
+    }
+
+    /**
+     * Markdown转换配置
+     * 
+     * 控制大文档在多核上并行转换以及转换结果的写法。
+     */
+    public static class Conversion {
+
+        /**
+         * 并行转换的Markdown长度阈值（字符数）
+         * 
+         * 超过阈值且未命中缓存的文档按顶层块切分后并行转换，
+         * 设置为0表示关闭并行转换。
+         */
+        private int parallelThresholdChars = 65536;
+
+        /**
+         * 并行转换的线程数
+         * 
+         * 设置为0时使用公共ForkJoinPool。
+         */
+        private int parallelism = 0;
+
+        /**
+         * 是否省略段落attrs中取默认值的字段
+         * 
+         * 开启后段落只写出id，textAlign、indent、color、background等默认值由编辑器补齐，
+         * 段落较多的文章请求体可减小一到三成。默认关闭。
+         */
+        private boolean omitDefaultAttrs = false;
+
+        /**
+         * 获取并行转换阈值
+         * 
+         * @return 阈值（字符数）
+         */
+        public int getParallelThresholdChars() {
+            return parallelThresholdChars;
+        }
+
+        /**
+         * 设置并行转换阈值
+         * 
+         * @param parallelThresholdChars 阈值（字符数）
+         */
+        public void setParallelThresholdChars(int parallelThresholdChars) {
+            this.parallelThresholdChars = parallelThresholdChars;
+        }
+
+        /**
+         * 获取并行转换线程数
+         * 
+         * @return 线程数
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * 设置并行转换线程数
+         * 
+         * @param parallelism 线程数
+         */
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * 获取是否省略段落的默认attrs
+         * 
+         * @return 省略返回true
+         */
+        public boolean isOmitDefaultAttrs() {
+            return omitDefaultAttrs;
+        }
+
+        /**
+         * 设置是否省略段落的默认attrs
+         * 
+         * @param omitDefaultAttrs 是否省略
+         */
+        public void setOmitDefaultAttrs(boolean omitDefaultAttrs) {
+            this.omitDefaultAttrs = omitDefaultAttrs;
+        }
+    }
+
+    /**
+     * 分块上传配置
+     * 
+     * 控制分块上传文章时未提交上传的保留时间和规模上限。
+     */
+    public static class Upload {
+
+        /**
+         * 未提交上传的保留时间（秒）
+         * 
+         * 超过该时间没有追加或提交的上传被丢弃，释放已接收的内容。
+         */
+        private long ttlSeconds = 1800;
+
+        /**
+         * 同时进行中的上传数量上限
+         * 
+         * 超过上限时丢弃最久未访问的上传。
+         */
+        private long maxUploads = 16;
+
+        /**
+         * 单个上传的Markdown长度上限（字符数）
+         */
+        private int maxChars = 67108864;
+
+        /**
+         * 获取上传保留时间
+         * 
+         * @return 保留时间（秒）
+         */
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        /**
+         * 设置上传保留时间
+         * 
+         * @param ttlSeconds 保留时间（秒）
+         */
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        /**
+         * 获取上传数量上限
+         * 
+         * @return 数量上限
+         */
+        public long getMaxUploads() {
+            return maxUploads;
+        }
+
+        /**
+         * 设置上传数量上限
+         * 
+         * @param maxUploads 数量上限
+         */
+        public void setMaxUploads(long maxUploads) {
+            this.maxUploads = maxUploads;
+        }
+
+        /**
+         * 获取单个上传长度上限
+         * 
+         * @return 长度上限（字符数）
+         */
+        public int getMaxChars() {
+            return maxChars;
+        }
+
+        /**
+         * 设置单个上传长度上限
+         * 
+         * @param maxChars 长度上限（字符数）
+         */
+        public void setMaxChars(int maxChars) {
+            this.maxChars = maxChars;
+        }
+    }
+
+    /**
+     * 图片转存配置
+     * 
+     * 控制发布前将文章中的本地图片和外部图片上传到腾讯云开发者社区，
+     * 以及按图片内容哈希保存上传结果的本地缓存。
+     */
+    public static class Image {
+
+        /**
+         * 是否在发布前转存图片
+         */
+        private boolean enabled = true;
+
+        /**
+         * 同一篇文章同时进行中的图片上传数
+         */
+        private int concurrency = 4;
+
+        /**
+         * 是否读取本地图片
+         * 
+         * 默认关闭，文章中的非http(s)地址保留原样。开启后只读取base-dir下的相对路径，
+         * 绝对路径、file:链接以及规范化后位于base-dir之外的路径都会被拒绝。
+         */
+        private boolean localFiles = false;
+
+        /**
+         * 本地图片相对路径的基准目录
+         * 
+         * 为空时使用进程的工作目录。
+         */
+        private String baseDir = "";
+
+        /**
+         * 是否允许从内网地址下载图片
+         * 
+         * 默认关闭，解析到回环、私有、链路本地等地址的外部链接不会下载，
+         * 避免文章中的图片链接访问服务所在的内部网络。
+         */
+        private boolean allowPrivateHosts = false;
+
+        /**
+         * 单张图片的大小上限（字节）
+         * 
+         * 超过上限的图片不转存，保留原地址。
+         */
+        private long maxBytes = 10485760;
+
+        /**
+         * 图片地址缓存文件路径
+         * 
+         * 以JSON Lines格式保存图片内容哈希到社区图片地址的映射，重启后仍然有效。
+         */
+        private String cachePath = "data/image/image-cache.jsonl";
+
+        /**
+         * 图片上传接口路径，相对于tencent.api.base-url
+         */
+        private String uploadPath = "developer/api/common/uploadImage";
+
+        /**
+         * 社区图床地址前缀
+         * 
+         * 以这些前缀开头的图片已经在社区图床上，不再转存。
+         */
+        private List<String> hostedPrefixes = new ArrayList<>(List.of("https://developer.qcloudimg.com/"));
+
+        /**
+         * 获取是否转存图片
+         * 
+         * @return 是否在发布前转存图片
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * 设置是否转存图片
+         * 
+         * @param enabled 是否在发布前转存图片
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * 获取图片上传并发数
+         * 
+         * @return 并发数
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * 设置图片上传并发数
+         * 
+         * @param concurrency 并发数
+         */
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        /**
+         * 获取是否读取本地图片
+         * 
+         * @return 是否读取本地图片
+         */
+        public boolean isLocalFiles() {
+            return localFiles;
+        }
+
+        /**
+         * 设置是否读取本地图片
+         * 
+         * @param localFiles 是否读取本地图片
+         */
+        public void setLocalFiles(boolean localFiles) {
+            this.localFiles = localFiles;
+        }
+
+        /**
+         * 获取本地图片基准目录
+         * 
+         * @return 基准目录
+         */
+        public String getBaseDir() {
+            return baseDir;
+        }
+
+        /**
+         * 设置本地图片基准目录
+         * 
+         * @param baseDir 基准目录
+         */
+        public void setBaseDir(String baseDir) {
+            this.baseDir = baseDir;
+        }
+
+        /**
+         * 获取是否允许从内网地址下载图片
+         * 
+         * @return 是否允许从内网地址下载图片
+         */
+        public boolean isAllowPrivateHosts() {
+            return allowPrivateHosts;
+        }
+
+        /**
+         * 设置是否允许从内网地址下载图片
+         * 
+         * @param allowPrivateHosts 是否允许从内网地址下载图片
+         */
+        public void setAllowPrivateHosts(boolean allowPrivateHosts) {
+            this.allowPrivateHosts = allowPrivateHosts;
+        }
+
+        /**
+         * 获取单张图片大小上限
+         * 
+         * @return 大小上限（字节）
+         */
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        /**
+         * 设置单张图片大小上限
+         * 
+         * @param maxBytes 大小上限（字节）
+         */
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * 获取图片地址缓存文件路径
+         * 
+         * @return 缓存文件路径
+         */
+        public String getCachePath() {
+            return cachePath;
+        }
+
+        /**
+         * 设置图片地址缓存文件路径
+         * 
+         * @param cachePath 缓存文件路径
+         */
+        public void setCachePath(String cachePath) {
+            this.cachePath = cachePath;
+        }
+
+        /**
+         * 获取图片上传接口路径
+         * 
+         * @return 接口路径
+         */
+        public String getUploadPath() {
+            return uploadPath;
+        }
+
+        /**
+         * 设置图片上传接口路径
+         * 
+         * @param uploadPath 接口路径
+         */
+        public void setUploadPath(String uploadPath) {
+            this.uploadPath = uploadPath;
+        }
+
+        /**
+         * 获取社区图床地址前缀
+         * 
+         * @return 地址前缀
+         */
+        public List<String> getHostedPrefixes() {
+            return hostedPrefixes;
+        }
+
+        /**
+         * 设置社区图床地址前缀
+         * 
+         * @param hostedPrefixes 地址前缀
+         */
+        public void setHostedPrefixes(List<String> hostedPrefixes) {
+            this.hostedPrefixes = hostedPrefixes;
+        }
+    }
+
+    /**
+     * 标签、分类和专栏目录配置
+     * 
+     * 发布时按名称查找标签、分类和专栏的ID。目录从社区接口获取后保存在内存索引中，
+     * 超过刷新间隔后在后台刷新，并写入本地快照供下次启动时使用。
+     */
+    public static class Directory {
+
+        /**
+         * 是否从社区接口获取目录
+         * 
+         * 关闭时所有名称都无法解析，使用兜底ID。
+         */
+        private boolean enabled = true;
+
+        /**
+         * 目录的刷新间隔（秒）
+         * 
+         * 超过该时间后第一次查找触发后台刷新，刷新期间继续使用旧目录。
+         */
+        private long ttlSeconds = 86400;
+
+        /**
+         * 目录快照文件路径
+         * 
+         * 每次刷新成功后写入，启动时先从快照加载，不需要等待网络请求。
+         */
+        private String snapshotPath = "data/directory/directory-snapshot.json";
+
+        /**
+         * 标签列表接口路径，相对于tencent.api.base-url
+         */
+        private String tagPath = "developer/api/tag/list";
+
+        /**
+         * 分类列表接口路径，相对于tencent.api.base-url
+         */
+        private String categoryPath = "developer/api/classify/list";
+
+        /**
+         * 专栏列表接口路径，相对于tencent.api.base-url
+         */
+        private String columnPath = "developer/api/column/list";
+
+        /**
+         * 默认标签名称
+         * 
+         * 文章没有指定标签且没有匹配到标签时使用。
+         */
+        private List<String> tags = new ArrayList<>();
+
+        /**
+         * 按文章内容自动匹配的标签数量
+         * 
+         * 文章没有指定标签时，在标题和正文中查找目录里的标签名称，
+         * 按出现次数取前若干个作为文章标签。设置为0表示关闭自动匹配。
+         */
+        private int autoTags = 5;
+
+        /**
+         * 发布到的专栏名称
+         */
+        private List<String> columns = new ArrayList<>();
+
+        /**
+         * 文章没有自己的标签时附加的长尾标签
+         * 
+         * 文章既没有指定标签也没有匹配到标签时发送；
+         * 文章标签中在目录里找不到的名称也作为长尾标签发送。
+         */
+        private List<String> longtailTags = new ArrayList<>(List.of("mcp"));
+
+        /**
+         * 分类名称都无法解析时使用的分类ID
+         */
+        private List<Integer> fallbackClassifyIds = new ArrayList<>(List.of(2));
+
+        /**
+         * 标签名称都无法解析时使用的标签ID
+         */
+        private List<Integer> fallbackTagIds = new ArrayList<>(List.of(18126));
+
+        /**
+         * 专栏名称都无法解析时使用的专栏ID
+         */
+        private List<Integer> fallbackColumnIds = new ArrayList<>(List.of(101806));
+
+        /**
+         * 获取是否启用目录
+         * 
+         * @return 是否从社区接口获取目录
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * 设置是否启用目录
+         * 
+         * @param enabled 是否从社区接口获取目录
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * 获取目录刷新间隔
+         * 
+         * @return 刷新间隔（秒）
+         */
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        /**
+         * 设置目录刷新间隔
+         * 
+         * @param ttlSeconds 刷新间隔（秒）
+         */
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        /**
+         * 获取目录快照文件路径
+         * 
+         * @return 快照文件路径
+         */
+        public String getSnapshotPath() {
+            return snapshotPath;
+        }
+
+        /**
+         * 设置目录快照文件路径
+         * 
+         * @param snapshotPath 快照文件路径
+         */
+        public void setSnapshotPath(String snapshotPath) {
+            this.snapshotPath = snapshotPath;
+        }
+
+        /**
+         * 获取标签列表接口路径
+         * 
+         * @return 接口路径
+         */
+        public String getTagPath() {
+            return tagPath;
+        }
+
+        /**
+         * 设置标签列表接口路径
+         * 
+         * @param tagPath 接口路径
+         */
+        public void setTagPath(String tagPath) {
+            this.tagPath = tagPath;
+        }
+
+        /**
+         * 获取分类列表接口路径
+         * 
+         * @return 接口路径
+         */
+        public String getCategoryPath() {
+            return categoryPath;
+        }
+
+        /**
+         * 设置分类列表接口路径
+         * 
+         * @param categoryPath 接口路径
+         */
+        public void setCategoryPath(String categoryPath) {
+            this.categoryPath = categoryPath;
+        }
+
+        /**
+         * 获取专栏列表接口路径
+         * 
+         * @return 接口路径
+         */
+        public String getColumnPath() {
+            return columnPath;
+        }
+
+        /**
+         * 设置专栏列表接口路径
+         * 
+         * @param columnPath 接口路径
+         */
+        public void setColumnPath(String columnPath) {
+            this.columnPath = columnPath;
+        }
+
+        /**
+         * 获取默认标签名称
+         * 
+         * @return 标签名称
+         */
+        public List<String> getTags() {
+            return tags;
+        }
+
+        /**
+         * 设置默认标签名称
+         * 
+         * @param tags 标签名称
+         */
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        /**
+         * 获取自动匹配的标签数量
+         * 
+         * @return 标签数量，0表示关闭自动匹配
+         */
+        public int getAutoTags() {
+            return autoTags;
+        }
+
+        /**
+         * 设置自动匹配的标签数量
+         * 
+         * @param autoTags 标签数量，0表示关闭自动匹配
+         */
+        public void setAutoTags(int autoTags) {
+            this.autoTags = autoTags;
+        }
+
+        /**
+         * 获取专栏名称
+         * 
+         * @return 专栏名称
+         */
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        /**
+         * 设置专栏名称
+         * 
+         * @param columns 专栏名称
+         */
+        public void setColumns(List<String> columns) {
+            this.columns = columns;
+        }
+
+        /**
+         * 获取长尾标签
+         * 
+         * @return 长尾标签
+         */
+        public List<String> getLongtailTags() {
+            return longtailTags;
+        }
+
+        /**
+         * 设置长尾标签
+         * 
+         * @param longtailTags 长尾标签
+         */
+        public void setLongtailTags(List<String> longtailTags) {
+            this.longtailTags = longtailTags;
+        }
+
+        /**
+         * 获取兜底分类ID
+         * 
+         * @return 分类ID
+         */
+        public List<Integer> getFallbackClassifyIds() {
+            return fallbackClassifyIds;
+        }
+
+        /**
+         * 设置兜底分类ID
+         * 
+         * @param fallbackClassifyIds 分类ID
+         */
+        public void setFallbackClassifyIds(List<Integer> fallbackClassifyIds) {
+            this.fallbackClassifyIds = fallbackClassifyIds;
+        }
+
+        /**
+         * 获取兜底标签ID
+         * 
+         * @return 标签ID
+         */
+        public List<Integer> getFallbackTagIds() {
+            return fallbackTagIds;
+        }
+
+        /**
+         * 设置兜底标签ID
+         * 
+         * @param fallbackTagIds 标签ID
+         */
+        public void setFallbackTagIds(List<Integer> fallbackTagIds) {
+            this.fallbackTagIds = fallbackTagIds;
+        }
+
+        /**
+         * 获取兜底专栏ID
+         * 
+         * @return 专栏ID
+         */
+        public List<Integer> getFallbackColumnIds() {
+            return fallbackColumnIds;
+        }
+
+        /**
+         * 设置兜底专栏ID
+         * 
+         * @param fallbackColumnIds 专栏ID
+         */
+        public void setFallbackColumnIds(List<Integer> fallbackColumnIds) {
+            this.fallbackColumnIds = fallbackColumnIds;
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 自适应令牌桶限流器
+ *
+ * 该类以令牌桶控制请求速率，并按照AIMD（加性增、乘性减）策略调整速率：
+ * 请求成功时速率加上固定步长，被服务端限流时速率乘以衰减系数。
+ * 服务端返回Retry-After时，在指定时间之前不发放令牌。
+ *
+ * 使用方式：
+ * 1. 发送请求前调用{@link #reserve()}预约一个令牌，按返回的时间延迟发送
+ * 2. 收到响应后调用{@link #onSuccess()}或{@link #onThrottled(long)}反馈结果
+ *
+ * 预约不阻塞调用线程，令牌不足时返回需要等待的时间，
+ * 多个预约按到达顺序依次排队。所有方法线程安全。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class AdaptiveRateLimiter {
+
+    /** 每秒纳秒数 */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** 最低速率（每秒请求数） */
+    private final double minRate;
+
+    /** 最高速率（每秒请求数） */
+    private final double maxRate;
+
+    /** 令牌桶容量，即允许的突发请求数 */
+    private final double burst;
+
+    /** 每次成功后速率增加的步长 */
+    private final double increaseStep;
+
+    /** 每次被限流后速率乘以的系数 */
+    private final double decreaseFactor;
+
+    /** 纳秒时钟 */
+    private final LongSupplier clock;
+
+    /** 当前速率（每秒请求数） */
+    private double rate;
+
+    /** 当前令牌数，为负数时表示已预约但尚未补足的令牌 */
+    private double tokens;
+
+    /** 上次补充令牌的时间 */
+    private long refilledAt;
+
+    /** 暂停发放令牌的截止时间 */
+    private long pausedUntil;
+
+    /** 累计成功次数 */
+    private long successes;
+
+    /** 累计被限流次数 */
+    private long throttles;
+
+    /**
+     * 创建限流器
+     *
+     * @param initialRate 初始速率（每秒请求数）
+     * @param minRate 最低速率（每秒请求数）
+     * @param maxRate 最高速率（每秒请求数）
+     * @param burst 令牌桶容量
+     * @param increaseStep 每次成功后速率增加的步长
+     * @param decreaseFactor 每次被限流后速率乘以的系数，取值(0, 1)
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, double burst,
+                               double increaseStep, double decreaseFactor) {
+        this(initialRate, minRate, maxRate, burst, increaseStep, decreaseFactor, System::nanoTime);
+    }
+
+    /**
+     * 使用指定时钟创建限流器
+     *
+     * @param initialRate 初始速率（每秒请求数）
+     * @param minRate 最低速率（每秒请求数）
+     * @param maxRate 最高速率（每秒请求数）
+     * @param burst 令牌桶容量
+     * @param increaseStep 每次成功后速率增加的步长
+     * @param decreaseFactor 每次被限流后速率乘以的系数，取值(0, 1)
+     * @param clock 纳秒时钟
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, double burst,
+                               double increaseStep, double decreaseFactor, LongSupplier clock) {
+        if (minRate <= 0 || maxRate < minRate || burst < 1 || decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("限流参数不合法");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.burst = burst;
+        this.increaseStep = increaseStep;
+        this.decreaseFactor = decreaseFactor;
+        this.clock = clock;
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+        this.tokens = burst;
+        this.refilledAt = clock.getAsLong();
+        this.pausedUntil = refilledAt;
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @return 发送请求前需要等待的纳秒数，0表示可以立即发送
+     */
+    public synchronized long reserve() {
+        long now = clock.getAsLong();
+        refill(now);
+        tokens -= 1;
+        long pause = Math.max(0, pausedUntil - now);
+        long debt = tokens >= 0 ? 0 : (long) (-tokens / rate * NANOS_PER_SECOND);
+        return pause + debt;
+    }
+
+    /**
+     * 反馈一次成功的请求，速率加上固定步长
+     */
+    public synchronized void onSuccess() {
+        refill(clock.getAsLong());
+        successes++;
+        rate = Math.min(maxRate, rate + increaseStep);
+    }
+
+    /**
+     * 反馈一次被限流的请求，速率乘以衰减系数
+     *
+     * 服务端给出Retry-After时，在该时间之内不再发放令牌，
+     * 期间已预约的请求顺延到暂停结束之后。
+     *
+     * @param retryAfterNanos 服务端要求的等待时间（纳秒），没有时为0
+     */
+    public synchronized void onThrottled(long retryAfterNanos) {
+        long now = clock.getAsLong();
+        refill(now);
+        throttles++;
+        rate = Math.max(minRate, rate * decreaseFactor);
+        // 丢弃积攒的令牌，避免暂停结束后立即突发
+        tokens = Math.min(tokens, 0);
+        if (retryAfterNanos > 0) {
+            pausedUntil = Math.max(pausedUntil, now + retryAfterNanos);
+        }
+    }
+
+    /**
+     * 获取限流器当前状态
+     *
+     * @return 状态快照
+     */
+    public synchronized State state() {
+        long now = clock.getAsLong();
+        refill(now);
+        return new State(rate, tokens, TimeUnit.NANOSECONDS.toMillis(Math.max(0, pausedUntil - now)),
+                successes, throttles);
+    }
+
+    /**
+     * 按当前速率补充令牌
+     *
+     * 暂停期间不补充令牌。
+     *
+     * @param now 当前时间
+     */
+    private void refill(long now) {
+        long from = Math.max(refilledAt, pausedUntil);
+        if (now > from) {
+            tokens = Math.min(burst, tokens + (now - from) / NANOS_PER_SECOND * rate);
+        }
+        refilledAt = Math.max(refilledAt, now);
+    }
+
+    /**
+     * 限流器状态快照
+     *
+     * @param rate 当前速率（每秒请求数）
+     * @param tokens 当前令牌数，为负数时表示排队等待的请求数
+     * @param pausedMillis 距离暂停结束的毫秒数
+     * @param successes 累计成功次数
+     * @param throttles 累计被限流次数
+     */
+    public record State(double rate, double tokens, long pausedMillis, long successes, long throttles) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import org.commonmark.node.Node;
+
+/**
+ * 块级节点ID生成策略
+ *
+ * ProseMirror中的段落需要唯一的id属性，该接口用于定制id的生成方式。
+ * 实现类必须是线程安全的，同一个实例会被多个并发的转换共享。
+ *
+ * 内置实现：
+ * 1. {@link #random()}：基于线程本地随机数，无锁、无竞争，每次转换的结果不同
+ * 2. {@link #deterministic()}：基于块内容和位置的哈希，相同的Markdown总是生成相同的JSON，
+ *    便于缓存和比对转换结果
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public interface BlockIdGenerator {
+
+    /**
+     * 为块级节点生成id
+     *
+     * @param block 需要id的AST节点，如段落、表格单元格
+     * @param position 该节点在文档中的序号，从0开始，按文档顺序递增
+     * @return UUID格式的id字符串
+     */
+    String generate(Node block, int position);
+
+    /**
+     * 获取随机id生成器
+     *
+     * @return 基于线程本地随机数的生成器
+     */
+    static BlockIdGenerator random() {
+        return RandomBlockIdGenerator.INSTANCE;
+    }
+
+    /**
+     * 获取确定性id生成器
+     *
+     * @return 基于内容和位置哈希的生成器
+     */
+    static BlockIdGenerator deterministic() {
+        return ContentHashBlockIdGenerator.INSTANCE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 熔断器
+ *
+ * 该类在下游服务连续失败时快速失败，避免在服务不可用期间继续发送注定失败的请求。
+ *
+ * 状态说明：
+ * - CLOSED: 正常放行请求，连续失败次数达到阈值时进入OPEN
+ * - OPEN: 拒绝所有请求，经过熔断时长后进入HALF_OPEN
+ * - HALF_OPEN: 只放行一个探测请求，成功则回到CLOSED，失败则重新进入OPEN
+ *
+ * 认证失败等确定不可恢复的错误可以通过{@link #trip()}立即熔断。
+ * 所有方法线程安全。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class CircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /** 正常放行 */
+        CLOSED,
+        /** 拒绝请求 */
+        OPEN,
+        /** 放行一个探测请求 */
+        HALF_OPEN
+    }
+
+    /** 进入OPEN所需的连续失败次数 */
+    private final int failureThreshold;
+
+    /** OPEN状态的持续时间（纳秒） */
+    private final long openNanos;
+
+    /** 纳秒时钟 */
+    private final LongSupplier clock;
+
+    /** 当前状态 */
+    private State state = State.CLOSED;
+
+    /** 连续失败次数 */
+    private int failures;
+
+    /** 最近一次进入OPEN的时间 */
+    private long openedAt;
+
+    /** HALF_OPEN状态下是否已有探测请求在进行中 */
+    private boolean probing;
+
+    /**
+     * 创建熔断器
+     *
+     * @param failureThreshold 进入OPEN所需的连续失败次数
+     * @param openMillis OPEN状态的持续时间（毫秒）
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    /**
+     * 使用指定时钟创建熔断器
+     *
+     * @param failureThreshold 进入OPEN所需的连续失败次数
+     * @param openMillis OPEN状态的持续时间（毫秒）
+     * @param clock 纳秒时钟
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * 申请发送一个请求
+     *
+     * 返回true时调用方必须在请求结束后调用{@link #onSuccess()}、{@link #onFailure()}、
+     * {@link #trip()}或{@link #release()}之一。
+     *
+     * @return 允许发送时返回true
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                return false;
+            }
+            probing = true;
+        }
+        return true;
+    }
+
+    /**
+     * 反馈一次成功的请求
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+    }
+
+    /**
+     * 反馈一次失败的请求
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 立即熔断
+     */
+    public synchronized void trip() {
+        open();
+    }
+
+    /**
+     * 归还申请但没有结果的请求，例如请求被取消
+     */
+    public synchronized void release() {
+        probing = false;
+    }
+
+    /**
+     * 获取当前状态
+     *
+     * @return 熔断器状态
+     */
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 获取距离熔断结束的毫秒数
+     *
+     * @return 剩余毫秒数，未熔断时为0
+     */
+    public synchronized long remainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, openedAt + openNanos - clock.getAsLong()));
+    }
+
+    /**
+     * 进入OPEN状态
+     */
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        failures = 0;
+        probing = false;
+    }
+}
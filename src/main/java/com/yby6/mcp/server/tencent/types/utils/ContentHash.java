@@ -0,0 +1,106 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+/**
+ * 文本内容的128位哈希
+ *
+ * 用于按内容寻址的缓存和去重场景，以哈希代替原文作为键，避免长文本常驻内存。
+ * 两路64位哈希独立计算并经过SplitMix64混合，文本长度也参与计算，
+ * 在实际使用的数据量下碰撞概率可以忽略。
+ *
+ * 多段文本按顺序参与计算，段与段之间带有分隔，
+ * ("ab", "c")与("a", "bc")得到不同的哈希。
+ *
+ * @param high 高64位
+ * @param low 低64位
+ * @author yby6
+ * @version 1.0.0
+ */
+public record ContentHash(long high, long low) {
+
+    /** FNV-1a 64位参数 */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /** 第二路哈希使用的黄金分割常数 */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 计算一段或多段文本的哈希
+     *
+     * @param parts 文本片段，null视为空串
+     * @return 128位哈希
+     */
+    public static ContentHash of(CharSequence... parts) {
+        Hasher hasher = new Hasher();
+        for (CharSequence part : parts) {
+            hasher.update(part);
+        }
+        return hasher.finish(hasher.length);
+    }
+
+    /**
+     * SplitMix64的最终混合函数，保证输出的每一位都充分依赖输入
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 增量计算的哈希状态
+     *
+     * 文本片段逐字符参与两路64位哈希的计算，不拼接中间字符串；
+     * 结束时以给定的值收尾并混合，例如文本总长度或块的位置。
+     */
+    static final class Hasher {
+
+        /** 第一路哈希 */
+        private long a = FNV_OFFSET;
+
+        /** 第二路哈希 */
+        private long b = GOLDEN_GAMMA;
+
+        /** 已加入的字符数 */
+        private long length;
+
+        /**
+         * 加入一段文本，段与段之间带有分隔
+         *
+         * @param part 文本片段，null视为空串
+         */
+        void update(CharSequence part) {
+            long a = this.a;
+            long b = this.b;
+            if (part != null) {
+                for (int i = 0, n = part.length(); i < n; i++) {
+                    char c = part.charAt(i);
+                    a = (a ^ c) * FNV_PRIME;
+                    b = Long.rotateLeft(b + c, 23) * GOLDEN_GAMMA;
+                }
+                length += part.length();
+            }
+            this.a = (a ^ 0xFFFF) * FNV_PRIME;
+            this.b = b * GOLDEN_GAMMA + 1;
+        }
+
+        /**
+         * 结束计算
+         *
+         * @param salt 收尾的值
+         * @return 128位哈希
+         */
+        ContentHash finish(long salt) {
+            return new ContentHash(mix(a ^ salt), mix(b + salt));
+        }
+    }
+
+    /**
+     * 以32位十六进制字符串表示
+     *
+     * @return 十六进制字符串
+     */
+    public String toHex() {
+        return String.format("%016x%016x", high, low);
+    }
+}
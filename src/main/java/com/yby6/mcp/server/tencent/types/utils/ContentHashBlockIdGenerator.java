@@ -0,0 +1,74 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.HtmlBlock;
+import org.commonmark.node.HtmlInline;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+
+import java.util.UUID;
+
+/**
+ * 确定性块级节点ID生成器
+ *
+ * 根据块内的文本内容和块在文档中的位置计算128位{@link ContentHash}，生成UUID第8版（自定义）格式的id。
+ * 同一份Markdown每次转换得到的JSON完全相同，转换结果可以被缓存、比对和并行拼接。
+ *
+ * 哈希直接在AST的文本字面量上逐字符计算，不会拼接中间字符串。
+ * 位置参与哈希，因此内容相同的两个段落也会得到不同的id。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+final class ContentHashBlockIdGenerator implements BlockIdGenerator {
+
+    /** 单例，实现无状态 */
+    static final ContentHashBlockIdGenerator INSTANCE = new ContentHashBlockIdGenerator();
+
+    private ContentHashBlockIdGenerator() {
+    }
+
+    @Override
+    public String generate(Node block, int position) {
+        Literals literals = new Literals();
+        if (block instanceof HtmlBlock) {
+            literals.update(((HtmlBlock) block).getLiteral());
+        } else {
+            block.accept(literals);
+        }
+        ContentHash hash = literals.hasher.finish(position);
+        long mostSigBits = (hash.high() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000008000L;
+        long leastSigBits = (hash.low() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * 遍历块内文本，逐个字面量加入哈希
+     */
+    private static final class Literals extends AbstractVisitor {
+
+        private final ContentHash.Hasher hasher = new ContentHash.Hasher();
+
+        @Override
+        public void visit(Text text) {
+            update(text.getLiteral());
+        }
+
+        @Override
+        public void visit(Code code) {
+            update(code.getLiteral());
+        }
+
+        @Override
+        public void visit(HtmlInline htmlInline) {
+            update(htmlInline.getLiteral());
+        }
+
+        void update(String literal) {
+            if (literal != null) {
+                hasher.update(literal);
+            }
+        }
+    }
+}
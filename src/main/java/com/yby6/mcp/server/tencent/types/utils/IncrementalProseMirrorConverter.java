@@ -0,0 +1,183 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * 增量的Markdown到ProseMirror转换
+ *
+ * Markdown文本分多次追加，每次追加后将已经可以确定的部分立即解析并写出，
+ * 调用{@link #finish()}时只需转换剩余的尾部。结果与一次性转换整篇文档逐字符一致。
+ *
+ * 切分规则与{@link MarkdownChunker}相同：待转换的文本超过分段大小后，
+ * 在顶层块的安全边界处切分，最后一段可能与后续追加的文本相连，保留到下次追加。
+ * 追加的文本中出现影响全文的结构（链接引用定义、HTML块、非顶格的围栏）时，
+ * 丢弃已写出的结果，在{@link #finish()}时整篇转换。
+ *
+ * 该类不是线程安全的，调用方需要保证追加的顺序。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class IncrementalProseMirrorConverter {
+
+    /** Markdown解析器 */
+    private final Parser parser;
+
+    /** 转换选项 */
+    private final ProseMirrorOptions options;
+
+    /** 每次解析的最少字符数 */
+    private final int chunkChars;
+
+    /** 已追加的全部Markdown文本 */
+    private final StringBuilder markdown = new StringBuilder();
+
+    /** 已写出的JSON */
+    private StringWriter json = new StringWriter();
+
+    /** JSON生成器，整篇转换时为null */
+    private JsonGenerator generator;
+
+    /** 节点写出器，跨段连续编号 */
+    private ProseMirrorNodeWriter nodeWriter;
+
+    /** 已转换的字符数，之后的文本尚未转换 */
+    private int converted;
+
+    /** 是否已结束 */
+    private boolean finished;
+
+    /**
+     * 创建增量转换器
+     *
+     * @param parser Markdown解析器
+     * @param jsonFactory JSON生成器工厂
+     * @param options 转换选项
+     * @param chunkChars 每次解析的最少字符数
+     */
+    IncrementalProseMirrorConverter(Parser parser, JsonFactory jsonFactory, ProseMirrorOptions options, int chunkChars) {
+        this.parser = parser;
+        this.options = options;
+        this.chunkChars = chunkChars;
+        try {
+            this.generator = jsonFactory.createGenerator(json);
+            this.nodeWriter = new ProseMirrorNodeWriter(generator, options);
+            nodeWriter.startDocument();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 追加Markdown文本，并转换已经可以确定的部分
+     *
+     * @param text 追加的文本
+     */
+    public void append(CharSequence text) {
+        if (finished) {
+            throw new IllegalStateException("转换已结束");
+        }
+        markdown.append(text);
+        if (generator == null) {
+            return;
+        }
+        // 只处理完整的行，未结束的行可能因后续文本而改变含义
+        int end = markdown.lastIndexOf("\n") + 1;
+        if (end - converted < chunkChars * 2) {
+            return;
+        }
+        MarkdownChunker chunker = new MarkdownChunker(markdown.substring(converted, end), chunkChars);
+        if (!chunker.isSplittable()) {
+            fallback();
+            return;
+        }
+        String chunk = chunker.next();
+        while (chunker.hasNext()) {
+            write(chunk);
+            converted += chunk.length();
+            chunk = chunker.next();
+        }
+    }
+
+    /**
+     * 转换剩余的文本并返回完整的ProseMirror JSON
+     *
+     * @return ProseMirror格式的JSON字符串
+     */
+    public String finish() {
+        if (finished) {
+            throw new IllegalStateException("转换已结束");
+        }
+        finished = true;
+        String tail = markdown.substring(converted);
+        if (generator != null && !new MarkdownChunker(tail, chunkChars).isSplittable()) {
+            fallback();
+        }
+        if (generator == null) {
+            return MarkdownToProseMirrorConverter.convert(markdown.toString(), options);
+        }
+        try {
+            write(tail);
+            nodeWriter.endDocument();
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    /**
+     * 获取已追加的全部Markdown文本
+     *
+     * @return Markdown文本
+     */
+    public String markdown() {
+        return markdown.toString();
+    }
+
+    /**
+     * 获取已追加的字符数
+     *
+     * @return 字符数
+     */
+    public int length() {
+        return markdown.length();
+    }
+
+    /**
+     * 获取已转换的字符数
+     *
+     * @return 字符数，改为整篇转换后为0
+     */
+    public int convertedLength() {
+        return converted;
+    }
+
+    /**
+     * 解析一段文本并写出其中的顶层块
+     *
+     * @param chunk 从顶层块边界开始的Markdown文本
+     */
+    private void write(String chunk) {
+        for (Node block = parser.parse(chunk).getFirstChild(); block != null; block = block.getNext()) {
+            block.accept(nodeWriter);
+        }
+    }
+
+    /**
+     * 放弃增量转换，结束时整篇转换
+     */
+    private void fallback() {
+        generator = null;
+        nodeWriter = null;
+        json = null;
+        converted = 0;
+    }
+}
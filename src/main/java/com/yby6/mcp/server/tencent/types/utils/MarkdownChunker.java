@@ -0,0 +1,258 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+/**
+ * Markdown分段器
+ *
+ * 将Markdown文本切分为可以独立解析的若干段，每段至少包含指定数量的字符，
+ * 逐段解析得到的顶层块与整篇解析完全相同，从而不需要为整篇文档构建AST。
+ *
+ * 只在满足以下条件的行首切分：
+ * 1. 上一行是空行，且不在顶格的围栏代码块内
+ * 2. 该行顶格书写，不以空白、列表标记或引用标记开头
+ *
+ * 这样的行会结束所有列表、引用和缩进代码块，切分前后的解析结果一致。
+ * 文档中出现影响全文的结构时不切分，整篇作为一段：
+ * - 链接引用定义（可以被文中任意位置引用）
+ * - 以"<"开头的行（部分HTML块可以跨越空行）
+ * - 非顶格的围栏代码块（无法判断是否属于列表项）
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+final class MarkdownChunker {
+
+    /** 文本 */
+    private final String markdown;
+
+    /** 每段的最少字符数 */
+    private final int chunkChars;
+
+    /** 是否可以切分 */
+    private final boolean splittable;
+
+    /** 下一段的起始位置 */
+    private int position;
+
+    /** 当前所在的顶格围栏代码块的围栏字符，0表示不在围栏代码块内 */
+    private char fenceChar;
+
+    /** 当前围栏代码块的围栏长度 */
+    private int fenceLength;
+
+    /**
+     * 创建分段器
+     *
+     * @param markdown Markdown文本
+     * @param chunkChars 每段的最少字符数
+     */
+    MarkdownChunker(String markdown, int chunkChars) {
+        this.markdown = markdown;
+        this.chunkChars = chunkChars;
+        this.splittable = isSplittable(markdown);
+    }
+
+    /**
+     * 文档是否可以切分，不能切分时整篇作为一段返回
+     *
+     * @return 可以切分返回true
+     */
+    boolean isSplittable() {
+        return splittable;
+    }
+
+    /**
+     * 是否还有未返回的段
+     *
+     * @return 有则返回true
+     */
+    boolean hasNext() {
+        return position < markdown.length();
+    }
+
+    /**
+     * 返回下一段
+     *
+     * @return 下一段Markdown文本
+     */
+    String next() {
+        int start = position;
+        int end = splittable ? findSplit(start) : markdown.length();
+        position = end;
+        return markdown.substring(start, end);
+    }
+
+    /**
+     * 从指定位置开始查找下一个切分位置
+     *
+     * @param start 本段的起始位置
+     * @return 切分位置，找不到时返回文本长度
+     */
+    private int findSplit(int start) {
+        boolean previousBlank = false;
+        int lineStart = start;
+        int length = markdown.length();
+        while (lineStart < length) {
+            int lineEnd = markdown.indexOf('\n', lineStart);
+            int next = lineEnd < 0 ? length : lineEnd + 1;
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            if (fenceChar == 0 && previousBlank && lineStart - start >= chunkChars && isSafeStart(lineStart, lineEnd)) {
+                return lineStart;
+            }
+            boolean blank = isBlank(lineStart, lineEnd);
+            if (!blank) {
+                trackFence(lineStart, lineEnd);
+            }
+            previousBlank = blank && fenceChar == 0;
+            lineStart = next;
+        }
+        return length;
+    }
+
+    /**
+     * 根据当前行更新顶格围栏代码块的状态
+     *
+     * @param start 行首
+     * @param end 行尾（不含换行符）
+     */
+    private void trackFence(int start, int end) {
+        int indent = 0;
+        while (indent < 3 && start + indent < end && markdown.charAt(start + indent) == ' ') {
+            indent++;
+        }
+        int from = start + indent;
+        if (from >= end) {
+            return;
+        }
+        char c = markdown.charAt(from);
+        if (c != '`' && c != '~') {
+            return;
+        }
+        int run = 0;
+        while (from + run < end && markdown.charAt(from + run) == c) {
+            run++;
+        }
+        if (run < 3) {
+            return;
+        }
+        if (fenceChar == 0) {
+            // 只有顶格的围栏一定位于顶层；反引号围栏的信息串不能包含反引号
+            if (indent == 0 && (c == '~' || indexOf(markdown, "`", from + run, end) < 0)) {
+                fenceChar = c;
+                fenceLength = run;
+            }
+        } else if (c == fenceChar && run >= fenceLength && isBlank(from + run, end)) {
+            fenceChar = 0;
+        }
+    }
+
+    /**
+     * 判断该行是否可以作为新一段的开头
+     *
+     * @param start 行首
+     * @param end 行尾（不含换行符）
+     * @return 可以切分返回true
+     */
+    private boolean isSafeStart(int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        char c = markdown.charAt(start);
+        if (Character.isWhitespace(c) || c == '>') {
+            return false;
+        }
+        if (c == '-' || c == '+' || c == '*') {
+            return !isMarkerEnd(start + 1, end);
+        }
+        int digits = 0;
+        while (start + digits < end && digits < 10 && Character.isDigit(markdown.charAt(start + digits))) {
+            digits++;
+        }
+        if (digits > 0 && start + digits < end) {
+            char delimiter = markdown.charAt(start + digits);
+            if (delimiter == '.' || delimiter == ')') {
+                return !isMarkerEnd(start + digits + 1, end);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断列表标记之后是否为空白或行尾
+     */
+    private boolean isMarkerEnd(int index, int end) {
+        return index >= end || markdown.charAt(index) == ' ' || markdown.charAt(index) == '\t'
+                || markdown.charAt(index) == '\r';
+    }
+
+    /**
+     * 判断区间内是否只有空白
+     */
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = markdown.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断文档是否可以切分
+     *
+     * 出现链接引用定义、以"<"开头的行或非顶格的围栏时返回false。
+     *
+     * @param markdown Markdown文本
+     * @return 可以切分返回true
+     */
+    private static boolean isSplittable(String markdown) {
+        int lineStart = 0;
+        int length = markdown.length();
+        while (lineStart < length) {
+            int lineEnd = markdown.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int i = lineStart;
+            while (i < lineEnd && (markdown.charAt(i) == ' ' || markdown.charAt(i) == '\t' || markdown.charAt(i) == '>')) {
+                i++;
+            }
+            if (i < lineEnd) {
+                char c = markdown.charAt(i);
+                if (c == '<') {
+                    return false;
+                }
+                if (c == '[' && indexOf(markdown, "]:", i, lineEnd) >= 0) {
+                    return false;
+                }
+                if ((c == '`' || c == '~') && i > lineStart && markdown.startsWith(String.valueOf(c).repeat(3), i)) {
+                    return false;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return true;
+    }
+
+    /**
+     * 在一行内查找字符串
+     *
+     * 只扫描到行尾，找不到时不会继续扫描文档的剩余部分。
+     *
+     * @param text 文档
+     * @param target 要查找的字符串
+     * @param from 开始位置
+     * @param end 行尾（不含换行符），target必须完整位于该位置之前
+     * @return 第一次出现的位置，没有时返回-1
+     */
+    private static int indexOf(String text, String target, int from, int end) {
+        for (int i = from; i + target.length() <= end; i++) {
+            if (text.startsWith(target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
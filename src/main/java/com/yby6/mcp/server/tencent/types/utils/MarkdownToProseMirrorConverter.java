@@ -1,230 +1,341 @@
 package com.yby6.mcp.server.tencent.types.utils;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.commonmark.node.*;
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
-import org.commonmark.renderer.text.TextContentRenderer;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Markdown到ProseMirror格式转换器
- * 
+ *
  * 该工具类用于将Markdown格式的文本转换为ProseMirror编辑器可用的JSON格式。
  * ProseMirror是一个富文本编辑器框架，需要特定的JSON结构来表示文档内容。
- * 
+ *
  * 主要功能：
  * 1. 解析Markdown文本为AST（抽象语法树）
  * 2. 将AST转换为ProseMirror格式的JSON
- * 3. 支持段落、文本、标题等基本元素的转换
- * 
+ * 3. 支持CommonMark全部节点及GFM表格、删除线、自动链接、任务列表
+ *
  * 技术特点：
  * - 使用commonmark-java库解析Markdown
  * - 使用Jackson处理JSON
- * - 采用递归方式处理文档树结构
- * 
+ * - 基于访问者模式单次遍历文档树，节点映射见{@link ProseMirrorNodeWriter}
+ * - 直接写入JsonGenerator，不构建中间的JSON树
+ * - 段落id的生成策略可通过{@link BlockIdGenerator}替换
+ * - 相邻的同标记文本合并为一个节点，可通过{@link ProseMirrorOptions}省略段落的默认attrs
+ *
  * 使用示例：
  * ```java
  * String markdown = "# 标题\n这是一段文本";
  * String proseMirrorJson = MarkdownToProseMirrorConverter.convert(markdown);
+ *
+ * // 大文档直接写入输出流，避免生成完整字符串
+ * MarkdownToProseMirrorConverter.convert(markdown, outputStream);
+ *
+ * // 使用确定性id，相同的输入总是得到相同的输出
+ * MarkdownToProseMirrorConverter.convert(markdown, BlockIdGenerator.deterministic());
+ *
+ * // 大文档在多核上并行转换，输出与顺序转换一致
+ * MarkdownToProseMirrorConverter.convertParallel(markdown, BlockIdGenerator.deterministic(), ForkJoinPool.commonPool());
  * ```
- * 
+ *
  * 注意事项：
  * 1. 输入必须是有效的Markdown格式
  * 2. 转换过程可能抛出RuntimeException
  * 3. 输出是符合ProseMirror规范的JSON字符串
- * 
+ *
  * @author yby6
  * @version 1.0.0
  * @since 2024/03/21
  */
 public class MarkdownToProseMirrorConverter {
-    /** 
+    /**
      * JSON对象映射器
-     * 用于创建和操作JSON节点，处理JSON序列化和反序列化
+     * 用于获取JsonGenerator工厂，保证输出格式与Jackson序列化一致
      */
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    
-    /** 
+
+    /**
+     * GFM扩展
+     * 表格、删除线、自动链接和任务列表
+     */
+    private static final List<Extension> extensions = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create(),
+            AutolinkExtension.create(),
+            TaskListItemsExtension.create());
+
+    /**
      * Markdown解析器
      * 用于将Markdown文本解析为AST（抽象语法树）
-     * 使用commonmark-java库的Parser实现
+     * 使用commonmark-java库的Parser实现，并启用GFM扩展
      */
-    private static final Parser parser = Parser.builder().build();
-    
-    /** 
-     * 文本渲染器
-     * 用于将AST节点渲染为纯文本
-     * 主要用于调试和日志记录
+    private static final Parser parser = Parser.builder().extensions(extensions).build();
+
+    /**
+     * 流式转换时每次解析的最少字符数
      */
-    private static final TextContentRenderer textRenderer = TextContentRenderer.builder().build();
-    
+    private static final int READER_CHUNK_CHARS = 32 * 1024;
+
     /**
      * 私有构造函数
-     * 
+     *
      * 防止工具类被实例化，所有方法都是静态的。
      * 符合工具类的最佳实践。
      */
     private MarkdownToProseMirrorConverter() {
         // 私有构造函数，防止实例化
     }
-    
+
     /**
      * 将Markdown文本转换为ProseMirror格式
-     * 
+     *
      * 该方法执行以下步骤：
      * 1. 解析Markdown文本为AST
-     * 2. 创建ProseMirror文档结构
-     * 3. 递归处理AST节点
-     * 4. 返回JSON字符串
-     * 
+     * 2. 遍历AST，直接写出ProseMirror文档结构
+     * 3. 返回JSON字符串
+     *
      * 转换过程：
-     * - 首先创建文档根节点
-     * - 然后递归处理所有子节点
-     * - 最后将结果序列化为JSON字符串
-     * 
+     * - 首先写出文档根节点
+     * - 然后由访问者依次写出所有子节点
+     * - 不构建中间的JSON树，文档在内存中只保留一份
+     *
      * 错误处理：
      * - 捕获所有可能的异常
      * - 将异常包装为RuntimeException
      * - 提供详细的错误信息
-     * 
+     *
      * @param markdown 要转换的Markdown文本，不能为null
      * @return ProseMirror格式的JSON字符串
      * @throws RuntimeException 当转换过程中发生错误时抛出
      */
     public static String convert(String markdown) {
+        return convert(markdown, BlockIdGenerator.random());
+    }
+
+    /**
+     * 使用指定的段落id生成策略将Markdown文本转换为ProseMirror格式
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param idGenerator 段落id生成策略，不能为null
+     * @return ProseMirror格式的JSON字符串
+     * @throws RuntimeException 当转换过程中发生错误时抛出
+     */
+    public static String convert(String markdown, BlockIdGenerator idGenerator) {
+        return convert(markdown, ProseMirrorOptions.of(idGenerator));
+    }
+
+    /**
+     * 使用指定的转换选项将Markdown文本转换为ProseMirror格式
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param options 转换选项，不能为null
+     * @return ProseMirror格式的JSON字符串
+     * @throws RuntimeException 当转换过程中发生错误时抛出
+     */
+    public static String convert(String markdown, ProseMirrorOptions options) {
         try {
-            // 解析 Markdown
-            Node document = parser.parse(markdown);
-            
-            // 创建 ProseMirror 文档结构
-            ObjectNode doc = objectMapper.createObjectNode();
-            doc.put("type", "doc");
-            
-            ArrayNode content = objectMapper.createArrayNode();
-            doc.set("content", content);
-            
-            // 处理文档节点
-            processNode(document, content);
-            
-            return objectMapper.writeValueAsString(doc);
+            StringWriter writer = new StringWriter(markdown.length() * 2 + 64);
+            convert(markdown, writer, options);
+            return writer.toString();
         } catch (Exception e) {
             throw new RuntimeException("转换失败", e);
         }
     }
-    
-    /**
-     * 处理AST节点并转换为ProseMirror格式
-     * 
-     * 该方法递归处理不同类型的节点：
-     * - 段落节点：创建段落结构
-     * - 文本节点：创建文本内容
-     * - 标题节点：创建标题结构
-     * - 其他节点：递归处理子节点
-     * 
-     * 节点处理流程：
-     * 1. 判断节点类型
-     * 2. 创建对应的ProseMirror节点
-     * 3. 设置节点属性
-     * 4. 递归处理子节点
-     * 
-     * @param node 要处理的AST节点，不能为null
-     * @param content 用于存储转换结果的JSON数组节点，不能为null
-     */
-    private static void processNode(Node node, ArrayNode content) {
-        if (node instanceof Paragraph) {
-            // 处理段落
-            ObjectNode paragraph = createParagraphNode();
-            ArrayNode paragraphContent = objectMapper.createArrayNode();
-            paragraph.set("content", paragraphContent);
-            
-            // 处理段落内的子节点
-            Node child = node.getFirstChild();
-            while (child != null) {
-                processNode(child, paragraphContent);
-                child = child.getNext();
-            }
-            
-            content.add(paragraph);
-        } else if (node instanceof Text) {
-            // 处理文本节点
-            ObjectNode text = objectMapper.createObjectNode();
-            text.put("type", "text");
-            text.put("text", ((Text) node).getLiteral());
-            content.add(text);
-        } else if (node instanceof Heading) {
-            // 处理标题
-            ObjectNode heading = objectMapper.createObjectNode();
-            heading.put("type", "heading");
-            
-            ObjectNode attrs = objectMapper.createObjectNode();
-            attrs.put("level", ((Heading) node).getLevel());
-            heading.set("attrs", attrs);
-            
-            ArrayNode headingContent = objectMapper.createArrayNode();
-            heading.set("content", headingContent);
-            
-            // 处理标题内的子节点
-            Node child = node.getFirstChild();
-            while (child != null) {
-                processNode(child, headingContent);
-                child = child.getNext();
-            }
-            
-            content.add(heading);
-        } else {
-            // 处理其他类型的节点
-            Node child = node.getFirstChild();
-            while (child != null) {
-                processNode(child, content);
-                child = child.getNext();
-            }
+
+    /**
+     * 将Markdown文本以流式方式转换并写入字符输出流
+     *
+     * 遍历AST时直接写入JsonGenerator，输出与{@link #convert(String)}逐字节一致。
+     * 该方法不会关闭传入的writer。
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param writer 目标字符输出流，不能为null
+     * @throws IOException 当写入输出流失败时抛出
+     */
+    public static void convert(String markdown, Writer writer) throws IOException {
+        convert(markdown, writer, BlockIdGenerator.random());
+    }
+
+    /**
+     * 使用指定的段落id生成策略以流式方式转换并写入字符输出流
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param writer 目标字符输出流，不能为null
+     * @param idGenerator 段落id生成策略，不能为null
+     * @throws IOException 当写入输出流失败时抛出
+     */
+    public static void convert(String markdown, Writer writer, BlockIdGenerator idGenerator) throws IOException {
+        convert(markdown, writer, ProseMirrorOptions.of(idGenerator));
+    }
+
+    /**
+     * 使用指定的转换选项以流式方式转换并写入字符输出流
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param writer 目标字符输出流，不能为null
+     * @param options 转换选项，不能为null
+     * @throws IOException 当写入输出流失败时抛出
+     */
+    public static void convert(String markdown, Writer writer, ProseMirrorOptions options) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeDocument(parser.parse(markdown), generator, options);
+        }
+    }
+
+    /**
+     * 将Markdown文本以流式方式转换并以UTF-8写入字节输出流
+     *
+     * 适用于直接写入HTTP请求体或文件的场景，不会生成完整的JSON字符串。
+     * 该方法不会关闭传入的outputStream。
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param outputStream 目标字节输出流，不能为null
+     * @throws IOException 当写入输出流失败时抛出
+     */
+    public static void convert(String markdown, OutputStream outputStream) throws IOException {
+        convert(markdown, outputStream, BlockIdGenerator.random());
+    }
+
+    /**
+     * 使用指定的段落id生成策略以流式方式转换并以UTF-8写入字节输出流
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param outputStream 目标字节输出流，不能为null
+     * @param idGenerator 段落id生成策略，不能为null
+     * @throws IOException 当写入输出流失败时抛出
+     */
+    public static void convert(String markdown, OutputStream outputStream, BlockIdGenerator idGenerator) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeDocument(parser.parse(markdown), generator, ProseMirrorOptions.of(idGenerator));
+        }
+    }
+
+    /**
+     * 在线程池上并行转换Markdown文本
+     *
+     * 文档按顶层块切分为若干段，各段的解析和写出在线程池上并行执行，
+     * 再按顺序拼接。使用确定性id时输出与{@link #convert(String, BlockIdGenerator)}逐字符一致。
+     * 只对较大的文档有收益，是否使用由调用方按文档大小决定。
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param idGenerator 段落id生成策略，不能为null
+     * @param pool 执行转换的线程池，不能为null
+     * @return ProseMirror格式的JSON字符串
+     * @throws RuntimeException 当转换过程中发生错误时抛出
+     */
+    public static String convertParallel(String markdown, BlockIdGenerator idGenerator, ForkJoinPool pool) {
+        return convertParallel(markdown, ProseMirrorOptions.of(idGenerator), pool);
+    }
+
+    /**
+     * 使用指定的转换选项在线程池上并行转换Markdown文本
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param options 转换选项，不能为null
+     * @param pool 执行转换的线程池，不能为null
+     * @return ProseMirror格式的JSON字符串
+     * @throws RuntimeException 当转换过程中发生错误时抛出
+     */
+    public static String convertParallel(String markdown, ProseMirrorOptions options, ForkJoinPool pool) {
+        try {
+            return new ParallelProseMirrorConverter(parser, objectMapper.getFactory(), pool).convert(markdown, options);
+        } catch (Exception e) {
+            throw new RuntimeException("转换失败", e);
         }
     }
-    
-    /**
-     * 创建段落节点
-     * 
-     * 创建具有以下属性的段落节点：
-     * - 唯一ID：使用UUID生成
-     * - 文本对齐方式：默认为inherit
-     * - 缩进级别：默认为0
-     * - 文本颜色：默认为null
-     * - 背景颜色：默认为null
-     * - 拖拽句柄状态：默认为false
-     * 
-     * 节点结构：
-     * ```json
-     * {
-     *   "type": "paragraph",
-     *   "attrs": {
-     *     "id": "uuid",
-     *     "textAlign": "inherit",
-     *     "indent": 0,
-     *     "color": null,
-     *     "background": null,
-     *     "isHoverDragHandle": false
-     *   }
-     * }
-     * ```
-     * 
-     * @return 配置好的段落节点
-     */
-    private static ObjectNode createParagraphNode() {
-        ObjectNode paragraph = objectMapper.createObjectNode();
-        paragraph.put("type", "paragraph");
-        
-        ObjectNode attrs = objectMapper.createObjectNode();
-        attrs.put("id", UUID.randomUUID().toString());
-        attrs.put("textAlign", "inherit");
-        attrs.put("indent", 0);
-        attrs.put("color", (String) null);
-        attrs.put("background", (String) null);
-        attrs.put("isHoverDragHandle", false);
-        
-        paragraph.set("attrs", attrs);
-        return paragraph;
+
+    /**
+     * 以字符输入流的形式按顶层块逐个生成ProseMirror JSON
+     *
+     * 适用于超大文档：Markdown分段解析，读取方取走一个块的字符后才转换下一个块，
+     * 内存中除原文外只保留一段的AST和最大的单个块。读取结果与{@link #convert(String, BlockIdGenerator)}一致。
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param idGenerator 段落id生成策略，不能为null
+     * @return ProseMirror JSON的字符输入流，第一次读取时才解析Markdown
+     */
+    public static Reader reader(String markdown, BlockIdGenerator idGenerator) {
+        return reader(markdown, ProseMirrorOptions.of(idGenerator));
+    }
+
+    /**
+     * 使用指定的转换选项以字符输入流的形式按顶层块逐个生成ProseMirror JSON
+     *
+     * @param markdown 要转换的Markdown文本，不能为null
+     * @param options 转换选项，不能为null
+     * @return ProseMirror JSON的字符输入流，第一次读取时才解析Markdown
+     */
+    public static Reader reader(String markdown, ProseMirrorOptions options) {
+        return reader(markdown, options, READER_CHUNK_CHARS);
+    }
+
+    /**
+     * 以指定的分段大小按顶层块逐个生成ProseMirror JSON
+     *
+     * @param markdown 要转换的Markdown文本
+     * @param options 转换选项
+     * @param chunkChars 每次解析的最少字符数
+     * @return ProseMirror JSON的字符输入流
+     */
+    static Reader reader(String markdown, ProseMirrorOptions options, int chunkChars) {
+        return new ProseMirrorBlockReader(parser, markdown, chunkChars, objectMapper.getFactory(), options);
+    }
+
+    /**
+     * 创建增量转换器
+     *
+     * 适用于分多次到达的文档：每次追加后立即转换已经可以确定的部分，
+     * 结束时的结果与{@link #convert(String, ProseMirrorOptions)}一致。
+     *
+     * @param options 转换选项，不能为null
+     * @return 增量转换器
+     */
+    public static IncrementalProseMirrorConverter incremental(ProseMirrorOptions options) {
+        return incremental(options, READER_CHUNK_CHARS);
+    }
+
+    /**
+     * 以指定的分段大小创建增量转换器
+     *
+     * @param options 转换选项
+     * @param chunkChars 每次解析的最少字符数
+     * @return 增量转换器
+     */
+    static IncrementalProseMirrorConverter incremental(ProseMirrorOptions options, int chunkChars) {
+        return new IncrementalProseMirrorConverter(parser, objectMapper.getFactory(), options, chunkChars);
+    }
+
+    /**
+     * 写出ProseMirror文档
+     *
+     * @param document Markdown文档的AST根节点
+     * @param generator JSON生成器
+     * @param options 转换选项
+     * @throws IOException 当写入失败时抛出
+     */
+    private static void writeDocument(Node document, JsonGenerator generator, ProseMirrorOptions options) throws IOException {
+        try {
+            document.accept(new ProseMirrorNodeWriter(generator, options));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 }
@@ -0,0 +1,243 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 按顶层块并行的ProseMirror转换
+ *
+ * 将文档切分为若干段连续的顶层块，在ForkJoinPool上分两个阶段处理：
+ * 1. 解析各段并统计每段需要id的块数
+ * 2. 根据前缀和得到每段第一个id的序号，各段独立写出JSON片段
+ *
+ * 最后按顺序拼接片段。使用确定性id时输出与顺序转换逐字符一致。
+ *
+ * 切分方式：
+ * - 可以切分的文档由{@link MarkdownChunker}在文本上切分，解析也并行进行
+ * - 不能切分的文档整篇解析后按顶层节点的个数切分，只有写出阶段并行
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+final class ParallelProseMirrorConverter {
+
+    /** 每段的最少字符数，段过小时调度开销超过收益 */
+    private static final int MIN_RANGE_CHARS = 16 * 1024;
+
+    /** 每个线程平均分到的段数，多切几段以平衡各段的耗时差异 */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /** Markdown解析器 */
+    private final Parser parser;
+
+    /** JSON生成器工厂 */
+    private final JsonFactory jsonFactory;
+
+    /** 执行转换的线程池 */
+    private final ForkJoinPool pool;
+
+    /**
+     * 创建并行转换器
+     *
+     * @param parser Markdown解析器
+     * @param jsonFactory JSON生成器工厂
+     * @param pool 执行转换的线程池
+     */
+    ParallelProseMirrorConverter(Parser parser, JsonFactory jsonFactory, ForkJoinPool pool) {
+        this.parser = parser;
+        this.jsonFactory = jsonFactory;
+        this.pool = pool;
+    }
+
+    /**
+     * 转换Markdown文本
+     *
+     * @param markdown Markdown文本
+     * @param options 转换选项
+     * @return ProseMirror格式的JSON字符串
+     * @throws IOException 当写入失败时抛出
+     */
+    String convert(String markdown, ProseMirrorOptions options) throws IOException {
+        int rangeCount = pool.getParallelism() * RANGES_PER_THREAD;
+        List<Range> ranges = split(markdown, rangeCount);
+
+        invokeAll(ranges, Range::parse);
+        int position = 0;
+        for (Range range : ranges) {
+            range.firstBlockPosition = position;
+            position += range.blockCount;
+        }
+        invokeAll(ranges, range -> range.write(options));
+
+        StringWriter writer = new StringWriter(ranges.stream().mapToInt(range -> range.json.length() + 1).sum() + 32);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            ProseMirrorNodeWriter nodeWriter = new ProseMirrorNodeWriter(generator, options);
+            nodeWriter.startDocument();
+            generator.flush();
+            boolean first = true;
+            for (Range range : ranges) {
+                if (range.json.isEmpty()) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(range.json);
+                first = false;
+            }
+            nodeWriter.endDocument();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 将文档切分为若干段
+     *
+     * @param markdown Markdown文本
+     * @param rangeCount 期望的段数
+     * @return 按文档顺序排列的段
+     */
+    private List<Range> split(String markdown, int rangeCount) {
+        List<Range> ranges = new ArrayList<>();
+        MarkdownChunker chunker = new MarkdownChunker(markdown, Math.max(MIN_RANGE_CHARS, markdown.length() / rangeCount));
+        if (chunker.isSplittable()) {
+            while (chunker.hasNext()) {
+                ranges.add(new Range(chunker.next()));
+            }
+            return ranges;
+        }
+        List<Node> blocks = new ArrayList<>();
+        for (Node node = parser.parse(markdown).getFirstChild(); node != null; node = node.getNext()) {
+            blocks.add(node);
+        }
+        int size = Math.max(1, (blocks.size() + rangeCount - 1) / rangeCount);
+        for (int from = 0; from < blocks.size(); from += size) {
+            ranges.add(new Range(blocks.subList(from, Math.min(blocks.size(), from + size))));
+        }
+        return ranges;
+    }
+
+    /**
+     * 在线程池上处理所有段并等待完成
+     *
+     * @param ranges 要处理的段
+     * @param action 对每段执行的操作
+     * @throws IOException 当某一段写入失败时抛出
+     */
+    private void invokeAll(List<Range> ranges, RangeAction action) throws IOException {
+        List<Callable<Void>> tasks = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            tasks.add(() -> {
+                action.apply(range);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("转换被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 对一段执行的操作
+     */
+    @FunctionalInterface
+    private interface RangeAction {
+
+        void apply(Range range) throws IOException;
+    }
+
+    /**
+     * 一段连续的顶层块
+     */
+    private final class Range {
+
+        /** 尚未解析的Markdown文本，解析后置为null */
+        private String markdown;
+
+        /** 该段的顶层块 */
+        private List<Node> blocks;
+
+        /** 该段需要id的块数 */
+        private int blockCount;
+
+        /** 该段第一个需要id的块在文档中的序号 */
+        private int firstBlockPosition;
+
+        /** 该段的JSON片段，多个块之间以逗号分隔 */
+        private String json;
+
+        Range(String markdown) {
+            this.markdown = markdown;
+        }
+
+        Range(List<Node> blocks) {
+            this.blocks = blocks;
+        }
+
+        /**
+         * 解析该段并统计需要id的块数
+         */
+        void parse() {
+            if (markdown != null) {
+                blocks = new ArrayList<>();
+                for (Node node = parser.parse(markdown).getFirstChild(); node != null; node = node.getNext()) {
+                    blocks.add(node);
+                }
+                markdown = null;
+            }
+            for (Node block : blocks) {
+                blockCount += ProseMirrorNodeWriter.countIdBlocks(block);
+            }
+        }
+
+        /**
+         * 写出该段的JSON片段
+         *
+         * @param options 转换选项
+         * @throws IOException 当写入失败时抛出
+         */
+        void write(ProseMirrorOptions options) throws IOException {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+                // 各块作为根级值写出，以逗号代替默认的空格分隔
+                generator.setRootValueSeparator(new SerializedString(","));
+                ProseMirrorNodeWriter nodeWriter = new ProseMirrorNodeWriter(generator, options, firstBlockPosition);
+                for (Node block : blocks) {
+                    block.accept(nodeWriter);
+                }
+            }
+            json = writer.toString();
+            blocks = null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * 按顶层块逐个生成ProseMirror JSON的字符输入流
+ *
+ * 读取方每次取走缓冲区中的字符后，才转换下一个顶层块，
+ * 因此缓冲区的大小取决于最大的单个块，而不是整个文档。
+ * Markdown由{@link MarkdownChunker}切分后逐段解析，同一时刻只保留一段的AST，
+ * 已经写出的块会从AST中摘除。
+ *
+ * 读取到的字符与{@link MarkdownToProseMirrorConverter#convert(String, ProseMirrorOptions)}的结果逐字符一致。
+ * 第一次读取时才开始解析。该类不是线程安全的。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+final class ProseMirrorBlockReader extends Reader {
+
+    /** Markdown解析器 */
+    private final Parser parser;
+
+    /** Markdown分段器 */
+    private final MarkdownChunker chunker;
+
+    /** JSON生成器工厂 */
+    private final JsonFactory jsonFactory;
+
+    /** 转换选项 */
+    private final ProseMirrorOptions options;
+
+    /** 已生成但尚未被读取的字符 */
+    private final BlockBuffer buffer = new BlockBuffer();
+
+    /** JSON生成器，写入缓冲区 */
+    private JsonGenerator generator;
+
+    /** 节点写出器 */
+    private ProseMirrorNodeWriter nodeWriter;
+
+    /** 下一个要写出的顶层块，null表示当前段的顶层块已全部写出 */
+    private Node next;
+
+    /** 文档是否已全部写出 */
+    private boolean finished;
+
+    /**
+     * 创建字符输入流
+     *
+     * @param parser Markdown解析器
+     * @param markdown Markdown文本
+     * @param chunkChars 每次解析的最少字符数
+     * @param jsonFactory JSON生成器工厂
+     * @param options 转换选项
+     */
+    ProseMirrorBlockReader(Parser parser, String markdown, int chunkChars, JsonFactory jsonFactory,
+                           ProseMirrorOptions options) {
+        this.parser = parser;
+        this.chunker = new MarkdownChunker(markdown, chunkChars);
+        this.jsonFactory = jsonFactory;
+        this.options = options;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (buffer.available() == 0) {
+            if (finished) {
+                return -1;
+            }
+            fill();
+        }
+        return buffer.drainTo(cbuf, off, len);
+    }
+
+    /**
+     * 生成下一段字符
+     *
+     * 第一次调用时写出文档开始部分，之后每次写出一个顶层块，
+     * 当前段的顶层块写完后解析下一段，全部写出后写出文档结束部分。
+     *
+     * @throws IOException 当写入失败时抛出
+     */
+    private void fill() throws IOException {
+        try {
+            if (generator == null) {
+                generator = jsonFactory.createGenerator(buffer);
+                nodeWriter = new ProseMirrorNodeWriter(generator, options);
+                nodeWriter.startDocument();
+            } else if (next == null && chunker.hasNext()) {
+                next = parser.parse(chunker.next()).getFirstChild();
+                return;
+            } else if (next != null) {
+                Node block = next;
+                next = block.getNext();
+                block.accept(nodeWriter);
+                block.unlink();
+            } else {
+                nodeWriter.endDocument();
+                generator.close();
+                finished = true;
+                return;
+            }
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() {
+        next = null;
+        finished = true;
+    }
+
+    /**
+     * 可反复使用的字符缓冲区
+     *
+     * 作为JsonGenerator的写入目标，字符全部被读取后从头复用，容量只增不减。
+     */
+    private static final class BlockBuffer extends Writer {
+
+        /** 字符 */
+        private char[] chars = new char[8192];
+
+        /** 已写入的字符数 */
+        private int count;
+
+        /** 已读取的字符数 */
+        private int position;
+
+        /**
+         * 获取尚未读取的字符数
+         *
+         * @return 字符数
+         */
+        int available() {
+            return count - position;
+        }
+
+        /**
+         * 读取字符，缓冲区读空后重置
+         *
+         * @param cbuf 目标数组
+         * @param off 起始位置
+         * @param len 最多读取的字符数
+         * @return 实际读取的字符数
+         */
+        int drainTo(char[] cbuf, int off, int len) {
+            int n = Math.min(len, available());
+            System.arraycopy(chars, position, cbuf, off, n);
+            position += n;
+            if (position == count) {
+                position = 0;
+                count = 0;
+            }
+            return n;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            if (count + len > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, count + len));
+            }
+            System.arraycopy(cbuf, off, chars, count, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            if (count + len > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, count + len));
+            }
+            str.getChars(off, off + len, chars, count);
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
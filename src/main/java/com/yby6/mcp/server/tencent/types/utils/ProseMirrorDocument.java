@@ -0,0 +1,103 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * ProseMirror文档值对象
+ *
+ * 该类封装了一段Markdown文本及其对应的ProseMirror格式JSON。
+ * 转换结果采用延迟计算的方式：只有在第一次读取时才会执行转换，
+ * 之后所有读取方（DTO的getter、日志、HTTP序列化）共享同一份结果。
+ *
+ * 主要功能：
+ * 1. 保证同一份Markdown在一次发布中只转换一次
+ * 2. 转换过程线程安全，并发读取不会重复转换
+ * 3. 转换结果不可变，可以安全地在多个对象之间共享
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class ProseMirrorDocument {
+
+    /** 原始Markdown文本 */
+    private final String markdown;
+
+    /** Markdown到ProseMirror的转换函数 */
+    private final Function<String, String> converter;
+
+    /** 转换后的ProseMirror JSON，首次读取时计算 */
+    private volatile String json;
+
+    /**
+     * 私有构造函数
+     *
+     * @param markdown 原始Markdown文本
+     * @param converter 转换函数
+     */
+    private ProseMirrorDocument(String markdown, Function<String, String> converter) {
+        this.markdown = markdown;
+        this.converter = converter;
+    }
+
+    /**
+     * 使用默认转换器创建文档
+     *
+     * @param markdown 原始Markdown文本，不能为null
+     * @return 延迟转换的文档对象
+     */
+    public static ProseMirrorDocument of(String markdown) {
+        return of(markdown, MarkdownToProseMirrorConverter::convert);
+    }
+
+    /**
+     * 使用指定转换器创建文档
+     *
+     * @param markdown 原始Markdown文本，不能为null
+     * @param converter 转换函数，不能为null
+     * @return 延迟转换的文档对象
+     */
+    public static ProseMirrorDocument of(String markdown, Function<String, String> converter) {
+        return new ProseMirrorDocument(Objects.requireNonNull(markdown, "markdown"),
+                Objects.requireNonNull(converter, "converter"));
+    }
+
+    /**
+     * 获取原始Markdown文本
+     *
+     * @return Markdown文本
+     */
+    public String getMarkdown() {
+        return markdown;
+    }
+
+    /**
+     * 获取ProseMirror格式的JSON
+     *
+     * 第一次调用时执行转换，后续调用直接返回缓存的结果。
+     *
+     * @return ProseMirror格式的JSON字符串
+     */
+    public String getJson() {
+        String result = json;
+        if (result == null) {
+            synchronized (this) {
+                result = json;
+                if (result == null) {
+                    result = converter.apply(markdown);
+                    json = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断是否已经完成转换
+     *
+     * @return 已转换返回true
+     */
+    public boolean isConverted() {
+        return json != null;
+    }
+}
@@ -0,0 +1,138 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * ProseMirror文档中的图片节点
+ *
+ * 以流式方式读取{@link MarkdownToProseMirrorConverter}生成的JSON，
+ * 收集image节点的src，或者在复制JSON的同时替换src，不构建完整的对象树。
+ * 其余内容（段落id、文本、其他attrs）按原样复制，替换前后的文档结构完全一致。
+ *
+ * 依赖转换器的写出顺序：节点对象中type字段写在attrs之前。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class ProseMirrorImages {
+
+    /** JSON工厂，线程安全，所有调用共享 */
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /** 图片节点的类型 */
+    private static final String IMAGE_TYPE = "image";
+
+    /**
+     * 私有构造函数
+     *
+     * 防止工具类被实例化，所有方法都是静态的。
+     */
+    private ProseMirrorImages() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 判断Markdown中是否可能包含图片
+     *
+     * 只检查图片语法的起始标记，用于跳过没有图片的文章，不需要解析。
+     *
+     * @param markdown Markdown文本，可以为null
+     * @return 可能包含图片时返回true
+     */
+    public static boolean mayContainImages(String markdown) {
+        return markdown != null && markdown.contains("![");
+    }
+
+    /**
+     * 收集文档中所有图片的src
+     *
+     * @param json ProseMirror JSON
+     * @return 按出现顺序排列的不重复src
+     */
+    public static Set<String> sources(String json) {
+        Set<String> sources = new LinkedHashSet<>();
+        copy(json, null, src -> {
+            sources.add(src);
+            return src;
+        });
+        return sources;
+    }
+
+    /**
+     * 替换文档中图片的src
+     *
+     * @param json ProseMirror JSON
+     * @param replacements 原src到新src的映射，不在映射中的src保持不变
+     * @return 替换后的ProseMirror JSON，映射为空时返回原字符串
+     */
+    public static String rewrite(String json, Map<String, String> replacements) {
+        if (replacements.isEmpty()) {
+            return json;
+        }
+        StringWriter writer = new StringWriter(json.length() + 64);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            copy(json, generator, src -> replacements.getOrDefault(src, src));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 遍历JSON，对每个图片节点的src调用替换函数
+     *
+     * @param json ProseMirror JSON
+     * @param generator 复制的目标，为null时只遍历
+     * @param replace 替换函数
+     */
+    private static void copy(String json, JsonGenerator generator, UnaryOperator<String> replace) {
+        // 每层对象的状态：0普通对象，1图片节点，2图片节点的attrs
+        Deque<Integer> objects = new ArrayDeque<>();
+        int state = 0;
+        String field = null;
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT -> {
+                        objects.push(state);
+                        state = state == 1 && "attrs".equals(field) ? 2 : 0;
+                    }
+                    case END_OBJECT -> state = objects.pop();
+                    case FIELD_NAME -> field = parser.currentName();
+                    case VALUE_STRING -> {
+                        if (state == 0 && "type".equals(field) && IMAGE_TYPE.equals(parser.getText())) {
+                            state = 1;
+                        } else if (state == 2 && "src".equals(field)) {
+                            String src = replace.apply(parser.getText());
+                            if (generator != null) {
+                                generator.writeString(src);
+                            }
+                            continue;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                if (generator != null) {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,699 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.commonmark.ext.gfm.strikethrough.Strikethrough;
+import org.commonmark.ext.gfm.tables.TableBlock;
+import org.commonmark.ext.gfm.tables.TableCell;
+import org.commonmark.ext.gfm.tables.TableRow;
+import org.commonmark.ext.task.list.items.TaskListItemMarker;
+import org.commonmark.node.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProseMirror节点写出器
+ *
+ * 基于commonmark的AbstractVisitor实现，单次遍历AST即可将所有
+ * CommonMark/GFM节点直接写入JsonGenerator。节点类型的分派依赖
+ * 访问者的虚方法调用，新增节点类型不会增加已有节点的转换开销。
+ *
+ * 节点映射规则：
+ * - 块级节点：paragraph、heading、blockquote、codeBlock、horizontalRule、
+ *   bulletList、orderedList、listItem、taskList、taskItem、
+ *   table、tableRow、tableHeader、tableCell
+ * - 行内节点：text、hardBreak、image
+ * - 文本标记：bold、italic、code、strike、link
+ *
+ * 相邻且文本标记相同的文本节点合并为一个，commonmark在标点和特殊字符处
+ * 拆分出的多个Text节点只写出一个text对象，空文本不写出。
+ *
+ * 访问者接口的方法不能抛出受检异常，写入失败时以UncheckedIOException抛出，
+ * 由{@link MarkdownToProseMirrorConverter}负责还原为IOException。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+class ProseMirrorNodeWriter extends AbstractVisitor {
+
+    /** 预先编码的字段名，避免每个节点重复编码 */
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString ATTRS = new SerializedString("attrs");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString MARKS = new SerializedString("marks");
+    private static final SerializableString TEXT = new SerializedString("text");
+    private static final SerializableString LEVEL = new SerializedString("level");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString START = new SerializedString("start");
+    private static final SerializableString LANGUAGE = new SerializedString("language");
+    private static final SerializableString CHECKED = new SerializedString("checked");
+    private static final SerializableString SRC = new SerializedString("src");
+    private static final SerializableString ALT = new SerializedString("alt");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString HREF = new SerializedString("href");
+
+    /** 预先编码的节点类型 */
+    private static final SerializableString DOC_TYPE = new SerializedString("doc");
+    private static final SerializableString PARAGRAPH_TYPE = new SerializedString("paragraph");
+    private static final SerializableString HEADING_TYPE = new SerializedString("heading");
+    private static final SerializableString TEXT_TYPE = new SerializedString("text");
+    private static final SerializableString BLOCKQUOTE_TYPE = new SerializedString("blockquote");
+    private static final SerializableString CODE_BLOCK_TYPE = new SerializedString("codeBlock");
+    private static final SerializableString HORIZONTAL_RULE_TYPE = new SerializedString("horizontalRule");
+    private static final SerializableString BULLET_LIST_TYPE = new SerializedString("bulletList");
+    private static final SerializableString ORDERED_LIST_TYPE = new SerializedString("orderedList");
+    private static final SerializableString LIST_ITEM_TYPE = new SerializedString("listItem");
+    private static final SerializableString TASK_LIST_TYPE = new SerializedString("taskList");
+    private static final SerializableString TASK_ITEM_TYPE = new SerializedString("taskItem");
+    private static final SerializableString HARD_BREAK_TYPE = new SerializedString("hardBreak");
+    private static final SerializableString IMAGE_TYPE = new SerializedString("image");
+    private static final SerializableString TABLE_TYPE = new SerializedString("table");
+    private static final SerializableString TABLE_ROW_TYPE = new SerializedString("tableRow");
+    private static final SerializableString TABLE_HEADER_TYPE = new SerializedString("tableHeader");
+    private static final SerializableString TABLE_CELL_TYPE = new SerializedString("tableCell");
+
+    /** 预先编码的文本标记类型 */
+    private static final SerializableString BOLD_MARK = new SerializedString("bold");
+    private static final SerializableString ITALIC_MARK = new SerializedString("italic");
+    private static final SerializableString CODE_MARK = new SerializedString("code");
+    private static final SerializableString STRIKE_MARK = new SerializedString("strike");
+    private static final SerializableString LINK_MARK = new SerializedString("link");
+
+    /**
+     * 段落attrs中id之后的常量部分
+     * 字段顺序和取值固定，直接以原始JSON写出
+     */
+    private static final String PARAGRAPH_ATTRS_TAIL =
+            ",\"textAlign\":\"inherit\",\"indent\":0,\"color\":null,\"background\":null,\"isHoverDragHandle\":false";
+
+    /** 软换行在ProseMirror中以空格表示 */
+    private static final String SOFT_BREAK_TEXT = " ";
+
+    /** JSON生成器 */
+    private final JsonGenerator generator;
+
+    /** 段落id生成策略 */
+    private final BlockIdGenerator idGenerator;
+
+    /** 是否省略段落attrs中取默认值的字段 */
+    private final boolean omitDefaultAttrs;
+
+    /** 下一个需要id的块在文档中的序号 */
+    private int blockPosition;
+
+    /** 当前生效的文本标记，按嵌套顺序排列 */
+    private final List<Mark> marks = new ArrayList<>();
+
+    /** 尚未写出的文本的标记 */
+    private final List<Mark> pendingMarks = new ArrayList<>();
+
+    /** 尚未写出的第一段文本，只有一段时直接写出，不复制 */
+    private String pendingText;
+
+    /** 尚未写出的多段文本的拼接结果 */
+    private final StringBuilder pendingBuilder = new StringBuilder();
+
+    /**
+     * 创建节点写出器
+     *
+     * @param generator JSON生成器
+     * @param options 转换选项
+     */
+    ProseMirrorNodeWriter(JsonGenerator generator, ProseMirrorOptions options) {
+        this(generator, options, 0);
+    }
+
+    /**
+     * 从文档中间的某个位置开始写出节点
+     *
+     * 并行转换时每段使用独立的写出器，传入该段之前需要id的块数，
+     * 保证生成的id与顺序转换一致。
+     *
+     * @param generator JSON生成器
+     * @param options 转换选项
+     * @param firstBlockPosition 第一个需要id的块在文档中的序号
+     */
+    ProseMirrorNodeWriter(JsonGenerator generator, ProseMirrorOptions options, int firstBlockPosition) {
+        this.generator = generator;
+        this.idGenerator = options.idGenerator();
+        this.omitDefaultAttrs = options.omitDefaultAttrs();
+        this.blockPosition = firstBlockPosition;
+    }
+
+    /**
+     * 统计节点写出时需要id的块数
+     *
+     * 与{@link #startParagraph(Node)}的调用处保持一致：段落、HTML块和表格单元格各占一个序号。
+     *
+     * @param node AST节点
+     * @return 需要id的块数
+     */
+    static int countIdBlocks(Node node) {
+        IdBlockCounter counter = new IdBlockCounter();
+        node.accept(counter);
+        return counter.count;
+    }
+
+    @Override
+    public void visit(Document document) {
+        try {
+            startDocument();
+            visitChildren(document);
+            endDocument();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出文档根节点的开始部分，之后可以逐个写出顶层块
+     *
+     * @throws IOException 当写入失败时抛出
+     */
+    void startDocument() throws IOException {
+        generator.writeStartObject();
+        writeType(DOC_TYPE);
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+    }
+
+    /**
+     * 写出文档根节点的结束部分
+     *
+     * @throws IOException 当写入失败时抛出
+     */
+    void endDocument() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void visit(Paragraph paragraph) {
+        try {
+            startParagraph(paragraph);
+            visitChildren(paragraph);
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(Heading heading) {
+        try {
+            generator.writeStartObject();
+            writeType(HEADING_TYPE);
+            generator.writeFieldName(ATTRS);
+            generator.writeStartObject();
+            generator.writeFieldName(LEVEL);
+            generator.writeNumber(heading.getLevel());
+            generator.writeEndObject();
+            startContent();
+            visitChildren(heading);
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(BlockQuote blockQuote) {
+        writeContainer(BLOCKQUOTE_TYPE, blockQuote);
+    }
+
+    @Override
+    public void visit(BulletList bulletList) {
+        writeContainer(isTaskList(bulletList) ? TASK_LIST_TYPE : BULLET_LIST_TYPE, bulletList);
+    }
+
+    @Override
+    public void visit(OrderedList orderedList) {
+        try {
+            generator.writeStartObject();
+            writeType(ORDERED_LIST_TYPE);
+            generator.writeFieldName(ATTRS);
+            generator.writeStartObject();
+            generator.writeFieldName(START);
+            generator.writeNumber(orderedList.getStartNumber());
+            generator.writeEndObject();
+            startContent();
+            visitChildren(orderedList);
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(ListItem listItem) {
+        try {
+            generator.writeStartObject();
+            if (listItem.getFirstChild() instanceof TaskListItemMarker) {
+                writeType(TASK_ITEM_TYPE);
+                generator.writeFieldName(ATTRS);
+                generator.writeStartObject();
+                generator.writeFieldName(CHECKED);
+                generator.writeBoolean(((TaskListItemMarker) listItem.getFirstChild()).isChecked());
+                generator.writeEndObject();
+            } else {
+                writeType(LIST_ITEM_TYPE);
+            }
+            startContent();
+            visitChildren(listItem);
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(FencedCodeBlock fencedCodeBlock) {
+        writeCodeBlock(language(fencedCodeBlock.getInfo()), fencedCodeBlock.getLiteral());
+    }
+
+    @Override
+    public void visit(IndentedCodeBlock indentedCodeBlock) {
+        writeCodeBlock(null, indentedCodeBlock.getLiteral());
+    }
+
+    @Override
+    public void visit(HtmlBlock htmlBlock) {
+        // 原始HTML块保留为纯文本段落，避免内容丢失
+        try {
+            startParagraph(htmlBlock);
+            writeText(stripTrailingNewline(htmlBlock.getLiteral()));
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(ThematicBreak thematicBreak) {
+        writeLeaf(HORIZONTAL_RULE_TYPE);
+    }
+
+    @Override
+    public void visit(LinkReferenceDefinition linkReferenceDefinition) {
+        // 链接引用定义已在解析阶段应用到链接节点上，本身不产生内容
+    }
+
+    @Override
+    public void visit(Text text) {
+        writeText(text.getLiteral());
+    }
+
+    @Override
+    public void visit(SoftLineBreak softLineBreak) {
+        writeText(SOFT_BREAK_TEXT);
+    }
+
+    @Override
+    public void visit(HardLineBreak hardLineBreak) {
+        writeLeaf(HARD_BREAK_TYPE);
+    }
+
+    @Override
+    public void visit(HtmlInline htmlInline) {
+        writeText(htmlInline.getLiteral());
+    }
+
+    @Override
+    public void visit(Code code) {
+        marks.add(Mark.CODE);
+        writeText(code.getLiteral());
+        marks.remove(marks.size() - 1);
+    }
+
+    @Override
+    public void visit(Emphasis emphasis) {
+        withMark(Mark.ITALIC, emphasis);
+    }
+
+    @Override
+    public void visit(StrongEmphasis strongEmphasis) {
+        withMark(Mark.BOLD, strongEmphasis);
+    }
+
+    @Override
+    public void visit(Link link) {
+        withMark(new Mark(LINK_MARK, link.getDestination(), link.getTitle()), link);
+    }
+
+    @Override
+    public void visit(Image image) {
+        try {
+            flushText();
+            generator.writeStartObject();
+            writeType(IMAGE_TYPE);
+            generator.writeFieldName(ATTRS);
+            generator.writeStartObject();
+            generator.writeFieldName(SRC);
+            generator.writeString(image.getDestination());
+            generator.writeFieldName(ALT);
+            generator.writeString(plainText(image));
+            generator.writeFieldName(TITLE);
+            generator.writeString(image.getTitle());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(CustomBlock customBlock) {
+        if (customBlock instanceof TableBlock) {
+            writeContainer(TABLE_TYPE, customBlock);
+        } else {
+            visitChildren(customBlock);
+        }
+    }
+
+    @Override
+    public void visit(CustomNode customNode) {
+        if (customNode instanceof Strikethrough) {
+            withMark(Mark.STRIKE, customNode);
+        } else if (customNode instanceof TableRow) {
+            writeContainer(TABLE_ROW_TYPE, customNode);
+        } else if (customNode instanceof TableCell) {
+            writeTableCell((TableCell) customNode);
+        } else if (!(customNode instanceof TaskListItemMarker)) {
+            // TableHead、TableBody等分组节点直接展开子节点
+            visitChildren(customNode);
+        }
+    }
+
+    /**
+     * 写出只包含子节点的容器节点
+     *
+     * @param type 节点类型
+     * @param node AST节点
+     */
+    private void writeContainer(SerializableString type, Node node) {
+        try {
+            generator.writeStartObject();
+            writeType(type);
+            startContent();
+            visitChildren(node);
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出没有属性和内容的叶子节点
+     *
+     * @param type 节点类型
+     */
+    private void writeLeaf(SerializableString type) {
+        try {
+            flushText();
+            generator.writeStartObject();
+            writeType(type);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出代码块，代码内容作为单个文本节点
+     *
+     * @param language 代码语言，可以为null
+     * @param literal 代码内容
+     */
+    private void writeCodeBlock(String language, String literal) {
+        try {
+            generator.writeStartObject();
+            writeType(CODE_BLOCK_TYPE);
+            generator.writeFieldName(ATTRS);
+            generator.writeStartObject();
+            generator.writeFieldName(LANGUAGE);
+            generator.writeString(language);
+            generator.writeEndObject();
+            startContent();
+            String code = stripTrailingNewline(literal);
+            if (!code.isEmpty()) {
+                // ProseMirror不允许空文本节点
+                generator.writeStartObject();
+                writeType(TEXT_TYPE);
+                generator.writeFieldName(TEXT);
+                generator.writeString(code);
+                generator.writeEndObject();
+            }
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出表格单元格，单元格内的行内内容包装为段落
+     *
+     * @param cell 表格单元格
+     */
+    private void writeTableCell(TableCell cell) {
+        try {
+            generator.writeStartObject();
+            writeType(cell.isHeader() ? TABLE_HEADER_TYPE : TABLE_CELL_TYPE);
+            startContent();
+            startParagraph(cell);
+            visitChildren(cell);
+            endBlock();
+            endBlock();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 在指定文本标记下处理子节点
+     *
+     * @param mark 文本标记
+     * @param node 带标记的行内节点
+     */
+    private void withMark(Mark mark, Node node) {
+        marks.add(mark);
+        visitChildren(node);
+        marks.remove(marks.size() - 1);
+    }
+
+    /**
+     * 追加文本，附带当前生效的所有文本标记
+     *
+     * 标记与尚未写出的文本相同时合并，否则先写出之前的文本。
+     *
+     * @param literal 文本内容
+     */
+    private void writeText(String literal) {
+        if (literal == null || literal.isEmpty()) {
+            return;
+        }
+        if (pendingText == null) {
+            pendingText = literal;
+            pendingMarks.clear();
+            pendingMarks.addAll(marks);
+            return;
+        }
+        if (!pendingMarks.equals(marks)) {
+            flushText();
+            writeText(literal);
+            return;
+        }
+        if (pendingBuilder.length() == 0) {
+            pendingBuilder.append(pendingText);
+        }
+        pendingBuilder.append(literal);
+    }
+
+    /**
+     * 写出尚未写出的文本节点
+     *
+     * 写出其他行内节点或结束块之前调用。
+     */
+    private void flushText() {
+        if (pendingText == null) {
+            return;
+        }
+        try {
+            generator.writeStartObject();
+            writeType(TEXT_TYPE);
+            generator.writeFieldName(TEXT);
+            generator.writeString(pendingBuilder.length() == 0 ? pendingText : pendingBuilder.toString());
+            if (!pendingMarks.isEmpty()) {
+                generator.writeFieldName(MARKS);
+                generator.writeStartArray();
+                for (Mark mark : pendingMarks) {
+                    mark.write(generator);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pendingText = null;
+        pendingBuilder.setLength(0);
+    }
+
+    /**
+     * 写出段落的开头部分，包括type、attrs和content数组的起始
+     *
+     * @param block 段落对应的AST节点，用于生成id
+     * @throws IOException 当写入失败时抛出
+     */
+    private void startParagraph(Node block) throws IOException {
+        generator.writeStartObject();
+        writeType(PARAGRAPH_TYPE);
+        generator.writeFieldName(ATTRS);
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(idGenerator.generate(block, blockPosition++));
+        if (!omitDefaultAttrs) {
+            generator.writeRaw(PARAGRAPH_ATTRS_TAIL);
+        }
+        generator.writeEndObject();
+        startContent();
+    }
+
+    private void writeType(SerializableString type) throws IOException {
+        generator.writeFieldName(TYPE);
+        generator.writeString(type);
+    }
+
+    private void startContent() throws IOException {
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+    }
+
+    private void endBlock() throws IOException {
+        flushText();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * 判断无序列表是否为任务列表
+     *
+     * @param list 无序列表
+     * @return 第一个列表项带有任务标记时返回true
+     */
+    private static boolean isTaskList(BulletList list) {
+        Node item = list.getFirstChild();
+        return item != null && item.getFirstChild() instanceof TaskListItemMarker;
+    }
+
+    /**
+     * 从代码块的info字符串中取出语言名称
+     *
+     * @param info 代码块info字符串
+     * @return 语言名称，没有时返回null
+     */
+    private static String language(String info) {
+        if (info == null || info.isBlank()) {
+            return null;
+        }
+        String trimmed = info.trim();
+        int space = trimmed.indexOf(' ');
+        return space < 0 ? trimmed : trimmed.substring(0, space);
+    }
+
+    private static String stripTrailingNewline(String literal) {
+        if (literal == null) {
+            return "";
+        }
+        return literal.endsWith("\n") ? literal.substring(0, literal.length() - 1) : literal;
+    }
+
+    /**
+     * 收集节点下的纯文本，用于图片的替代文本
+     *
+     * @param node AST节点
+     * @return 子节点中所有文本拼接后的结果
+     */
+    private static String plainText(Node node) {
+        StringBuilder builder = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                builder.append(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                builder.append(code.getLiteral());
+            }
+
+            @Override
+            public void visit(SoftLineBreak softLineBreak) {
+                builder.append(SOFT_BREAK_TEXT);
+            }
+        });
+        return builder.toString();
+    }
+
+    /**
+     * 文本标记
+     *
+     * @param type 标记类型
+     * @param href 链接地址，仅link标记使用
+     * @param title 链接标题，仅link标记使用
+     */
+    private record Mark(SerializableString type, String href, String title) {
+
+        static final Mark BOLD = new Mark(BOLD_MARK, null, null);
+        static final Mark ITALIC = new Mark(ITALIC_MARK, null, null);
+        static final Mark CODE = new Mark(CODE_MARK, null, null);
+        static final Mark STRIKE = new Mark(STRIKE_MARK, null, null);
+
+        void write(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(TYPE);
+            generator.writeString(type);
+            if (type == LINK_MARK) {
+                generator.writeFieldName(ATTRS);
+                generator.writeStartObject();
+                generator.writeFieldName(HREF);
+                generator.writeString(href);
+                generator.writeFieldName(TITLE);
+                generator.writeString(title);
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 需要id的块计数器
+     */
+    private static final class IdBlockCounter extends AbstractVisitor {
+
+        /** 已统计的块数 */
+        private int count;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            count++;
+        }
+
+        @Override
+        public void visit(HtmlBlock htmlBlock) {
+            count++;
+        }
+
+        @Override
+        public void visit(CustomNode customNode) {
+            if (customNode instanceof TableCell) {
+                count++;
+            } else {
+                visitChildren(customNode);
+            }
+        }
+    }
+}
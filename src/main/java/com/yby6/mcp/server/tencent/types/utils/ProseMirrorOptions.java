@@ -0,0 +1,26 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+/**
+ * ProseMirror转换选项
+ *
+ * 控制转换结果中段落id的生成方式以及段落attrs的写法。
+ * 省略默认attrs时，段落只保留id，textAlign、indent、color、background、isHoverDragHandle
+ * 等取默认值的字段不再写出，由编辑器按默认值补齐，可以明显减小请求体。
+ *
+ * @param idGenerator 段落id生成策略
+ * @param omitDefaultAttrs 是否省略段落attrs中取默认值的字段
+ * @author yby6
+ * @version 1.0.0
+ */
+public record ProseMirrorOptions(BlockIdGenerator idGenerator, boolean omitDefaultAttrs) {
+
+    /**
+     * 使用指定的id生成策略，写出完整的段落attrs
+     *
+     * @param idGenerator 段落id生成策略
+     * @return 转换选项
+     */
+    public static ProseMirrorOptions of(BlockIdGenerator idGenerator) {
+        return new ProseMirrorOptions(idGenerator, false);
+    }
+}
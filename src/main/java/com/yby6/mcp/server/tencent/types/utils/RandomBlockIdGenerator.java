@@ -0,0 +1,35 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import org.commonmark.node.Node;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机块级节点ID生成器
+ *
+ * UUID.randomUUID()依赖全局共享的SecureRandom，并发转换时会产生锁竞争。
+ * 该实现使用ThreadLocalRandom（SplittableRandom算法，每个线程独立的状态）
+ * 生成符合UUID第4版格式的id，不需要加锁，也不会阻塞在熵源上。
+ *
+ * 生成的id只需要在文档内唯一，不用于安全场景。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+final class RandomBlockIdGenerator implements BlockIdGenerator {
+
+    /** 单例，实现无状态 */
+    static final RandomBlockIdGenerator INSTANCE = new RandomBlockIdGenerator();
+
+    private RandomBlockIdGenerator() {
+    }
+
+    @Override
+    public String generate(Node block, int position) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 重试预算
+ *
+ * 该类限制重试请求占全部请求的比例，避免下游故障时重试成倍放大请求量。
+ * 每个首次请求向预算存入ratio个令牌，每次重试取出一个令牌，
+ * 预算余额不超过capacity，余额不足时放弃重试。
+ *
+ * 同时提供全抖动（full jitter）的指数退避计算。
+ * 所有方法线程安全。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public class RetryBudget {
+
+    /** 每个首次请求存入的令牌数 */
+    private final double ratio;
+
+    /** 预算余额上限 */
+    private final double capacity;
+
+    /** 当前余额 */
+    private double balance;
+
+    /**
+     * 创建重试预算
+     *
+     * 初始余额为上限，启动后的少量失败可以立即重试。
+     *
+     * @param ratio 每个首次请求存入的令牌数，即长期允许的重试比例
+     * @param capacity 预算余额上限
+     */
+    public RetryBudget(double ratio, double capacity) {
+        this.ratio = Math.max(0, ratio);
+        this.capacity = Math.max(0, capacity);
+        this.balance = this.capacity;
+    }
+
+    /**
+     * 记录一次首次请求
+     */
+    public synchronized void onRequest() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    /**
+     * 申请一次重试
+     *
+     * @return 预算充足时扣除一个令牌并返回true
+     */
+    public synchronized boolean tryRetry() {
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    /**
+     * 获取当前余额
+     *
+     * @return 可用的重试次数
+     */
+    public synchronized double balance() {
+        return balance;
+    }
+
+    /**
+     * 计算全抖动的指数退避时间
+     *
+     * 在[0, min(maxMillis, initialMillis * 2^(retry-1))]之间均匀随机，
+     * 多个客户端同时失败时重试时间相互错开。
+     *
+     * @param retry 第几次重试，从1开始
+     * @param initialMillis 首次重试的退避上限（毫秒）
+     * @param maxMillis 退避上限（毫秒）
+     * @return 退避时间（毫秒）
+     */
+    public static long fullJitterBackoff(int retry, long initialMillis, long maxMillis) {
+        long ceiling = Math.min(maxMillis, initialMillis << Math.min(Math.max(retry - 1, 0), 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,416 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标签匹配器
+ *
+ * 基于Aho-Corasick自动机，在文章中查找标签词典里的所有标签并统计出现次数。
+ * 自动机由词典一次性构建，之后每次匹配只线性扫描一遍文本，
+ * 耗时与文本长度成正比，与标签数量无关；逐个标签调用contains的耗时是两者的乘积。
+ *
+ * 匹配规则：
+ * 1. 按UTF-16字符匹配，中文等CJK标签不需要分词
+ * 2. 忽略大小写，标签名称忽略首尾空白
+ * 3. 以英文字母或数字开头（结尾）的标签，前（后）一个字符不能是英文字母或数字，
+ *    避免"Go"匹配到"Google"；CJK字符没有这个限制
+ * 4. 重叠的标签分别计数，例如"Spring Boot"同时计入"Spring"
+ *
+ * 构建后不可变，可以在多个线程中同时使用。
+ *
+ * @author yby6
+ * @version 1.0.0
+ */
+public final class TagMatcher {
+
+    /** 空匹配器 */
+    private static final TagMatcher EMPTY = new TagMatcher(List.of());
+
+    /** 标签以英文字母或数字开头，需要检查前一个字符 */
+    private static final byte BOUNDED_START = 1;
+
+    /** 标签以英文字母或数字结尾，需要检查后一个字符 */
+    private static final byte BOUNDED_END = 2;
+
+    /** 标签原始名称，下标即标签编号 */
+    private final String[] tags;
+
+    /** 去重后的标签数 */
+    private final int size;
+
+    /** 标签长度（字符数） */
+    private final int[] lengths;
+
+    /** 标签的边界检查标志 */
+    private final byte[] boundaries;
+
+    /** 转移表的键：状态在高位，字符在低16位；0表示空槽 */
+    private final long[] keys;
+
+    /** 转移表的目标状态 */
+    private final int[] targets;
+
+    /** 转移表中的转移数 */
+    private int transitions;
+
+    /** 各状态的失败转移 */
+    private final int[] fail;
+
+    /** 各状态结束的标签编号，没有时为-1 */
+    private final int[] output;
+
+    /** 沿失败转移找到的下一个有标签结束的状态，没有时为0 */
+    private final int[] outputLink;
+
+    /** 状态数，状态0为根 */
+    private int states;
+
+    /**
+     * 构建匹配器
+     *
+     * @param names 标签名称，规范化后重复的名称只保留第一个
+     */
+    private TagMatcher(Collection<String> names) {
+        List<String> accepted = new ArrayList<>(names.size());
+        int capacity = 1;
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                accepted.add(name.trim());
+                capacity += name.length();
+            }
+        }
+        this.tags = new String[accepted.size()];
+        this.lengths = new int[accepted.size()];
+        this.boundaries = new byte[accepted.size()];
+        this.keys = new long[tableSize(capacity)];
+        this.targets = new int[keys.length];
+        this.output = new int[capacity];
+        this.fail = new int[capacity];
+        this.outputLink = new int[capacity];
+        this.states = 1;
+        Arrays.fill(output, -1);
+
+        int count = 0;
+        for (String name : accepted) {
+            if (insert(name, count)) {
+                tags[count] = name;
+                lengths[count] = name.length();
+                boundaries[count] = (byte) ((isWordChar(name.charAt(0)) ? BOUNDED_START : 0)
+                        | (isWordChar(name.charAt(name.length() - 1)) ? BOUNDED_END : 0));
+                count++;
+            }
+        }
+        this.size = count;
+        buildFailureLinks();
+    }
+
+    /**
+     * 根据标签词典构建匹配器
+     *
+     * @param names 标签名称，忽略null和空白名称
+     * @return 匹配器，词典为空时返回空匹配器
+     */
+    public static TagMatcher of(Collection<String> names) {
+        return names.isEmpty() ? EMPTY : new TagMatcher(names);
+    }
+
+    /**
+     * 统计每个标签的出现次数
+     *
+     * @param texts 待匹配的文本，依次扫描，null忽略
+     * @return 出现过的标签名称到出现次数的映射，按首次出现的顺序排列
+     */
+    public Map<String, Integer> count(CharSequence... texts) {
+        Hits hits = scan(texts);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < hits.size; i++) {
+            counts.put(tags[hits.order[i]], hits.counts[hits.order[i]]);
+        }
+        return counts;
+    }
+
+    /**
+     * 取出现次数最多的标签
+     *
+     * 次数相同时先出现的标签在前。
+     *
+     * @param limit 最多返回的标签数
+     * @param texts 待匹配的文本，依次扫描，null忽略
+     * @return 标签名称列表，按出现次数从多到少排列
+     */
+    public List<String> top(int limit, CharSequence... texts) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Hits hits = scan(texts);
+        Integer[] order = new Integer[hits.size];
+        for (int i = 0; i < hits.size; i++) {
+            order[i] = hits.order[i];
+        }
+        // 稳定排序，次数相同时保持首次出现的顺序
+        Arrays.sort(order, (a, b) -> Integer.compare(hits.counts[b], hits.counts[a]));
+        List<String> top = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && top.size() < limit; i++) {
+            top.add(tags[order[i]]);
+        }
+        return top;
+    }
+
+    /**
+     * 获取词典中的标签数
+     *
+     * @return 去重后的标签数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 扫描文本并记录命中的标签
+     *
+     * @param texts 待匹配的文本
+     * @return 命中记录
+     */
+    private Hits scan(CharSequence... texts) {
+        Hits hits = new Hits(tags.length);
+        if (states == 1) {
+            return hits;
+        }
+        for (CharSequence text : texts) {
+            if (text == null) continue;
+            int state = 0;
+            for (int i = 0, n = text.length(); i < n; i++) {
+                char c = lower(text.charAt(i));
+                int next;
+                while ((next = transition(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = next < 0 ? 0 : next;
+                for (int s = output[state] >= 0 ? state : outputLink[state]; s != 0; s = outputLink[s]) {
+                    int tag = output[s];
+                    if (isBounded(text, i, tag)) {
+                        hits.add(tag);
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 检查标签两端的边界
+     *
+     * @param text 文本
+     * @param end 标签最后一个字符的位置
+     * @param tag 标签编号
+     * @return 满足边界要求时返回true
+     */
+    private boolean isBounded(CharSequence text, int end, int tag) {
+        byte boundary = boundaries[tag];
+        if ((boundary & BOUNDED_START) != 0) {
+            int before = end - lengths[tag];
+            if (before >= 0 && isWordChar(text.charAt(before))) return false;
+        }
+        if ((boundary & BOUNDED_END) != 0) {
+            int after = end + 1;
+            if (after < text.length() && isWordChar(text.charAt(after))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 将标签插入字典树
+     *
+     * @param name 标签名称
+     * @param tag 标签编号
+     * @return 插入成功时返回true，规范化后与已有标签重复时返回false
+     */
+    private boolean insert(String name, int tag) {
+        int state = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = lower(name.charAt(i));
+            int next = transition(state, c);
+            if (next < 0) {
+                next = states++;
+                put(state, c, next);
+            }
+            state = next;
+        }
+        if (output[state] >= 0) {
+            return false;
+        }
+        output[state] = tag;
+        return true;
+    }
+
+    /**
+     * 按广度优先顺序计算失败转移和输出链接
+     */
+    private void buildFailureLinks() {
+        // 按父状态收集子状态，广度优先遍历字典树
+        int[] childStart = new int[states + 1];
+        for (long key : keys) {
+            if (key != 0) childStart[parentOf(key)]++;
+        }
+        for (int i = 0, sum = 0; i <= states; i++) {
+            int n = childStart[i];
+            childStart[i] = sum;
+            sum += n;
+        }
+        int[] childState = new int[transitions];
+        char[] childChar = new char[transitions];
+        int[] fill = Arrays.copyOf(childStart, states);
+        for (int slot = 0; slot < keys.length; slot++) {
+            long key = keys[slot];
+            if (key == 0) continue;
+            int position = fill[parentOf(key)]++;
+            childState[position] = targets[slot];
+            childChar[position] = (char) key;
+        }
+
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int parent = queue[head++];
+            for (int i = childStart[parent]; i < childStart[parent + 1]; i++) {
+                int child = childState[i];
+                char c = childChar[i];
+                if (parent != 0) {
+                    int state = fail[parent];
+                    int next;
+                    while ((next = transition(state, c)) < 0 && state != 0) {
+                        state = fail[state];
+                    }
+                    fail[child] = next < 0 ? 0 : next;
+                }
+                int link = fail[child];
+                outputLink[child] = output[link] >= 0 ? link : outputLink[link];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * 查找转移
+     *
+     * @param state 当前状态
+     * @param c 规范化后的字符
+     * @return 目标状态，没有转移时返回-1
+     */
+    private int transition(int state, char c) {
+        long key = key(state, c);
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if (existing == key) return targets[slot];
+            if (existing == 0) return -1;
+        }
+    }
+
+    /**
+     * 添加转移
+     *
+     * @param state 当前状态
+     * @param c 规范化后的字符
+     * @param target 目标状态
+     */
+    private void put(int state, char c, int target) {
+        long key = key(state, c);
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        targets[slot] = target;
+        transitions++;
+    }
+
+    /**
+     * 转移表的键
+     *
+     * 状态加1后放在高位，保证键不为0。
+     */
+    private static long key(int state, char c) {
+        return ((long) (state + 1) << 16) | c;
+    }
+
+    /**
+     * 转移表的键中的状态
+     */
+    private static int parentOf(long key) {
+        return (int) (key >>> 16) - 1;
+    }
+
+    /**
+     * 转移表的哈希
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 转移表的大小：不小于转移数上限的两倍的2的幂，负载因子不超过0.5
+     *
+     * @param capacity 状态数上限
+     * @return 表大小
+     */
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+    }
+
+    /**
+     * 规范化字符，忽略大小写
+     */
+    private static char lower(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * 判断是否为英文字母或数字
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * 一次扫描的命中记录
+     *
+     * 只记录命中过的标签，取前几个时不需要遍历整个词典。
+     */
+    private static final class Hits {
+
+        /** 各标签的出现次数 */
+        private final int[] counts;
+
+        /** 命中过的标签编号，按首次出现的顺序 */
+        private int[] order = new int[16];
+
+        /** 命中过的标签数 */
+        private int size;
+
+        Hits(int tags) {
+            this.counts = new int[tags];
+        }
+
+        void add(int tag) {
+            if (counts[tag]++ == 0) {
+                if (size == order.length) {
+                    order = Arrays.copyOf(order, size * 2);
+                }
+                order[size++] = tag;
+            }
+        }
+    }
+}
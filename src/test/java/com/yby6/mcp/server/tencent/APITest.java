@@ -1,7 +1,9 @@
 package com.yby6.mcp.server.tencent;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.JsonRequestBody;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
 import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleResponse;
 import org.junit.runner.RunWith;
@@ -21,6 +23,9 @@ public class APITest {
     @Autowired
     private ITencentService tencentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @org.junit.Test
     public void testAddArticle() throws Exception {
         // 准备请求数据
@@ -135,7 +140,7 @@ public class APITest {
         String cookie = "qcommunity_identify_id=TfG-yydO3BihadP7wCCGo; qcloud_uid=W_CZxXNHK535; lastLoginIdentity=51605f0971933755e7f8a53c030a98bc; loginType=wx; qcommunity_session=6690707383a5cfad88e8247084bae4d669bb3c5b29f27acb4bb0171e51862270; language=zh; qcloud_from=qcloud.directEnter.developer-1746001807360; _ga=GA1.2.319341056.1746001808; qcstats_seo_keywords=%E5%93%81%E7%89%8C%E8%AF%8D-%E5%93%81%E7%89%8C%E8%AF%8D-%E8%85%BE%E8%AE%AF%E4%BA%91; _gcl_au=1.1.1219834752.1746001809; sensorsdata2015jssdkcross=%7B%22distinct_id%22%3A%22100005325524%22%2C%22first_id%22%3A%2219685d148119e0-074821266ae519c-26011c51-2304000-19685d148121339%22%2C%22props%22%3A%7B%22%24latest_traffic_source_type%22%3A%22%E7%9B%B4%E6%8E%A5%E6%B5%81%E9%87%8F%22%7D%2C%22identities%22%3A%22eyIkaWRlbnRpdHlfY29va2llX2lkIjoiMTk2ODVkMTQ4MTE5ZTAtMDc0ODIxMjY2YWU1MTljLTI2MDExYzUxLTIzMDQwMDAtMTk2ODVkMTQ4MTIxMzM5IiwiJGlkZW50aXR5X2xvZ2luX2lkIjoiMTAwMDA1MzI1NTI0In0%3D%22%2C%22history_login_id%22%3A%7B%22name%22%3A%22%24identity_login_id%22%2C%22value%22%3A%22100005325524%22%7D%2C%22%24device_id%22%3A%2219685d148119e0-074821266ae519c-26011c51-2304000-19685d148121339%22%7D; trafficParams=***%24%3Btimestamp%3D1746009469972%3Bfrom_type%3Dserver%3Btrack%3Defd572c3-483c-43b8-82e3-57167cc02eec%3B%24***; qcloud_visitId=4d0ba0e3ce6dd09d9aef7dfdab444393; qcmainCSRFToken=BJeSzA1welx; uin=o100005325524; nick=1692700664; intl=1; articleEditorModes=markdown; _gat=1";
         System.out.println(cookie);
         // 调用接口
-        AddArticleResponse response = tencentService.addArticle(cookie, request).execute().body();
+        AddArticleResponse response = tencentService.addArticle(cookie, JsonRequestBody.of(objectMapper, request)).execute().body();
         ArticleFunctionResponse articleFunctionResponse = new ArticleFunctionResponse();
         articleFunctionResponse.setStatus(response.getStatus());
         articleFunctionResponse.setArticleId(response.getArticleId());
@@ -0,0 +1,59 @@
+package com.yby6.mcp.server.tencent;
+
+import com.yby6.mcp.server.tencent.domain.model.ArticleBatchItemResult;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.MeterSnapshot;
+import com.yby6.mcp.server.tencent.domain.service.TencentArticleService;
+import com.yby6.mcp.server.tencent.domain.service.TencentArticleUploadService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleResponse;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.UploadImageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentRuntimeHints 原生镜像元数据测试
+ */
+class TencentRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new TencentRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void retrofitProxyIsRegistered() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ITencentService.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ITencentService.class, "addArticle").test(hints));
+    }
+
+    @Test
+    void toolMethodsAndModelsAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TencentArticleService.class, "saveArticles").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TencentArticleUploadService.class, "commitArticle").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ArticleFunctionRequest.class, "setMarkdowncontent").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AddArticleResponse.class, "getArticleId").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UploadImageResponse.class, "getUrl").test(hints));
+        // 嵌套的字段类型随外层模型一起注册
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ArticleBatchItemResult.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MeterSnapshot.class).test(hints));
+    }
+
+    @Test
+    void persistedRecordsAreRegisteredByName() {
+        for (String type : new String[]{TencentRuntimeHints.JOURNAL_RECORD, TencentRuntimeHints.IMAGE_ENTRY,
+                TencentRuntimeHints.DIRECTORY_SNAPSHOT}) {
+            assertDoesNotThrow(() -> Class.forName(type));
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type)).test(hints));
+        }
+    }
+}
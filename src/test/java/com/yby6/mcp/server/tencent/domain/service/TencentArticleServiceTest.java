@@ -0,0 +1,215 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.domain.model.ArticleBatchFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
+import com.yby6.mcp.server.tencent.types.cache.SingleFlightCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.ContentHash;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentArticleService 工具方法测试
+ */
+class TencentArticleServiceTest {
+
+    private ScheduledExecutorService scheduler;
+
+    private FakePort port;
+
+    private TencentArticleService service;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(8);
+        port = new FakePort();
+
+        TencentApiProperties properties = new TencentApiProperties();
+        properties.getBatch().setConcurrency(3);
+
+        service = new TencentArticleService();
+        ReflectionTestUtils.setField(service, "port", port);
+        ReflectionTestUtils.setField(service, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(service, "publishDeduplicator",
+                new SingleFlightCache<ContentHash, ArticleFunctionResponse>(Duration.ofMinutes(10), 100,
+                        response -> response.getStatus() == 0));
+        TencentImageService imageService = new TencentImageService();
+        ReflectionTestUtils.setField(imageService, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(service, "tencentImageService", imageService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void batchKeepsInputOrderAndRespectsConcurrency() {
+        List<ArticleFunctionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request(i == 7 ? "fail" : "文章" + i));
+        }
+
+        ArticleBatchFunctionResponse response = service.saveArticles(requests);
+
+        assertEquals(20, response.getItems().size());
+        assertEquals(19, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertNotNull(response.getElapsedMillis());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, response.getItems().get(i).getIndex());
+            if (i == 7) {
+                assertNull(response.getItems().get(i).getResponse());
+                assertTrue(response.getItems().get(i).getError().contains("发布失败"));
+            } else {
+                assertEquals((long) i, response.getItems().get(i).getResponse().getArticleId());
+            }
+        }
+        assertTrue(port.maxInFlight.get() <= 3);
+        assertTrue(port.maxInFlight.get() > 1);
+    }
+
+    @Test
+    void concurrentDuplicatesShareOnePublish() {
+        List<CompletableFuture<ArticleFunctionResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(service.saveArticleAsync(request("文章1")));
+        }
+
+        for (CompletableFuture<ArticleFunctionResponse> future : futures) {
+            assertEquals(1L, future.join().getArticleId());
+        }
+        assertEquals(1, port.calls.get());
+    }
+
+    @Test
+    void repeatWithinWindowReturnsOriginalArticle() throws Exception {
+        ArticleFunctionResponse first = service.saveArticle(request("文章2"));
+        ArticleFunctionResponse repeat = service.saveArticle(request("文章2"));
+        ArticleFunctionRequest edited = request("文章2");
+        edited.setUserSummary("修改后的摘要");
+        service.saveArticle(edited);
+
+        assertEquals(first.getArticleId(), repeat.getArticleId());
+        assertEquals(2, port.calls.get());
+    }
+
+    @Test
+    void requestsDifferingOnlyInTagsAreNotMerged() {
+        ArticleFunctionRequest java = request("文章3");
+        java.setTags(List.of("Java"));
+        ArticleFunctionRequest go = request("文章3");
+        go.setTags(List.of("Go"));
+        ArticleFunctionRequest untagged = request("文章3");
+        ArticleFunctionRequest emptyTags = request("文章3");
+        emptyTags.setTags(List.of());
+
+        CompletableFuture<ArticleFunctionResponse> first = service.saveArticleAsync(java);
+        CompletableFuture<ArticleFunctionResponse> second = service.saveArticleAsync(go);
+        first.join();
+        second.join();
+
+        assertEquals(2, port.calls.get());
+        assertNotEquals(TencentArticleService.dedupKey(java), TencentArticleService.dedupKey(untagged));
+        assertEquals(TencentArticleService.dedupKey(untagged), TencentArticleService.dedupKey(emptyTags));
+    }
+
+    @Test
+    void failedPublishIsNotRemembered() throws Exception {
+        assertNull(service.saveArticle(request("fail")));
+        assertNull(service.saveArticle(request("fail")));
+
+        assertEquals(2, port.calls.get());
+    }
+
+    private static ArticleFunctionRequest request(String title) {
+        ArticleFunctionRequest request = new ArticleFunctionRequest();
+        request.setTitle(title);
+        request.setMarkdowncontent("# " + title);
+        request.setUserSummary(title);
+        return request;
+    }
+
+    /**
+     * 在随机延迟后完成发布的端口，记录同时进行中的请求数
+     */
+    private class FakePort implements ITencentPort {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ArticleFunctionResponse writeArticle(ArticleFunctionRequest request) {
+            return writeArticleAsync(request).join();
+        }
+
+        @Override
+        public ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request) {
+            return writeArticle(request);
+        }
+
+        @Override
+        public ArticleFunctionResponse writeArticleOnce(ArticleFunctionRequest request, String content) {
+            return writeArticle(request);
+        }
+
+        @Override
+        public CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request) {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<ArticleFunctionResponse> future = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                if ("fail".equals(request.getTitle())) {
+                    future.completeExceptionally(new IOException("发布失败"));
+                    return;
+                }
+                ArticleFunctionResponse response = new ArticleFunctionResponse();
+                response.setArticleId(Long.parseLong(request.getTitle().substring(2)));
+                response.setStatus(0);
+                future.complete(response);
+            }, ThreadLocalRandom.current().nextInt(5, 30), TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        @Override
+        public CompletableFuture<ArticleFunctionResponse> writeArticleAsync(ArticleFunctionRequest request, String content) {
+            return writeArticleAsync(request);
+        }
+
+        @Override
+        public CompletableFuture<String> uploadImageAsync(byte[] image, String fileName) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException());
+        }
+
+        @Override
+        public RateLimitStatus getRateLimitStatus() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.ArticleUploadStatus;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.cache.SingleFlightCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.ContentHash;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TencentArticleUploadService 分块上传测试
+ */
+class TencentArticleUploadServiceTest {
+
+    private ITencentPort port;
+
+    private TencentApiProperties properties;
+
+    private TencentArticleUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        port = mock(ITencentPort.class);
+        properties = new TencentApiProperties();
+
+        TencentArticleService articleService = new TencentArticleService();
+        ReflectionTestUtils.setField(articleService, "port", port);
+        ReflectionTestUtils.setField(articleService, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(articleService, "publishDeduplicator",
+                new SingleFlightCache<ContentHash, ArticleFunctionResponse>(Duration.ofMinutes(10), 100,
+                        response -> response.getStatus() == 0));
+        TencentImageService imageService = new TencentImageService();
+        ReflectionTestUtils.setField(imageService, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(articleService, "tencentImageService", imageService);
+
+        service = new TencentArticleUploadService();
+        ReflectionTestUtils.setField(service, "tencentArticleService", articleService);
+        ReflectionTestUtils.setField(service, "tencentApiProperties", properties);
+    }
+
+    @Test
+    void committedUploadIsPublishedWithIncrementallyConvertedContent() {
+        service.init();
+        ArticleFunctionResponse published = new ArticleFunctionResponse();
+        published.setArticleId(42L);
+        published.setStatus(0);
+        when(port.writeArticleAsync(any(ArticleFunctionRequest.class), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("接口不可用")))
+                .thenReturn(CompletableFuture.completedFuture(published));
+
+        StringBuilder markdown = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            markdown.append("## 第").append(i).append("节\n\n段落**加粗**内容 `code` 结尾\n\n- 列表项\n\n");
+        }
+        ArticleUploadStatus status = service.beginArticle("分块上传", "摘要");
+        for (int from = 0; from < markdown.length(); from += 10_000) {
+            status = service.appendArticleChunk(status.getUploadId(),
+                    markdown.substring(from, Math.min(markdown.length(), from + 10_000)));
+        }
+        assertEquals(markdown.length(), status.getReceivedChars());
+        assertTrue(status.getConvertedChars() > markdown.length() / 2);
+
+        // 发布失败时保留上传，再次提交复用转换结果
+        assertNull(service.commitArticle(status.getUploadId()));
+        assertEquals(42L, service.commitArticle(status.getUploadId()).getArticleId());
+
+        ArgumentCaptor<ArticleFunctionRequest> request = ArgumentCaptor.forClass(ArticleFunctionRequest.class);
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(port, times(2)).writeArticleAsync(request.capture(), content.capture());
+        assertEquals("分块上传", request.getValue().getTitle());
+        assertEquals("摘要", request.getValue().getUserSummary());
+        assertEquals(markdown.toString(), request.getValue().getMarkdowncontent());
+        assertEquals(MarkdownToProseMirrorConverter.convert(markdown.toString(),
+                ProseMirrorConversionCache.options(properties)), content.getValue());
+
+        String uploadId = status.getUploadId();
+        assertThrows(IllegalArgumentException.class, () -> service.commitArticle(uploadId));
+    }
+
+    @Test
+    void abandonedUploadExpires() throws Exception {
+        properties.getUpload().setTtlSeconds(1);
+        service.init();
+        String uploadId = service.beginArticle("过期", "摘要").getUploadId();
+        service.appendArticleChunk(uploadId, "# 标题\n");
+
+        Thread.sleep(1500);
+
+        assertThrows(IllegalArgumentException.class, () -> service.appendArticleChunk(uploadId, "正文"));
+        assertThrows(IllegalArgumentException.class, () -> service.commitArticle("unknown"));
+    }
+
+    @Test
+    void uploadIsLimitedToMaxChars() {
+        properties.getUpload().setMaxChars(10);
+        service.init();
+        String uploadId = service.beginArticle("上限", "摘要").getUploadId();
+        service.appendArticleChunk(uploadId, "0123456789");
+
+        assertThrows(IllegalArgumentException.class, () -> service.appendArticleChunk(uploadId, "a"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.infrastructure.adapter.ImageSourceLoader;
+import com.yby6.mcp.server.tencent.infrastructure.adapter.ImageUrlStore;
+import com.yby6.mcp.server.tencent.infrastructure.adapter.TencentDirectory;
+import com.yby6.mcp.server.tencent.infrastructure.adapter.TencentPort;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.AdaptiveRateLimiter;
+import com.yby6.mcp.server.tencent.types.utils.CircuitBreaker;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorImages;
+import com.yby6.mcp.server.tencent.types.utils.RetryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentImageService 图片转存测试
+ *
+ * 使用本地 MockWebServer 同时代替外部图片站点和社区图床，
+ * 端口、图片读取和地址缓存都使用真实实现。
+ */
+class TencentImageServiceTest {
+
+    private static final byte[] LOCAL_IMAGE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+
+    private static final byte[] EXTERNAL_IMAGE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 4, 5, 6};
+
+    @TempDir
+    Path dir;
+
+    private MockWebServer server;
+
+    private final AtomicInteger uploads = new AtomicInteger();
+
+    /** 为true时图床返回500 */
+    private volatile boolean uploadFails;
+
+    private TencentApiProperties properties;
+
+    private ImageUrlStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/external/")) {
+                    return new MockResponse().setBody(new Buffer().write(EXTERNAL_IMAGE));
+                }
+                if (uploadFails) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                int n = uploads.incrementAndGet();
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"status\":0,\"url\":\"https://developer.qcloudimg.com/http-save/" + n + ".png\"}");
+            }
+        });
+        server.start();
+        Files.write(dir.resolve("a.png"), LOCAL_IMAGE);
+
+        properties = new TencentApiProperties();
+        properties.setCookie("test-cookie");
+        properties.getDirectory().setEnabled(false);
+        properties.getImage().setLocalFiles(true);
+        properties.getImage().setBaseDir(dir.toString());
+        // MockWebServer 监听在回环地址上
+        properties.getImage().setAllowPrivateHosts(true);
+        properties.getImage().setConcurrency(2);
+        store = new ImageUrlStore(dir.resolve("images.jsonl"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+        server.shutdown();
+    }
+
+    @Test
+    void imagesAreUploadedOncePerContentAndRewritten() throws Exception {
+        String external = server.url("/external/logo.png").toString();
+        String content = convert("# 图片\n\n![本地](a.png) ![同一张](./a.png)\n\n![外部](" + external + ")\n\n"
+                + "![已上传](https://developer.qcloudimg.com/http-save/0.png) ![缺失](missing.png)\n");
+
+        String rehosted = service().rehost(content).get(10, TimeUnit.SECONDS);
+
+        // 本地和外部各上传一次，内容相同的两个本地地址共用一个图床地址
+        assertEquals(2, uploads.get());
+        Set<String> sources = ProseMirrorImages.sources(rehosted);
+        assertEquals(4, sources.size());
+        assertTrue(sources.contains("https://developer.qcloudimg.com/http-save/0.png"));
+        assertTrue(sources.contains("missing.png"));
+        assertEquals(3, sources.stream().filter(src -> src.startsWith("https://developer.qcloudimg.com/http-save/")).count());
+
+        // 除src以外的内容保持不变
+        assertEquals(content.replaceAll("\"src\":\"[^\"]*\"", "\"src\":\"\""),
+                rehosted.replaceAll("\"src\":\"[^\"]*\"", "\"src\":\"\""));
+
+        RecordedRequest upload = takeUpload();
+        assertEquals("test-cookie", upload.getHeader("Cookie"));
+        assertTrue(upload.getHeader("Content-Type").startsWith("multipart/form-data"));
+    }
+
+    @Test
+    void republishAfterRestartDoesNotUploadAgain() throws Exception {
+        String content = convert("![本地](a.png)\n");
+        String first = service().rehost(content).get(10, TimeUnit.SECONDS);
+        assertEquals(1, uploads.get());
+
+        store.close();
+        store = new ImageUrlStore(dir.resolve("images.jsonl"));
+        Files.write(dir.resolve("b.png"), LOCAL_IMAGE);
+        String second = service().rehost(convert("![本地](b.png)\n")).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, uploads.get());
+        assertEquals(ProseMirrorImages.sources(first), ProseMirrorImages.sources(second));
+    }
+
+    @Test
+    void failedUploadKeepsOriginalSourceAndIsRetriedNextTime() throws Exception {
+        String content = convert("![本地](a.png)\n");
+        uploadFails = true;
+
+        assertEquals(content, service().rehost(content).get(10, TimeUnit.SECONDS));
+
+        uploadFails = false;
+        String rehosted = service().rehost(content).get(10, TimeUnit.SECONDS);
+        assertEquals(Set.of("https://developer.qcloudimg.com/http-save/1.png"), ProseMirrorImages.sources(rehosted));
+    }
+
+    private TencentImageService service() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OkHttpClient client = new OkHttpClient();
+        ITencentService tencentService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(ITencentService.class);
+
+        TencentPort port = new TencentPort();
+        ReflectionTestUtils.setField(port, "iTencentService", tencentService);
+        ReflectionTestUtils.setField(port, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(port, "tencentDirectory", new TencentDirectory(tencentService, properties));
+        ReflectionTestUtils.setField(port, "proseMirrorConversionCache", new ProseMirrorConversionCache(properties));
+        ReflectionTestUtils.setField(port, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(port, "tencentRateLimiter", new AdaptiveRateLimiter(100, 1, 100, 100, 1, 0.5));
+        ReflectionTestUtils.setField(port, "tencentCircuitBreaker", new CircuitBreaker(5, 30000));
+        ReflectionTestUtils.setField(port, "tencentRetryBudget", new RetryBudget(0.2, 10));
+        ReflectionTestUtils.setField(port, "meterRegistry", meterRegistry);
+
+        ImageSourceLoader loader = new ImageSourceLoader();
+        ReflectionTestUtils.setField(loader, "tencentHttpClient", client);
+        ReflectionTestUtils.setField(loader, "tencentApiProperties", properties);
+
+        TencentImageService service = new TencentImageService();
+        ReflectionTestUtils.setField(service, "port", port);
+        ReflectionTestUtils.setField(service, "imageSource", loader);
+        ReflectionTestUtils.setField(service, "imageStore", store);
+        ReflectionTestUtils.setField(service, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        return service;
+    }
+
+    private String convert(String markdown) {
+        return MarkdownToProseMirrorConverter.convert(markdown, ProseMirrorConversionCache.options(properties));
+    }
+
+    private RecordedRequest takeUpload() throws InterruptedException {
+        RecordedRequest request;
+        do {
+            request = server.takeRequest(1, TimeUnit.SECONDS);
+        } while (request != null && request.getPath().startsWith("/external/"));
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.model.MeterSnapshot;
+import com.yby6.mcp.server.tencent.domain.model.ServerMetricsResponse;
+import com.yby6.mcp.server.tencent.types.metrics.TimedToolCallback;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentMetricsService 指标快照测试
+ */
+class TencentMetricsServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TencentMetricsService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TencentMetricsService();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "tencentApiProperties", new TencentApiProperties());
+    }
+
+    @Test
+    void snapshotIncludesSummaryPercentiles() {
+        DistributionSummary summary = DistributionSummary.builder("tencent.payload.json")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        summary.record(100);
+        summary.record(300);
+
+        MeterSnapshot meter = find(service.getServerMetrics(), "tencent.payload.json");
+
+        assertEquals("DISTRIBUTION_SUMMARY", meter.getType());
+        assertEquals("bytes", meter.getBaseUnit());
+        assertEquals(2.0, meter.getCount());
+        assertEquals(400.0, meter.getTotal());
+        assertEquals(300.0, meter.getMax());
+        assertTrue(meter.getPercentiles().keySet().containsAll(List.of("p50", "p99", "p999")));
+    }
+
+    @Test
+    void toolCallsAreTimedByOutcome() {
+        ToolCallback getServerMetrics = (ToolCallback) MethodToolCallbackProvider.builder()
+                .toolObjects(service)
+                .build()
+                .getToolCallbacks()[0];
+        TimedToolCallback timed = new TimedToolCallback(getServerMetrics, meterRegistry);
+
+        String result = timed.call("{}");
+
+        assertTrue(result.contains("meters"));
+        MeterSnapshot meter = find(service.getServerMetrics(), "mcp.tool");
+        assertEquals(Map.of("tool", "getServerMetrics", "outcome", "success"), meter.getTags());
+        assertEquals("milliseconds", meter.getBaseUnit());
+        assertEquals(1.0, meter.getCount());
+    }
+
+    private static MeterSnapshot find(ServerMetricsResponse response, String name) {
+        MeterSnapshot found = response.getMeters().stream()
+                .filter(meter -> meter.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(found, name);
+        return found;
+    }
+}
@@ -0,0 +1,175 @@
+package com.yby6.mcp.server.tencent.domain.service;
+
+import com.yby6.mcp.server.tencent.domain.adapter.IImageSource;
+import com.yby6.mcp.server.tencent.domain.adapter.IImageStore;
+import com.yby6.mcp.server.tencent.domain.adapter.ITencentPort;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+import com.yby6.mcp.server.tencent.domain.model.PublishNotSentException;
+import com.yby6.mcp.server.tencent.infrastructure.adapter.PublishOutbox;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorImages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TencentPublishQueueService 后台发布与重试测试
+ */
+class TencentPublishQueueServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ITencentPort port;
+
+    private IImageSource imageSource;
+
+    private PublishOutbox outbox;
+
+    private TencentPublishQueueService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        port = mock(ITencentPort.class);
+        outbox = new PublishOutbox(dir.resolve("outbox.jsonl"), Duration.ofDays(7));
+        TencentApiProperties properties = new TencentApiProperties();
+        properties.getOutbox().setMaxAttempts(3);
+        properties.getOutbox().setInitialBackoffMillis(10);
+
+        imageSource = mock(IImageSource.class);
+        TencentImageService imageService = new TencentImageService();
+        ReflectionTestUtils.setField(imageService, "port", port);
+        ReflectionTestUtils.setField(imageService, "imageSource", imageSource);
+        ReflectionTestUtils.setField(imageService, "imageStore", mock(IImageStore.class));
+        ReflectionTestUtils.setField(imageService, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(imageService, "meterRegistry", new SimpleMeterRegistry());
+
+        service = new TencentPublishQueueService();
+        ReflectionTestUtils.setField(service, "port", port);
+        ReflectionTestUtils.setField(service, "outbox", outbox);
+        ReflectionTestUtils.setField(service, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(service, "tencentImageService", imageService);
+        ReflectionTestUtils.setField(service, "proseMirrorConversionCache", new ProseMirrorConversionCache(properties));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+        outbox.close();
+    }
+
+    @Test
+    void notSentFailuresAreRetriedWithoutPortRetries() throws Exception {
+        ArticleFunctionResponse published = new ArticleFunctionResponse();
+        published.setStatus(0);
+        published.setArticleId(42L);
+        when(port.writeArticleOnce(any()))
+                .thenThrow(new PublishNotSentException("腾讯云开发者社区接口已熔断"))
+                .thenReturn(published);
+
+        PublishJobStatus status = awaitFinished(service.submitArticle(request()).getJobId());
+
+        assertEquals(PublishJobStatus.SUCCEEDED, status.getState());
+        assertEquals(2, status.getAttempts());
+        assertEquals(42L, status.getArticleId());
+        verify(port, times(2)).writeArticleOnce(any());
+        verify(port, never()).writeArticle(any());
+    }
+
+    @Test
+    void notSentFailuresStopWhenAttemptsRunOut() throws Exception {
+        when(port.writeArticleOnce(any())).thenThrow(new PublishNotSentException("连接失败"));
+
+        PublishJobStatus status = awaitFinished(service.submitArticle(request()).getJobId());
+
+        assertEquals(PublishJobStatus.FAILED, status.getState());
+        assertEquals(3, status.getAttempts());
+        verify(port, times(3)).writeArticleOnce(any());
+    }
+
+    @Test
+    void missingResultFailsWithoutRetry() throws Exception {
+        when(port.writeArticleOnce(any())).thenReturn(null);
+
+        PublishJobStatus status = awaitFinished(service.submitArticle(request()).getJobId());
+
+        assertEquals(PublishJobStatus.FAILED, status.getState());
+        assertEquals(1, status.getAttempts());
+        verify(port, times(1)).writeArticleOnce(any());
+    }
+
+    @Test
+    void unknownOutcomeIsNotRetried() throws Exception {
+        when(port.writeArticleOnce(any())).thenThrow(new SocketTimeoutException("timeout"));
+
+        PublishJobStatus status = awaitFinished(service.submitArticle(request()).getJobId());
+
+        // 请求体已经发出，服务端可能已经保存了文章
+        assertEquals(PublishJobStatus.FAILED, status.getState());
+        assertTrue(status.getError().contains("SocketTimeoutException"));
+        verify(port, times(1)).writeArticleOnce(any());
+    }
+
+    @Test
+    void imagesAreRehostedBeforeQueuedPublish() throws Exception {
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+        when(imageSource.load("https://example.com/a.png")).thenReturn(CompletableFuture.completedFuture(image));
+        when(port.uploadImageAsync(any(), eq("a.png")))
+                .thenReturn(CompletableFuture.completedFuture("https://developer.qcloudimg.com/http-save/1.png"));
+        ArticleFunctionResponse published = new ArticleFunctionResponse();
+        published.setStatus(0);
+        when(port.writeArticleOnce(any(), any())).thenReturn(published);
+
+        ArticleFunctionRequest request = request();
+        request.setMarkdowncontent("# 队列文章\n\n![图片](https://example.com/a.png)\n");
+        PublishJobStatus status = awaitFinished(service.submitArticle(request).getJobId());
+
+        // 发布的正文中只有图床地址
+        assertEquals(PublishJobStatus.SUCCEEDED, status.getState());
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(port).writeArticleOnce(any(), content.capture());
+        assertEquals(Set.of("https://developer.qcloudimg.com/http-save/1.png"), ProseMirrorImages.sources(content.getValue()));
+        verify(port, never()).writeArticleOnce(any());
+    }
+
+    private PublishJobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        PublishJobStatus status = service.getPublishStatus(jobId);
+        while (!status.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = service.getPublishStatus(jobId);
+        }
+        assertTrue(status.isFinished(), status.getState());
+        return status;
+    }
+
+    private static ArticleFunctionRequest request() {
+        ArticleFunctionRequest request = new ArticleFunctionRequest();
+        request.setTitle("队列文章");
+        request.setMarkdowncontent("# 队列文章\n正文");
+        return request;
+    }
+}
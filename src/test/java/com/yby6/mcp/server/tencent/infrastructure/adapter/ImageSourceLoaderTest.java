@@ -0,0 +1,126 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ImageSourceLoader 图片读取限制测试
+ */
+class ImageSourceLoaderTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+
+    @TempDir
+    Path dir;
+
+    private MockWebServer server;
+
+    private TencentApiProperties properties;
+
+    private ImageSourceLoader loader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        Path base = Files.createDirectory(dir.resolve("images"));
+        Files.write(base.resolve("a.png"), PNG);
+        Files.write(base.resolve("notes.txt"), "not an image".getBytes());
+        Files.write(dir.resolve("secret.png"), PNG);
+
+        properties = new TencentApiProperties();
+        properties.getImage().setLocalFiles(true);
+        properties.getImage().setBaseDir(base.toString());
+        loader = new ImageSourceLoader();
+        ReflectionTestUtils.setField(loader, "tencentHttpClient", new OkHttpClient());
+        ReflectionTestUtils.setField(loader, "tencentApiProperties", properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void relativePathInsideBaseDirIsRead() throws Exception {
+        assertArrayEquals(PNG, loader.load("a.png").get(5, TimeUnit.SECONDS));
+        assertArrayEquals(PNG, loader.load("./sub/../a.png").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void localFilesAreRejectedUnlessEnabled() {
+        properties.getImage().setLocalFiles(false);
+
+        assertRejected("a.png");
+    }
+
+    @Test
+    void pathsOutsideBaseDirAreRejected() throws Exception {
+        Files.createSymbolicLink(dir.resolve("images").resolve("link.png"), dir.resolve("secret.png"));
+
+        assertRejected(dir.resolve("images").resolve("a.png").toString());
+        assertRejected(dir.resolve("images").resolve("a.png").toUri().toString());
+        assertRejected("../secret.png");
+        assertRejected("link.png");
+    }
+
+    @Test
+    void nonImageContentIsRejected() throws Exception {
+        assertRejected("notes.txt");
+
+        properties.getImage().setAllowPrivateHosts(true);
+        server.enqueue(new MockResponse().setBody("<html></html>"));
+        assertRejected(server.url("/page.png").toString());
+    }
+
+    @Test
+    void privateHostsAreNotDownloaded() throws Exception {
+        Throwable cause = assertRejected(server.url("/a.png").toString());
+        assertInstanceOf(UnknownHostException.class, cause);
+        assertEquals(0, server.getRequestCount());
+
+        properties.getImage().setAllowPrivateHosts(true);
+        server.enqueue(new MockResponse().setBody(new Buffer().write(PNG)));
+        assertArrayEquals(PNG, loader.load(server.url("/a.png").toString()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void classifiesPrivateAddresses() throws Exception {
+        for (String address : new String[]{"127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1", "169.254.169.254",
+                "100.64.0.1", "0.0.0.0", "::1", "fe80::1", "fd00::1"}) {
+            assertTrue(ImageSourceLoader.isPrivate(InetAddress.getByName(address)), address);
+        }
+        for (String address : new String[]{"8.8.8.8", "100.128.0.1", "2001:4860:4860::8888"}) {
+            assertFalse(ImageSourceLoader.isPrivate(InetAddress.getByName(address)), address);
+        }
+    }
+
+    private Throwable assertRejected(String source) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> loader.load(source).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause(), source);
+        return e.getCause();
+    }
+}
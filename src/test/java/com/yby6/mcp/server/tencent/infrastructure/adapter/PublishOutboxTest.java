@@ -0,0 +1,313 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.PublishJob;
+import com.yby6.mcp.server.tencent.domain.model.PublishJobStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PublishOutbox 持久化与重放测试
+ */
+class PublishOutboxTest {
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pendingJobsSurviveRestartInOrder() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        PublishJobStatus first = outbox.enqueue(request("第一篇"));
+        PublishJobStatus second = outbox.enqueue(request("第二篇"));
+        PublishJobStatus third = outbox.enqueue(request("第三篇"));
+
+        // 第二篇发布成功，第三篇第一次没有送达，等待重试时崩溃
+        second.setState(PublishJobStatus.SUCCEEDED);
+        second.setArticleId(42L);
+        outbox.update(second);
+        third.setState(PublishJobStatus.RUNNING);
+        third.setAttempts(1);
+        outbox.update(third);
+        third.setState(PublishJobStatus.QUEUED);
+        outbox.update(third);
+        outbox.close();
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        List<PublishJob> pending = reopened.pendingJobs();
+        assertEquals(List.of(first.getJobId(), third.getJobId()), pending.stream().map(PublishJob::getJobId).toList());
+        assertEquals("第三篇", pending.get(1).getRequest().getTitle());
+        assertEquals(PublishJobStatus.QUEUED, reopened.getStatus(third.getJobId()).getState());
+        assertEquals(1, reopened.getStatus(third.getJobId()).getAttempts());
+        assertEquals(42L, reopened.getStatus(second.getJobId()).getArticleId());
+        reopened.close();
+    }
+
+    @Test
+    void runningJobsFailOnReplayInsteadOfBeingPublishedAgain() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        PublishJobStatus running = outbox.enqueue(request("发布中"));
+        PublishJobStatus queued = outbox.enqueue(request("排队中"));
+
+        // 请求体可能已经发出时崩溃
+        running.setState(PublishJobStatus.RUNNING);
+        running.setAttempts(1);
+        outbox.update(running);
+        outbox.close();
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        assertEquals(List.of(queued.getJobId()), reopened.pendingJobs().stream().map(PublishJob::getJobId).toList());
+        PublishJobStatus failed = reopened.getStatus(running.getJobId());
+        assertEquals(PublishJobStatus.FAILED, failed.getState());
+        assertEquals(PublishOutbox.UNKNOWN_AFTER_RESTART, failed.getError());
+        assertEquals(1, failed.getAttempts());
+        reopened.close();
+
+        // 失败状态已经写入日志，再次重启保持不变
+        PublishOutbox again = new PublishOutbox(path, RETENTION);
+        assertEquals(PublishJobStatus.FAILED, again.getStatus(running.getJobId()).getState());
+        assertEquals(1, again.pendingJobs().size());
+        again.close();
+    }
+
+    @Test
+    void tornTailIsIgnoredOnReplay() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        PublishJobStatus status = outbox.enqueue(request("完整记录"));
+        outbox.close();
+
+        Files.write(path, "{\"type\":\"ENQUEUE\",\"status\":{\"jobId\":\"torn".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        assertEquals(1, reopened.pendingJobs().size());
+        assertNotNull(reopened.getStatus(status.getJobId()));
+        assertTrue(Files.readString(path).endsWith("\n"));
+
+        // 截断后追加的记录可以正常重放
+        PublishJobStatus next = reopened.enqueue(request("之后的记录"));
+        reopened.close();
+        assertEquals(2, new PublishOutbox(path, RETENTION).pendingJobs().size());
+        assertNotNull(next.getJobId());
+    }
+
+    @Test
+    void expiredFinishedJobsAreCompactedAway() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        PublishJobStatus old = outbox.enqueue(request("旧文章"));
+        old.setState(PublishJobStatus.FAILED);
+        old.setUpdatedAt(System.currentTimeMillis() - RETENTION.toMillis() - 1000);
+        outbox.update(old);
+        outbox.close();
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        assertNull(reopened.getStatus(old.getJobId()));
+        assertTrue(reopened.pendingJobs().isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void concurrentAppendsAreAllDurable() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<PublishJobStatus>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> outbox.enqueue(request("并发" + index))));
+        }
+        for (Future<PublishJobStatus> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        outbox.close();
+
+        assertEquals(200, Files.readAllLines(path).size());
+        assertEquals(200, new PublishOutbox(path, RETENTION).pendingJobs().size());
+    }
+
+    @Test
+    void journalIsCompactedWhileRunning() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION, 4096);
+        PublishJobStatus status = outbox.enqueue(request("反复更新"));
+        for (int i = 1; i <= 500; i++) {
+            status.setAttempts(i);
+            outbox.update(status);
+        }
+
+        // 500条状态记录远超阈值，压缩后只剩一条
+        assertTrue(Files.size(path) < 4096 * 2, "size " + Files.size(path));
+        PublishJobStatus next = outbox.enqueue(request("压缩之后"));
+        outbox.close();
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        assertEquals(500, reopened.getStatus(status.getJobId()).getAttempts());
+        assertEquals(List.of(status.getJobId(), next.getJobId()),
+                reopened.pendingJobs().stream().map(PublishJob::getJobId).toList());
+        reopened.close();
+    }
+
+    @Test
+    void failedAppendIsTruncatedToLastRecord() throws Exception {
+        Path path = dir.resolve("outbox.jsonl");
+        PublishOutbox outbox = new PublishOutbox(path, RETENTION);
+        PublishJobStatus first = outbox.enqueue(request("写入成功"));
+        long size = Files.size(path);
+
+        FileChannel channel = (FileChannel) ReflectionTestUtils.getField(outbox, "channel");
+        ReflectionTestUtils.setField(outbox, "channel", new PartialWriteChannel(channel));
+        assertThrows(IOException.class, () -> outbox.enqueue(request("写了一半")));
+        assertEquals(size, Files.size(path));
+        assertEquals(1, outbox.pendingJobs().size());
+
+        // 截断后追加的记录紧接在上一条完整记录之后
+        ReflectionTestUtils.setField(outbox, "channel", channel);
+        PublishJobStatus second = outbox.enqueue(request("之后的记录"));
+        outbox.close();
+
+        PublishOutbox reopened = new PublishOutbox(path, RETENTION);
+        assertEquals(List.of(first.getJobId(), second.getJobId()),
+                reopened.pendingJobs().stream().map(PublishJob::getJobId).toList());
+        reopened.close();
+    }
+
+    private static ArticleFunctionRequest request(String title) {
+        ArticleFunctionRequest request = new ArticleFunctionRequest();
+        request.setTitle(title);
+        request.setMarkdowncontent("# " + title + "\n正文");
+        return request;
+    }
+
+    /**
+     * 只写出一半内容后失败的文件通道，模拟磁盘写满等写入中途的错误
+     */
+    private static class PartialWriteChannel extends FileChannel {
+
+        private final FileChannel delegate;
+
+        PartialWriteChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer half = src.duplicate();
+            half.limit(src.position() + src.remaining() / 2);
+            delegate.write(half);
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() {
+            // 由测试恢复原通道后关闭
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentDirectory 目录索引测试
+ *
+ * 使用本地 MockWebServer 代替社区的列表接口，快照写入临时目录。
+ */
+class TencentDirectoryTest {
+
+    @TempDir
+    Path dir;
+
+    private MockWebServer server;
+
+    private TencentApiProperties properties;
+
+    /** 标签接口返回的"MCP"的ID */
+    private volatile int mcpTagId = 18126;
+
+    /** 为true时列表接口返回500 */
+    private volatile boolean fails;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (fails) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                String list = switch (request.getPath()) {
+                    case "/developer/api/tag/list" -> "[{\"id\":" + mcpTagId + ",\"name\":\"MCP\"},{\"id\":10,\"name\":\"Java\"}]";
+                    case "/developer/api/classify/list" -> "[{\"id\":2,\"name\":\"后端\"}]";
+                    case "/developer/api/column/list" -> "[{\"id\":101806,\"name\":\"杨不易呀\"}]";
+                    default -> null;
+                };
+                if (list == null) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"status\":0,\"list\":" + list + "}");
+            }
+        });
+        server.start();
+
+        properties = new TencentApiProperties();
+        properties.setCookie("test-cookie");
+        properties.getDirectory().setSnapshotPath(dir.resolve("directory.json").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void coldStartFetchesOnceAndLaterStartsFromSnapshot() throws Exception {
+        TencentDirectory directory = directory();
+
+        // 没有快照，第一次查找不等待首次获取，先无法解析
+        assertNull(directory.tagId(" mcp "));
+        directory.refresh().get(5, TimeUnit.SECONDS);
+
+        assertEquals(18126, directory.tagId(" mcp "));
+        assertEquals(2, directory.categoryId("后端"));
+        assertEquals(101806, directory.columnId("杨不易呀"));
+        assertNull(directory.tagId("不存在"));
+        assertEquals(3, server.getRequestCount());
+        assertEquals("test-cookie", server.takeRequest().getHeader("Cookie"));
+        assertTrue(Files.exists(dir.resolve("directory.json")));
+
+        // 重启后直接使用快照，不请求社区接口
+        fails = true;
+        TencentDirectory restarted = directory();
+        assertEquals(10, restarted.tagId("java"));
+        assertEquals(List.of("MCP", "Java"), List.copyOf(restarted.tagNames()));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileRefreshing() throws Exception {
+        writeSnapshot(0, Map.of("MCP", 1));
+        mcpTagId = 2;
+        TencentDirectory directory = directory();
+
+        // 过期的快照立即可用，同时在后台刷新
+        assertEquals(1, directory.tagId("MCP"));
+        directory.refresh().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, directory.tagId("MCP"));
+        assertEquals(2, directory().tagId("MCP"));
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousIndex() throws Exception {
+        writeSnapshot(0, Map.of("MCP", 1));
+        fails = true;
+        TencentDirectory directory = directory();
+
+        assertEquals(1, directory.tagId("MCP"));
+        try {
+            directory.refresh().get(5, TimeUnit.SECONDS);
+        } catch (Exception ignored) {
+            // 刷新失败由目录自己处理
+        }
+        assertEquals(1, directory.tagId("MCP"));
+
+        // 没有快照且获取失败时所有名称都无法解析
+        Files.delete(dir.resolve("directory.json"));
+        assertNull(directory().tagId("MCP"));
+    }
+
+    private TencentDirectory directory() {
+        ITencentService service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(ITencentService.class);
+        return new TencentDirectory(service, properties);
+    }
+
+    private void writeSnapshot(long fetchedAt, Map<String, Integer> tags) throws Exception {
+        new ObjectMapper().writeValue(dir.resolve("directory.json").toFile(),
+                new TencentDirectory.Snapshot(fetchedAt, Map.of(), tags, Map.of()));
+    }
+}
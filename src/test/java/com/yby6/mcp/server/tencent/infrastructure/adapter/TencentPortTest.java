@@ -0,0 +1,331 @@
+package com.yby6.mcp.server.tencent.infrastructure.adapter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionRequest;
+import com.yby6.mcp.server.tencent.domain.model.ArticleFunctionResponse;
+import com.yby6.mcp.server.tencent.domain.model.RateLimitStatus;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.ITencentService;
+import com.yby6.mcp.server.tencent.types.cache.ProseMirrorConversionCache;
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.AdaptiveRateLimiter;
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.CircuitBreaker;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorOptions;
+import com.yby6.mcp.server.tencent.types.utils.RetryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * TencentPort 发布流程测试
+ *
+ * 使用本地 MockWebServer 代替腾讯云开发者社区，验证一次发布的完整流程。
+ */
+class TencentPortTest {
+
+    private MockWebServer server;
+
+    private TencentPort port;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        ITencentService service = service(new OkHttpClient());
+
+        TencentApiProperties properties = new TencentApiProperties();
+        properties.setCookie("test-cookie");
+        properties.getDirectory().setEnabled(false);
+        properties.getRetry().setInitialBackoffMillis(20);
+
+        port = new TencentPort();
+        ReflectionTestUtils.setField(port, "iTencentService", service);
+        ReflectionTestUtils.setField(port, "tencentApiProperties", properties);
+        ReflectionTestUtils.setField(port, "tencentDirectory", new TencentDirectory(service, properties));
+        ReflectionTestUtils.setField(port, "proseMirrorConversionCache", new ProseMirrorConversionCache(properties));
+        ReflectionTestUtils.setField(port, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(port, "tencentRateLimiter", new AdaptiveRateLimiter(100, 1, 100, 100, 1, 0.5));
+        ReflectionTestUtils.setField(port, "tencentCircuitBreaker", new CircuitBreaker(5, 30000));
+        ReflectionTestUtils.setField(port, "tencentRetryBudget", new RetryBudget(0.2, 10));
+        ReflectionTestUtils.setField(port, "meterRegistry", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void convertsMarkdownOncePerPublish() throws Exception {
+        server.enqueue(success(42));
+
+        try (MockedStatic<MarkdownToProseMirrorConverter> converter =
+                     Mockito.mockStatic(MarkdownToProseMirrorConverter.class, Mockito.CALLS_REAL_METHODS)) {
+            ArticleFunctionResponse response = port.writeArticle(request("# 标题\n\n这是一段文本"));
+
+            assertEquals(42L, response.getArticleId());
+            converter.verify(() -> MarkdownToProseMirrorConverter.convert(anyString(), any(ProseMirrorOptions.class)),
+                    Mockito.times(1));
+        }
+
+        RecordedRequest recorded = server.takeRequest();
+        assertEquals("test-cookie", recorded.getHeader("Cookie"));
+        assertTrue(recorded.getBody().readUtf8().contains("\\\"type\\\":\\\"heading\\\""));
+    }
+
+    @Test
+    void retriedPublishReusesCachedConversion() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+        server.enqueue(success(43));
+
+        try (MockedStatic<MarkdownToProseMirrorConverter> converter =
+                     Mockito.mockStatic(MarkdownToProseMirrorConverter.class, Mockito.CALLS_REAL_METHODS)) {
+            ArticleFunctionResponse response = port.writeArticle(request("重试的内容"));
+
+            assertEquals(43L, response.getArticleId());
+            converter.verify(() -> MarkdownToProseMirrorConverter.convert(anyString(), any(ProseMirrorOptions.class)),
+                    Mockito.times(1));
+        }
+
+        String first = server.takeRequest().getBody().readUtf8();
+        String second = server.takeRequest().getBody().readUtf8();
+        assertEquals(first, second);
+        assertEquals(1, meterRegistry.get("tencent.http.addArticle").tag("status", "503").timer().count());
+        assertEquals(1, meterRegistry.get("tencent.http.addArticle").tag("status", "200").timer().count());
+        assertEquals(first.getBytes(StandardCharsets.UTF_8).length, meterRegistry.get("tencent.payload.json").summary().totalAmount(), 0.001);
+    }
+
+    @Test
+    void requestBodyIsSerializedOnce() throws Exception {
+        server.enqueue(success(44));
+        ObjectMapper objectMapper = Mockito.spy(new ObjectMapper());
+        ReflectionTestUtils.setField(port, "objectMapper", objectMapper);
+
+        port.writeArticle(request("# 一次序列化"));
+
+        Mockito.verify(objectMapper, Mockito.times(1)).writeValueAsBytes(any());
+        Mockito.verify(objectMapper, Mockito.never()).writeValueAsString(any());
+        RecordedRequest recorded = server.takeRequest();
+        assertTrue(recorded.getHeader("Content-Type").startsWith("application/json"));
+        assertEquals(recorded.getBodySize(), Long.parseLong(recorded.getHeader("Content-Length")));
+        assertEquals("标题", objectMapper.readTree(recorded.getBody().readUtf8()).get("title").asText());
+    }
+
+    @Test
+    void largeArticleIsStreamedAndRetriedWithSameBytes() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429));
+        server.enqueue(success(45));
+        TencentApiProperties properties = (TencentApiProperties) ReflectionTestUtils.getField(port, "tencentApiProperties");
+        properties.getStreaming().setThresholdChars(0);
+        String markdown = "# 流式发布\n\n- 第一项\n- 第二项\n\n正文";
+
+        try (MockedStatic<MarkdownToProseMirrorConverter> converter =
+                     Mockito.mockStatic(MarkdownToProseMirrorConverter.class, Mockito.CALLS_REAL_METHODS)) {
+            assertEquals(45L, port.writeArticle(request(markdown)).getArticleId());
+            converter.verify(() -> MarkdownToProseMirrorConverter.convert(anyString(), any(ProseMirrorOptions.class)),
+                    Mockito.never());
+        }
+
+        // 没有为计算长度预先生成一遍：第一次长度未知使用分块传输，重试时使用第一次写出时记录的长度
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        String body = first.getBody().readUtf8();
+        assertEquals(body, second.getBody().readUtf8());
+        assertEquals("chunked", first.getHeader("Transfer-Encoding"));
+        assertEquals(second.getBodySize(), Long.parseLong(second.getHeader("Content-Length")));
+        assertEquals(second.getBodySize(), meterRegistry.get("tencent.payload.json").summary().totalAmount(), 0.001);
+        assertEquals(1, meterRegistry.get("tencent.payload.json").summary().count());
+        assertEquals(MarkdownToProseMirrorConverter.convert(markdown, BlockIdGenerator.deterministic()),
+                new ObjectMapper().readTree(body).get("content").asText());
+    }
+
+    @Test
+    void asyncPublishDoesNotBlockCaller() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(success(100 + i).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        }
+
+        List<CompletableFuture<ArticleFunctionResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(port.writeArticleAsync(request("并发内容" + i)));
+        }
+        assertTrue(futures.stream().noneMatch(CompletableFuture::isDone));
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(3, server.getRequestCount());
+        for (CompletableFuture<ArticleFunctionResponse> future : futures) {
+            assertTrue(future.get().getArticleId() >= 100);
+        }
+    }
+
+    @Test
+    void throttledResponseSlowsDownAndHonorsRetryAfter() throws Exception {
+        ReflectionTestUtils.setField(port, "tencentRateLimiter", new AdaptiveRateLimiter(20, 1, 20, 1, 1, 0.5));
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(success(45));
+
+        long start = System.nanoTime();
+        ArticleFunctionResponse response = port.writeArticle(request("被限流的内容"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(45L, response.getArticleId());
+        assertTrue(elapsedMillis >= 900, "Retry-After 期间不应发送请求: " + elapsedMillis + "ms");
+        RateLimitStatus status = port.getRateLimitStatus();
+        assertEquals(1L, status.getThrottles());
+        assertEquals(1L, status.getSuccesses());
+        assertEquals(11.0, status.getRate(), 0.001);
+    }
+
+    @Test
+    void retriesStopWhenBudgetIsExhausted() throws Exception {
+        ReflectionTestUtils.setField(port, "tencentRetryBudget", new RetryBudget(0, 1));
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(429));
+        }
+
+        assertNull(port.writeArticle(request("一直失败")));
+        assertEquals(2, server.getRequestCount());
+        assertNull(port.writeArticle(request("一直失败")));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void authFailureOpensCircuitImmediately() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(401));
+
+        assertThrows(IOException.class, () -> port.writeArticle(request("cookie失效")));
+        IOException failFast = assertThrows(IOException.class, () -> port.writeArticle(request("cookie失效")));
+
+        assertTrue(failFast.getMessage().contains("熔断"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void failuresAfterTheBodyWasSentAreNotRetried() throws Exception {
+        // 5xx可能已经保存了文章
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        assertNull(port.writeArticle(request("服务端错误")));
+        assertNull(port.writeArticle(request("服务端错误")));
+        assertEquals(2, server.getRequestCount());
+
+        // 读取超时时请求已经发出
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(success(46));
+        ReflectionTestUtils.setField(port, "iTencentService", service(new OkHttpClient.Builder()
+                .readTimeout(200, TimeUnit.MILLISECONDS).build()));
+        assertThrows(IOException.class, () -> port.writeArticle(request("读取超时")));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void connectFailuresAreRetried() throws Exception {
+        server.shutdown();
+
+        assertThrows(IOException.class, () -> port.writeArticle(request("连接失败")));
+        assertEquals(3, meterRegistry.get("tencent.http.addArticle").tag("status", "IO_ERROR").timer().count());
+    }
+
+    @Test
+    void namesAreResolvedThroughDirectory(@TempDir Path dir) throws Exception {
+        TencentApiProperties properties = (TencentApiProperties) ReflectionTestUtils.getField(port, "tencentApiProperties");
+        properties.setCategories("后端, 不存在");
+        properties.getDirectory().setEnabled(true);
+        properties.getDirectory().setSnapshotPath(dir.resolve("directory.json").toString());
+        new ObjectMapper().writeValue(dir.resolve("directory.json").toFile(), new TencentDirectory.Snapshot(
+                System.currentTimeMillis(), Map.of("后端", 7), Map.of("MCP", 8, "Java", 9), Map.of()));
+        ReflectionTestUtils.setField(port, "tencentDirectory",
+                new TencentDirectory((ITencentService) ReflectionTestUtils.getField(port, "iTencentService"), properties));
+        server.enqueue(success(48));
+
+        ArticleFunctionRequest request = request("标签");
+        request.setTags(List.of("mcp", "java", "新标签"));
+        port.writeArticle(request);
+
+        // 快照未过期，只有发布请求
+        assertEquals(1, server.getRequestCount());
+        JsonNode body = new ObjectMapper().readTree(server.takeRequest().getBody().readUtf8());
+        assertEquals("[7]", body.get("classifyIds").toString());
+        assertEquals("[8,9]", body.get("tagIds").toString());
+        assertEquals("[\"新标签\"]", body.get("longtailTag").toString());
+        assertEquals("[101806]", body.get("columnIds").toString());
+
+        // 没有指定标签时按正文匹配目录中的标签
+        server.enqueue(success(49));
+        port.writeArticle(request("# Java 与 MCP\n\nJava 的 MCP 服务端，JavaScript 不计入 Java。"));
+        body = new ObjectMapper().readTree(server.takeRequest().getBody().readUtf8());
+        assertEquals("[9,8]", body.get("tagIds").toString());
+        assertEquals("[]", body.get("longtailTag").toString());
+
+        // 没有匹配到标签时使用兜底标签和配置的长尾标签
+        server.enqueue(success(50));
+        port.writeArticle(request("没有标签"));
+        body = new ObjectMapper().readTree(server.takeRequest().getBody().readUtf8());
+        assertEquals("[18126]", body.get("tagIds").toString());
+        assertEquals("[\"mcp\"]", body.get("longtailTag").toString());
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        assertEquals(TimeUnit.SECONDS.toNanos(3), TencentPort.retryAfterNanos("3"));
+        assertEquals(0, TencentPort.retryAfterNanos("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals(0, TencentPort.retryAfterNanos("soon"));
+        assertEquals(0, TencentPort.retryAfterNanos(null));
+    }
+
+    private ITencentService service(OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(ITencentService.class);
+    }
+
+    private static ArticleFunctionRequest request(String markdown) {
+        ArticleFunctionRequest request = new ArticleFunctionRequest();
+        request.setTitle("标题");
+        request.setMarkdowncontent(markdown);
+        request.setUserSummary("摘要");
+        return request;
+    }
+
+    private static MockResponse success(long articleId) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"articleId\":" + articleId + ",\"status\":0}");
+    }
+}
@@ -0,0 +1,145 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yby6.mcp.server.tencent.infrastructure.gateway.dto.AddArticleRequest;
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorOptions;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StreamingArticleRequestBody 流式请求体测试
+ */
+class StreamingArticleRequestBodyTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final ProseMirrorOptions OPTIONS = ProseMirrorOptions.of(BlockIdGenerator.deterministic());
+
+    private static final String PARAGRAPH = "小王是一名有着3年Java开发经验的程序员，最近他正在面试一家知名互联网公司的高级Java开发职位。"
+            + "这个职位要求候选人不仅精通Java后端开发，还需要对前端和微服务架构有深入理解。\n\n";
+
+    /** 堆上限测试使用的文档字符数，流式请求体约16MB */
+    private static final int LARGE_DOCUMENT_CHARS = 2_000_000;
+
+    /** 堆上限 */
+    private static final String HEAP_CEILING = "-Xmx32m";
+
+    @Test
+    void writesSameBytesAsBufferedBody() throws Exception {
+        String markdown = "# 标题\n\n- 列表\n\n```java\nint a = 1;\n```\n\n" + document(200_000);
+        ReplayableRequestBody buffered = buffered(markdown);
+        ReplayableRequestBody streaming = StreamingArticleRequestBody.of(objectMapper, article(markdown), OPTIONS);
+
+        byte[] expected = bytes(buffered);
+        assertEquals(buffered.contentType(), streaming.contentType());
+        // 写出前不为计算长度额外生成一遍
+        assertEquals(-1, streaming.contentLength());
+        assertTrue(streaming.preview(101).endsWith("..."));
+        assertArrayEquals(expected, bytes(streaming));
+        assertEquals(expected.length, streaming.contentLength());
+        // 重复写出的字节相同，可用于重试
+        assertArrayEquals(expected, bytes(streaming));
+    }
+
+    @Test
+    void previewOnlyGeneratesHead() throws Exception {
+        String markdown = document(10_000);
+        ReplayableRequestBody streaming = StreamingArticleRequestBody.of(objectMapper, article(markdown), OPTIONS);
+        String full = new String(bytes(streaming), StandardCharsets.UTF_8);
+
+        String preview = streaming.preview(101);
+        assertTrue(preview.endsWith("...(共" + streaming.contentLength() + "字节)"), preview);
+        String head = preview.substring(0, preview.indexOf("...(共"));
+        assertTrue(full.startsWith(head));
+        assertTrue(head.getBytes(StandardCharsets.UTF_8).length <= 101);
+        assertEquals(buffered(markdown).preview(101), preview);
+
+        ReplayableRequestBody small = StreamingArticleRequestBody.of(objectMapper, article("短文"), OPTIONS);
+        assertEquals(new String(bytes(small), StandardCharsets.UTF_8), small.preview(1 << 20));
+    }
+
+    @Test
+    void largeArticleFitsInHeapCeilingOnlyWhenStreaming() throws Exception {
+        assertEquals(0, fork("streaming"), "流式请求体应能在" + HEAP_CEILING + "内写出");
+        assertNotEquals(0, fork("buffered"), "预先编码的请求体应超出" + HEAP_CEILING);
+    }
+
+    /**
+     * 在限制堆大小的子进程中写出超大文章的请求体
+     *
+     * @param mode streaming或buffered
+     * @return 子进程退出码
+     */
+    private static int fork(String mode) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, HEAP_CEILING, "-cp", System.getProperty("java.class.path"),
+                StreamingArticleRequestBodyTest.class.getName(), mode, String.valueOf(LARGE_DOCUMENT_CHARS))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES));
+        return process.exitValue();
+    }
+
+    /**
+     * 子进程入口：生成文档并写出请求体，内存不足时以非0退出码结束
+     *
+     * @param args 模式和文档字符数
+     */
+    public static void main(String[] args) throws Exception {
+        String markdown = document(Integer.parseInt(args[1]));
+        ReplayableRequestBody body = "streaming".equals(args[0])
+                ? StreamingArticleRequestBody.of(objectMapper, article(markdown), OPTIONS)
+                : buffered(markdown);
+        BufferedSink sink = Okio.buffer(Okio.blackhole());
+        body.writeTo(sink);
+        sink.flush();
+        System.out.println(body.contentLength());
+    }
+
+    private static ReplayableRequestBody buffered(String markdown) throws Exception {
+        AddArticleRequest request = article(markdown);
+        request.setContent(MarkdownToProseMirrorConverter.convert(markdown, OPTIONS));
+        return JsonRequestBody.of(objectMapper, request);
+    }
+
+    private static byte[] bytes(ReplayableRequestBody body) throws Exception {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readByteArray();
+    }
+
+    private static String document(int chars) {
+        StringBuilder markdown = new StringBuilder(chars + 256);
+        for (int i = 0; markdown.length() < chars; i++) {
+            if (i % 10 == 0) {
+                markdown.append("## 第").append(i / 10 + 1).append("节\n\n");
+            }
+            markdown.append(PARAGRAPH);
+        }
+        return markdown.toString();
+    }
+
+    private static AddArticleRequest article(String markdown) {
+        AddArticleRequest request = new AddArticleRequest();
+        request.setTitle("超大文章");
+        request.setPlain(markdown);
+        request.setClassifyIds(List.of(2));
+        request.setUserSummary("摘要");
+        return request;
+    }
+}
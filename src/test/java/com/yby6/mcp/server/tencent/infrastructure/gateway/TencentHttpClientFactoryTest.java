@@ -0,0 +1,127 @@
+package com.yby6.mcp.server.tencent.infrastructure.gateway;
+
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TencentHttpClientFactory 连接池与预热测试
+ */
+class TencentHttpClientFactoryTest {
+
+    private MockWebServer server;
+
+    private TencentApiProperties.Transport transport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        transport = new TencentApiProperties.Transport();
+        transport.setMaxRequests(6);
+        transport.setMaxRequestsPerHost(3);
+        transport.setConnectTimeoutMillis(2000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void appliesTransportSettings() {
+        OkHttpClient client = TencentHttpClientFactory.create(transport);
+
+        assertEquals(6, client.dispatcher().getMaxRequests());
+        assertEquals(3, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(2000, client.connectTimeoutMillis());
+        assertEquals(30000, client.readTimeoutMillis());
+    }
+
+    @Test
+    void warmUpLeavesReusableConnectionInPool() throws Exception {
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("ok"));
+        OkHttpClient client = TencentHttpClientFactory.create(transport);
+
+        int code = TencentHttpClientFactory.warmUp(client, server.url("/").toString()).get(5, TimeUnit.SECONDS);
+        assertEquals(200, code);
+        assertEquals(1, client.connectionPool().idleConnectionCount());
+
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/publish")).build()).execute()) {
+            assertEquals("ok", response.body().string());
+        }
+
+        RecordedRequest warmUp = server.takeRequest();
+        RecordedRequest publish = server.takeRequest();
+        assertEquals("HEAD", warmUp.getMethod());
+        // 第二个请求复用预热时建立的连接
+        assertEquals(0, warmUp.getSequenceNumber());
+        assertEquals(1, publish.getSequenceNumber());
+        assertEquals(1, client.connectionPool().connectionCount());
+    }
+
+    @Test
+    void callsBeyondMaxRequestsAreQueuedNotRejected() throws Exception {
+        transport.setMaxRequests(2);
+        transport.setMaxRequestsPerHost(2);
+        OkHttpClient client = TencentHttpClientFactory.create(transport);
+        int calls = 40;
+        for (int i = 0; i < calls; i++) {
+            server.enqueue(new MockResponse().setBody("ok").setBodyDelay(5, TimeUnit.MILLISECONDS));
+        }
+
+        CountDownLatch done = new CountDownLatch(calls);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            client.newCall(new Request.Builder().url(server.url("/publish")).build()).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (response) {
+                        if (response.isSuccessful()) succeeded.incrementAndGet();
+                    }
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    failures.add(e);
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(List.of(), failures);
+        assertEquals(calls, succeeded.get());
+    }
+
+    @Test
+    void failedWarmUpDoesNotThrow() throws Exception {
+        String url = server.url("/").toString();
+        server.shutdown();
+        OkHttpClient client = TencentHttpClientFactory.create(transport);
+
+        assertEquals(-1, TencentHttpClientFactory.warmUp(client, url).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,104 @@
+package com.yby6.mcp.server.tencent.types.cache;
+
+import com.yby6.mcp.server.tencent.types.properties.TencentApiProperties;
+import com.yby6.mcp.server.tencent.types.utils.BlockIdGenerator;
+import com.yby6.mcp.server.tencent.types.utils.MarkdownToProseMirrorConverter;
+import com.yby6.mcp.server.tencent.types.utils.ProseMirrorOptions;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * ProseMirrorConversionCache 缓存测试
+ */
+class ProseMirrorConversionCacheTest {
+
+    @Test
+    void countsHitsAndMisses() {
+        ProseMirrorConversionCache cache = new ProseMirrorConversionCache(properties(1024 * 1024));
+
+        String first = cache.convert("# 标题\n\n内容");
+        String second = cache.convert("# 标题\n\n内容");
+        cache.convert("其他内容");
+
+        assertSame(first, second);
+        ProseMirrorConversionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.entries());
+        assertTrue(stats.bytes() > first.length());
+    }
+
+    @Test
+    void evictsWhenByteCapIsExceeded() {
+        ProseMirrorConversionCache cache = new ProseMirrorConversionCache(properties(16 * 1024));
+
+        for (int i = 0; i < 100; i++) {
+            cache.convert("段落" + i + "\n\n" + "内容".repeat(200));
+        }
+        cache.convert("触发淘汰");
+
+        ProseMirrorConversionCache.Stats stats = cache.stats();
+        assertTrue(stats.evictions() > 0);
+        assertTrue(stats.bytes() <= 16 * 1024);
+    }
+
+    @Test
+    void zeroCapacityDisablesCache() {
+        ProseMirrorConversionCache cache = new ProseMirrorConversionCache(properties(0));
+
+        assertEquals(cache.convert("内容"), cache.convert("内容"));
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test
+    void largeDocumentIsConvertedInParallel() {
+        TencentApiProperties properties = properties(0);
+        properties.getConversion().setParallelThresholdChars(1024);
+        properties.getConversion().setParallelism(2);
+        ProseMirrorConversionCache cache = new ProseMirrorConversionCache(properties);
+        String markdown = "## 段落\n\n内容\n\n".repeat(5000);
+
+        try (MockedStatic<MarkdownToProseMirrorConverter> converter =
+                     Mockito.mockStatic(MarkdownToProseMirrorConverter.class, Mockito.CALLS_REAL_METHODS)) {
+            String json = cache.convert(markdown);
+
+            assertEquals(MarkdownToProseMirrorConverter.convert(markdown, BlockIdGenerator.deterministic()), json);
+            converter.verify(() -> MarkdownToProseMirrorConverter.convertParallel(
+                    anyString(), any(ProseMirrorOptions.class), any(ForkJoinPool.class)), Mockito.times(1));
+        }
+    }
+
+    @Test
+    void closeShutsDownDedicatedPoolOnly() {
+        TencentApiProperties properties = properties(0);
+        properties.getConversion().setParallelism(2);
+        ProseMirrorConversionCache cache = new ProseMirrorConversionCache(properties);
+        ForkJoinPool pool = (ForkJoinPool) ReflectionTestUtils.getField(cache, "parallelPool");
+
+        cache.close();
+        assertTrue(pool.isShutdown());
+
+        properties.getConversion().setParallelism(0);
+        ProseMirrorConversionCache common = new ProseMirrorConversionCache(properties);
+        common.close();
+        assertFalse(ForkJoinPool.commonPool().isShutdown());
+        assertSame(ForkJoinPool.commonPool(), ReflectionTestUtils.getField(common, "parallelPool"));
+    }
+
+    private static TencentApiProperties properties(long maxBytes) {
+        TencentApiProperties properties = new TencentApiProperties();
+        properties.getConversionCache().setMaxBytes(maxBytes);
+        return properties;
+    }
+}
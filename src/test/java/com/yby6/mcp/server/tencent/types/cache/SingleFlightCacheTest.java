@@ -0,0 +1,88 @@
+package com.yby6.mcp.server.tencent.types.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SingleFlightCache 合并调用与取消测试
+ */
+class SingleFlightCacheTest {
+
+    private final SingleFlightCache<String, String> cache =
+            new SingleFlightCache<>(Duration.ofMinutes(1), 100, value -> true);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneExecutionButNotOneFuture() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.execute("k", () -> load(source));
+        CompletableFuture<String> second = cache.execute("k", () -> load(new CompletableFuture<>()));
+
+        assertNotSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.coalesced());
+
+        // 一个调用方取消不影响其他调用方和实际执行
+        first.cancel(true);
+        assertFalse(source.isCancelled());
+        source.complete("v");
+        assertEquals("v", second.join());
+
+        // 窗口内直接返回保留的结果
+        assertEquals("v", cache.execute("k", () -> load(new CompletableFuture<>())).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void executionIsCancelledWhenAllCallersCancel() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.execute("k", () -> load(source));
+        CompletableFuture<String> second = cache.execute("k", () -> load(new CompletableFuture<>()));
+
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(source.isCancelled());
+        assertEquals(0, cache.inFlight());
+
+        // 之后的调用重新执行
+        CompletableFuture<String> retry = new CompletableFuture<>();
+        CompletableFuture<String> third = cache.execute("k", () -> load(retry));
+        retry.complete("v2");
+        assertEquals("v2", third.join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failuresReachEveryCallerUnwrapped() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.execute("k", () -> load(source));
+        CompletableFuture<String> second = cache.execute("k", () -> load(new CompletableFuture<>()));
+
+        IllegalStateException failure = new IllegalStateException("失败");
+        source.completeExceptionally(failure);
+
+        first.handle((value, throwable) -> assertSameFailure(failure, throwable)).join();
+        second.handle((value, throwable) -> assertSameFailure(failure, throwable)).join();
+        assertEquals(0, cache.inFlight());
+    }
+
+    private CompletableFuture<String> load(CompletableFuture<String> source) {
+        loads.incrementAndGet();
+        return source;
+    }
+
+    private static Void assertSameFailure(Throwable expected, Throwable actual) {
+        assertEquals(expected, actual);
+        return null;
+    }
+}
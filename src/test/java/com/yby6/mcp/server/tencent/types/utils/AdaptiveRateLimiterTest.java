@@ -0,0 +1,67 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * AdaptiveRateLimiter 令牌桶与AIMD调整测试
+ */
+class AdaptiveRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void spacesRequestsAfterBurstIsUsed() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2, 0.5, 10, 2, 0.5, 0.5, now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(millis(500), limiter.reserve());
+        assertEquals(millis(1000), limiter.reserve());
+
+        // 空闲足够久后令牌补满，但不超过桶容量
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(millis(500), limiter.reserve());
+    }
+
+    @Test
+    void increasesAdditivelyAndDecreasesMultiplicatively() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2, 0.5, 3, 1, 0.5, 0.5, now::get);
+
+        limiter.onSuccess();
+        limiter.onSuccess();
+        limiter.onSuccess();
+        assertEquals(3.0, limiter.state().rate(), 0.001);
+
+        limiter.onThrottled(0);
+        assertEquals(1.5, limiter.state().rate(), 0.001);
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        assertEquals(0.5, limiter.state().rate(), 0.001);
+        assertEquals(3, limiter.state().throttles());
+    }
+
+    @Test
+    void retryAfterPausesAllReservations() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(4, 1, 10, 4, 1, 0.5, now::get);
+
+        limiter.onThrottled(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(2000, limiter.state().pausedMillis());
+        assertEquals(millis(2000) + millis(500), limiter.reserve());
+        assertEquals(millis(2000) + millis(1000), limiter.reserve());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(0, limiter.state().pausedMillis());
+        assertEquals(0, limiter.reserve());
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
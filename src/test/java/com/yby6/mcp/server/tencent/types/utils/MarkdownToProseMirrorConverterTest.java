@@ -0,0 +1,333 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MarkdownToProseMirrorConverter 转换测试
+ */
+class MarkdownToProseMirrorConverterTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String MARKDOWN = """
+            # Java开发面试全景
+
+            ## 引言
+
+            小王是一名有着3年Java开发经验的程序员，"引号"、\\反斜杠\\ 和 <b>html</b> 都需要正确转义！
+
+            1. **前端限流**：页面静态化、按钮控制
+            2. *缓存层设计*：使用 `Redis` 缓存热点商品数据
+               - ~~乐观锁~~防止超卖
+
+            - [x] 已完成
+            - [ ] 未完成
+
+            > 引用的内容
+
+            ```java
+            System.out.println("code");
+            ```
+
+            ---
+
+            | 服务 | 端口 |
+            | --- | ---: |
+            | 订单 | 8080 |
+
+            [链接](https://cloud.tencent.com "标题") 和 ![图片](https://example.com/a.png) 结尾\\
+            换行之后 https://cloud.tencent.com/developer
+            """;
+
+    /** 切分边界附近的各种结构 */
+    private static final String[] DOCUMENTS = {
+            MARKDOWN,
+            // 列表项内的围栏在顶格行处结束，之后的顶格围栏才是新的代码块
+            "- a\n  ```\n  code\n\nfoo\n\n```\nx\n\ny\n```\n\nz\n",
+            // 跨越空行的列表、引用和缩进代码
+            "1. one\n\n   two\n\n2) three\n\n> quote\n\n> again\n\n    indented\n\n    more\n\nend\n",
+            // 围栏内的空行与顶格行，以及更长的关闭围栏
+            "~~~~\na\n\n~~~\nb\n\n~~~~~\n\nafter\n\n``` a`b\n\nnot fence\n",
+            // 文末引用的链接定义和跨越空行的HTML块，整篇解析
+            "[link][ref]\n\ntext\n\n[ref]: https://cloud.tencent.com\n",
+            "<pre>\na\n\nb\n</pre>\n\ntext\n",
+            "| a | b |\n| - | - |\n| 1 | 2 |\n\n- [x] done\n\n  child\n\nlast\r\n\r\nline\r\n",
+            // "]:"和反引号只出现在后面的行中，不影响当前行的判断
+            "```\ncode\n```\n\n[bracket\n\nlater ]: colon\n\n` tick\n"
+    };
+
+    @Test
+    void streamingModesProduceIdenticalOutput() throws Exception {
+        String json = maskIds(MarkdownToProseMirrorConverter.convert(MARKDOWN));
+
+        StringWriter writer = new StringWriter();
+        MarkdownToProseMirrorConverter.convert(MARKDOWN, writer);
+        assertEquals(json, maskIds(writer.toString()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MarkdownToProseMirrorConverter.convert(MARKDOWN, bytes);
+        assertEquals(json, maskIds(bytes.toString(StandardCharsets.UTF_8)));
+
+        // 指定id生成策略和转换选项的重载逐字符一致，不需要替换id
+        BlockIdGenerator ids = BlockIdGenerator.deterministic();
+        for (String markdown : DOCUMENTS) {
+            String expected = MarkdownToProseMirrorConverter.convert(markdown, ids);
+
+            StringWriter withIds = new StringWriter();
+            MarkdownToProseMirrorConverter.convert(markdown, withIds, ids);
+            assertEquals(expected, withIds.toString(), markdown);
+
+            StringWriter withOptions = new StringWriter();
+            MarkdownToProseMirrorConverter.convert(markdown, withOptions, ProseMirrorOptions.of(ids));
+            assertEquals(expected, withOptions.toString(), markdown);
+
+            ByteArrayOutputStream utf8 = new ByteArrayOutputStream();
+            MarkdownToProseMirrorConverter.convert(markdown, utf8, ids);
+            assertEquals(expected, utf8.toString(StandardCharsets.UTF_8), markdown);
+        }
+    }
+
+    @Test
+    void blockReaderMatchesStringConversion() throws Exception {
+        BlockIdGenerator ids = BlockIdGenerator.deterministic();
+        String json = MarkdownToProseMirrorConverter.convert(MARKDOWN, ids);
+
+        StringWriter writer = new StringWriter();
+        try (Reader reader = MarkdownToProseMirrorConverter.reader(MARKDOWN, ids)) {
+            // 小缓冲区逐段读取，覆盖块边界跨越多次读取的情况
+            char[] chunk = new char[7];
+            int n;
+            while ((n = reader.read(chunk)) != -1) {
+                writer.write(chunk, 0, n);
+            }
+        }
+        assertEquals(json, writer.toString());
+
+        StringWriter empty = new StringWriter();
+        try (Reader reader = MarkdownToProseMirrorConverter.reader("", ids)) {
+            reader.transferTo(empty);
+        }
+        assertEquals(MarkdownToProseMirrorConverter.convert("", ids), empty.toString());
+    }
+
+    @Test
+    void chunkedParsingMatchesWholeDocument() throws Exception {
+        BlockIdGenerator ids = BlockIdGenerator.deterministic();
+        for (String markdown : DOCUMENTS) {
+            StringWriter writer = new StringWriter();
+            try (Reader reader = MarkdownToProseMirrorConverter.reader(markdown, ProseMirrorOptions.of(ids), 1)) {
+                reader.transferTo(writer);
+            }
+            assertEquals(MarkdownToProseMirrorConverter.convert(markdown, ids), writer.toString(), markdown);
+        }
+        assertEquals(List.of("~~~~\na\n\n~~~\nb\n\n~~~~~\n\n", "after\n\n", "``` a`b\n\n", "not fence\n"),
+                chunks(DOCUMENTS[3]));
+        assertEquals(1, chunks(DOCUMENTS[1]).size());
+        assertEquals(1, chunks(DOCUMENTS[4]).size());
+        assertEquals(1, chunks(DOCUMENTS[5]).size());
+        assertEquals(List.of("```\ncode\n```\n\n", "[bracket\n\n", "later ]: colon\n\n", "` tick\n"),
+                chunks(DOCUMENTS[7]));
+    }
+
+    private static List<String> chunks(String markdown) {
+        MarkdownChunker chunker = new MarkdownChunker(markdown, 1);
+        List<String> chunks = new ArrayList<>();
+        while (chunker.hasNext()) {
+            chunks.add(chunker.next());
+        }
+        return chunks;
+    }
+
+    @Test
+    void incrementalConversionMatchesWholeDocument() {
+        ProseMirrorOptions options = ProseMirrorOptions.of(BlockIdGenerator.deterministic());
+        String joined = String.join("\n\n", DOCUMENTS[0], DOCUMENTS[2], DOCUMENTS[3], DOCUMENTS[6]);
+        List<String> documents = new ArrayList<>(List.of(DOCUMENTS));
+        documents.add(joined);
+        // 已增量写出后才出现链接定义，改为整篇转换
+        documents.add(joined + "\n[ref]: https://cloud.tencent.com\n");
+        for (String markdown : documents) {
+            for (int size : new int[]{1, 5, 16, markdown.length() + 1}) {
+                IncrementalProseMirrorConverter converter = MarkdownToProseMirrorConverter.incremental(options, 1);
+                for (int from = 0; from < markdown.length(); from += size) {
+                    converter.append(markdown.substring(from, Math.min(markdown.length(), from + size)));
+                }
+                assertEquals(markdown, converter.markdown());
+                assertEquals(MarkdownToProseMirrorConverter.convert(markdown, options), converter.finish(), markdown);
+            }
+        }
+
+        IncrementalProseMirrorConverter converter = MarkdownToProseMirrorConverter.incremental(options, 1);
+        converter.append(joined);
+        assertTrue(converter.convertedLength() > 0);
+        converter.append("\n[ref]: https://cloud.tencent.com\n");
+        assertEquals(0, converter.convertedLength());
+    }
+
+    @Test
+    void parallelConversionMatchesSequential() {
+        BlockIdGenerator ids = BlockIdGenerator.deterministic();
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 200_000) {
+            large.append(MARKDOWN).append("\n\n").append(DOCUMENTS[2]).append("\n\n");
+        }
+        String html = large + "\n<div>\n\n尾部</div>\n";
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String markdown : DOCUMENTS) {
+                assertEquals(MarkdownToProseMirrorConverter.convert(markdown, ids),
+                        MarkdownToProseMirrorConverter.convertParallel(markdown, ids, pool), markdown);
+            }
+            // 可以切分和整篇解析后按节点切分两种方式
+            assertEquals(MarkdownToProseMirrorConverter.convert(large.toString(), ids),
+                    MarkdownToProseMirrorConverter.convertParallel(large.toString(), ids, pool));
+            assertEquals(MarkdownToProseMirrorConverter.convert(html, ids),
+                    MarkdownToProseMirrorConverter.convertParallel(html, ids, pool));
+            assertEquals(MarkdownToProseMirrorConverter.convert("", ids),
+                    MarkdownToProseMirrorConverter.convertParallel("", ids, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void coalescesAdjacentTextWithSameMarks() throws Exception {
+        JsonNode doc = objectMapper.readTree(MarkdownToProseMirrorConverter.convert(
+                "中文，\"引号\"与\\*转义\\*以及<span>行内html</span>\n下一行 **粗体**、**粗体** ![图](a.png)结尾"));
+        JsonNode content = doc.get("content").get(0).get("content");
+
+        assertEquals(7, content.size());
+        assertEquals("中文，\"引号\"与*转义*以及<span>行内html</span> 下一行 ", content.get(0).get("text").asText());
+        assertFalse(content.get(0).has("marks"));
+        assertEquals("粗体", content.get(1).get("text").asText());
+        assertEquals("、", content.get(2).get("text").asText());
+        assertEquals("bold", content.get(3).get("marks").get(0).get("type").asText());
+        assertEquals(" ", content.get(4).get("text").asText());
+        assertEquals("image", content.get(5).get("type").asText());
+        assertEquals("结尾", content.get(6).get("text").asText());
+    }
+
+    @Test
+    void omitsDefaultParagraphAttrsWhenConfigured() throws Exception {
+        BlockIdGenerator ids = BlockIdGenerator.deterministic();
+        String full = MarkdownToProseMirrorConverter.convert(MARKDOWN, ids);
+        String compact = MarkdownToProseMirrorConverter.convert(MARKDOWN, new ProseMirrorOptions(ids, true));
+
+        JsonNode attrs = find(objectMapper.readTree(compact).get("content"), "paragraph").get("attrs");
+        assertEquals(1, attrs.size());
+        assertEquals(find(objectMapper.readTree(full).get("content"), "paragraph").get("attrs").get("id"), attrs.get("id"));
+        assertFalse(compact.contains("\"color\""));
+        assertEquals(full.replace(",\"textAlign\":\"inherit\",\"indent\":0,\"color\":null,\"background\":null,\"isHoverDragHandle\":false", ""),
+                compact);
+    }
+
+    @Test
+    void mapsCommonMarkAndGfmNodes() throws Exception {
+        JsonNode doc = objectMapper.readTree(MarkdownToProseMirrorConverter.convert(MARKDOWN));
+        assertEquals("doc", doc.get("type").asText());
+
+        JsonNode content = doc.get("content");
+        assertEquals("heading", content.get(0).get("type").asText());
+        assertEquals(2, content.get(1).get("attrs").get("level").asInt());
+
+        JsonNode orderedList = find(content, "orderedList");
+        assertEquals(1, orderedList.get("attrs").get("start").asInt());
+        JsonNode firstItem = orderedList.get("content").get(0).get("content").get(0);
+        assertEquals("bold", firstItem.get("content").get(0).get("marks").get(0).get("type").asText());
+        assertTrue(orderedList.toString().contains("\"strike\""));
+        assertTrue(orderedList.toString().contains("\"bulletList\""));
+
+        JsonNode taskList = find(content, "taskList");
+        assertTrue(taskList.get("content").get(0).get("attrs").get("checked").asBoolean());
+        assertFalse(taskList.get("content").get(1).get("attrs").get("checked").asBoolean());
+
+        assertEquals("blockquote", find(content, "blockquote").get("type").asText());
+
+        JsonNode codeBlock = find(content, "codeBlock");
+        assertEquals("java", codeBlock.get("attrs").get("language").asText());
+        assertEquals("System.out.println(\"code\");", codeBlock.get("content").get(0).get("text").asText());
+
+        assertEquals("horizontalRule", find(content, "horizontalRule").get("type").asText());
+
+        JsonNode table = find(content, "table");
+        JsonNode headerRow = table.get("content").get(0);
+        assertEquals("tableHeader", headerRow.get("content").get(0).get("type").asText());
+        assertEquals("tableCell", table.get("content").get(1).get("content").get(1).get("type").asText());
+
+        String last = content.get(content.size() - 1).toString();
+        assertTrue(last.contains("\"href\":\"https://cloud.tencent.com\""));
+        assertTrue(last.contains("\"type\":\"image\""));
+        assertTrue(last.contains("\"alt\":\"图片\""));
+        assertTrue(last.contains("\"hardBreak\""));
+        assertTrue(last.contains("\"href\":\"https://cloud.tencent.com/developer\""));
+    }
+
+    @Test
+    void deterministicIdsMakeOutputReproducible() {
+        String first = MarkdownToProseMirrorConverter.convert(MARKDOWN, BlockIdGenerator.deterministic());
+        String second = MarkdownToProseMirrorConverter.convert(MARKDOWN, BlockIdGenerator.deterministic());
+        assertEquals(first, second);
+
+        // 内容相同但位置不同的段落也必须得到不同的id
+        Set<String> ids = ids(MarkdownToProseMirrorConverter.convert("同一段\n\n同一段\n\n其他", BlockIdGenerator.deterministic()));
+        assertEquals(3, ids.size());
+
+        String changed = MarkdownToProseMirrorConverter.convert(MARKDOWN.replace("引用的内容", "修改后的内容"),
+                BlockIdGenerator.deterministic());
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void randomIdsAreUniqueUuids() {
+        Set<String> ids = ids(MarkdownToProseMirrorConverter.convert("a\n\nb\n\nc\n\nd", BlockIdGenerator.random()));
+        assertEquals(4, ids.size());
+        for (String id : ids) {
+            assertEquals(4, UUID.fromString(id).version());
+        }
+    }
+
+    private static Set<String> ids(String json) {
+        Set<String> ids = new HashSet<>();
+        Matcher matcher = Pattern.compile("\"id\":\"([^\"]*)\"").matcher(json);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static JsonNode find(JsonNode content, String type) {
+        for (JsonNode node : content) {
+            if (type.equals(node.get("type").asText())) {
+                return node;
+            }
+        }
+        throw new AssertionError("缺少节点: " + type);
+    }
+
+    /**
+     * 段落id是随机生成的，比较前统一替换
+     */
+    private static String maskIds(String json) {
+        return json.replaceAll("\"id\":\"[^\"]*\"", "\"id\":\"?\"");
+    }
+}
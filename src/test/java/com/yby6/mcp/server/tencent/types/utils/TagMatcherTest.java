@@ -0,0 +1,79 @@
+package com.yby6.mcp.server.tencent.types.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TagMatcher 标签匹配测试
+ */
+class TagMatcherTest {
+
+    @Test
+    void countsOverlappingCjkAndMixedCaseTags() {
+        TagMatcher matcher = TagMatcher.of(List.of("云原生", "原生", "容器", "Spring", "Spring Boot", " MCP ", "mcp"));
+
+        Map<String, Integer> counts = matcher.count("Spring Boot 云原生", "容器与云原生，mcp 服务和 MCP 客户端");
+
+        assertEquals(6, matcher.size());
+        assertEquals(Map.of("Spring", 1, "Spring Boot", 1, "云原生", 2, "原生", 2, "容器", 1, "MCP", 2), counts);
+        assertEquals(List.of("云原生", "原生"), matcher.top(2, "Spring Boot 云原生", "容器与云原生，mcp 服务和 MCP 客户端"));
+    }
+
+    @Test
+    void asciiTagsRequireWordBoundaries() {
+        TagMatcher matcher = TagMatcher.of(List.of("Go", "Java", "C++", "K8s"));
+
+        Map<String, Integer> counts = matcher.count("Google 的 Go 语言，JavaScript 和 Java，C++/K8s，中文里的Go也算");
+
+        assertEquals(Map.of("Go", 2, "Java", 1, "C++", 1, "K8s", 1), counts);
+    }
+
+    @Test
+    void topOrdersByCountThenFirstOccurrence() {
+        TagMatcher matcher = TagMatcher.of(List.of("a", "b", "c", "d"));
+
+        assertEquals(List.of("c", "b", "a"), matcher.top(3, "a b c b c c d"));
+        assertEquals(List.of(), matcher.top(0, "a"));
+        assertEquals(List.of(), TagMatcher.of(List.of()).top(3, "a"));
+    }
+
+    @Test
+    void matchesNaiveScanOnRandomDictionary() {
+        Random random = new Random(42);
+        String alphabet = "云原生容器服务器数据库网络安全";
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tags.add(randomText(random, alphabet, 1 + random.nextInt(4)));
+        }
+        String text = randomText(random, alphabet, 5000);
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (String tag : tags) {
+            int count = 0;
+            for (int i = text.indexOf(tag); i >= 0; i = text.indexOf(tag, i + 1)) {
+                count++;
+            }
+            if (count > 0) expected.putIfAbsent(tag, count);
+        }
+
+        Map<String, Integer> actual = TagMatcher.of(tags).count(text);
+        assertEquals(expected, actual);
+        assertTrue(actual.size() > 10);
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}